@@ -0,0 +1,83 @@
+package teammates.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+
+/**
+ * Benchmarks the sanitization and validation of 10k students and 10k responses,
+ * as done before saving the students of an enrollment and the responses of the submissions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributesSanitizationBenchmark {
+
+    private static final int NUM_OF_ENTITIES = 10000;
+
+    private List<StudentAttributes> students;
+    private List<StudentAttributes> enrolledStudents;
+    private List<FeedbackResponseAttributes> responses;
+
+    @Setup
+    public void setUp() {
+        // 20 sections x 100 teams x 5 students
+        students = BenchmarkData.createStudents(20, 100, 5);
+        enrolledStudents = BenchmarkData.createStudents(20, 100, 5);
+        for (StudentAttributes student : enrolledStudents) {
+            student.markAsSanitizedForSaving();
+        }
+
+        // 22 responses per student in the session of BenchmarkData
+        responses = new BenchmarkData(10, 10, 5).responses.subList(0, NUM_OF_ENTITIES);
+    }
+
+    @Benchmark
+    public int sanitizeAndValidateStudents() {
+        int numOfErrors = 0;
+        for (StudentAttributes student : students) {
+            student.sanitizeForSaving();
+            numOfErrors += student.getInvalidityInfo().size();
+        }
+        return numOfErrors;
+    }
+
+    /**
+     * Students created from the lines of an enrollment are already marked as sanitized.
+     */
+    @Benchmark
+    public int sanitizeAndValidateEnrolledStudents() {
+        int numOfErrors = 0;
+        for (StudentAttributes student : enrolledStudents) {
+            student.sanitizeForSavingIfNeeded();
+            numOfErrors += student.getInvalidityInfo().size();
+        }
+        return numOfErrors;
+    }
+
+    @Benchmark
+    public int sanitizeAndValidateResponses() {
+        int numOfErrors = 0;
+        for (FeedbackResponseAttributes response : responses) {
+            response.sanitizeForSaving();
+            numOfErrors += response.getInvalidityInfo().size();
+        }
+        return numOfErrors;
+    }
+}
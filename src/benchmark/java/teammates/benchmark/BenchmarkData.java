@@ -0,0 +1,424 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackConstantSumResponseDetails;
+import teammates.common.datatransfer.FeedbackContributionResponseDetails;
+import teammates.common.datatransfer.FeedbackMcqResponseDetails;
+import teammates.common.datatransfer.FeedbackMsqResponseDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackRankOptionsResponseDetails;
+import teammates.common.datatransfer.FeedbackRankRecipientsResponseDetails;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackRubricResponseDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * An in-memory course for the benchmarks, with a session of one question of each type
+ * answered by all the students. <br>
+ * The course is generated from a fixed seed, so the same size always gives the same data.
+ * Nothing is persisted, so the data can be used without the datastore.
+ */
+public class BenchmarkData {
+
+    public static final String COURSE_ID = "BENCH.CS1101";
+    public static final String SESSION_NAME = "Benchmark Session";
+    public static final String INSTRUCTOR_EMAIL = "instr@bench.tmt";
+
+    private static final long SEED = 2016;
+
+    private static final List<String> OPTIONS = Arrays.asList("Design", "Implementation", "Testing");
+    private static final List<String> RUBRIC_CHOICES = Arrays.asList("Disagree", "Neutral", "Agree");
+    private static final List<String> RUBRIC_SUB_QUESTIONS = Arrays.asList(
+            "a) This student has done a good job.", "b) This student has tried his/her best.");
+
+    public final FeedbackSessionAttributes session;
+    public final List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+    public final List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+    public final Map<FeedbackQuestionType, FeedbackQuestionAttributes> questions =
+            new LinkedHashMap<FeedbackQuestionType, FeedbackQuestionAttributes>();
+    public final List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+
+    private final int numOfStudentsPerTeam;
+    private final Random random = new Random(SEED);
+
+    /**
+     * Generates a course of {@code numOfSections} x {@code numOfTeamsPerSection} x
+     * {@code numOfStudentsPerTeam} students.
+     */
+    public BenchmarkData(int numOfSections, int numOfTeamsPerSection, int numOfStudentsPerTeam) {
+        this.numOfStudentsPerTeam = numOfStudentsPerTeam;
+
+        String role = Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER;
+        instructors.add(new InstructorAttributes("bench.instr", COURSE_ID, "Benchmark Instructor",
+                                                 INSTRUCTOR_EMAIL, role, "Instructor",
+                                                 new InstructorPrivileges(role)));
+
+        students.addAll(createStudents(numOfSections, numOfTeamsPerSection, numOfStudentsPerTeam));
+
+        Date now = new Date();
+        session = new FeedbackSessionAttributes(
+                SESSION_NAME, COURSE_ID, INSTRUCTOR_EMAIL, new Text("Please answer all the questions."),
+                now, now, now, now, now, 0, 15, FeedbackSessionType.STANDARD, true, true, false, false, false);
+
+        int questionNumber = 1;
+        for (FeedbackQuestionType questionType : FeedbackQuestionType.values()) {
+            FeedbackQuestionAttributes question = createQuestion(questionType, questionNumber++);
+            questions.put(questionType, question);
+            for (int s = 1; s <= numOfSections; s++) {
+                for (int t = 1; t <= numOfTeamsPerSection; t++) {
+                    for (int m = 1; m <= numOfStudentsPerTeam; m++) {
+                        responses.addAll(createResponses(question, s, t, m));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the students of a course of {@code numOfSections} x {@code numOfTeamsPerSection} x
+     * {@code numOfStudentsPerTeam} students, without the session and its responses.
+     */
+    public static List<StudentAttributes> createStudents(int numOfSections, int numOfTeamsPerSection,
+                                                         int numOfStudentsPerTeam) {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (int s = 1; s <= numOfSections; s++) {
+            for (int t = 1; t <= numOfTeamsPerSection; t++) {
+                for (int m = 1; m <= numOfStudentsPerTeam; m++) {
+                    students.add(new StudentAttributes("Section " + s, "Team " + s + "." + t,
+                                                       "Student " + s + "." + t + "." + m,
+                                                       getStudentEmail(s, t, m), "", COURSE_ID));
+                }
+            }
+        }
+        return students;
+    }
+
+    public CourseRoster getRoster() {
+        return new CourseRoster(students, instructors);
+    }
+
+    public List<FeedbackResponseAttributes> getResponsesForQuestion(FeedbackQuestionAttributes question) {
+        List<FeedbackResponseAttributes> responsesForQuestion = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : responses) {
+            if (response.feedbackQuestionId.equals(question.getId())) {
+                responsesForQuestion.add(response);
+            }
+        }
+        return responsesForQuestion;
+    }
+
+    /**
+     * @return the results of the session as seen by the instructor, to whom everything is visible.
+     *         As the bundle modifies the responses and tables given to it, each call gives new copies.
+     */
+    public FeedbackSessionResultsBundle getResultsBundle() {
+        return new FeedbackSessionResultsBundle(
+                session, copyResponses(), getQuestionsById(), getEmailNameTable(), getEmailLastNameTable(),
+                getEmailTeamNameTable(), getSectionTeamNameTable(), getVisibilityTable(), getResponseStatus(),
+                getRoster(), new HashMap<String, List<FeedbackResponseCommentAttributes>>());
+    }
+
+    public List<FeedbackResponseAttributes> copyResponses() {
+        List<FeedbackResponseAttributes> copies = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : responses) {
+            copies.add(new FeedbackResponseAttributes(response));
+        }
+        return copies;
+    }
+
+    public Map<String, FeedbackQuestionAttributes> getQuestionsById() {
+        Map<String, FeedbackQuestionAttributes> questionsById = new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : questions.values()) {
+            questionsById.put(question.getId(), question);
+        }
+        return questionsById;
+    }
+
+    public Map<String, String> getEmailNameTable() {
+        Map<String, String> emailNameTable = new HashMap<String, String>();
+        for (StudentAttributes student : students) {
+            emailNameTable.put(student.email, student.name);
+        }
+        return emailNameTable;
+    }
+
+    public Map<String, String> getEmailLastNameTable() {
+        Map<String, String> emailLastNameTable = new HashMap<String, String>();
+        for (StudentAttributes student : students) {
+            emailLastNameTable.put(student.email, student.lastName);
+        }
+        return emailLastNameTable;
+    }
+
+    public Map<String, String> getEmailTeamNameTable() {
+        Map<String, String> emailTeamNameTable = new HashMap<String, String>();
+        for (StudentAttributes student : students) {
+            emailTeamNameTable.put(student.email, student.team);
+        }
+        return emailTeamNameTable;
+    }
+
+    public Map<String, Set<String>> getSectionTeamNameTable() {
+        Map<String, Set<String>> sectionTeamNameTable = new HashMap<String, Set<String>>();
+        for (StudentAttributes student : students) {
+            if (!sectionTeamNameTable.containsKey(student.section)) {
+                sectionTeamNameTable.put(student.section, new HashSet<String>());
+            }
+            sectionTeamNameTable.get(student.section).add(student.team);
+        }
+        return sectionTeamNameTable;
+    }
+
+    public Map<String, boolean[]> getVisibilityTable() {
+        Map<String, boolean[]> visibilityTable = new HashMap<String, boolean[]>();
+        for (FeedbackResponseAttributes response : responses) {
+            visibilityTable.put(response.getId(), new boolean[] { true, true });
+        }
+        return visibilityTable;
+    }
+
+    public FeedbackSessionResponseStatus getResponseStatus() {
+        FeedbackSessionResponseStatus responseStatus = new FeedbackSessionResponseStatus();
+        for (StudentAttributes student : students) {
+            responseStatus.hasResponse.add(student.email);
+            responseStatus.emailNameTable.put(student.email, student.name);
+            responseStatus.emailSectionTable.put(student.email, student.section);
+            responseStatus.emailTeamNameTable.put(student.email, student.team);
+        }
+        return responseStatus;
+    }
+
+    private FeedbackQuestionAttributes createQuestion(FeedbackQuestionType questionType, int questionNumber) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId("question" + questionNumber);
+        question.feedbackSessionName = SESSION_NAME;
+        question.courseId = COURSE_ID;
+        question.creatorEmail = INSTRUCTOR_EMAIL;
+        question.questionNumber = questionNumber;
+        question.questionType = questionType;
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = getRecipientType(questionType);
+        question.numberOfEntitiesToGiveFeedbackTo = question.recipientType == FeedbackParticipantType.SELF
+                                                    ? 1
+                                                    : Const.MAX_POSSIBLE_RECIPIENTS;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.RECEIVER, FeedbackParticipantType.INSTRUCTORS));
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.INSTRUCTORS));
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.RECEIVER, FeedbackParticipantType.INSTRUCTORS));
+        question.questionMetaData = new Text(createQuestionMetaData(questionType, "Question " + questionNumber));
+        return question;
+    }
+
+    private static FeedbackParticipantType getRecipientType(FeedbackQuestionType questionType) {
+        switch (questionType) {
+        case TEXT:
+        case NUMSCALE:
+        case RANK_RECIPIENTS:
+            return FeedbackParticipantType.OWN_TEAM_MEMBERS;
+        case CONTRIB:
+            return FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF;
+        default:
+            return FeedbackParticipantType.SELF;
+        }
+    }
+
+    private static String createQuestionMetaData(FeedbackQuestionType questionType, String questionText) {
+        if (questionType == FeedbackQuestionType.TEXT) {
+            return questionText;
+        }
+
+        JsonObject details = new JsonObject();
+        details.addProperty("questionText", questionText);
+        details.addProperty("questionType", questionType.name());
+        switch (questionType) {
+        case MCQ:
+            details.addProperty("numOfMcqChoices", OPTIONS.size());
+            details.add("mcqChoices", toJsonArray(OPTIONS));
+            details.addProperty("otherEnabled", false);
+            details.addProperty("generateOptionsFor", FeedbackParticipantType.NONE.name());
+            break;
+        case MSQ:
+            details.addProperty("numOfMsqChoices", OPTIONS.size());
+            details.add("msqChoices", toJsonArray(OPTIONS));
+            details.addProperty("otherEnabled", false);
+            details.addProperty("generateOptionsFor", FeedbackParticipantType.NONE.name());
+            break;
+        case NUMSCALE:
+            details.addProperty("minScale", 1);
+            details.addProperty("maxScale", 5);
+            details.addProperty("step", 1);
+            break;
+        case CONSTSUM:
+            details.addProperty("numOfConstSumOptions", OPTIONS.size());
+            details.add("constSumOptions", toJsonArray(OPTIONS));
+            details.addProperty("distributeToRecipients", false);
+            details.addProperty("pointsPerOption", false);
+            details.addProperty("forceUnevenDistribution", false);
+            details.addProperty("points", 100);
+            break;
+        case CONTRIB:
+            details.addProperty("isNotSureAllowed", true);
+            break;
+        case RUBRIC:
+            details.addProperty("hasAssignedWeights", false);
+            details.add("rubricWeights", new JsonArray());
+            details.addProperty("numOfRubricChoices", RUBRIC_CHOICES.size());
+            details.add("rubricChoices", toJsonArray(RUBRIC_CHOICES));
+            details.addProperty("numOfRubricSubQuestions", RUBRIC_SUB_QUESTIONS.size());
+            details.add("rubricSubQuestions", toJsonArray(RUBRIC_SUB_QUESTIONS));
+            JsonArray descriptions = new JsonArray();
+            for (int i = 0; i < RUBRIC_SUB_QUESTIONS.size(); i++) {
+                descriptions.add(toJsonArray(Collections.nCopies(RUBRIC_CHOICES.size(), "")));
+            }
+            details.add("rubricDescriptions", descriptions);
+            break;
+        case RANK_OPTIONS:
+            details.add("options", toJsonArray(OPTIONS));
+            details.addProperty("areDuplicatesAllowed", false);
+            break;
+        case RANK_RECIPIENTS:
+            details.addProperty("areDuplicatesAllowed", false);
+            break;
+        default:
+            break;
+        }
+        return details.toString();
+    }
+
+    private static JsonArray toJsonArray(List<String> values) {
+        JsonArray array = new JsonArray();
+        for (String value : values) {
+            array.add(new JsonPrimitive(value));
+        }
+        return array;
+    }
+
+    /**
+     * @return the responses of student {@code m} of team {@code t} of section {@code s}
+     *         to all the recipients of the question
+     */
+    private List<FeedbackResponseAttributes> createResponses(FeedbackQuestionAttributes question,
+                                                             int s, int t, int m) {
+        List<Integer> recipients = new ArrayList<Integer>();
+        for (int i = 1; i <= numOfStudentsPerTeam; i++) {
+            boolean isSelf = i == m;
+            if (question.recipientType == FeedbackParticipantType.SELF && isSelf
+                    || question.recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF
+                    || question.recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS && !isSelf) {
+                recipients.add(i);
+            }
+        }
+
+        // a distinct rank for each of the recipients
+        List<Integer> ranks = new ArrayList<Integer>();
+        for (int i = 1; i <= recipients.size(); i++) {
+            ranks.add(i);
+        }
+        Collections.shuffle(ranks, random);
+
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        List<FeedbackResponseAttributes> responsesOfStudent = new ArrayList<FeedbackResponseAttributes>();
+        for (int i = 0; i < recipients.size(); i++) {
+            String giverEmail = getStudentEmail(s, t, m);
+            String recipientEmail = getStudentEmail(s, t, recipients.get(i));
+            FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                    SESSION_NAME, COURSE_ID, question.getId(), question.questionType,
+                    giverEmail, "Section " + s, recipientEmail, "Section " + s, null);
+            response.setId(question.getId() + "%" + giverEmail + "%" + recipientEmail);
+            response.setResponseDetails(createResponseDetails(questionDetails, ranks.get(i)));
+            responsesOfStudent.add(response);
+        }
+        return responsesOfStudent;
+    }
+
+    private FeedbackResponseDetails createResponseDetails(FeedbackQuestionDetails questionDetails, int rank) {
+        FeedbackResponseDetails responseDetails;
+        String[] answer;
+        switch (questionDetails.questionType) {
+        case MCQ:
+            responseDetails = new FeedbackMcqResponseDetails();
+            answer = new String[] { OPTIONS.get(random.nextInt(OPTIONS.size())) };
+            break;
+        case MSQ:
+            responseDetails = new FeedbackMsqResponseDetails();
+            answer = OPTIONS.subList(0, 1 + random.nextInt(OPTIONS.size())).toArray(new String[0]);
+            break;
+        case NUMSCALE:
+            responseDetails = new FeedbackNumericalScaleResponseDetails();
+            answer = new String[] { Integer.toString(1 + random.nextInt(5)) };
+            break;
+        case CONSTSUM:
+            responseDetails = new FeedbackConstantSumResponseDetails();
+            int first = random.nextInt(101);
+            int second = random.nextInt(101 - first);
+            answer = new String[] { Integer.toString(first), Integer.toString(second),
+                                    Integer.toString(100 - first - second) };
+            break;
+        case CONTRIB:
+            responseDetails = new FeedbackContributionResponseDetails();
+            answer = new String[] { Integer.toString(80 + 10 * random.nextInt(5)) };
+            break;
+        case RUBRIC:
+            responseDetails = new FeedbackRubricResponseDetails();
+            answer = new String[] { "0-" + random.nextInt(RUBRIC_CHOICES.size())
+                                    + ",1-" + random.nextInt(RUBRIC_CHOICES.size()) };
+            break;
+        case RANK_OPTIONS:
+            responseDetails = new FeedbackRankOptionsResponseDetails();
+            List<String> optionRanks = new ArrayList<String>();
+            for (int i = 1; i <= OPTIONS.size(); i++) {
+                optionRanks.add(Integer.toString(i));
+            }
+            Collections.shuffle(optionRanks, random);
+            answer = optionRanks.toArray(new String[0]);
+            break;
+        case RANK_RECIPIENTS:
+            responseDetails = new FeedbackRankRecipientsResponseDetails();
+            answer = new String[] { Integer.toString(rank) };
+            break;
+        default:
+            responseDetails = new FeedbackTextResponseDetails();
+            answer = new String[] { "Response " + random.nextInt(1000) + " to " + questionDetails.questionText };
+            break;
+        }
+        responseDetails.extractResponseDetails(questionDetails.questionType, questionDetails, answer);
+        return responseDetails;
+    }
+
+    public static String getStudentEmail(int s, int t, int m) {
+        return "student" + s + "." + t + "." + m + "@bench.tmt";
+    }
+}
@@ -0,0 +1,121 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.UserType.Role;
+import teammates.logic.core.CommentVisibilityEvaluator;
+
+/**
+ * Benchmarks the filtering of the 20000 response comments of a session of a course of
+ * 500 students by their visibility to a user, as done when building the results of the
+ * session for the user. Half of the comments follow the visibility of their questions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentVisibilityBenchmark {
+
+    private static final int NUM_OF_COMMENTS = 20000;
+
+    private static final List<List<FeedbackParticipantType>> COMMENT_VISIBILITY_OPTIONS = Arrays.asList(
+            Arrays.asList(FeedbackParticipantType.GIVER, FeedbackParticipantType.INSTRUCTORS),
+            Arrays.asList(FeedbackParticipantType.GIVER, FeedbackParticipantType.RECEIVER,
+                          FeedbackParticipantType.INSTRUCTORS),
+            Arrays.asList(FeedbackParticipantType.GIVER, FeedbackParticipantType.RECEIVER,
+                          FeedbackParticipantType.OWN_TEAM_MEMBERS, FeedbackParticipantType.RECEIVER_TEAM_MEMBERS,
+                          FeedbackParticipantType.STUDENTS, FeedbackParticipantType.INSTRUCTORS));
+
+    private CourseRoster roster;
+    private Map<String, FeedbackResponseAttributes> responsesById;
+    private Map<String, FeedbackQuestionAttributes> questionsById;
+    private List<FeedbackResponseCommentAttributes> comments;
+
+    private StudentAttributes student;
+    private Set<String> studentsEmailInTeam;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(10, 10, 5);
+        roster = data.getRoster();
+        questionsById = data.getQuestionsById();
+
+        responsesById = new HashMap<String, FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : data.responses) {
+            responsesById.put(response.getId(), response);
+        }
+
+        comments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (int i = 0; i < NUM_OF_COMMENTS; i++) {
+            FeedbackResponseAttributes response = data.responses.get(i % data.responses.size());
+            FeedbackResponseCommentAttributes comment = new FeedbackResponseCommentAttributes();
+            comment.courseId = BenchmarkData.COURSE_ID;
+            comment.feedbackSessionName = BenchmarkData.SESSION_NAME;
+            comment.feedbackQuestionId = response.feedbackQuestionId;
+            comment.feedbackResponseId = response.getId();
+            comment.giverEmail = i % 3 == 0 ? response.giverEmail : BenchmarkData.INSTRUCTOR_EMAIL;
+            comment.isVisibilityFollowingFeedbackQuestion = i % 2 == 0;
+            List<FeedbackParticipantType> visibleTo =
+                    COMMENT_VISIBILITY_OPTIONS.get(i % COMMENT_VISIBILITY_OPTIONS.size());
+            comment.showCommentTo = new ArrayList<FeedbackParticipantType>(visibleTo);
+            comment.showGiverNameTo = new ArrayList<FeedbackParticipantType>(visibleTo);
+            comments.add(comment);
+        }
+
+        student = roster.getStudentForEmail(BenchmarkData.getStudentEmail(1, 1, 1));
+        studentsEmailInTeam = new HashSet<String>();
+        for (StudentAttributes teammate : roster.getStudentsInTeam(student.team)) {
+            studentsEmailInTeam.add(teammate.email);
+        }
+    }
+
+    @Benchmark
+    public int getVisibleCommentsForStudent() {
+        return countVisibleComments(new CommentVisibilityEvaluator(student.email, Role.STUDENT, student,
+                                                                   studentsEmailInTeam, roster));
+    }
+
+    @Benchmark
+    public int getVisibleCommentsForInstructor() {
+        return countVisibleComments(new CommentVisibilityEvaluator(BenchmarkData.INSTRUCTOR_EMAIL, Role.INSTRUCTOR,
+                                                                   null, new HashSet<String>(), roster));
+    }
+
+    private int countVisibleComments(CommentVisibilityEvaluator commentVisibility) {
+        int count = 0;
+        for (FeedbackResponseCommentAttributes comment : comments) {
+            FeedbackResponseAttributes response = responsesById.get(comment.feedbackResponseId);
+            FeedbackQuestionAttributes question = questionsById.get(comment.feedbackQuestionId);
+            if (commentVisibility.isCommentVisible(comment, response, question)) {
+                count += commentVisibility.isGiverNameVisible(comment, response) ? 2 : 1;
+            }
+        }
+        return count;
+    }
+}
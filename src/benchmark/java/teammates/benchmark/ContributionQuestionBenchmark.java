@@ -0,0 +1,89 @@
+package teammates.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackContributionQuestionDetails;
+import teammates.common.datatransfer.FeedbackContributionResponseDetails;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.StudentResultSummary;
+import teammates.logic.core.TeamEvalResult;
+
+/**
+ * Benchmarks the results of a contribution question of a course of 300 teams, as calculated
+ * for a results bundle which has not calculated any of them yet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContributionQuestionBenchmark {
+
+    private FeedbackSessionResultsBundle bundle;
+    private FeedbackQuestionAttributes question;
+    private FeedbackContributionQuestionDetails questionDetails;
+    private List<FeedbackResponseAttributes> responses;
+    private String studentEmail;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(30, 10, 5);
+        bundle = data.getResultsBundle();
+        question = data.questions.get(FeedbackQuestionType.CONTRIB);
+        questionDetails = (FeedbackContributionQuestionDetails) question.getQuestionDetails();
+        responses = bundle.getQuestionResponseMap().get(question);
+        studentEmail = BenchmarkData.getStudentEmail(1, 1, 1);
+    }
+
+    /**
+     * Forgets the results calculated by the previous invocation.
+     */
+    @Setup(Level.Invocation)
+    public void clearCalculatedResults() {
+        bundle.contributionQuestionStudentResultSummary.clear();
+        bundle.contributionQuestionTeamEvalResults.clear();
+        bundle.contributionQuestionTeamResponses.clear();
+    }
+
+    @Benchmark
+    public Map<String, TeamEvalResult> getTeamEvalResults() {
+        return questionDetails.getTeamEvalResults(bundle, question);
+    }
+
+    @Benchmark
+    public String getStatisticsHtmlForStudent() {
+        return questionDetails.getQuestionResultStatisticsHtml(responses, question, studentEmail, bundle, "student");
+    }
+
+    /**
+     * The statistics and the perceived contributions shown on the results pages of the instructor,
+     * and the statistics in the downloaded results.
+     */
+    @Benchmark
+    public int getAllViewsForInstructor() {
+        Map<String, StudentResultSummary> summaries =
+                FeedbackContributionResponseDetails.getContribQnStudentResultSummary(question, bundle);
+        String statisticsHtml = questionDetails.getQuestionResultStatisticsHtml(
+                responses, question, null, bundle, "question");
+        String statisticsCsv = questionDetails.getQuestionResultStatisticsCsv(responses, question, bundle);
+        return summaries.size() + statisticsHtml.length() + statisticsCsv.length();
+    }
+}
@@ -0,0 +1,135 @@
+package teammates.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+
+/**
+ * Benchmarks the construction of the results of a session and the sorting of the
+ * responses for the views of the instructor results page. <br>
+ * The bundle keeps the sort keys of the responses once computed, so each sorting
+ * benchmark is done on a new bundle, as for a request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackSessionResultsBundleBenchmark {
+
+    private static final int NUM_OF_TEAMS_PER_SECTION = 10;
+    private static final int NUM_OF_STUDENTS_PER_TEAM = 5;
+
+    /** 50 students per section */
+    @Param({ "2", "10" })
+    public int numOfSections;
+
+    BenchmarkData data;
+
+    @Setup
+    public void setUp() {
+        data = new BenchmarkData(numOfSections, NUM_OF_TEAMS_PER_SECTION, NUM_OF_STUDENTS_PER_TEAM);
+    }
+
+    /**
+     * New copies of what the bundle is constructed from, as the bundle modifies them.
+     */
+    @State(Scope.Thread)
+    public static class BundleInputs {
+        List<FeedbackResponseAttributes> responses;
+        Map<String, FeedbackQuestionAttributes> questions;
+        Map<String, String> emailNameTable;
+        Map<String, String> emailLastNameTable;
+        Map<String, String> emailTeamNameTable;
+        Map<String, Set<String>> sectionTeamNameTable;
+        Map<String, boolean[]> visibilityTable;
+        FeedbackSessionResponseStatus responseStatus;
+        CourseRoster roster;
+
+        @Setup(Level.Invocation)
+        public void setUp(FeedbackSessionResultsBundleBenchmark benchmark) {
+            BenchmarkData data = benchmark.data;
+            responses = data.copyResponses();
+            questions = data.getQuestionsById();
+            emailNameTable = data.getEmailNameTable();
+            emailLastNameTable = data.getEmailLastNameTable();
+            emailTeamNameTable = data.getEmailTeamNameTable();
+            sectionTeamNameTable = data.getSectionTeamNameTable();
+            visibilityTable = data.getVisibilityTable();
+            responseStatus = data.getResponseStatus();
+            roster = data.getRoster();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class NewBundle {
+        FeedbackSessionResultsBundle bundle;
+
+        @Setup(Level.Invocation)
+        public void setUp(FeedbackSessionResultsBundleBenchmark benchmark) {
+            bundle = benchmark.data.getResultsBundle();
+        }
+    }
+
+    @Benchmark
+    public FeedbackSessionResultsBundle construct(BundleInputs inputs) {
+        return new FeedbackSessionResultsBundle(
+                data.session, inputs.responses, inputs.questions, inputs.emailNameTable,
+                inputs.emailLastNameTable, inputs.emailTeamNameTable, inputs.sectionTeamNameTable,
+                inputs.visibilityTable, inputs.responseStatus, inputs.roster,
+                new LinkedHashMap<String, List<FeedbackResponseCommentAttributes>>());
+    }
+
+    @Benchmark
+    public Object getQuestionResponseMap(NewBundle newBundle) {
+        return newBundle.bundle.getQuestionResponseMap();
+    }
+
+    @Benchmark
+    public Object getQuestionResponseMapByGiverTeam(NewBundle newBundle) {
+        return newBundle.bundle.getQuestionResponseMapByGiverTeam();
+    }
+
+    @Benchmark
+    public Object getResponsesSortedByGiverQuestionRecipient(NewBundle newBundle) {
+        return newBundle.bundle.getResponsesSortedByGiverQuestionRecipient(true);
+    }
+
+    @Benchmark
+    public Object getResponsesSortedByRecipientQuestionGiver(NewBundle newBundle) {
+        return newBundle.bundle.getResponsesSortedByRecipientQuestionGiver(true);
+    }
+
+    @Benchmark
+    public Object getResponsesSortedByGiverRecipientQuestion(NewBundle newBundle) {
+        return newBundle.bundle.getResponsesSortedByGiverRecipientQuestion();
+    }
+
+    @Benchmark
+    public Object getResponsesSortedByRecipientGiverQuestion(NewBundle newBundle) {
+        return newBundle.bundle.getResponsesSortedByRecipientGiverQuestion();
+    }
+}
@@ -0,0 +1,80 @@
+package teammates.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.FieldValidator;
+import teammates.common.util.FieldValidator.FieldType;
+
+/**
+ * Benchmarks the validation of fields, which is done for every entity created or updated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldValidatorBenchmark {
+
+    private static final String EMAIL = "emily.obrien+cs1101@u.nus.edu";
+    private static final String PERSON_NAME = "Emily O'Brien";
+    private static final String INVALID_PERSON_NAME = "<script>alert('Emily')</script>";
+    private static final String COURSE_ID = "CS1101S-2016.Sem1";
+
+    private final FieldValidator validator = new FieldValidator();
+
+    private StudentAttributes student;
+    private FeedbackQuestionAttributes question;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(1, 1, 2);
+        student = data.students.get(0);
+        question = data.questions.get(FeedbackQuestionType.CONSTSUM);
+    }
+
+    @Benchmark
+    public String validateEmail() {
+        return validator.getInvalidityInfo(FieldType.EMAIL, EMAIL);
+    }
+
+    @Benchmark
+    public String validatePersonName() {
+        return validator.getInvalidityInfoForPersonName(PERSON_NAME);
+    }
+
+    @Benchmark
+    public String validateInvalidPersonName() {
+        return validator.getInvalidityInfoForPersonName(INVALID_PERSON_NAME);
+    }
+
+    @Benchmark
+    public String validateCourseId() {
+        return validator.getInvalidityInfo(FieldType.COURSE_ID, COURSE_ID);
+    }
+
+    @Benchmark
+    public List<String> validateStudent() {
+        return student.getInvalidityInfo();
+    }
+
+    @Benchmark
+    public List<String> validateQuestion() {
+        return question.getInvalidityInfo();
+    }
+}
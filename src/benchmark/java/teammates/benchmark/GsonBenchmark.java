@@ -0,0 +1,99 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Utils;
+
+import com.google.gson.Gson;
+
+/**
+ * Benchmarks the conversion of attributes to and from JSON, as done for the data bundles of the
+ * back door and for the question and response details kept in the metadata of the entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GsonBenchmark {
+
+    private final Gson gson = Utils.getTeammatesGson();
+
+    private StudentAttributes student;
+    private FeedbackQuestionAttributes question;
+    private FeedbackResponseAttributes response;
+
+    private String studentJson;
+    private String questionJson;
+    private String responseJson;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(1, 1, 2);
+        student = data.students.get(0);
+        question = data.questions.get(FeedbackQuestionType.RUBRIC);
+        response = data.getResponsesForQuestion(question).get(0);
+
+        studentJson = gson.toJson(student);
+        questionJson = gson.toJson(question);
+        responseJson = gson.toJson(response);
+    }
+
+    @Benchmark
+    public String serializeStudent() {
+        return gson.toJson(student);
+    }
+
+    @Benchmark
+    public StudentAttributes deserializeStudent() {
+        return gson.fromJson(studentJson, StudentAttributes.class);
+    }
+
+    @Benchmark
+    public String serializeQuestion() {
+        return gson.toJson(question);
+    }
+
+    @Benchmark
+    public FeedbackQuestionAttributes deserializeQuestion() {
+        return gson.fromJson(questionJson, FeedbackQuestionAttributes.class);
+    }
+
+    @Benchmark
+    public String serializeResponse() {
+        return gson.toJson(response);
+    }
+
+    @Benchmark
+    public FeedbackResponseAttributes deserializeResponse() {
+        return gson.fromJson(responseJson, FeedbackResponseAttributes.class);
+    }
+
+    @Benchmark
+    public FeedbackQuestionDetails getQuestionDetails() {
+        return question.getQuestionDetails();
+    }
+
+    @Benchmark
+    public FeedbackResponseDetails getResponseDetails() {
+        return response.getResponseDetails();
+    }
+}
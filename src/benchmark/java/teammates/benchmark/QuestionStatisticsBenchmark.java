@@ -0,0 +1,69 @@
+package teammates.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+
+/**
+ * Benchmarks the statistics of each type of question, as shown on the results pages
+ * and in the downloaded results of a session of a course of 500 students.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionStatisticsBenchmark {
+
+    @Param({ "TEXT", "MCQ", "MSQ", "NUMSCALE", "CONSTSUM", "CONTRIB", "RUBRIC", "RANK_OPTIONS", "RANK_RECIPIENTS" })
+    public FeedbackQuestionType questionType;
+
+    private FeedbackSessionResultsBundle bundle;
+    private FeedbackQuestionAttributes question;
+    private FeedbackQuestionDetails questionDetails;
+    private List<FeedbackResponseAttributes> responses;
+    private String studentEmail;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(10, 10, 5);
+        bundle = data.getResultsBundle();
+        question = data.questions.get(questionType);
+        questionDetails = question.getQuestionDetails();
+        responses = bundle.getQuestionResponseMap().get(question);
+        studentEmail = BenchmarkData.getStudentEmail(1, 1, 1);
+    }
+
+    @Benchmark
+    public String getStatisticsHtmlForInstructor() {
+        return questionDetails.getQuestionResultStatisticsHtml(responses, question, null, bundle, "question");
+    }
+
+    @Benchmark
+    public String getStatisticsHtmlForStudent() {
+        return questionDetails.getQuestionResultStatisticsHtml(responses, question, studentEmail, bundle, "student");
+    }
+
+    @Benchmark
+    public String getStatisticsCsv() {
+        return questionDetails.getQuestionResultStatisticsCsv(responses, question, bundle);
+    }
+}
@@ -0,0 +1,56 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Benchmarks the generation of the downloaded results of a session, from results
+ * already retrieved from the datastore. <br>
+ * The bundle keeps some of the values computed for the csv, so each csv is generated
+ * from a new bundle, as for a request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultsCsvBenchmark {
+
+    /** 50 students per section */
+    @Param({ "2", "10" })
+    public int numOfSections;
+
+    private BenchmarkData data;
+    private FeedbackSessionResultsBundle bundle;
+
+    @Setup
+    public void setUp() {
+        data = new BenchmarkData(numOfSections, 10, 5);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpBundle() {
+        bundle = data.getResultsBundle();
+    }
+
+    @Benchmark
+    public String getResultsCsv() {
+        return FeedbackSessionsLogic.inst().getFeedbackSessionResultsSummaryInSectionAsCsv(bundle, null);
+    }
+}
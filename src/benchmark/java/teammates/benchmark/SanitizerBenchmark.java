@@ -0,0 +1,79 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Sanitizer;
+
+/**
+ * Benchmarks the sanitization of user input, which is done for every value shown on a page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SanitizerBenchmark {
+
+    private static final String NAME = "  Emily   O'Brien <Team \"A\"> ";
+    private static final String EMAIL = "  emily.o'brien+cs1101@u.nus.edu ";
+    private static final String TEXT =
+            "I think <b>Alice</b> & Bob did most of the work on the \"design\" part, "
+            + "but they didn't explain it to the rest of us.\nSee https://example.com/report?id=1&page=2 "
+            + "for the details, e.g. the sections on testing & deployment, which are 'incomplete'.";
+
+    @Benchmark
+    public String sanitizeName() {
+        return Sanitizer.sanitizeName(NAME);
+    }
+
+    @Benchmark
+    public String sanitizeEmail() {
+        return Sanitizer.sanitizeEmail(EMAIL);
+    }
+
+    @Benchmark
+    public String sanitizeTextField() {
+        return Sanitizer.sanitizeTextField(TEXT);
+    }
+
+    @Benchmark
+    public String sanitizeForHtml() {
+        return Sanitizer.sanitizeForHtml(TEXT);
+    }
+
+    @Benchmark
+    public boolean isSanitizedForHtml() {
+        return Sanitizer.isSanitizedForHtml(TEXT);
+    }
+
+    @Benchmark
+    public String sanitizeForJs() {
+        return Sanitizer.sanitizeForJs(TEXT);
+    }
+
+    @Benchmark
+    public String sanitizeForRichText() {
+        return Sanitizer.sanitizeForRichText(TEXT);
+    }
+
+    @Benchmark
+    public String sanitizeForSearch() {
+        return Sanitizer.sanitizeForSearch(TEXT);
+    }
+
+    @Benchmark
+    public String sanitizeForCsv() {
+        return Sanitizer.sanitizeForCsv(TEXT);
+    }
+}
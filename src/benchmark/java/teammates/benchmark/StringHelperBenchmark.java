@@ -0,0 +1,49 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.StringHelper;
+
+/**
+ * Benchmarks the encryption of the keys which are sent in the links to students.
+ * Needs the encryption key in build.properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringHelperBenchmark {
+
+    private static final String REGISTRATION_KEY =
+            "ahNzfnRlYW1tYXRlcy1qb2huLWJydHIgCxIHU3R1ZGVudCITc3R1ZGVudDEuMS4xQGJlbmNoLnRtdAw";
+
+    private String encryptedKey;
+
+    @Setup
+    public void setUp() {
+        encryptedKey = StringHelper.encrypt(REGISTRATION_KEY);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return StringHelper.encrypt(REGISTRATION_KEY);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return StringHelper.decrypt(encryptedKey);
+    }
+}
@@ -0,0 +1,65 @@
+package teammates.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Const;
+import teammates.logic.core.TeamEvalResult;
+
+/**
+ * Benchmarks the computation of the results of a contribution question for a team.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamEvalResultBenchmark {
+
+    @Param({ "5", "10" })
+    public int teamSize;
+
+    private int[][] submissions;
+    private int[][] submissionsWithSpecialValues;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2016);
+        submissions = new int[teamSize][teamSize];
+        submissionsWithSpecialValues = new int[teamSize][teamSize];
+        for (int i = 0; i < teamSize; i++) {
+            for (int j = 0; j < teamSize; j++) {
+                submissions[i][j] = 50 + 10 * random.nextInt(11);
+                submissionsWithSpecialValues[i][j] = submissions[i][j];
+            }
+        }
+        // one student did not submit, and another is not sure of a team member
+        for (int j = 0; j < teamSize; j++) {
+            submissionsWithSpecialValues[0][j] = Const.POINTS_NOT_SUBMITTED;
+        }
+        submissionsWithSpecialValues[1][2] = Const.POINTS_NOT_SURE;
+    }
+
+    @Benchmark
+    public TeamEvalResult computeResult() {
+        return new TeamEvalResult(submissions);
+    }
+
+    @Benchmark
+    public TeamEvalResult computeResultWithSpecialValues() {
+        return new TeamEvalResult(submissionsWithSpecialValues);
+    }
+}
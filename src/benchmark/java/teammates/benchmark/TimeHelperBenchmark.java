@@ -0,0 +1,88 @@
+package teammates.benchmark;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.TimeHelper;
+
+/**
+ * Benchmarks the formatting of the times shown in the rows of the sessions tables,
+ * i.e. the start and end times of each session, and of the comments on the results pages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeHelperBenchmark {
+
+    private static final int NUMBER_OF_ROWS = 10000;
+
+    private Date[] startTimes;
+    private Date[] endTimes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(2016, 0, 1);
+        startTimes = new Date[NUMBER_OF_ROWS];
+        endTimes = new Date[NUMBER_OF_ROWS];
+        for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+            // sessions start and end on the hour, some of them at noon
+            cal.set(Calendar.DAY_OF_YEAR, 1 + random.nextInt(365));
+            cal.set(Calendar.HOUR_OF_DAY, random.nextInt(24));
+            startTimes[i] = cal.getTime();
+            cal.add(Calendar.DATE, 7);
+            cal.set(Calendar.HOUR_OF_DAY, random.nextInt(24));
+            endTimes[i] = cal.getTime();
+        }
+    }
+
+    /**
+     * Formats the times of the rows of the instructor home page and the session tables.
+     * @return the total length of the formatted times
+     */
+    @Benchmark
+    public int formatSessionRows() {
+        int length = 0;
+        for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+            length += TimeHelper.formatDateTimeForInstructorHomePage(startTimes[i]).length();
+            length += TimeHelper.formatDateTimeForInstructorHomePage(endTimes[i]).length();
+            length += TimeHelper.formatTime12H(startTimes[i]).length();
+            length += TimeHelper.formatTime12H(endTimes[i]).length();
+            length += TimeHelper.formatDate(startTimes[i]).length();
+            length += TimeHelper.formatDate(endTimes[i]).length();
+        }
+        return length;
+    }
+
+    /**
+     * Formats the creation times of as many comments.
+     * @return the total length of the formatted times
+     */
+    @Benchmark
+    public int formatCommentTimes() {
+        int length = 0;
+        for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+            length += TimeHelper.formatDateTimeForComments(startTimes[i]).length();
+        }
+        return length;
+    }
+}
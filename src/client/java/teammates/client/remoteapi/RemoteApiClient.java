@@ -34,16 +34,31 @@ public abstract class RemoteApiClient {
         }
         
         RemoteApiInstaller installer = new RemoteApiInstaller();
-        installer.install(options);
-        try {
+        if (isUsingWorkerThreads()) {
+            // an installation for all threads cannot be undone; it ends with the JVM
+            installer.installOnAllThreads(options);
             doOperation();
-        } finally {
-            installer.uninstall();
+        } else {
+            installer.install(options);
+            try {
+                doOperation();
+            } finally {
+                installer.uninstall();
+            }
         }
 
         System.out.println("--- Remote operation completed ---");
     }
 
+    /**
+     * To be overridden by child classes which access the datastore from threads other
+     * than the one calling {@link #doOperation()}, as the remote API is otherwise
+     * installed for the calling thread only.
+     */
+    protected boolean isUsingWorkerThreads() {
+        return false;
+    }
+
     /**
      * This operation is meant to be overridden by child classes.
      */
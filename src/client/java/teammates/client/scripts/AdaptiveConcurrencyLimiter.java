@@ -0,0 +1,57 @@
+package teammates.client.scripts;
+
+/**
+ * Limits the number of requests in flight, adapting the limit to the observed latency and errors. <br>
+ * The limit grows by about one for each limit's worth of requests which complete successfully within
+ * the target latency, and is halved when a request fails or is slower than the target. It is halved
+ * at most once per target latency, as the requests in flight when the server slows down are all
+ * likely to be slow.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyMillis;
+
+    private double limit;
+    private int numberOfRequestsInFlight;
+    private long lastDecreaseTime;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyMillis) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Waits until another request can be sent.
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (numberOfRequestsInFlight >= getLimit()) {
+            wait();
+        }
+        numberOfRequestsInFlight++;
+    }
+
+    /**
+     * Records the completion of a request acquired by {@link #acquire()}.
+     */
+    public synchronized void release(long latencyMillis, boolean isSuccessful) {
+        numberOfRequestsInFlight--;
+        if (isSuccessful && latencyMillis <= targetLatencyMillis) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        } else {
+            long now = System.currentTimeMillis();
+            if (now - lastDecreaseTime > targetLatencyMillis) {
+                limit = Math.max(minLimit, limit / 2);
+                lastDecreaseTime = now;
+            }
+        }
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+}
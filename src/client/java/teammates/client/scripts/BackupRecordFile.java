@@ -0,0 +1,220 @@
+package teammates.client.scripts;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.CommentAttributes;
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.EntityChangeAttributes;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.util.Const.SystemParams;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * The streaming format of the backup files written by {@link OfflineBackup}
+ * and read by {@link UploadBackupData}. <br>
+ * A backup file holds one JSON record per line, of the form
+ * {@code {"kind":"<kind>","entity":{...}}}, where the kind is the name of the
+ * corresponding field of {@code DataBundle}. Files ending with {@link #COMPRESSED_EXTENSION}
+ * are gzip-compressed. <br>
+ * Records are written in {@link #KINDS_IN_UPLOAD_ORDER}, so that an entity is always
+ * preceded by the entities it depends on and a file can be restored in a single pass.
+ * The {@link #DELETIONS} of an incremental backup come last, so that they are applied
+ * once the entities of the file are restored.
+ */
+public final class BackupRecordFile {
+
+    public static final String EXTENSION = ".ndjson";
+    public static final String COMPRESSED_EXTENSION = ".ndjson.gz";
+
+    public static final String ACCOUNTS = "accounts";
+    public static final String COURSES = "courses";
+    public static final String INSTRUCTORS = "instructors";
+    public static final String STUDENTS = "students";
+    public static final String FEEDBACK_SESSIONS = "feedbackSessions";
+    public static final String FEEDBACK_QUESTIONS = "feedbackQuestions";
+    public static final String FEEDBACK_RESPONSES = "feedbackResponses";
+    public static final String FEEDBACK_RESPONSE_COMMENTS = "feedbackResponseComments";
+    public static final String COMMENTS = "comments";
+    public static final String PROFILES = "profiles";
+
+    /**
+     * The tombstones of deleted entities, whose kinds are those of the backup files.
+     * A tombstone without a key stands for all the entities of its kind in the course
+     * which are not in the file.
+     */
+    public static final String DELETIONS = "deletions";
+
+    public static final List<String> KINDS_IN_UPLOAD_ORDER = Collections.unmodifiableList(Arrays.asList(
+            ACCOUNTS, COURSES, INSTRUCTORS, STUDENTS, FEEDBACK_SESSIONS, FEEDBACK_QUESTIONS,
+            FEEDBACK_RESPONSES, FEEDBACK_RESPONSE_COMMENTS, COMMENTS, PROFILES, DELETIONS));
+
+    private static final Map<String, Class<? extends EntityAttributes>> ENTITY_CLASSES =
+            new HashMap<String, Class<? extends EntityAttributes>>();
+
+    static {
+        ENTITY_CLASSES.put(ACCOUNTS, AccountAttributes.class);
+        ENTITY_CLASSES.put(COURSES, CourseAttributes.class);
+        ENTITY_CLASSES.put(INSTRUCTORS, InstructorAttributes.class);
+        ENTITY_CLASSES.put(STUDENTS, StudentAttributes.class);
+        ENTITY_CLASSES.put(FEEDBACK_SESSIONS, FeedbackSessionAttributes.class);
+        ENTITY_CLASSES.put(FEEDBACK_QUESTIONS, FeedbackQuestionAttributes.class);
+        ENTITY_CLASSES.put(FEEDBACK_RESPONSES, FeedbackResponseAttributes.class);
+        ENTITY_CLASSES.put(FEEDBACK_RESPONSE_COMMENTS, FeedbackResponseCommentAttributes.class);
+        ENTITY_CLASSES.put(COMMENTS, CommentAttributes.class);
+        ENTITY_CLASSES.put(PROFILES, StudentProfileAttributes.class);
+        ENTITY_CLASSES.put(DELETIONS, EntityChangeAttributes.class);
+    }
+
+    private static final String KIND_PROPERTY = "kind";
+    private static final String ENTITY_PROPERTY = "entity";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private BackupRecordFile() {
+        // utility class
+    }
+
+    public static boolean isBackupRecordFile(String fileName) {
+        return fileName.endsWith(EXTENSION) || fileName.endsWith(COMPRESSED_EXTENSION);
+    }
+
+    /**
+     * @return the type of the entities of the given kind, or null if the kind is unknown
+     */
+    public static Class<? extends EntityAttributes> getEntityClass(String kind) {
+        return ENTITY_CLASSES.get(kind);
+    }
+
+    /**
+     * Same as {@code Utils.getTeammatesGson()} but without pretty printing,
+     * so that each record fits on a single line.
+     */
+    private static Gson getGson() {
+        return new GsonBuilder()
+                .setDateFormat(SystemParams.DEFAULT_DATE_TIME_FORMAT)
+                .create();
+    }
+
+    /**
+     * Writes records to a backup file through a single buffered stream.
+     */
+    public static class RecordWriter implements Closeable {
+
+        private final Gson gson = getGson();
+        private final Writer writer;
+        private int numberOfRecords;
+
+        public RecordWriter(File file, boolean isCompressed) throws IOException {
+            OutputStream out = new FileOutputStream(file);
+            if (isCompressed) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+            writer = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"), BUFFER_SIZE);
+        }
+
+        public void write(String kind, EntityAttributes entity) throws IOException {
+            JsonObject record = new JsonObject();
+            record.addProperty(KIND_PROPERTY, kind);
+            record.add(ENTITY_PROPERTY, gson.toJsonTree(entity));
+            writer.write(gson.toJson(record));
+            writer.write('\n');
+            numberOfRecords++;
+        }
+
+        public int getNumberOfRecords() {
+            return numberOfRecords;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Reads the records of a backup file one at a time.
+     */
+    public static class RecordReader implements Closeable {
+
+        private final Gson gson = getGson();
+        private final JsonParser parser = new JsonParser();
+        private final BufferedReader reader;
+
+        public RecordReader(File file) throws IOException {
+            InputStream in = new FileInputStream(file);
+            if (file.getName().endsWith(COMPRESSED_EXTENSION)) {
+                in = new GZIPInputStream(in, BUFFER_SIZE);
+            }
+            reader = new BufferedReader(new InputStreamReader(in, "UTF-8"), BUFFER_SIZE);
+        }
+
+        /**
+         * @return the next record, or null if the end of the file is reached
+         */
+        public Record next() throws IOException {
+            String line = reader.readLine();
+            while (line != null && line.trim().isEmpty()) {
+                line = reader.readLine();
+            }
+            if (line == null) {
+                return null;
+            }
+            JsonObject record = parser.parse(line).getAsJsonObject();
+            String kind = record.get(KIND_PROPERTY).getAsString();
+            Class<? extends EntityAttributes> entityClass = ENTITY_CLASSES.get(kind);
+            if (entityClass == null) {
+                throw new IOException("Unknown kind of backup record: " + kind);
+            }
+            return new Record(kind, gson.fromJson(record.get(ENTITY_PROPERTY), entityClass));
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * A single entity of a backup file, together with its kind.
+     */
+    public static class Record {
+
+        public final String kind;
+        public final EntityAttributes entity;
+
+        public Record(String kind, EntityAttributes entity) {
+            this.kind = kind;
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package teammates.client.scripts;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.util.Utils;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads the entities of one kind from a data bundle file one at a time, without
+ * loading the whole bundle into memory. <br>
+ * The kind is the name of the corresponding field of {@code DataBundle}, e.g.
+ * {@link BackupRecordFile#STUDENTS}. All other fields of the bundle are skipped, so
+ * reading every kind of a bundle in dependency order takes one pass over the file per kind.
+ */
+public class DataBundleReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Gson gson = Utils.getTeammatesGson();
+    private final Class<? extends EntityAttributes> entityClass;
+    private final JsonReader reader;
+
+    private boolean isInKind;
+    private boolean isEndReached;
+
+    public DataBundleReader(File file, String kind) throws IOException {
+        entityClass = BackupRecordFile.getEntityClass(kind);
+        if (entityClass == null) {
+            throw new IOException("Unknown kind of entities: " + kind);
+        }
+        reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), "UTF-8"), BUFFER_SIZE));
+        // as lenient as Gson#fromJson(String, Class), which is used to read the whole bundle
+        reader.setLenient(true);
+        reader.beginObject();
+        skipToKind(kind);
+    }
+
+    /**
+     * @return the key of the next entity in the bundle, or null if there are no more entities
+     *         of the kind. The entity itself is read by {@link #nextEntity()}.
+     */
+    public String nextKey() throws IOException {
+        if (isEndReached || !isInKind) {
+            return null;
+        }
+        if (reader.peek() == JsonToken.END_OBJECT) {
+            reader.endObject();
+            isEndReached = true;
+            return null;
+        }
+        return reader.nextName();
+    }
+
+    /**
+     * @return the entity of the key last returned by {@link #nextKey()}
+     */
+    public EntityAttributes nextEntity() {
+        return gson.fromJson(reader, entityClass);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void skipToKind(String kind) throws IOException {
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(kind) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                isInKind = true;
+                return;
+            }
+            reader.skipValue();
+        }
+    }
+}
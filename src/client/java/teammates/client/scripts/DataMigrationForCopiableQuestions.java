@@ -0,0 +1,45 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.List;
+
+import teammates.client.remoteapi.RemoteApiClient;
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.storage.api.CopiableQuestionsDb;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.storage.datastore.Datastore;
+
+/**
+ * Script to add the questions created before the catalogue of copiable questions
+ * existed to the catalogue. Questions already in the catalogue are rewritten with the same values.
+ */
+public class DataMigrationForCopiableQuestions extends RemoteApiClient {
+
+    private CoursesDb coursesDb = new CoursesDb();
+    private FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+    private CopiableQuestionsDb copiableQuestionsDb = new CopiableQuestionsDb();
+
+    public static void main(String[] args) throws IOException {
+        DataMigrationForCopiableQuestions migrator = new DataMigrationForCopiableQuestions();
+        migrator.doOperationRemotely();
+    }
+
+    @Override
+    protected void doOperation() {
+        Datastore.initialize();
+
+        List<CourseAttributes> allCourses = getAllCourses();
+        for (CourseAttributes course : allCourses) {
+            List<FeedbackQuestionAttributes> questions = fqDb.getFeedbackQuestionsForCourse(course.getId());
+            copiableQuestionsDb.putCopiableQuestions(questions);
+            System.out.println("Added " + questions.size() + " questions of course " + course.getId());
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private List<CourseAttributes> getAllCourses() {
+        return coursesDb.getAllCourses();
+    }
+}
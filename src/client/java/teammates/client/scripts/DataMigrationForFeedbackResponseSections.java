@@ -0,0 +1,83 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
+
+import teammates.client.remoteapi.RemoteApiClient;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackResponse;
+
+import com.google.appengine.api.datastore.Cursor;
+
+/**
+ * Script to fill in the multi-valued {@code sections} property of feedback responses
+ * that were stored before the property existed.
+ * Responses without the property are not returned by section-filtered queries,
+ * so this script has to be run before the code using the property is deployed.
+ *
+ * The lastUpdate time stamp of the responses is preserved.
+ * The script can be stopped and re-run; responses already migrated are skipped.
+ */
+public class DataMigrationForFeedbackResponseSections extends RemoteApiClient {
+
+    private static final boolean isPreview = true;
+
+    private static final int BATCH_SIZE = 500;
+
+    public static void main(String[] args) throws IOException {
+        DataMigrationForFeedbackResponseSections migrator = new DataMigrationForFeedbackResponseSections();
+        migrator.doOperationRemotely();
+    }
+
+    @Override
+    protected void doOperation() {
+        Datastore.initialize();
+
+        int numberOfResponsesScanned = 0;
+        int numberOfResponsesToMigrate = 0;
+        Cursor cursor = null;
+
+        do {
+            PersistenceManager pm = Datastore.getPersistenceManager();
+            Query q = pm.newQuery(FeedbackResponse.class);
+            if (cursor != null) {
+                Map<String, Object> extensionMap = new HashMap<String, Object>();
+                extensionMap.put(JDOCursorHelper.CURSOR_EXTENSION, cursor);
+                q.setExtensions(extensionMap);
+            }
+            q.setRange(0, BATCH_SIZE);
+
+            @SuppressWarnings("unchecked")
+            List<FeedbackResponse> responses = (List<FeedbackResponse>) q.execute();
+
+            for (FeedbackResponse response : responses) {
+                if (response.getSections() == null) {
+                    numberOfResponsesToMigrate++;
+                    if (!isPreview) {
+                        response.keepUpdateTimestamp = true;
+                        // re-setting the section recomputes the sections of the response
+                        response.setGiverSection(response.getGiverSection());
+                    }
+                }
+            }
+            numberOfResponsesScanned += responses.size();
+
+            cursor = responses.size() < BATCH_SIZE ? null : JDOCursorHelper.getCursor(responses);
+
+            // persists the modified responses of this batch
+            pm.close();
+
+            System.out.println("Responses scanned: " + numberOfResponsesScanned
+                               + ", responses " + (isPreview ? "to migrate: " : "migrated: ")
+                               + numberOfResponsesToMigrate);
+        } while (cursor != null);
+    }
+
+}
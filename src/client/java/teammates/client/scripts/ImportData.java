@@ -1,15 +1,29 @@
 package teammates.client.scripts;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Set;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
-import teammates.common.util.FileHelper;
+import teammates.common.util.Const;
 import teammates.common.util.Utils;
 import teammates.test.driver.BackDoor;
 import teammates.test.driver.TestProperties;
@@ -19,120 +33,259 @@ import com.google.gson.Gson;
 /**
  * Usage: This script imports a large data bundle to the appengine. The target of the script is the app with
  * appID in the test.properties file.Can use DataGenerator.java to generate random data.
- * 
+ *
  * Notes:
  * -Edit SOURCE_FILE_NAME before use
- * -Should not have any limit on the size of the databundle. However, the number of entities per request
- * should not be set to too large as it may cause Deadline Exception (especially for evaluations)
- * 
+ * -Should not have any limit on the size of the databundle. The bundle is read one kind of entities at a time
+ * and is never loaded into memory as a whole.
+ * -Entities are sent in the order in which they depend on each other. The requests for a kind are sent in
+ * parallel, and all of them must succeed before the next kind is sent. The number of requests in flight is
+ * adapted to the observed latency and errors (see {@link AdaptiveConcurrencyLimiter}), and failed requests
+ * are retried, as persisting a bundle again overwrites the entities which are already persisted.
+ * -Search documents and the respondants of the sessions are only updated after all the entities are persisted.
+ *
  */
 public final class ImportData {
-    //  
+    //
     // Data source file name (under src/test/resources/data folder) to import
     private static final String SOURCE_FILE_NAME = "ResultFileName.json";
-    
-    private static final int MAX_NUMBER_OF_ENTITY_PER_REQUEST = 100;
-    private static final int MAX_NUMBER_OF_EVALUATION_PER_REQUEST = 1;
-    private static final int WAIT_TIME_BETWEEN_REQUEST = 1000; //ms
-    
-    private static DataBundle data;
+
+    // should not be set too large as it may cause Deadline Exception
+    private static final int NUMBER_OF_ENTITIES_PER_REQUEST = 100;
+
+    private static final int INITIAL_NUMBER_OF_REQUESTS_IN_FLIGHT = 2;
+    private static final int MAX_NUMBER_OF_REQUESTS_IN_FLIGHT = 16;
+    private static final long TARGET_REQUEST_LATENCY = 5000; //ms
+
+    private static final int MAX_NUMBER_OF_ATTEMPTS = 5;
+    private static final int WAIT_TIME_BEFORE_RETRY = 1000; //ms, doubled after each failed attempt
+
+    private static final long PROGRESS_REPORT_INTERVAL = 10000; //ms
+
+    /** Profiles are persisted together with their accounts. */
+    private static final List<String> KINDS_TO_PERSIST = Arrays.asList(
+            BackupRecordFile.ACCOUNTS, BackupRecordFile.COURSES, BackupRecordFile.INSTRUCTORS,
+            BackupRecordFile.STUDENTS, BackupRecordFile.FEEDBACK_SESSIONS, BackupRecordFile.FEEDBACK_QUESTIONS,
+            BackupRecordFile.FEEDBACK_RESPONSES, BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS,
+            BackupRecordFile.COMMENTS);
+
+    private static final List<String> KINDS_TO_INDEX = Arrays.asList(
+            BackupRecordFile.INSTRUCTORS, BackupRecordFile.STUDENTS,
+            BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS, BackupRecordFile.COMMENTS);
+
     private static Gson gson = Utils.getTeammatesGson();
-    private static String jsonString;
-    
+
+    private static AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            INITIAL_NUMBER_OF_REQUESTS_IN_FLIGHT, 1, MAX_NUMBER_OF_REQUESTS_IN_FLIGHT, TARGET_REQUEST_LATENCY);
+    private static ExecutorService executor;
+
+    private static AtomicLong numberOfEntitiesDone = new AtomicLong();
+    private static AtomicLong numberOfRetries = new AtomicLong();
+    private static long startTime;
+    private static long lastReportTime;
+
     private ImportData() {
         // script, not meant to be instantiated
     }
 
+    /**
+     * An operation done on the entities of a data bundle through the back door.
+     */
+    private enum Operation {
+        PERSIST {
+            @Override
+            String send(String dataBundleJson) {
+                return BackDoor.persistNewDataBundleInBulk(dataBundleJson);
+            }
+        },
+        UPDATE_RESPONDANTS {
+            @Override
+            String send(String dataBundleJson) {
+                return BackDoor.updateRespondantsInBackDoor(dataBundleJson);
+            }
+        },
+        PUT_DOCUMENTS {
+            @Override
+            String send(String dataBundleJson) {
+                return BackDoor.putDocumentsInBackDoor(dataBundleJson);
+            }
+        };
+
+        abstract String send(String dataBundleJson);
+    }
+
     public static void main(String[] args) throws Exception {
-        jsonString = FileHelper.readFile(TestProperties.TEST_DATA_FOLDER + "/" + SOURCE_FILE_NAME);
-        data = gson.fromJson(jsonString, DataBundle.class);
-        
-        String status = "";
-        do {
-            long start = System.currentTimeMillis();
-            boolean hasAccounts = !data.accounts.isEmpty();
-            boolean hasInstructors = !data.instructors.isEmpty();
-            boolean hasCourses = !data.courses.isEmpty();
-            boolean hasStudents = !data.students.isEmpty();
-            
-            if (hasAccounts) {
-                status = persist(data.accounts); // Accounts
-            } else if (hasInstructors) {            //Instructors
-                status = persist(data.instructors);
-            } else if (hasCourses) {    //Courses
-                status = persist(data.courses);
-            } else if (hasStudents) {    //Students
-                status = persist(data.students);
-            } else {    
-                // No more data, break the loop
-                System.out.print("\n Finish!");
-                break;
+        File source = new File(TestProperties.TEST_DATA_FOLDER + "/" + SOURCE_FILE_NAME);
+
+        executor = Executors.newFixedThreadPool(MAX_NUMBER_OF_REQUESTS_IN_FLIGHT);
+        startTime = System.currentTimeMillis();
+        try {
+            for (String kind : KINDS_TO_PERSIST) {
+                if (!process(source, kind, Operation.PERSIST)) {
+                    System.out.println("Stopped as not all " + kind + " could be persisted");
+                    return;
+                }
             }
-            long elapsedTimeMillis = System.currentTimeMillis() - start;
 
-            // Get elapsed time in seconds of the current request
-            float elapsedTimeSec = elapsedTimeMillis / 1000F;
-            System.out.print(status + " in " + elapsedTimeSec + " s\n");
+            boolean isSuccessful = process(source, BackupRecordFile.FEEDBACK_SESSIONS, Operation.UPDATE_RESPONDANTS);
+            for (String kind : KINDS_TO_INDEX) {
+                isSuccessful &= process(source, kind, Operation.PUT_DOCUMENTS);
+            }
 
-        } while (true);
-        
+            System.out.println((isSuccessful ? "Finish!" : "Finish with failed requests!")
+                               + " " + numberOfEntitiesDone.get() + " entities done in "
+                               + (System.currentTimeMillis() - startTime) / 1000F + " s at "
+                               + OfflineBackup.getEntitiesPerSecond(numberOfEntitiesDone.get(), startTime)
+                               + " entities/s, with " + numberOfRetries.get() + " retried requests");
+        } finally {
+            executor.shutdown();
+        }
     }
-    
+
     /**
-     * This method will persist a number of entity and remove them from the source, return the 
-     * status of the operation.
-     *  
-     * @param map - HashMap which has data to persist
-     * @return status of the Backdoor operation
+     * Does the operation on all the entities of the given kind, in requests of
+     * {@link #NUMBER_OF_ENTITIES_PER_REQUEST} entities sent in parallel.
+     *
+     * @return true if all the requests succeeded
      */
-    private static String persist(@SuppressWarnings("rawtypes") HashMap map) {
-        DataBundle bundle = new DataBundle();
-        int count = 0;
-        @SuppressWarnings("unchecked")
-        Set<String> set = map.keySet();
-        @SuppressWarnings("rawtypes")
-        Iterator itr = set.iterator();
-        
-        String type = "";
-        while (itr.hasNext()) {
-            String key = (String) itr.next();
-            Object obj = map.get(key);
-            
-            if (obj instanceof AccountAttributes) {
-                type = "AccountData";
-                AccountAttributes accountData = (AccountAttributes) obj;
-                bundle.accounts.put(key, accountData);
-            } else if (obj instanceof InstructorAttributes) {
-                type = "InstructorData";
-                InstructorAttributes instructorData = (InstructorAttributes) obj;
-                bundle.instructors.put(key, instructorData);
-            } else if (obj instanceof CourseAttributes) {
-                type = "CourseData";
-                CourseAttributes courseData = (CourseAttributes) obj;
-                bundle.courses.put(key, courseData);
-            } else if (obj instanceof StudentAttributes) {
-                type = "StudentData";
-                StudentAttributes studentData = (StudentAttributes) obj;
-                bundle.students.put(key, studentData);
-            } 
-            count++;
-            itr.remove();
-            System.out.print(key + "\n");
-            if ("EvaluationData".equals(type) && count >= MAX_NUMBER_OF_EVALUATION_PER_REQUEST
-                || count >= MAX_NUMBER_OF_ENTITY_PER_REQUEST) {
-                break;
+    private static boolean process(File source, String kind, Operation operation)
+            throws IOException, InterruptedException, ExecutionException {
+        long kindStartTime = System.currentTimeMillis();
+        long numberOfEntitiesDoneBefore = numberOfEntitiesDone.get();
+
+        List<Future<Boolean>> requests = new ArrayList<Future<Boolean>>();
+        DataBundleReader reader = new DataBundleReader(source, kind);
+        try {
+            DataBundle bundle = new DataBundle();
+            int numberOfEntities = 0;
+            String key = reader.nextKey();
+            while (key != null) {
+                addToDataBundle(bundle, kind, key, reader.nextEntity());
+                numberOfEntities++;
+                if (numberOfEntities == NUMBER_OF_ENTITIES_PER_REQUEST) {
+                    requests.add(send(bundle, numberOfEntities, kind, operation));
+                    bundle = new DataBundle();
+                    numberOfEntities = 0;
+                }
+                key = reader.nextKey();
             }
+            if (numberOfEntities > 0) {
+                requests.add(send(bundle, numberOfEntities, kind, operation));
+            }
+        } finally {
+            reader.close();
         }
-        System.out.print(count + " entities of type " + type + " left " + map.size() + " \n");
-        
-        String status = BackDoor.persistNewDataBundle(gson.toJson(bundle));
-        
-        // wait a few seconds to allow data to persist completedly
-        try {
-            Thread.sleep(WAIT_TIME_BETWEEN_REQUEST);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+
+        boolean isSuccessful = true;
+        for (Future<Boolean> request : requests) {
+            isSuccessful &= request.get();
+        }
+
+        long numberOfEntitiesDoneForKind = numberOfEntitiesDone.get() - numberOfEntitiesDoneBefore;
+        System.out.println(operation + " " + kind + ": " + numberOfEntitiesDoneForKind + " entities done at "
+                           + OfflineBackup.getEntitiesPerSecond(numberOfEntitiesDoneForKind, kindStartTime)
+                           + " entities/s");
+        return isSuccessful;
+    }
+
+    /**
+     * Sends the bundle once a request is allowed by the limiter. As this blocks the reading
+     * of the source file, the number of bundles waiting to be sent stays bounded.
+     */
+    private static Future<Boolean> send(DataBundle bundle, int numberOfEntities, String kind,
+                                        Operation operation) throws InterruptedException {
+        limiter.acquire();
+        return executor.submit(new BundleRequest(gson.toJson(bundle), numberOfEntities, kind, operation));
+    }
+
+    private static class BundleRequest implements Callable<Boolean> {
+
+        private final String dataBundleJson;
+        private final int numberOfEntities;
+        private final String kind;
+        private final Operation operation;
+
+        BundleRequest(String dataBundleJson, int numberOfEntities, String kind, Operation operation) {
+            this.dataBundleJson = dataBundleJson;
+            this.numberOfEntities = numberOfEntities;
+            this.kind = kind;
+            this.operation = operation;
+        }
+
+        /**
+         * Expects a request to be acquired from the limiter before it is called.
+         */
+        @Override
+        public Boolean call() throws InterruptedException {
+            int waitTime = WAIT_TIME_BEFORE_RETRY;
+            for (int attempt = 1;; attempt++) {
+                long requestStartTime = System.currentTimeMillis();
+                String status = operation.send(dataBundleJson);
+                boolean isSuccessful = status.startsWith(Const.StatusCodes.BACKDOOR_STATUS_SUCCESS);
+                limiter.release(System.currentTimeMillis() - requestStartTime, isSuccessful);
+
+                if (isSuccessful) {
+                    numberOfEntitiesDone.addAndGet(numberOfEntities);
+                    reportProgress(kind);
+                    return true;
+                }
+                if (attempt == MAX_NUMBER_OF_ATTEMPTS) {
+                    System.out.println(operation + " of " + numberOfEntities + " " + kind + " failed: " + status);
+                    return false;
+                }
+
+                numberOfRetries.incrementAndGet();
+                Thread.sleep(waitTime);
+                waitTime *= 2;
+                limiter.acquire();
+            }
+        }
+    }
+
+    private static synchronized void reportProgress(String kind) {
+        long now = System.currentTimeMillis();
+        if (now - lastReportTime < PROGRESS_REPORT_INTERVAL) {
+            return;
+        }
+        lastReportTime = now;
+        System.out.println("[" + kind + "] " + numberOfEntitiesDone.get() + " entities done in "
+                           + (now - startTime) / 1000F + " s at "
+                           + OfflineBackup.getEntitiesPerSecond(numberOfEntitiesDone.get(), startTime)
+                           + " entities/s, " + limiter.getLimit() + " requests in flight allowed, "
+                           + numberOfRetries.get() + " retried requests");
+    }
+
+    private static void addToDataBundle(DataBundle bundle, String kind, String key, EntityAttributes entity) {
+        switch (kind) {
+        case BackupRecordFile.ACCOUNTS:
+            bundle.accounts.put(key, (AccountAttributes) entity);
+            break;
+        case BackupRecordFile.COURSES:
+            bundle.courses.put(key, (CourseAttributes) entity);
+            break;
+        case BackupRecordFile.INSTRUCTORS:
+            bundle.instructors.put(key, (InstructorAttributes) entity);
+            break;
+        case BackupRecordFile.STUDENTS:
+            bundle.students.put(key, (StudentAttributes) entity);
+            break;
+        case BackupRecordFile.FEEDBACK_SESSIONS:
+            bundle.feedbackSessions.put(key, (FeedbackSessionAttributes) entity);
+            break;
+        case BackupRecordFile.FEEDBACK_QUESTIONS:
+            bundle.feedbackQuestions.put(key, (FeedbackQuestionAttributes) entity);
+            break;
+        case BackupRecordFile.FEEDBACK_RESPONSES:
+            bundle.feedbackResponses.put(key, (FeedbackResponseAttributes) entity);
+            break;
+        case BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS:
+            bundle.feedbackResponseComments.put(key, (FeedbackResponseCommentAttributes) entity);
+            break;
+        case BackupRecordFile.COMMENTS:
+            bundle.comments.put(key, (CommentAttributes) entity);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown kind of entities: " + kind);
         }
-        return status;
     }
 }
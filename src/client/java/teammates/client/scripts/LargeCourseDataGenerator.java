@@ -0,0 +1,486 @@
+package teammates.client.scripts;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.FeedbackConstantSumResponseDetails;
+import teammates.common.datatransfer.FeedbackContributionResponseDetails;
+import teammates.common.datatransfer.FeedbackMcqResponseDetails;
+import teammates.common.datatransfer.FeedbackMsqResponseDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackRankOptionsResponseDetails;
+import teammates.common.datatransfer.FeedbackRankRecipientsResponseDetails;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackRubricResponseDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Utils;
+import teammates.test.driver.TestProperties;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Usage: This script generates a data bundle of large courses, to be imported with {@link ImportData}
+ * and used by {@link LoadTestDriver}. The result file will be saved in src/test/resources/data/ folder.
+ *
+ * Notes:
+ * -Edit the parameters below before use. The shape of the data is:
+ *  courses x sections x teams x students, each course with the given number of instructors and sessions.
+ *  Each session has the given number of questions, which cycle through all the question types.
+ *  Each student answers each question with a probability of RESPONSE_DENSITY.
+ * -All students and instructors are registered, with google IDs equal to their keys in the bundle,
+ *  so that they can log in on the dev server. Sessions are open and their results are published.
+ * -The same parameters and SEED always generate the same bundle (except for the session dates).
+ * -Entities are written to the file as they are generated, so the size of the bundle is not limited
+ *  by memory.
+ */
+public final class LargeCourseDataGenerator {
+
+    // Name of the result file, please do not override existing file
+    public static final String FILE_NAME = "LargeCourseData.json";
+    // Prefix used in all entities
+    public static final String PREFIX = "LCDG.";
+
+    public static final int NUM_OF_COURSES = 2;
+    public static final int NUM_OF_SECTIONS_PER_COURSE = 10;
+    public static final int NUM_OF_TEAMS_PER_SECTION = 10;
+    public static final int NUM_OF_STUDENTS_PER_TEAM = 5;
+    public static final int NUM_OF_INSTRUCTORS_PER_COURSE = 3;
+    public static final int NUM_OF_SESSIONS_PER_COURSE = 2;
+    public static final int NUM_OF_QUESTIONS_PER_SESSION = FeedbackQuestionType.values().length;
+    public static final double RESPONSE_DENSITY = 0.8;
+
+    public static final long SEED = 2016;
+
+    private static final long ONE_DAY = 24L * 60 * 60 * 1000;
+
+    private static final List<String> OPTIONS = Arrays.asList("Design", "Implementation", "Testing");
+    private static final List<String> RUBRIC_CHOICES = Arrays.asList("Disagree", "Neutral", "Agree");
+    private static final List<String> RUBRIC_SUB_QUESTIONS = Arrays.asList(
+            "a) This student has done a good job.", "b) This student has tried his/her best.");
+
+    private static Gson gson = Utils.getTeammatesGson();
+    private static Random random = new Random(SEED);
+    private static Date now = new Date();
+
+    private LargeCourseDataGenerator() {
+        // script, not meant to be instantiated
+    }
+
+    public static void main(String[] args) throws IOException {
+        String filePath = TestProperties.TEST_DATA_FOLDER + "/" + FILE_NAME;
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(filePath), "UTF-8"), 64 * 1024));
+        try {
+            writer.beginObject();
+            writeEmptyKind(writer, BackupRecordFile.ACCOUNTS);
+            writeCourses(writer);
+            writeInstructors(writer);
+            writeStudents(writer);
+            writeFeedbackSessions(writer);
+            writeFeedbackQuestions(writer);
+            long numberOfResponses = writeFeedbackResponses(writer);
+            writeEmptyKind(writer, BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS);
+            writeEmptyKind(writer, BackupRecordFile.COMMENTS);
+            writeEmptyKind(writer, BackupRecordFile.PROFILES);
+            writer.endObject();
+
+            System.out.println("Generated " + NUM_OF_COURSES + " courses with "
+                               + getNumberOfStudentsPerCourse() + " students each and "
+                               + numberOfResponses + " responses in " + filePath);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void writeEmptyKind(JsonWriter writer, String kind) throws IOException {
+        writer.name(kind).beginObject().endObject();
+    }
+
+    private static void writeCourses(JsonWriter writer) throws IOException {
+        writer.name(BackupRecordFile.COURSES).beginObject();
+        for (int c = 1; c <= NUM_OF_COURSES; c++) {
+            writeEntity(writer, getCourseId(c),
+                        new CourseAttributes(getCourseId(c), "Large Course " + c), CourseAttributes.class);
+        }
+        writer.endObject();
+    }
+
+    private static void writeInstructors(JsonWriter writer) throws IOException {
+        String role = Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER;
+        writer.name(BackupRecordFile.INSTRUCTORS).beginObject();
+        for (int c = 1; c <= NUM_OF_COURSES; c++) {
+            for (int i = 1; i <= NUM_OF_INSTRUCTORS_PER_COURSE; i++) {
+                String googleId = getInstructorGoogleId(c, i);
+                InstructorAttributes instructor = new InstructorAttributes(
+                        googleId, getCourseId(c), "Instructor " + i + " Of Course " + c, googleId + "@gmail.tmt",
+                        role, "Instructor", new InstructorPrivileges(role));
+                writeEntity(writer, googleId, instructor, InstructorAttributes.class);
+            }
+        }
+        writer.endObject();
+    }
+
+    private static void writeStudents(JsonWriter writer) throws IOException {
+        writer.name(BackupRecordFile.STUDENTS).beginObject();
+        for (int c = 1; c <= NUM_OF_COURSES; c++) {
+            for (int s = 1; s <= NUM_OF_SECTIONS_PER_COURSE; s++) {
+                for (int t = 1; t <= NUM_OF_TEAMS_PER_SECTION; t++) {
+                    for (int m = 1; m <= NUM_OF_STUDENTS_PER_TEAM; m++) {
+                        String googleId = getStudentGoogleId(c, s, t, m);
+                        StudentAttributes student = new StudentAttributes(
+                                googleId, getStudentEmail(c, s, t, m), "Student " + s + "." + t + "." + m,
+                                "", getCourseId(c), getTeamName(s, t), getSectionName(s));
+                        writeEntity(writer, googleId, student, StudentAttributes.class);
+                    }
+                }
+            }
+        }
+        writer.endObject();
+    }
+
+    private static void writeFeedbackSessions(JsonWriter writer) throws IOException {
+        writer.name(BackupRecordFile.FEEDBACK_SESSIONS).beginObject();
+        for (int c = 1; c <= NUM_OF_COURSES; c++) {
+            for (int f = 1; f <= NUM_OF_SESSIONS_PER_COURSE; f++) {
+                FeedbackSessionAttributes session = new FeedbackSessionAttributes(
+                        getSessionName(f), getCourseId(c), getInstructorEmail(c, 1),
+                        new Text("Please answer all the questions."), new Date(now.getTime() - 2 * ONE_DAY),
+                        new Date(now.getTime() - ONE_DAY), new Date(now.getTime() + 30 * ONE_DAY),
+                        new Date(now.getTime() - 2 * ONE_DAY), new Date(now.getTime() - ONE_DAY),
+                        0, 15, FeedbackSessionType.STANDARD, true, true, false, false, false);
+                writeEntity(writer, getCourseId(c) + "." + f, session, FeedbackSessionAttributes.class);
+            }
+        }
+        writer.endObject();
+    }
+
+    private static void writeFeedbackQuestions(JsonWriter writer) throws IOException {
+        writer.name(BackupRecordFile.FEEDBACK_QUESTIONS).beginObject();
+        for (int c = 1; c <= NUM_OF_COURSES; c++) {
+            for (int f = 1; f <= NUM_OF_SESSIONS_PER_COURSE; f++) {
+                for (int q = 1; q <= NUM_OF_QUESTIONS_PER_SESSION; q++) {
+                    writeEntity(writer, getCourseId(c) + "." + f + ".q" + q,
+                                createQuestion(c, f, q), FeedbackQuestionAttributes.class);
+                }
+            }
+        }
+        writer.endObject();
+    }
+
+    /**
+     * @return the number of responses written
+     */
+    private static long writeFeedbackResponses(JsonWriter writer) throws IOException {
+        long numberOfResponses = 0;
+        writer.name(BackupRecordFile.FEEDBACK_RESPONSES).beginObject();
+        for (int c = 1; c <= NUM_OF_COURSES; c++) {
+            for (int f = 1; f <= NUM_OF_SESSIONS_PER_COURSE; f++) {
+                for (int q = 1; q <= NUM_OF_QUESTIONS_PER_SESSION; q++) {
+                    FeedbackQuestionAttributes question = createQuestion(c, f, q);
+                    for (int s = 1; s <= NUM_OF_SECTIONS_PER_COURSE; s++) {
+                        for (int t = 1; t <= NUM_OF_TEAMS_PER_SECTION; t++) {
+                            for (int m = 1; m <= NUM_OF_STUDENTS_PER_TEAM; m++) {
+                                if (random.nextDouble() >= RESPONSE_DENSITY) {
+                                    continue;
+                                }
+                                for (FeedbackResponseAttributes response : createResponses(question, c, s, t, m)) {
+                                    writeEntity(writer, question.courseId + "." + f + ".q" + q + "."
+                                                        + response.giverEmail + "." + response.recipientEmail,
+                                                response, FeedbackResponseAttributes.class);
+                                    numberOfResponses++;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        writer.endObject();
+        return numberOfResponses;
+    }
+
+    private static void writeEntity(JsonWriter writer, String key, Object entity, Class<?> entityClass)
+            throws IOException {
+        writer.name(key);
+        gson.toJson(entity, entityClass, writer);
+    }
+
+    private static FeedbackQuestionAttributes createQuestion(int c, int f, int q) {
+        FeedbackQuestionType questionType = getQuestionType(q);
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.feedbackSessionName = getSessionName(f);
+        question.courseId = getCourseId(c);
+        question.creatorEmail = getInstructorEmail(c, 1);
+        question.questionNumber = q;
+        question.questionType = questionType;
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = getRecipientType(questionType);
+        question.numberOfEntitiesToGiveFeedbackTo = question.recipientType == FeedbackParticipantType.SELF
+                                                    ? 1
+                                                    : Const.MAX_POSSIBLE_RECIPIENTS;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.RECEIVER, FeedbackParticipantType.INSTRUCTORS));
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.INSTRUCTORS));
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(
+                FeedbackParticipantType.RECEIVER, FeedbackParticipantType.INSTRUCTORS));
+        question.questionMetaData = new Text(createQuestionMetaData(questionType, "Question " + q));
+        return question;
+    }
+
+    private static FeedbackQuestionType getQuestionType(int questionNumber) {
+        FeedbackQuestionType[] questionTypes = FeedbackQuestionType.values();
+        return questionTypes[(questionNumber - 1) % questionTypes.length];
+    }
+
+    private static FeedbackParticipantType getRecipientType(FeedbackQuestionType questionType) {
+        switch (questionType) {
+        case TEXT:
+        case NUMSCALE:
+        case RANK_RECIPIENTS:
+            return FeedbackParticipantType.OWN_TEAM_MEMBERS;
+        case CONTRIB:
+            return FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF;
+        default:
+            return FeedbackParticipantType.SELF;
+        }
+    }
+
+    /**
+     * @return the question details in the format of the question metadata of the given type
+     */
+    private static String createQuestionMetaData(FeedbackQuestionType questionType, String questionText) {
+        if (questionType == FeedbackQuestionType.TEXT) {
+            return questionText;
+        }
+
+        JsonObject details = new JsonObject();
+        details.addProperty("questionText", questionText);
+        details.addProperty("questionType", questionType.name());
+        switch (questionType) {
+        case MCQ:
+            details.addProperty("numOfMcqChoices", OPTIONS.size());
+            details.add("mcqChoices", toJsonArray(OPTIONS));
+            details.addProperty("otherEnabled", false);
+            details.addProperty("generateOptionsFor", FeedbackParticipantType.NONE.name());
+            break;
+        case MSQ:
+            details.addProperty("numOfMsqChoices", OPTIONS.size());
+            details.add("msqChoices", toJsonArray(OPTIONS));
+            details.addProperty("otherEnabled", false);
+            details.addProperty("generateOptionsFor", FeedbackParticipantType.NONE.name());
+            break;
+        case NUMSCALE:
+            details.addProperty("minScale", 1);
+            details.addProperty("maxScale", 5);
+            details.addProperty("step", 1);
+            break;
+        case CONSTSUM:
+            details.addProperty("numOfConstSumOptions", OPTIONS.size());
+            details.add("constSumOptions", toJsonArray(OPTIONS));
+            details.addProperty("distributeToRecipients", false);
+            details.addProperty("pointsPerOption", false);
+            details.addProperty("forceUnevenDistribution", false);
+            details.addProperty("points", 100);
+            break;
+        case CONTRIB:
+            details.addProperty("isNotSureAllowed", true);
+            break;
+        case RUBRIC:
+            details.addProperty("hasAssignedWeights", false);
+            details.add("rubricWeights", new JsonArray());
+            details.addProperty("numOfRubricChoices", RUBRIC_CHOICES.size());
+            details.add("rubricChoices", toJsonArray(RUBRIC_CHOICES));
+            details.addProperty("numOfRubricSubQuestions", RUBRIC_SUB_QUESTIONS.size());
+            details.add("rubricSubQuestions", toJsonArray(RUBRIC_SUB_QUESTIONS));
+            JsonArray descriptions = new JsonArray();
+            for (int i = 0; i < RUBRIC_SUB_QUESTIONS.size(); i++) {
+                descriptions.add(toJsonArray(Collections.nCopies(RUBRIC_CHOICES.size(), "")));
+            }
+            details.add("rubricDescriptions", descriptions);
+            break;
+        case RANK_OPTIONS:
+            details.add("options", toJsonArray(OPTIONS));
+            details.addProperty("areDuplicatesAllowed", false);
+            break;
+        case RANK_RECIPIENTS:
+            details.addProperty("areDuplicatesAllowed", false);
+            break;
+        default:
+            break;
+        }
+        return details.toString();
+    }
+
+    private static JsonArray toJsonArray(List<String> values) {
+        JsonArray array = new JsonArray();
+        for (String value : values) {
+            array.add(new JsonPrimitive(value));
+        }
+        return array;
+    }
+
+    /**
+     * @return the responses of student {@code m} of team {@code t} of section {@code s}
+     *         to all the recipients of the question
+     */
+    private static List<FeedbackResponseAttributes> createResponses(FeedbackQuestionAttributes question,
+                                                                    int c, int s, int t, int m) {
+        List<Integer> recipients = new ArrayList<Integer>();
+        switch (question.recipientType) {
+        case SELF:
+            recipients.add(m);
+            break;
+        case OWN_TEAM_MEMBERS_INCLUDING_SELF:
+            for (int i = 1; i <= NUM_OF_STUDENTS_PER_TEAM; i++) {
+                recipients.add(i);
+            }
+            break;
+        default:
+            for (int i = 1; i <= NUM_OF_STUDENTS_PER_TEAM; i++) {
+                if (i != m) {
+                    recipients.add(i);
+                }
+            }
+            break;
+        }
+
+        // a distinct rank for each of the recipients
+        List<Integer> ranks = new ArrayList<Integer>();
+        for (int i = 1; i <= recipients.size(); i++) {
+            ranks.add(i);
+        }
+        Collections.shuffle(ranks, random);
+
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (int i = 0; i < recipients.size(); i++) {
+            FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                    question.feedbackSessionName, question.courseId, Integer.toString(question.questionNumber),
+                    question.questionType, getStudentEmail(c, s, t, m), getSectionName(s),
+                    getStudentEmail(c, s, t, recipients.get(i)), getSectionName(s), null);
+            response.setResponseDetails(createResponseDetails(questionDetails, ranks.get(i)));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private static FeedbackResponseDetails createResponseDetails(FeedbackQuestionDetails questionDetails,
+                                                                 int rank) {
+        FeedbackResponseDetails responseDetails;
+        String[] answer;
+        switch (questionDetails.questionType) {
+        case MCQ:
+            responseDetails = new FeedbackMcqResponseDetails();
+            answer = new String[] { OPTIONS.get(random.nextInt(OPTIONS.size())) };
+            break;
+        case MSQ:
+            responseDetails = new FeedbackMsqResponseDetails();
+            answer = OPTIONS.subList(0, 1 + random.nextInt(OPTIONS.size())).toArray(new String[0]);
+            break;
+        case NUMSCALE:
+            responseDetails = new FeedbackNumericalScaleResponseDetails();
+            answer = new String[] { Integer.toString(1 + random.nextInt(5)) };
+            break;
+        case CONSTSUM:
+            responseDetails = new FeedbackConstantSumResponseDetails();
+            int first = random.nextInt(101);
+            int second = random.nextInt(101 - first);
+            answer = new String[] { Integer.toString(first), Integer.toString(second),
+                                    Integer.toString(100 - first - second) };
+            break;
+        case CONTRIB:
+            responseDetails = new FeedbackContributionResponseDetails();
+            answer = new String[] { Integer.toString(80 + 10 * random.nextInt(5)) };
+            break;
+        case RUBRIC:
+            responseDetails = new FeedbackRubricResponseDetails();
+            answer = new String[] { "0-" + random.nextInt(RUBRIC_CHOICES.size())
+                                    + ",1-" + random.nextInt(RUBRIC_CHOICES.size()) };
+            break;
+        case RANK_OPTIONS:
+            responseDetails = new FeedbackRankOptionsResponseDetails();
+            List<String> optionRanks = new ArrayList<String>();
+            for (int i = 1; i <= OPTIONS.size(); i++) {
+                optionRanks.add(Integer.toString(i));
+            }
+            Collections.shuffle(optionRanks, random);
+            answer = optionRanks.toArray(new String[0]);
+            break;
+        case RANK_RECIPIENTS:
+            responseDetails = new FeedbackRankRecipientsResponseDetails();
+            answer = new String[] { Integer.toString(rank) };
+            break;
+        default:
+            responseDetails = new FeedbackTextResponseDetails();
+            answer = new String[] { "Response " + random.nextInt(1000) + " to " + questionDetails.questionText };
+            break;
+        }
+        responseDetails.extractResponseDetails(questionDetails.questionType, questionDetails, answer);
+        return responseDetails;
+    }
+
+    public static int getNumberOfStudentsPerCourse() {
+        return NUM_OF_SECTIONS_PER_COURSE * NUM_OF_TEAMS_PER_SECTION * NUM_OF_STUDENTS_PER_TEAM;
+    }
+
+    private static String getCourseId(int c) {
+        return PREFIX + "CS" + c;
+    }
+
+    private static String getSessionName(int f) {
+        return "Session " + f;
+    }
+
+    private static String getSectionName(int s) {
+        return "Section " + s;
+    }
+
+    /**
+     * Team names are unique within a course, as required across sections.
+     */
+    private static String getTeamName(int s, int t) {
+        return "Team " + s + "." + t;
+    }
+
+    private static String getInstructorGoogleId(int c, int i) {
+        return PREFIX + "CS" + c + ".instr" + i;
+    }
+
+    private static String getInstructorEmail(int c, int i) {
+        return getInstructorGoogleId(c, i) + "@gmail.tmt";
+    }
+
+    private static String getStudentGoogleId(int c, int s, int t, int m) {
+        return PREFIX + "CS" + c + ".s" + s + ".t" + t + ".m" + m;
+    }
+
+    private static String getStudentEmail(int c, int s, int t, int m) {
+        return getStudentGoogleId(c, s, t, m) + "@gmail.tmt";
+    }
+}
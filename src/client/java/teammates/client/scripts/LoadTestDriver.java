@@ -0,0 +1,563 @@
+package teammates.client.scripts;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.test.driver.TestProperties;
+
+/**
+ * Usage: This script replays a mix of user actions against the dev server at the URL in the
+ * test.properties file, from many virtual users in parallel, and reports the throughput and the
+ * latency percentiles of each action URI. Nothing is rendered, so it can run headless.
+ *
+ * Notes:
+ * -Import the data generated by {@link LargeCourseDataGenerator} (by using ImportData.java) first.
+ * The users, courses and sessions are read from the same file.
+ * -Edit SCENARIO and the parameters below before use. The same parameters and SEED replay the same
+ * sequence of actions for each virtual user, so that runs before and after a change can be compared.
+ * -Virtual users log in through the login page of the dev server, which is not available in production.
+ * -The ENROLLMENT scenario enrolls new students into the generated courses.
+ * -The report is printed, and appended to REPORT_FILE_NAME in src/test/resources/data folder.
+ */
+public final class LoadTestDriver {
+
+    // Data source file name (under src/test/resources/data folder)
+    private static final String SOURCE_FILE_NAME = LargeCourseDataGenerator.FILE_NAME;
+    private static final String REPORT_FILE_NAME = "LoadTestReport.txt";
+
+    private static final Scenario SCENARIO = Scenario.MIXED;
+    private static final int NUM_OF_VIRTUAL_USERS = 20;
+    private static final long WARM_UP_DURATION = 10000; //ms, actions during warm up are not recorded
+    private static final long DURATION = 120000; //ms, excluding warm up
+    private static final int THINK_TIME = 500; //ms, waiting time between actions of a virtual user
+    private static final int NUM_OF_STUDENTS_PER_ENROLLMENT = 5;
+    private static final long SEED = 2016;
+
+    private static final int TIMEOUT = 60000; //ms
+    private static final String LOGIN_COOKIE_NAME = "dev_appserver_login";
+    private static final String SUBMISSION_FORM_NAME = "form_student_submit_response";
+
+    private static final Pattern INPUT_PATTERN = Pattern.compile("<input\\b[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TEXTAREA_PATTERN = Pattern.compile(
+            "<textarea\\b([^>]*)>(.*?)</textarea>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern SELECT_PATTERN = Pattern.compile(
+            "<select\\b([^>]*)>(.*?)</select>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern OPTION_PATTERN = Pattern.compile("<option\\b[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("([\\w-]+)\\s*=\\s*\"([^\"]*)\"");
+    private static final Pattern CHECKED_PATTERN = Pattern.compile("\\s(checked|selected)\\b",
+                                                                   Pattern.CASE_INSENSITIVE);
+
+    private static List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+    private static List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+    private static List<FeedbackSessionAttributes> sessions = new ArrayList<FeedbackSessionAttributes>();
+
+    private static Map<String, String> loginCookies = new ConcurrentHashMap<String, String>();
+    private static ConcurrentHashMap<String, ActionStatistics> statistics =
+            new ConcurrentHashMap<String, ActionStatistics>();
+    private static AtomicInteger numberOfEnrolledStudents = new AtomicInteger();
+
+    private static long startTime;
+    private static long measurementStartTime;
+    private static long endTime;
+
+    private LoadTestDriver() {
+        // script, not meant to be instantiated
+    }
+
+    /**
+     * An action of a user, made of one or more requests.
+     */
+    private enum UserAction {
+        STUDENT_HOME {
+            @Override
+            void perform(Random random) throws IOException {
+                StudentAttributes student = pick(students, random);
+                send(student.googleId, Const.ActionURIs.STUDENT_HOME_PAGE, new LinkedHashMap<String, List<String>>(),
+                     false);
+            }
+        },
+        STUDENT_SUBMISSION {
+            @Override
+            void perform(Random random) throws IOException {
+                StudentAttributes student = pick(students, random);
+                Map<String, List<String>> params = getSessionParams(pick(getSessionsOfCourse(student.course), random));
+                String page = send(student.googleId, Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE,
+                                   params, false);
+                if (page == null) {
+                    return;
+                }
+                Map<String, List<String>> formParams = getFormParams(page, SUBMISSION_FORM_NAME);
+                formParams.putAll(params);
+                send(student.googleId, Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_SAVE, formParams, true);
+            }
+        },
+        STUDENT_RESULTS {
+            @Override
+            void perform(Random random) throws IOException {
+                StudentAttributes student = pick(students, random);
+                send(student.googleId, Const.ActionURIs.STUDENT_FEEDBACK_RESULTS_PAGE,
+                     getSessionParams(pick(getSessionsOfCourse(student.course), random)), false);
+            }
+        },
+        INSTRUCTOR_HOME {
+            @Override
+            void perform(Random random) throws IOException {
+                InstructorAttributes instructor = pick(instructors, random);
+                send(instructor.googleId, Const.ActionURIs.INSTRUCTOR_HOME_PAGE,
+                     new LinkedHashMap<String, List<String>>(), false);
+            }
+        },
+        INSTRUCTOR_RESULTS {
+            @Override
+            void perform(Random random) throws IOException {
+                InstructorAttributes instructor = pick(instructors, random);
+                send(instructor.googleId, Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE,
+                     getSessionParams(pick(getSessionsOfCourse(instructor.courseId), random)), false);
+            }
+        },
+        INSTRUCTOR_ENROLL {
+            @Override
+            void perform(Random random) throws IOException {
+                InstructorAttributes instructor = pick(instructors, random);
+                Map<String, List<String>> params = new LinkedHashMap<String, List<String>>();
+                addParam(params, Const.ParamsNames.COURSE_ID, instructor.courseId);
+                send(instructor.googleId, Const.ActionURIs.INSTRUCTOR_COURSE_ENROLL_PAGE, params, false);
+
+                StringBuilder enrollLines = new StringBuilder("Section | Team | Name | Email | Comments");
+                for (int i = 0; i < NUM_OF_STUDENTS_PER_ENROLLMENT; i++) {
+                    int n = numberOfEnrolledStudents.incrementAndGet();
+                    String id = LargeCourseDataGenerator.PREFIX + "LTD" + startTime + "." + n;
+                    enrollLines.append(Const.EOL).append("Load Test Section | Load Test Team " + startTime + "."
+                                                         + n / NUM_OF_STUDENTS_PER_ENROLLMENT
+                                                         + " | Student " + n + " | " + id + "@gmail.tmt | ");
+                }
+                addParam(params, Const.ParamsNames.STUDENTS_ENROLLMENT_INFO, enrollLines.toString());
+                send(instructor.googleId, Const.ActionURIs.INSTRUCTOR_COURSE_ENROLL_SAVE, params, true);
+            }
+        };
+
+        abstract void perform(Random random) throws IOException;
+    }
+
+    /**
+     * A mix of user actions, each with a relative weight.
+     */
+    private enum Scenario {
+        SUBMISSION_SURGE(new UserAction[] { UserAction.STUDENT_HOME, UserAction.STUDENT_SUBMISSION,
+                                            UserAction.INSTRUCTOR_HOME },
+                         new int[] { 2, 8, 1 }),
+        RESULTS_VIEWING(new UserAction[] { UserAction.STUDENT_HOME, UserAction.STUDENT_RESULTS,
+                                           UserAction.INSTRUCTOR_RESULTS },
+                        new int[] { 2, 6, 2 }),
+        ENROLLMENT(new UserAction[] { UserAction.INSTRUCTOR_HOME, UserAction.INSTRUCTOR_ENROLL },
+                   new int[] { 1, 1 }),
+        MIXED(UserAction.values(), new int[] { 4, 4, 3, 2, 1, 1 });
+
+        private final UserAction[] actions;
+        private final int[] weights;
+        private final int totalWeight;
+
+        Scenario(UserAction[] actions, int[] weights) {
+            this.actions = actions;
+            this.weights = weights;
+            int total = 0;
+            for (int weight : weights) {
+                total += weight;
+            }
+            this.totalWeight = total;
+        }
+
+        UserAction pickAction(Random random) {
+            int r = random.nextInt(totalWeight);
+            for (int i = 0; i < actions.length; i++) {
+                r -= weights[i];
+                if (r < 0) {
+                    return actions[i];
+                }
+            }
+            return actions[actions.length - 1];
+        }
+    }
+
+    /**
+     * The latencies of the requests to an action URI.
+     */
+    private static class ActionStatistics {
+
+        private final List<Long> latencies = new ArrayList<Long>();
+        private int numberOfErrors;
+
+        synchronized void add(long latency, boolean isSuccessful) {
+            latencies.add(latency);
+            if (!isSuccessful) {
+                numberOfErrors++;
+            }
+        }
+
+        synchronized String getSummary(long measurementDuration) {
+            List<Long> sortedLatencies = new ArrayList<Long>(latencies);
+            Collections.sort(sortedLatencies);
+            return String.format("%8d %8d %10.2f %8d %8d %8d %8d",
+                                 sortedLatencies.size(), numberOfErrors,
+                                 sortedLatencies.size() * 1000.0 / measurementDuration,
+                                 getPercentile(sortedLatencies, 50), getPercentile(sortedLatencies, 90),
+                                 getPercentile(sortedLatencies, 99), getPercentile(sortedLatencies, 100));
+        }
+
+        private static long getPercentile(List<Long> sortedLatencies, int percentile) {
+            if (sortedLatencies.isEmpty()) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.size());
+            return sortedLatencies.get(Math.max(rank, 1) - 1);
+        }
+    }
+
+    private static class VirtualUser extends Thread {
+
+        private final Random random;
+
+        VirtualUser(int index) {
+            random = new Random(SEED + index);
+        }
+
+        @Override
+        public void run() {
+            while (System.currentTimeMillis() < endTime) {
+                try {
+                    SCENARIO.pickAction(random).perform(random);
+                    Thread.sleep(THINK_TIME);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!TestProperties.inst().isDevServer()) {
+            System.out.println("Virtual users can only log in to the dev server");
+            return;
+        }
+        readWorkload(new File(TestProperties.TEST_DATA_FOLDER + "/" + SOURCE_FILE_NAME));
+
+        startTime = System.currentTimeMillis();
+        measurementStartTime = startTime + WARM_UP_DURATION;
+        endTime = measurementStartTime + DURATION;
+
+        List<VirtualUser> virtualUsers = new ArrayList<VirtualUser>();
+        for (int i = 0; i < NUM_OF_VIRTUAL_USERS; i++) {
+            VirtualUser virtualUser = new VirtualUser(i);
+            virtualUsers.add(virtualUser);
+            virtualUser.start();
+        }
+        for (VirtualUser virtualUser : virtualUsers) {
+            virtualUser.join();
+        }
+
+        String report = getReport(System.currentTimeMillis() - measurementStartTime);
+        System.out.print(report);
+        BufferedWriter writer = new BufferedWriter(new FileWriter(
+                TestProperties.TEST_DATA_FOLDER + "/" + REPORT_FILE_NAME, true));
+        try {
+            writer.write(report);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void readWorkload(File source) throws IOException {
+        DataBundleReader reader = new DataBundleReader(source, BackupRecordFile.STUDENTS);
+        try {
+            while (reader.nextKey() != null) {
+                students.add((StudentAttributes) reader.nextEntity());
+            }
+        } finally {
+            reader.close();
+        }
+        reader = new DataBundleReader(source, BackupRecordFile.INSTRUCTORS);
+        try {
+            while (reader.nextKey() != null) {
+                instructors.add((InstructorAttributes) reader.nextEntity());
+            }
+        } finally {
+            reader.close();
+        }
+        reader = new DataBundleReader(source, BackupRecordFile.FEEDBACK_SESSIONS);
+        try {
+            while (reader.nextKey() != null) {
+                sessions.add((FeedbackSessionAttributes) reader.nextEntity());
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static String getReport(long measurementDuration) {
+        StringBuilder report = new StringBuilder();
+        report.append(Const.EOL).append(new Date()).append(": ").append(SCENARIO)
+              .append(", ").append(NUM_OF_VIRTUAL_USERS).append(" virtual users for ")
+              .append(measurementDuration / 1000).append(" s, think time ").append(THINK_TIME)
+              .append(" ms, seed ").append(SEED).append(Const.EOL)
+              .append(String.format("%-50s %8s %8s %10s %8s %8s %8s %8s", "Action URI", "Requests", "Errors",
+                                    "Req/s", "p50(ms)", "p90(ms)", "p99(ms)", "Max(ms)"))
+              .append(Const.EOL);
+        for (Map.Entry<String, ActionStatistics> entry : new TreeMap<String, ActionStatistics>(statistics).entrySet()) {
+            report.append(String.format("%-50s ", entry.getKey()))
+                  .append(entry.getValue().getSummary(measurementDuration)).append(Const.EOL);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Sends a request as the given user and records its latency under the action URI.
+     *
+     * @return the page returned, or null if the request failed
+     */
+    private static String send(String googleId, String actionUri, Map<String, List<String>> params,
+                               boolean isPost) throws IOException {
+        String cookie = getLoginCookie(googleId);
+        String query = encodeParams(params);
+        String url = TestProperties.inst().TEAMMATES_URL + actionUri + (isPost || query.isEmpty() ? "" : "?" + query);
+
+        long requestStartTime = System.currentTimeMillis();
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        conn.setInstanceFollowRedirects(false);
+        conn.setConnectTimeout(TIMEOUT);
+        conn.setReadTimeout(TIMEOUT);
+        conn.setRequestProperty("Cookie", cookie);
+        if (isPost) {
+            conn.setRequestMethod("POST");
+            conn.setDoOutput(true);
+            conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            OutputStreamWriter writer = new OutputStreamWriter(conn.getOutputStream(), "UTF-8");
+            writer.write(query);
+            writer.close();
+        }
+
+        int status = conn.getResponseCode();
+        String page = readPage(conn, status);
+        long latency = System.currentTimeMillis() - requestStartTime;
+
+        // errors are redirected to error pages
+        String location = conn.getHeaderField("Location");
+        boolean isSuccessful = status < 400 && (location == null || !location.contains(".jsp"));
+        if (requestStartTime >= measurementStartTime) {
+            getStatistics(actionUri).add(latency, isSuccessful);
+        }
+        return isSuccessful ? page : null;
+    }
+
+    private static ActionStatistics getStatistics(String actionUri) {
+        ActionStatistics actionStatistics = statistics.get(actionUri);
+        if (actionStatistics == null) {
+            statistics.putIfAbsent(actionUri, new ActionStatistics());
+            actionStatistics = statistics.get(actionUri);
+        }
+        return actionStatistics;
+    }
+
+    private static String readPage(HttpURLConnection conn, int status) throws IOException {
+        InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+        if (in == null) {
+            return "";
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+        try {
+            StringBuilder page = new StringBuilder();
+            char[] buffer = new char[8192];
+            int length = reader.read(buffer);
+            while (length != -1) {
+                page.append(buffer, 0, length);
+                length = reader.read(buffer);
+            }
+            return page.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Logs in the user through the login page of the dev server, once per user.
+     */
+    private static String getLoginCookie(String googleId) throws IOException {
+        String cookie = loginCookies.get(googleId);
+        if (cookie != null) {
+            return cookie;
+        }
+        String url = TestProperties.inst().TEAMMATES_URL + "/_ah/login?action=Log+In&continue=/&email="
+                     + URLEncoder.encode(googleId, "UTF-8");
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        conn.setInstanceFollowRedirects(false);
+        conn.setConnectTimeout(TIMEOUT);
+        conn.setReadTimeout(TIMEOUT);
+        conn.getResponseCode();
+        List<String> setCookies = conn.getHeaderFields().get("Set-Cookie");
+        if (setCookies != null) {
+            for (String setCookie : setCookies) {
+                if (setCookie.startsWith(LOGIN_COOKIE_NAME + "=")) {
+                    cookie = setCookie.split(";")[0];
+                }
+            }
+        }
+        conn.disconnect();
+        if (cookie == null) {
+            throw new IOException("Failed to log in as " + googleId);
+        }
+        loginCookies.put(googleId, cookie);
+        return cookie;
+    }
+
+    /**
+     * Collects the parameters a browser would submit with the given form, without changing any of
+     * the fields, except that the first option of a group of radio buttons is chosen if none is.
+     */
+    private static Map<String, List<String>> getFormParams(String page, String formName) {
+        Map<String, List<String>> params = new LinkedHashMap<String, List<String>>();
+        int formStart = page.indexOf("name=\"" + formName + "\"");
+        if (formStart == -1) {
+            return params;
+        }
+        int formEnd = page.indexOf("</form>", formStart);
+        String form = page.substring(formStart, formEnd == -1 ? page.length() : formEnd);
+
+        Map<String, String> firstRadioValues = new LinkedHashMap<String, String>();
+        Matcher input = INPUT_PATTERN.matcher(form);
+        while (input.find()) {
+            Map<String, String> attributes = getAttributes(input.group());
+            String name = attributes.get("name");
+            String type = attributes.containsKey("type") ? attributes.get("type").toLowerCase() : "text";
+            String value = attributes.containsKey("value") ? attributes.get("value") : "";
+            boolean isChecked = CHECKED_PATTERN.matcher(input.group()).find();
+            if (name == null || "submit".equals(type) || "button".equals(type) || "file".equals(type)) {
+                continue;
+            }
+            if ("radio".equals(type)) {
+                if (!firstRadioValues.containsKey(name)) {
+                    firstRadioValues.put(name, value);
+                }
+                if (isChecked) {
+                    addParam(params, name, value);
+                }
+            } else if (!"checkbox".equals(type) || isChecked) {
+                addParam(params, name, value);
+            }
+        }
+        for (Map.Entry<String, String> radio : firstRadioValues.entrySet()) {
+            if (!params.containsKey(radio.getKey())) {
+                addParam(params, radio.getKey(), radio.getValue());
+            }
+        }
+
+        Matcher textarea = TEXTAREA_PATTERN.matcher(form);
+        while (textarea.find()) {
+            String name = getAttributes(textarea.group(1)).get("name");
+            if (name != null) {
+                addParam(params, name, unescapeHtml(textarea.group(2)));
+            }
+        }
+
+        Matcher select = SELECT_PATTERN.matcher(form);
+        while (select.find()) {
+            String name = getAttributes(select.group(1)).get("name");
+            String value = null;
+            Matcher option = OPTION_PATTERN.matcher(select.group(2));
+            while (option.find()) {
+                String optionValue = getAttributes(option.group()).get("value");
+                if (optionValue != null && (value == null || CHECKED_PATTERN.matcher(option.group()).find())) {
+                    value = optionValue;
+                }
+            }
+            if (name != null && value != null) {
+                addParam(params, name, value);
+            }
+        }
+        return params;
+    }
+
+    private static Map<String, String> getAttributes(String tag) {
+        Map<String, String> attributes = new LinkedHashMap<String, String>();
+        Matcher attribute = ATTRIBUTE_PATTERN.matcher(tag);
+        while (attribute.find()) {
+            attributes.put(attribute.group(1).toLowerCase(), unescapeHtml(attribute.group(2)));
+        }
+        return attributes;
+    }
+
+    private static String unescapeHtml(String text) {
+        return text.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                   .replace("&#39;", "'").replace("&#039;", "'").replace("&amp;", "&");
+    }
+
+    private static Map<String, List<String>> getSessionParams(FeedbackSessionAttributes session) {
+        Map<String, List<String>> params = new LinkedHashMap<String, List<String>>();
+        addParam(params, Const.ParamsNames.COURSE_ID, session.courseId);
+        addParam(params, Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName);
+        return params;
+    }
+
+    private static List<FeedbackSessionAttributes> getSessionsOfCourse(String courseId) {
+        List<FeedbackSessionAttributes> sessionsOfCourse = new ArrayList<FeedbackSessionAttributes>();
+        for (FeedbackSessionAttributes session : sessions) {
+            if (session.courseId.equals(courseId)) {
+                sessionsOfCourse.add(session);
+            }
+        }
+        return sessionsOfCourse;
+    }
+
+    private static void addParam(Map<String, List<String>> params, String name, String value) {
+        List<String> values = params.get(name);
+        if (values == null) {
+            values = new ArrayList<String>();
+            params.put(name, values);
+        }
+        values.add(value);
+    }
+
+    private static String encodeParams(Map<String, List<String>> params) throws UnsupportedEncodingException {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            for (String value : param.getValue()) {
+                if (encoded.length() > 0) {
+                    encoded.append('&');
+                }
+                encoded.append(URLEncoder.encode(param.getKey(), "UTF-8")).append('=')
+                       .append(URLEncoder.encode(value, "UTF-8"));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static <T> T pick(List<T> list, Random random) {
+        return list.get(random.nextInt(list.size()));
+    }
+}
@@ -1,107 +1,237 @@
 package teammates.client.scripts;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.net.URLConnection;
+import java.io.Writer;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import teammates.client.remoteapi.RemoteApiClient;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.EntityChangeAttributes;
+import teammates.common.datatransfer.EntityChangesBundle;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.util.FileHelper;
 import teammates.logic.api.Logic;
 import teammates.storage.api.CommentsDb;
+import teammates.storage.api.EntityChangesDb;
 import teammates.storage.api.FeedbackQuestionsDb;
 import teammates.storage.api.FeedbackResponseCommentsDb;
 import teammates.storage.api.FeedbackResponsesDb;
 import teammates.storage.datastore.Datastore;
-import teammates.test.driver.TestProperties;
 
+/**
+ * Backs up the courses changed since the last backup into one {@link BackupRecordFile} per course,
+ * streaming the entities of each course to its file as they are read. <br>
+ * The changed courses are found in the change log kept by the storage layer. The first backup
+ * includes all the entities of every course in the change log; later backups are incremental,
+ * i.e. they only include the entities of the kinds changed since the {@link #WATERMARK_FILE_NAME}
+ * left by the previous backup, and are marked with a {@link #DELTA_FILE_NAME}. An incremental backup
+ * of a course with deletions ends with tombstones, from which UploadBackupData deletes the entities
+ * which no longer exist. <br>
+ * A course is written to a {@code .part} file which is renamed once the course is complete,
+ * and the course is then recorded in the {@link #CHECKPOINT_FILE_NAME} of the backup directory.
+ * To resume an interrupted backup, set {@link #RESUME_BACKUP_DIRECTORY} to its directory;
+ * the courses already recorded there are skipped.
+ */
 public class OfflineBackup extends RemoteApiClient {
+
+    public static final String PARTIAL_FILE_EXTENSION = ".part";
+
+    /** Lists the courses to back up, so that a resumed backup covers the same courses. */
+    public static final String COURSES_FILE_NAME = "courses.txt";
+
+    /** Lists the courses whose backup file is complete. */
+    public static final String CHECKPOINT_FILE_NAME = "completedCourses.txt";
+
+    /**
+     * Holds the range of the change log covered by a backup: the sequence number
+     * after which it starts and the one up to which it goes, one per line.
+     */
+    public static final String CHANGE_LOG_RANGE_FILE_NAME = "changeLogRange.txt";
+
+    /** Marks an incremental backup. */
+    public static final String DELTA_FILE_NAME = "delta.txt";
+
+    /** Holds the sequence number of the change log up to which all the changes are backed up. */
+    public static final String WATERMARK_FILE_NAME = "BackupFiles/watermark.txt";
+
+    /** The directory of the interrupted backup to resume, e.g. "BackupFiles/Backup/2016_01_31 10.00.00". */
+    private static final String RESUME_BACKUP_DIRECTORY = "";
+
+    private static final boolean isCompressed = true;
+
+    private static final int RESPONSES_PAGE_SIZE = 500;
+
+    private static final int CHANGES_PAGE_SIZE = 1000;
+
+    // the kinds of entities in the change log, as given by EntityAttributes.getEntityTypeAsString()
+    private static final String KIND_COURSE = "Course";
+    private static final String KIND_INSTRUCTOR = "Instructor";
+    private static final String KIND_STUDENT = "Student";
+    private static final String KIND_FEEDBACK_SESSION = "Feedback Session";
+    private static final String KIND_FEEDBACK_QUESTION = "Feedback Question";
+    private static final String KIND_FEEDBACK_RESPONSE = "Feedback Response";
+    private static final String KIND_FEEDBACK_RESPONSE_COMMENT = "FeedbackResponseComment";
+    private static final String KIND_COMMENT = "Comment";
+
+    /** The kinds of entities in the change log which are backed up whole, and their kinds in the backup files. */
+    private static final Map<String, String> KINDS_BACKED_UP_WHOLE = new LinkedHashMap<String, String>();
+
+    static {
+        KINDS_BACKED_UP_WHOLE.put(KIND_INSTRUCTOR, BackupRecordFile.INSTRUCTORS);
+        KINDS_BACKED_UP_WHOLE.put(KIND_STUDENT, BackupRecordFile.STUDENTS);
+        KINDS_BACKED_UP_WHOLE.put(KIND_FEEDBACK_SESSION, BackupRecordFile.FEEDBACK_SESSIONS);
+        KINDS_BACKED_UP_WHOLE.put(KIND_FEEDBACK_QUESTION, BackupRecordFile.FEEDBACK_QUESTIONS);
+        KINDS_BACKED_UP_WHOLE.put(KIND_FEEDBACK_RESPONSE_COMMENT, BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS);
+        KINDS_BACKED_UP_WHOLE.put(KIND_COMMENT, BackupRecordFile.COMMENTS);
+    }
+
     protected String backupFileDirectory = "";
-    protected String currentFileName = "";
-    protected boolean hasPreviousEntity;
+    protected BackupRecordFile.RecordWriter currentWriter;
     protected Set<String> accountsSaved = new HashSet<String>();
-    
+
+    /** The changes of the courses to back up incrementally; courses not in it are backed up whole. */
+    protected Map<String, CourseChanges> courseChanges = new HashMap<String, CourseChanges>();
+
+    private final EntityChangesDb entityChangesDb = new EntityChangesDb();
+
     public static void main(String[] args) throws IOException {
         OfflineBackup offlineBackup = new OfflineBackup();
         offlineBackup.doOperationRemotely();
     }
-    
+
     @Override
     protected void doOperation() {
         Datastore.initialize();
-        List<String> logs = getModifiedLogs();
-        Set<String> courses = extractModifiedCourseIds(logs);
-        backupFileDirectory = "BackupFiles/Backup/" + getCurrentDateAndTime();
-        createBackupDirectory(backupFileDirectory);
+
+        long afterSequenceNumber;
+        long upToSequenceNumber;
+        boolean isIncremental;
+        Set<String> courses;
+        Set<String> completedCourses;
+        if (RESUME_BACKUP_DIRECTORY.isEmpty()) {
+            List<Long> watermark = readSequenceNumbers(new File(WATERMARK_FILE_NAME));
+            isIncremental = !watermark.isEmpty();
+            afterSequenceNumber = isIncremental ? watermark.get(0) : 0;
+            upToSequenceNumber = entityChangesDb.getSettledSequenceNumber();
+            courses = getChangedCourses(afterSequenceNumber, upToSequenceNumber, isIncremental);
+            completedCourses = new HashSet<String>();
+
+            backupFileDirectory = "BackupFiles/Backup/" + getCurrentDateAndTime();
+            createBackupDirectory(backupFileDirectory);
+            saveCourseIds(courses, COURSES_FILE_NAME);
+            appendLine(CHANGE_LOG_RANGE_FILE_NAME, String.valueOf(afterSequenceNumber));
+            appendLine(CHANGE_LOG_RANGE_FILE_NAME, String.valueOf(upToSequenceNumber));
+            if (isIncremental) {
+                appendLine(DELTA_FILE_NAME, "Only the entities changed in the range of " + CHANGE_LOG_RANGE_FILE_NAME);
+            }
+        } else {
+            backupFileDirectory = RESUME_BACKUP_DIRECTORY;
+            List<Long> range = readSequenceNumbers(new File(backupFileDirectory, CHANGE_LOG_RANGE_FILE_NAME));
+            isIncremental = new File(backupFileDirectory, DELTA_FILE_NAME).exists();
+            afterSequenceNumber = range.get(0);
+            upToSequenceNumber = range.get(1);
+            getChangedCourses(afterSequenceNumber, upToSequenceNumber, isIncremental);
+            courses = readCourseIds(COURSES_FILE_NAME);
+            completedCourses = readCourseIds(CHECKPOINT_FILE_NAME);
+            System.out.println("Resuming backup in " + backupFileDirectory + ", "
+                               + completedCourses.size() + " of " + courses.size() + " courses already done");
+        }
+        courses.removeAll(completedCourses);
         retrieveEntitiesByCourse(courses);
+
+        if (readCourseIds(CHECKPOINT_FILE_NAME).size() == readCourseIds(COURSES_FILE_NAME).size()) {
+            saveWatermark(upToSequenceNumber);
+            // the records of the range backed up before this one are no longer needed
+            entityChangesDb.deleteEntityChangesUpTo(afterSequenceNumber);
+        } else {
+            System.out.println("Some courses could not be backed up; resume the backup in " + backupFileDirectory);
+        }
     }
-    
+
     /**
-     * Opens a connection to the entityModifiedLogs servlet to retrieve a log of all recently modified entities
+     * Reads the change log in the range of sequence numbers.
+     * @param isIncremental whether to keep the changes of the courses in {@link #courseChanges}
+     * @return the IDs of the courses with changes in the range
      */
-    private List<String> getModifiedLogs() {
-        List<String> modifiedLogs = new ArrayList<String>();
-        TestProperties testProperties = TestProperties.inst();
-        try {
-            //Opens a URL connection to obtain the entity modified logs
-            URL myURL = new URL(testProperties.TEAMMATES_URL + "/entityModifiedLogs");
-            
-            URLConnection myURLConnection = myURL.openConnection();        
-        
-            BufferedReader in = new BufferedReader(new InputStreamReader(
-                    myURLConnection.getInputStream()));
-            String logMessage;
-            while ((logMessage = in.readLine()) != null) {
-                modifiedLogs.add(logMessage);
+    private Set<String> getChangedCourses(long afterSequenceNumber, long upToSequenceNumber, boolean isIncremental) {
+        Set<String> courses = new LinkedHashSet<String>();
+        long watermark = afterSequenceNumber;
+        long watermarkId = EntityChangesDb.AFTER_ALL_IDS;
+        EntityChangesBundle page;
+        do {
+            page = entityChangesDb.getEntityChanges(watermark, watermarkId, upToSequenceNumber, CHANGES_PAGE_SIZE);
+            for (EntityChangeAttributes change : page.changes) {
+                courses.add(change.courseId);
+                if (isIncremental) {
+                    CourseChanges changes = courseChanges.get(change.courseId);
+                    if (changes == null) {
+                        changes = new CourseChanges();
+                        courseChanges.put(change.courseId, changes);
+                    }
+                    changes.add(change);
+                }
             }
-            in.close();
-        } catch (IOException e) { 
-            System.out.println("Error occurred while trying to access modified entity logs: " + e.getMessage());
-        } 
-        
-        return modifiedLogs;
+            watermark = page.watermark;
+            watermarkId = page.watermarkId;
+            Datastore.finishRequest();
+        } while (watermarkId != EntityChangesDb.AFTER_ALL_IDS);
+        return courses;
     }
-    
-   
+
     /**
-     * Look through the logs and extracts all recently modified courses. 
+     * Reads the sequence numbers listed one per line in the file.
+     * A missing file is treated as an empty list.
      */
-    private Set<String> extractModifiedCourseIds(List<String> modifiedLogs) {
-        
-        //Extracts the course Ids to be backup from the logs
-        Set<String> courses = new HashSet<String>();
-        for (String course : modifiedLogs) {
-            course = course.trim();
-            if (!course.isEmpty()) {
-                courses.add(course);
+    private List<Long> readSequenceNumbers(File file) {
+        List<Long> sequenceNumbers = new ArrayList<Long>();
+        if (file.exists()) {
+            try {
+                for (String line : FileHelper.readFile(file.getPath()).split("\n")) {
+                    if (!line.trim().isEmpty()) {
+                        sequenceNumbers.add(Long.parseLong(line.trim()));
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Error in reading " + file.getPath() + ": " + e.getMessage());
             }
-            
         }
-        return courses;
+        return sequenceNumbers;
+    }
+
+    private void saveWatermark(long watermark) {
+        try {
+            Writer fw = new FileWriter(WATERMARK_FILE_NAME, false);
+            try {
+                fw.write(watermark + "\n");
+            } finally {
+                fw.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Error in saving the watermark " + watermark + ": " + e.getMessage());
+        }
     }
-    
-    
+
     /**
      * Returns the current date and time to label the backup folder
      */
@@ -110,7 +240,7 @@ public class OfflineBackup extends RemoteApiClient {
         Calendar cal = Calendar.getInstance();
         return dateFormat.format(cal.getTime());
     }
-    
+
     /**
      * Creates a directory to store the backup files
      */
@@ -121,323 +251,471 @@ public class OfflineBackup extends RemoteApiClient {
             directory.mkdirs();
         } catch (SecurityException se) {
             System.out.println("Error making directory: " + directoryName);
-        }        
-       
+        }
+
     }
-    
-    /** 
+
+    /**
+     * Reads the course IDs listed one per line in a file of the backup directory.
+     * A missing file is treated as an empty list.
+     */
+    protected Set<String> readCourseIds(String fileName) {
+        Set<String> courseIds = new LinkedHashSet<String>();
+        File file = new File(backupFileDirectory, fileName);
+        if (!file.exists()) {
+            return courseIds;
+        }
+        try {
+            for (String courseId : FileHelper.readFile(file.getPath()).split("\n")) {
+                if (!courseId.trim().isEmpty()) {
+                    courseIds.add(courseId.trim());
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error in reading " + file.getPath() + ": " + e.getMessage());
+        }
+        return courseIds;
+    }
+
+    protected void saveCourseIds(Set<String> courseIds, String fileName) {
+        for (String courseId : courseIds) {
+            appendLine(fileName, courseId);
+        }
+    }
+
+    /**
      *  Looks through all the modified courses and retrieve their respective entities.
+     *  Each course is streamed to its own file, which only takes its final name when complete.
      */
     protected void retrieveEntitiesByCourse(Set<String> coursesList) {
+        long startTime = System.currentTimeMillis();
+        long numberOfEntities = 0;
+
+        for (String courseId : coursesList) {
+            String fileName = courseId + (isCompressed ? BackupRecordFile.COMPRESSED_EXTENSION
+                                                       : BackupRecordFile.EXTENSION);
+            File partialFile = new File(backupFileDirectory, fileName + PARTIAL_FILE_EXTENSION);
+            long courseStartTime = System.currentTimeMillis();
+
+            try {
+                currentWriter = new BackupRecordFile.RecordWriter(partialFile, isCompressed);
+                try {
+                    CourseChanges changes = courseChanges.get(courseId);
+                    if (changes == null) {
+                        retrieveAndSaveAllEntitiesOfCourse(courseId);
+                    } else {
+                        retrieveAndSaveChangedEntitiesOfCourse(courseId, changes);
+                    }
+                } finally {
+                    currentWriter.close();
+                }
+            } catch (IOException e) {
+                System.out.println("Error in backing up " + courseId + ": " + e.getMessage());
+                continue;
+            }
+
+            File completeFile = new File(backupFileDirectory, fileName);
+            if (!partialFile.renameTo(completeFile)) {
+                System.out.println("Error in renaming " + partialFile.getPath() + " to " + completeFile.getPath());
+                continue;
+            }
+            appendLine(CHECKPOINT_FILE_NAME, courseId);
+
+            int numberOfCourseEntities = currentWriter.getNumberOfRecords();
+            numberOfEntities += numberOfCourseEntities;
+            System.out.println("Backed up " + courseId + ": " + numberOfCourseEntities + " entities, "
+                               + getEntitiesPerSecond(numberOfCourseEntities, courseStartTime) + " entities/s");
+        }
 
-        Iterator<String> it = coursesList.iterator();
-        
-        while (it.hasNext()) {
-            String courseId = it.next();
-            currentFileName = backupFileDirectory + "/" + courseId + ".json";
-            appendToFile(currentFileName, "{\n");
-            
+        System.out.println("Backed up " + numberOfEntities + " entities at "
+                           + getEntitiesPerSecond(numberOfEntities, startTime) + " entities/s");
+    }
+
+    /**
+     *  Retrieves all the entities of a course and saves them, in the order expected by UploadBackupData
+     */
+    protected void retrieveAndSaveAllEntitiesOfCourse(String courseId) throws IOException {
+        retrieveAndSaveAccountsByCourse(courseId);
+        retrieveAndSaveCourse(courseId);
+        retrieveAndSaveInstructorsByCourse(courseId);
+        retrieveAndSaveStudentsByCourse(courseId);
+        List<FeedbackSessionAttributes> feedbackSessions = retrieveAndSaveFeedbackSessionsByCourse(courseId);
+        retrieveAndSaveFeedbackQuestionsByCourse(courseId);
+        retrieveAndSaveFeedbackResponsesByCourse(feedbackSessions);
+        retrieveAndSaveFeedbackResponseCommentsByCourse(feedbackSessions);
+        retrieveAndSaveCommentsByCourse(courseId);
+        retrieveAndSaveStudentProfilesByCourse(courseId);
+    }
+
+    /**
+     *  Retrieves the entities of a course of the kinds that changed and saves them, in the order
+     *  expected by UploadBackupData. Changed responses are retrieved one by one; the entities of
+     *  the other kinds are few per course and are retrieved whole.
+     *  The questions are saved along with changed responses, as they are needed to upload them.
+     *  The tombstones of the deletions are saved last.
+     */
+    protected void retrieveAndSaveChangedEntitiesOfCourse(String courseId, CourseChanges changes)
+            throws IOException {
+        boolean isRosterChanged = changes.isChanged(KIND_STUDENT) || changes.isChanged(KIND_INSTRUCTOR);
+        boolean isResponseChanged = changes.isChanged(KIND_FEEDBACK_RESPONSE)
+                                    || changes.isChanged(KIND_FEEDBACK_RESPONSE_COMMENT);
+
+        if (isRosterChanged) {
             retrieveAndSaveAccountsByCourse(courseId);
-            retrieveAndSaveCommentsByCourse(courseId);
-            retrieveAndSaveCourse(courseId);
-            retrieveAndSaveFeedbackQuestionsByCourse(courseId);
-            retrieveAndSaveFeedbackResponsesByCourse(courseId);
-            retrieveAndSaveFeedbackResponseCommentsByCourse(courseId);
-            retrieveAndSaveFeedbackSessionsByCourse(courseId);
+        }
+        retrieveAndSaveCourse(courseId);
+        if (changes.isChanged(KIND_INSTRUCTOR)) {
             retrieveAndSaveInstructorsByCourse(courseId);
+        }
+        if (changes.isChanged(KIND_STUDENT)) {
             retrieveAndSaveStudentsByCourse(courseId);
+        }
+
+        List<FeedbackSessionAttributes> feedbackSessions;
+        if (changes.isChanged(KIND_FEEDBACK_SESSION)) {
+            feedbackSessions = retrieveAndSaveFeedbackSessionsByCourse(courseId);
+        } else {
+            feedbackSessions = new Logic().getFeedbackSessionsForCourse(courseId);
+        }
+
+        if (changes.isChanged(KIND_FEEDBACK_QUESTION) || isResponseChanged) {
+            retrieveAndSaveFeedbackQuestionsByCourse(courseId);
+        }
+        if (changes.isAllChanged(KIND_FEEDBACK_RESPONSE)) {
+            retrieveAndSaveFeedbackResponsesByCourse(feedbackSessions);
+        } else if (changes.isChanged(KIND_FEEDBACK_RESPONSE)) {
+            retrieveAndSaveFeedbackResponsesById(changes.getChangedKeys(KIND_FEEDBACK_RESPONSE));
+        }
+        if (changes.isChanged(KIND_FEEDBACK_RESPONSE_COMMENT)) {
+            retrieveAndSaveFeedbackResponseCommentsByCourse(feedbackSessions);
+        }
+        if (changes.isChanged(KIND_COMMENT)) {
+            retrieveAndSaveCommentsByCourse(courseId);
+        }
+        if (changes.isChanged(KIND_STUDENT)) {
             retrieveAndSaveStudentProfilesByCourse(courseId);
-            
-            appendToFile(currentFileName, "\n}"); 
-        }              
+        }
+        saveDeletions(courseId, changes);
     }
-    
-    /** 
+
+    /**
+     *  Saves the tombstones of the entities of a course deleted since the last backup.
+     *  A deleted course has a single tombstone. Deleted responses have one tombstone each, as
+     *  responses are backed up one by one. The other kinds of entities are backed up whole, so a
+     *  tombstone without a key stands for all the entities of its kind which are not in the file.
+     */
+    protected void saveDeletions(String courseId, CourseChanges changes) throws IOException {
+        Logic logic = new Logic();
+        if (changes.isDeleted(KIND_COURSE) && logic.getCourse(courseId) == null) {
+            saveTombstone(courseId, BackupRecordFile.COURSES, courseId);
+            return;
+        }
+
+        for (Map.Entry<String, String> kind : KINDS_BACKED_UP_WHOLE.entrySet()) {
+            if (changes.isDeleted(kind.getKey())) {
+                saveTombstone(courseId, kind.getValue(), null);
+            }
+        }
+
+        if (changes.isDeleted(KIND_FEEDBACK_RESPONSE)) {
+            FeedbackResponsesDb feedbackResponsesDb = new FeedbackResponsesDb();
+            for (String feedbackResponseId : changes.getDeletedKeys(KIND_FEEDBACK_RESPONSE)) {
+                // the response may have been created again after its deletion
+                if (feedbackResponsesDb.getFeedbackResponse(feedbackResponseId) == null) {
+                    saveTombstone(courseId, BackupRecordFile.FEEDBACK_RESPONSES, feedbackResponseId);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param kind the kind of the deleted entities in the backup files
+     * @param entityKey the key of the deleted entity, or null for all the entities of the kind not in the file
+     */
+    private void saveTombstone(String courseId, String kind, String entityKey) throws IOException {
+        currentWriter.write(BackupRecordFile.DELETIONS, new EntityChangeAttributes(courseId, kind, entityKey, true));
+    }
+
+    protected static long getEntitiesPerSecond(long numberOfEntities, long startTime) {
+        long elapsedMillis = Math.max(1, System.currentTimeMillis() - startTime);
+        return numberOfEntities * 1000 / elapsedMillis;
+    }
+
+    /**
      *  Retrieves all the accounts from a course and saves them
      */
-    protected void retrieveAndSaveAccountsByCourse(String courseId) {
-        
+    protected void retrieveAndSaveAccountsByCourse(String courseId) throws IOException {
+
         Logic logic = new Logic();
         List<StudentAttributes> students = logic.getStudentsForCourse(courseId);
         List<InstructorAttributes> instructors = logic.getInstructorsForCourse(courseId);
-        
-        appendToFile(currentFileName, "\t\"accounts\":{\n");
-        
+
         for (StudentAttributes student : students) {
             saveStudentAccount(student);
         }
-        
+
         for (InstructorAttributes instructor : instructors) {
             saveInstructorAccount(instructor);
-        } 
-        
-        appendToFile(currentFileName, "\n\t},\n");
-        hasPreviousEntity = false;
+        }
     }
-    
-    /** 
+
+    /**
      *  Retrieves all the comments from a course and saves them
      */
-    protected void retrieveAndSaveCommentsByCourse(String courseId) {
+    protected void retrieveAndSaveCommentsByCourse(String courseId) throws IOException {
         CommentsDb commentsDb = new CommentsDb();
         List<CommentAttributes> comments = commentsDb.getCommentsForCourse(courseId);
-        
-        appendToFile(currentFileName, "\t\"comments\":{\n");
-        
+
         for (CommentAttributes comment : comments) {
-            saveComment(comment);
+            currentWriter.write(BackupRecordFile.COMMENTS, comment);
         }
-        hasPreviousEntity = false;
-        appendToFile(currentFileName, "\n\t},\n");
     }
-  
-    /** 
+
+    /**
      *  Retrieves the course and saves them
      */
-    protected void retrieveAndSaveCourse(String courseId) {
+    protected void retrieveAndSaveCourse(String courseId) throws IOException {
         Logic logic = new Logic();
         CourseAttributes course = logic.getCourse(courseId);
-        
+
         if (course == null) {
             return;
         }
-        
-        appendToFile(currentFileName, "\t\"courses\":{\n");
-        appendToFile(currentFileName, formatJsonString(course.getJsonString(), course.getId()));
-        
-        hasPreviousEntity = false;
-        appendToFile(currentFileName, "\n\t},\n");
+
+        currentWriter.write(BackupRecordFile.COURSES, course);
     }
-    
-    
-    /** 
+
+
+    /**
      *  Retrieves all the feedback questions from a course and saves them
      */
-    protected void retrieveAndSaveFeedbackQuestionsByCourse(String courseId) {
-        
+    protected void retrieveAndSaveFeedbackQuestionsByCourse(String courseId) throws IOException {
+
         FeedbackQuestionsDb feedbackQuestionDb = new FeedbackQuestionsDb();
         List<FeedbackQuestionAttributes> feedbackQuestions = feedbackQuestionDb.getFeedbackQuestionsForCourse(courseId);
 
-        appendToFile(currentFileName, "\t\"feedbackQuestions\":{\n");
-        
         for (FeedbackQuestionAttributes feedbackQuestion : feedbackQuestions) {
-            saveFeedbackQuestion(feedbackQuestion);
+            currentWriter.write(BackupRecordFile.FEEDBACK_QUESTIONS, feedbackQuestion);
         }
-        hasPreviousEntity = false;
-        appendToFile(currentFileName, "\n\t},\n");
     }
-    
-    /** 
-     *  Retrieves all the feedback responses from a course and saves them
+
+    /**
+     *  Retrieves all the feedback responses from the sessions of a course and saves them,
+     *  one page at a time so that the responses of a course are never all in memory together.
+     */
+    protected void retrieveAndSaveFeedbackResponsesByCourse(List<FeedbackSessionAttributes> feedbackSessions)
+            throws IOException {
+
+        FeedbackResponsesDb feedbackResponsesDb = new FeedbackResponsesDb();
+
+        for (FeedbackSessionAttributes feedbackSession : feedbackSessions) {
+            String pageToken = null;
+            do {
+                FeedbackResponsesPageBundle page = feedbackResponsesDb.getFeedbackResponsesForSessionInPage(
+                        feedbackSession.feedbackSessionName, feedbackSession.courseId,
+                        RESPONSES_PAGE_SIZE, pageToken);
+                for (FeedbackResponseAttributes feedbackResponse : page.responses) {
+                    currentWriter.write(BackupRecordFile.FEEDBACK_RESPONSES, feedbackResponse);
+                }
+                pageToken = page.nextPageToken;
+
+                // releases the entities of the page held by the persistence manager
+                Datastore.finishRequest();
+            } while (pageToken != null);
+        }
+    }
+
+    /**
+     *  Retrieves the feedback responses with the given IDs and saves those that still exist
      */
-    protected void retrieveAndSaveFeedbackResponsesByCourse(String courseId) {
-        
+    protected void retrieveAndSaveFeedbackResponsesById(Set<String> feedbackResponseIds) throws IOException {
+
         FeedbackResponsesDb feedbackResponsesDb = new FeedbackResponsesDb();
-        List<FeedbackResponseAttributes> feedbackResponses = feedbackResponsesDb.getFeedbackResponsesForCourse(courseId);
 
-        appendToFile(currentFileName, "\t\"feedbackResponses\":{\n");
-        
-        for (FeedbackResponseAttributes feedbackResponse : feedbackResponses) {
-            saveFeedbackResponse(feedbackResponse);
+        for (String feedbackResponseId : feedbackResponseIds) {
+            FeedbackResponseAttributes feedbackResponse = feedbackResponsesDb.getFeedbackResponse(feedbackResponseId);
+            if (feedbackResponse != null) {
+                currentWriter.write(BackupRecordFile.FEEDBACK_RESPONSES, feedbackResponse);
+            }
         }
-        hasPreviousEntity = false;
-        appendToFile(currentFileName, "\n\t},\n");
     }
-    
-    /** 
-     *  Retrieves all the feedback responses comments from a course and saves them
+
+    /**
+     *  Retrieves all the feedback responses comments from the sessions of a course and saves them
      */
-    protected void retrieveAndSaveFeedbackResponseCommentsByCourse(String courseId) {
-        
+    protected void retrieveAndSaveFeedbackResponseCommentsByCourse(List<FeedbackSessionAttributes> feedbackSessions)
+            throws IOException {
+
         FeedbackResponseCommentsDb feedbackResponseCommentsDb = new FeedbackResponseCommentsDb();
-        List<FeedbackResponseCommentAttributes> feedbackResponseComments = feedbackResponseCommentsDb.getFeedbackResponseCommentsForCourse(courseId);
 
-        appendToFile(currentFileName, "\t\"feedbackResponseComments\":{\n");
-        
-        for (FeedbackResponseCommentAttributes feedbackResponseComment : feedbackResponseComments) {
-            saveFeedbackResponseComment(feedbackResponseComment);
+        for (FeedbackSessionAttributes feedbackSession : feedbackSessions) {
+            List<FeedbackResponseCommentAttributes> feedbackResponseComments =
+                    feedbackResponseCommentsDb.getFeedbackResponseCommentsForSession(
+                            feedbackSession.courseId, feedbackSession.feedbackSessionName);
+
+            for (FeedbackResponseCommentAttributes feedbackResponseComment : feedbackResponseComments) {
+                currentWriter.write(BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS, feedbackResponseComment);
+            }
         }
-        hasPreviousEntity = false;
-        appendToFile(currentFileName, "\n\t},\n");
     }
-    
-    /** 
+
+    /**
      *  Retrieves all the feedback sessions from a course and saves them
+     *  @return the feedback sessions saved
      */
-    protected void retrieveAndSaveFeedbackSessionsByCourse(String courseId) {
+    protected List<FeedbackSessionAttributes> retrieveAndSaveFeedbackSessionsByCourse(String courseId)
+            throws IOException {
         Logic logic = new Logic();
         List<FeedbackSessionAttributes> feedbackSessions = logic.getFeedbackSessionsForCourse(courseId);
-        
-        appendToFile(currentFileName, "\t\"feedbackSessions\":{\n");
-        
+
         for (FeedbackSessionAttributes feedbackSession : feedbackSessions) {
-            saveFeedbackSession(feedbackSession);
+            currentWriter.write(BackupRecordFile.FEEDBACK_SESSIONS, feedbackSession);
         }
-        hasPreviousEntity = false;
-        appendToFile(currentFileName, "\n\t},\n");
+        return feedbackSessions;
     }
-    
-    /** 
+
+    /**
      *  Retrieves all the instructors from a course and saves them
      */
-    protected void retrieveAndSaveInstructorsByCourse(String courseId) {
+    protected void retrieveAndSaveInstructorsByCourse(String courseId) throws IOException {
         Logic logic = new Logic();
         List<InstructorAttributes> instructors = logic.getInstructorsForCourse(courseId);
-        
-        appendToFile(currentFileName, "\t\"instructors\":{\n");
-        
+
         for (InstructorAttributes instructor : instructors) {
-            saveInstructor(instructor);
+            currentWriter.write(BackupRecordFile.INSTRUCTORS, instructor);
         }
-        hasPreviousEntity = false;
-        appendToFile(currentFileName, "\n\t},\n");
     }
-    
-    /** 
+
+    /**
      *  Retrieves all the students from a course and saves them
      */
-    protected void retrieveAndSaveStudentsByCourse(String courseId) {
+    protected void retrieveAndSaveStudentsByCourse(String courseId) throws IOException {
         Logic logic = new Logic();
         List<StudentAttributes> students = logic.getStudentsForCourse(courseId);
-        
-        appendToFile(currentFileName, "\t\"students\":{\n");
-        
+
         for (StudentAttributes student : students) {
-            saveStudent(student);
+            currentWriter.write(BackupRecordFile.STUDENTS, student);
         }
-        hasPreviousEntity = false;
-        appendToFile(currentFileName, "\n\t},\n");
     }
-    
-    /** 
+
+    /**
      *  Retrieves all the submissions from a course and saves them
      */
-    protected void retrieveAndSaveStudentProfilesByCourse(String courseId) {
-  
+    protected void retrieveAndSaveStudentProfilesByCourse(String courseId) throws IOException {
+
         Logic logic = new Logic();
         List<StudentAttributes> students = logic.getStudentsForCourse(courseId);
-        
-        appendToFile(currentFileName, "\t\"profiles\":{\n");
-        
+
         for (StudentAttributes student : students) {
             if (student != null && student.googleId != null && !student.googleId.isEmpty()) {
                 StudentProfileAttributes profile = logic.getStudentProfile(student.googleId);
                 if (profile != null) {
-                    saveProfile(profile);
+                    currentWriter.write(BackupRecordFile.PROFILES, profile);
                 }
             }
         }
-        
-        appendToFile(currentFileName, "\n\t}\n");
-        hasPreviousEntity = false;
-    }
-    
-    /** 
-     *  Perform formatting of the string to ensure that it conforms to json formatting
-     */
-    protected String formatJsonString(String entityJsonString, String name) {
-        StringBuilder formattedString = new StringBuilder();
-        
-        if (hasPreviousEntity) {
-            formattedString.append(",\n");
-        } else {
-            hasPreviousEntity = true;
-        }
-        
-        formattedString.append("\t\t\"" + name + "\":" + entityJsonString.replace("\n", "\n\t\t"));
-        
-        return formattedString.toString();
     }
-    
-    /** 
+
+    /**
      *  Retrieves all the student accounts and saves them
      */
-    protected void saveStudentAccount(StudentAttributes student) {
+    protected void saveStudentAccount(StudentAttributes student) throws IOException {
         if (student == null) {
             return;
         }
-        
+
         Logic logic = new Logic();
         AccountAttributes account = logic.getAccount(student.googleId.trim());
-        
+
         if (account == null || accountsSaved.contains(account.email)) {
             return;
         }
-        
-        
-        appendToFile(currentFileName, formatJsonString(account.getJsonString(), account.email));
+
+        currentWriter.write(BackupRecordFile.ACCOUNTS, account);
         accountsSaved.add(account.email);
     }
-    
-    /** 
+
+    /**
      *  Retrieves all the instructor accounts and saves them
      */
-    protected void saveInstructorAccount(InstructorAttributes instructor) {
+    protected void saveInstructorAccount(InstructorAttributes instructor) throws IOException {
         if (instructor == null) {
             return;
         }
-        
+
         Logic logic = new Logic();
         AccountAttributes account = logic.getAccount(instructor.googleId.trim());
-        
+
         if (account == null || accountsSaved.contains(account.email)) {
             return;
         }
-        
-        appendToFile(currentFileName, formatJsonString(account.getJsonString(), account.email));
+
+        currentWriter.write(BackupRecordFile.ACCOUNTS, account);
         accountsSaved.add(account.email);
     }
-    
-    protected void saveComment(CommentAttributes comment) {
-        appendToFile(currentFileName, formatJsonString(comment.getJsonString(), comment.getCommentId().toString()));
-    }   
-    
-    protected void saveFeedbackQuestion(FeedbackQuestionAttributes feedbackQuestion) {   
-        appendToFile(currentFileName, formatJsonString(feedbackQuestion.getJsonString(), feedbackQuestion.getId()));
-    }
-    
-    protected void saveFeedbackResponse(FeedbackResponseAttributes feedbackResponse) {
-        appendToFile(currentFileName, formatJsonString(feedbackResponse.getJsonString(), feedbackResponse.getId()));
-    }
-    
-    protected void saveFeedbackResponseComment(FeedbackResponseCommentAttributes feedbackResponseComment) {
-        appendToFile(currentFileName, formatJsonString(feedbackResponseComment.getJsonString(), feedbackResponseComment.getId().toString()));
-    }
-    
-    protected void saveFeedbackSession(FeedbackSessionAttributes feedbackSession) {
-        appendToFile(currentFileName, formatJsonString(feedbackSession.getJsonString(), feedbackSession.feedbackSessionName + "%" + feedbackSession.courseId));
-    }
-    
-    protected void saveInstructor(InstructorAttributes instructor) {
-        appendToFile(currentFileName, formatJsonString(instructor.getJsonString(), instructor.googleId));
-    }
-    
-    protected void saveStudent(StudentAttributes student) {
-        appendToFile(currentFileName, formatJsonString(student.getJsonString(), student.googleId));
-    }
-    
-    protected void saveProfile(StudentProfileAttributes studentProfile) {
-        appendToFile(currentFileName, formatJsonString(studentProfile.getJsonString(), studentProfile.googleId));
-    }
 
-    private static void appendToFile(String fileName, String fileContent) {
+    private void appendLine(String fileName, String line) {
         try {
+            Writer fw = new FileWriter(new File(backupFileDirectory, fileName), true);
+            try {
+                fw.write(line + "\n");
+            } finally {
+                fw.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * The kinds of entities of a course which changed, and the keys of the changed entities of each kind,
+     * together with the keys of the deleted ones.
+     */
+    protected static class CourseChanges {
+
+        private final Map<String, Set<String>> changedKeys = new HashMap<String, Set<String>>();
+        private final Map<String, Set<String>> deletedKeys = new HashMap<String, Set<String>>();
+        private final Set<String> kindsWithAllChanged = new HashSet<String>();
 
-            File file = new File(fileName);
+        public void add(EntityChangeAttributes change) {
+            if (change.entityKey == null) {
+                kindsWithAllChanged.add(change.kind);
+            }
+            addKey(changedKeys, change);
+            if (change.isDeletion) {
+                addKey(deletedKeys, change);
+            }
+        }
 
-            // if file doesnt exists, then create it
-            if (!file.exists()) {
-                file.createNewFile();
+        private static void addKey(Map<String, Set<String>> keysOfKinds, EntityChangeAttributes change) {
+            Set<String> keys = keysOfKinds.get(change.kind);
+            if (keys == null) {
+                keys = new LinkedHashSet<String>();
+                keysOfKinds.put(change.kind, keys);
             }
+            if (change.entityKey != null) {
+                keys.add(change.entityKey);
+            }
+        }
 
-            FileWriter fw = new FileWriter(file.getAbsoluteFile(), true);
-            BufferedWriter bw = new BufferedWriter(fw);
-            bw.write(fileContent);
-            bw.close();
+        public boolean isChanged(String kind) {
+            return changedKeys.containsKey(kind);
+        }
 
-        } catch (IOException e) {
-            e.printStackTrace();
+        public boolean isAllChanged(String kind) {
+            return kindsWithAllChanged.contains(kind);
+        }
+
+        public Set<String> getChangedKeys(String kind) {
+            return changedKeys.get(kind);
+        }
+
+        public boolean isDeleted(String kind) {
+            return deletedKeys.containsKey(kind);
+        }
+
+        public Set<String> getDeletedKeys(String kind) {
+            return deletedKeys.get(kind);
         }
     }
-    
 }
@@ -4,20 +4,32 @@ import java.io.File;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import teammates.client.remoteapi.RemoteApiClient;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.EntityChangeAttributes;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
@@ -44,27 +56,37 @@ import teammates.storage.datastore.Datastore;
 import com.google.gson.Gson;
 
 /**
- * Usage: This script imports a large data bundle to the appengine. The target of the script is the app with
- * appID in the test.properties file.Can use DataGenerator.java to generate random data.
- * 
+ * Usage: This script uploads the backup files written by {@link OfflineBackup} to the appengine.
+ * The target of the script is the app with appID in the test.properties file.
+ *
  * Notes:
- * -Edit SOURCE_FILE_NAME before use
- * -Should not have any limit on the size of the databundle. However, the number of entities per request
- * should not be set to too large as it may cause Deadline Exception (especially for evaluations)
- * 
+ * -For each course, the most recent full backup is uploaded, followed by the incremental backups
+ * made after it, from the oldest to the newest.
+ * -Courses are uploaded in parallel, {@link #NUMBER_OF_WORKER_THREADS} at a time.
+ * Each file is streamed and its entities are persisted in batches of at most {@link #BATCH_SIZE},
+ * so files of any size can be uploaded.
+ * -The tombstones at the end of an incremental backup file delete the entities which were deleted
+ * after the backup before it.
+ * -Backup files in the older single-JSON format ({@code .json}) are still accepted,
+ * but they are read whole into memory.
+ *
  */
 public class UploadBackupData extends RemoteApiClient {
 
     private static final String BACKUP_FOLDER = "BackupFiles/Backup";
 
-    private static DataBundle data;
+    private static final String LEGACY_EXTENSION = ".json";
+
+    private static final int NUMBER_OF_WORKER_THREADS = 4;
+
+    /**
+     * The maximum number of entities persisted in one request.
+     * Should not be set too large as it may cause Deadline Exception.
+     */
+    private static final int BATCH_SIZE = 100;
+
     private static Gson gson = Utils.getTeammatesGson();
-    private static String jsonString;
-    
-    private static Set<String> coursesPersisted = new HashSet<String>();
-    private static HashMap<String, FeedbackQuestionAttributes> feedbackQuestionsPersisted = new HashMap<String, FeedbackQuestionAttributes>();
-    private static HashMap<String, String> feedbackQuestionIds = new HashMap<String, String>();
-    
+
     private static Logic logic = new Logic();
     private static final CoursesDb coursesDb = new CoursesDb();
     private static final CommentsDb commentsDb = new CommentsDb();
@@ -76,24 +98,38 @@ public class UploadBackupData extends RemoteApiClient {
     private static final FeedbackResponseCommentsDb fcDb = new FeedbackResponseCommentsDb();
     private static final ProfilesDb profilesDb = new ProfilesDb();
     private static final FeedbackQuestionsLogic feedbackQuestionsLogic = new FeedbackQuestionsLogic();
-    
+
+    private static final AtomicLong numberOfEntitiesPersisted = new AtomicLong();
+
     public static void main(String[] args) throws Exception {
         UploadBackupData uploadBackupData = new UploadBackupData();
         uploadBackupData.doOperationRemotely();
     }
-    
+
+    @Override
+    protected boolean isUsingWorkerThreads() {
+        return true;
+    }
+
     @Override
     protected void doOperation() {
         Datastore.initialize();
-        
-        String[] folders = getFolders();
 
-        for (String folder : folders) {
-            String[] backupFiles = getBackupFilesInFolder(folder);
-            uploadData(backupFiles, folder);
+        long startTime = System.currentTimeMillis();
+        Map<String, List<File>> backupFilesOfCourses = getBackupFilesToUpload(getFolders());
+
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_WORKER_THREADS);
+        try {
+            uploadData(backupFilesOfCourses, executor);
+        } finally {
+            executor.shutdown();
         }
+
+        System.out.println("Uploaded " + numberOfEntitiesPersisted.get() + " entities at "
+                           + OfflineBackup.getEntitiesPerSecond(numberOfEntitiesPersisted.get(), startTime)
+                           + " entities/s");
     }
-    
+
     private static String[] getFolders() {
         File backupFolder = new File(BACKUP_FOLDER);
         String[] folders = backupFolder.list();
@@ -104,9 +140,9 @@ public class UploadBackupData extends RemoteApiClient {
                     DateFormat dateFormat = new SimpleDateFormat("yyyy_MM_dd HH.mm.ss");
                 try {
                     Date firstDate = dateFormat.parse(o1);
-                    
+
                     Date secondDate = dateFormat.parse(o2);
-                    
+
                     return secondDate.compareTo(firstDate);
                 } catch (ParseException e) {
                     return 0;
@@ -116,199 +152,528 @@ public class UploadBackupData extends RemoteApiClient {
         listOfFolders.toArray(folders);
         return folders;
     }
-    
+
     private static String[] getBackupFilesInFolder(String folder) {
         String folderName = BACKUP_FOLDER + "/" + folder;
-        File currentFolder = new File(folderName);   
+        File currentFolder = new File(folderName);
         return currentFolder.list();
     }
-    
-    private static void uploadData(String[] backupFiles, String folder) {
-        for (String backupFile : backupFiles) {
-            if (coursesPersisted.contains(backupFile)) {
-                System.out.println(backupFile + " already persisted.");
-                continue;
+
+    /**
+     * @param folders the backup folders, from the newest to the oldest
+     * @return the files to upload for each course, in the order to upload them
+     */
+    private static Map<String, List<File>> getBackupFilesToUpload(String[] folders) {
+        Map<String, List<File>> backupFilesOfCourses = new LinkedHashMap<String, List<File>>();
+        Set<String> coursesWithFullBackup = new HashSet<String>();
+
+        for (String folder : folders) {
+            String folderName = BACKUP_FOLDER + "/" + folder;
+            boolean isIncremental = new File(folderName, OfflineBackup.DELTA_FILE_NAME).exists();
+
+            for (String backupFile : getBackupFilesInFolder(folder)) {
+                String courseId = getCourseId(backupFile);
+                if (courseId == null) {
+                    // checkpoint files and incomplete backup files
+                    continue;
+                }
+                if (coursesWithFullBackup.contains(courseId)) {
+                    System.out.println(folder + "/" + backupFile + " is older than the backup to upload.");
+                    continue;
+                }
+
+                List<File> backupFiles = backupFilesOfCourses.get(courseId);
+                if (backupFiles == null) {
+                    backupFiles = new ArrayList<File>();
+                    backupFilesOfCourses.put(courseId, backupFiles);
+                }
+                // the folders are from the newest, so the older file goes first
+                backupFiles.add(0, new File(folderName, backupFile));
+
+                if (!isIncremental) {
+                    coursesWithFullBackup.add(courseId);
+                }
             }
+        }
+        return backupFilesOfCourses;
+    }
+
+    /**
+     * Uploads the courses in parallel and waits for all of them to finish.
+     */
+    private static void uploadData(Map<String, List<File>> backupFilesOfCourses, ExecutorService executor) {
+        Map<String, Future<Boolean>> uploads = new LinkedHashMap<String, Future<Boolean>>();
+        for (Map.Entry<String, List<File>> backupFilesOfCourse : backupFilesOfCourses.entrySet()) {
+            uploads.put(backupFilesOfCourse.getKey(), executor.submit(new CourseUpload(backupFilesOfCourse.getValue())));
+        }
+
+        for (Map.Entry<String, Future<Boolean>> upload : uploads.entrySet()) {
             try {
-                String folderName = BACKUP_FOLDER + "/" + folder;
-                
-                jsonString = FileHelper.readFile(folderName + "/" + backupFile);
-                data = gson.fromJson(jsonString, DataBundle.class);  
-                
-                feedbackQuestionsPersisted = new HashMap<String, FeedbackQuestionAttributes>();
-                feedbackQuestionIds = new HashMap<String, String>();
-                
-                if (!data.accounts.isEmpty()) {                  // Accounts
-                    persistAccounts(data.accounts);
-                }                      
-                if (!data.courses.isEmpty()) {                    // Courses
-                    persistCourses(data.courses);
-                } 
-                if (!data.instructors.isEmpty()) {                // Instructors
-                    persistInstructors(data.instructors);
-                } 
-                if (!data.students.isEmpty()) {                   // Students
-                    persistStudents(data.students);
-                } 
-                if (!data.feedbackSessions.isEmpty()) {           // Feedback sessions
-                    persistFeedbackSessions(data.feedbackSessions);
-                } 
-                if (!data.feedbackQuestions.isEmpty()) {          // Feedback questions
-                    persistFeedbackQuestions(data.feedbackQuestions);
-                } 
-                if (!data.feedbackResponses.isEmpty()) {          // Feedback responses
-                    persistFeedbackResponses(data.feedbackResponses);
-                } 
-                if (!data.feedbackResponseComments.isEmpty()) {   // Feedback response comments
-                    persistFeedbackResponseComments(data.feedbackResponseComments);
-                } 
-                if (!data.comments.isEmpty()) {                   // Comments
-                    persistComments(data.comments);
+                if (!upload.getValue().get()) {
+                    System.out.println("Course " + upload.getKey() + " was not uploaded completely.");
                 }
-                if (!data.profiles.isEmpty()) {
-                    persistProfiles(data.profiles);
-                }
-                coursesPersisted.add(backupFile);
-                
-            } catch (Exception e) {
+            } catch (InterruptedException e) {
                 System.out.println("Error in uploading files: " + e.getMessage());
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                System.out.println("Error in uploading files: " + e.getCause().getMessage());
             }
         }
     }
-    
-    private static void persistAccounts(HashMap<String, AccountAttributes> accounts) {
-        try {
-            for (AccountAttributes accountData : accounts.values()) {
-                logic.createAccount(accountData.googleId, accountData.name, 
-                    accountData.isInstructor, accountData.email, accountData.institute);
+
+    /**
+     * Uploads the backup files of a course one after another,
+     * stopping at the first file which fails to upload.
+     */
+    private static class CourseUpload implements Callable<Boolean> {
+
+        private final List<File> backupFiles;
+
+        CourseUpload(List<File> backupFiles) {
+            this.backupFiles = backupFiles;
+        }
+
+        @Override
+        public Boolean call() throws Exception {
+            for (File backupFile : backupFiles) {
+                if (!new BackupFileUpload(backupFile).call()) {
+                    return false;
+                }
             }
-        } catch (InvalidParametersException e) {
-            System.out.println("Error in uploading accounts: " + e.getMessage());
+            return true;
         }
     }
-    
-    private static void persistCourses(HashMap<String, CourseAttributes> courses) {
-        try {
-            coursesDb.createCourses(courses.values());
-        } catch (InvalidParametersException e) {
-            System.out.println("Error in uploading courses: " + e.getMessage());
+
+    /**
+     * @return the ID of the course backed up in the file, or null if it is not a backup file
+     */
+    private static String getCourseId(String backupFile) {
+        if (backupFile.endsWith(BackupRecordFile.COMPRESSED_EXTENSION)) {
+            return backupFile.substring(0, backupFile.length() - BackupRecordFile.COMPRESSED_EXTENSION.length());
+        } else if (backupFile.endsWith(BackupRecordFile.EXTENSION)) {
+            return backupFile.substring(0, backupFile.length() - BackupRecordFile.EXTENSION.length());
+        } else if (backupFile.endsWith(LEGACY_EXTENSION)) {
+            return backupFile.substring(0, backupFile.length() - LEGACY_EXTENSION.length());
         }
+        return null;
     }
-    
-    private static void persistInstructors(HashMap<String, InstructorAttributes> instructors) {
-        try {
-            instructorsDb.createInstructors(instructors.values());
-        } catch (InvalidParametersException e) {
-            System.out.println("Error in uploading instructors: " + e.getMessage());
+
+    /**
+     * Uploads one backup file. The entities are buffered until the kind changes or
+     * {@link #BATCH_SIZE} entities are buffered, and are then persisted together.
+     */
+    private static class BackupFileUpload implements Callable<Boolean> {
+
+        private final File file;
+
+        private final Map<String, FeedbackQuestionAttributes> feedbackQuestionsPersisted =
+                new HashMap<String, FeedbackQuestionAttributes>();
+        private final Map<String, String> feedbackQuestionIds = new HashMap<String, String>();
+
+        /** The keys of the entities of the kinds backed up whole, as given by {@link #getUploadKey}. */
+        private final Map<String, Set<String>> uploadedKeys = new HashMap<String, Set<String>>();
+
+        private String bufferedKind;
+        private final List<EntityAttributes> buffer = new ArrayList<EntityAttributes>();
+        private int numberOfEntities;
+
+        BackupFileUpload(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public Boolean call() throws Exception {
+            long startTime = System.currentTimeMillis();
+            try {
+                if (BackupRecordFile.isBackupRecordFile(file.getName())) {
+                    BackupRecordFile.RecordReader reader = new BackupRecordFile.RecordReader(file);
+                    try {
+                        BackupRecordFile.Record record = reader.next();
+                        while (record != null) {
+                            add(record.kind, record.entity);
+                            record = reader.next();
+                        }
+                    } finally {
+                        reader.close();
+                    }
+                } else {
+                    addLegacyFile();
+                }
+                flush();
+            } catch (Exception e) {
+                System.out.println("Error in uploading " + file.getName() + ": " + e.getMessage());
+                return false;
+            } finally {
+                Datastore.finishRequest();
+            }
+
+            numberOfEntitiesPersisted.addAndGet(numberOfEntities);
+            System.out.println("Uploaded " + file.getName() + ": " + numberOfEntities + " entities, "
+                               + OfflineBackup.getEntitiesPerSecond(numberOfEntities, startTime) + " entities/s");
+            return true;
+        }
+
+        private void addLegacyFile() throws Exception {
+            DataBundle data = gson.fromJson(FileHelper.readFile(file.getPath()), DataBundle.class);
+            for (String kind : BackupRecordFile.KINDS_IN_UPLOAD_ORDER) {
+                for (EntityAttributes entity : getEntities(data, kind)) {
+                    add(kind, entity);
+                }
+            }
+        }
+
+        private void add(String kind, EntityAttributes entity) {
+            if (!kind.equals(bufferedKind) || buffer.size() >= BATCH_SIZE) {
+                flush();
+                bufferedKind = kind;
+            }
+            buffer.add(entity);
+
+            String uploadKey = getUploadKey(kind, entity);
+            if (uploadKey != null) {
+                Set<String> keys = uploadedKeys.get(kind);
+                if (keys == null) {
+                    keys = new HashSet<String>();
+                    uploadedKeys.put(kind, keys);
+                }
+                keys.add(uploadKey);
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+
+            switch (bufferedKind) {
+            case BackupRecordFile.ACCOUNTS:
+                persistAccounts(asListOf(AccountAttributes.class));
+                break;
+            case BackupRecordFile.COURSES:
+                persistCourses(asListOf(CourseAttributes.class));
+                break;
+            case BackupRecordFile.INSTRUCTORS:
+                persistInstructors(asListOf(InstructorAttributes.class));
+                break;
+            case BackupRecordFile.STUDENTS:
+                persistStudents(asListOf(StudentAttributes.class));
+                break;
+            case BackupRecordFile.FEEDBACK_SESSIONS:
+                persistFeedbackSessions(asListOf(FeedbackSessionAttributes.class));
+                break;
+            case BackupRecordFile.FEEDBACK_QUESTIONS:
+                persistFeedbackQuestions(asListOf(FeedbackQuestionAttributes.class));
+                break;
+            case BackupRecordFile.FEEDBACK_RESPONSES:
+                persistFeedbackResponses(asListOf(FeedbackResponseAttributes.class));
+                break;
+            case BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS:
+                persistFeedbackResponseComments(asListOf(FeedbackResponseCommentAttributes.class));
+                break;
+            case BackupRecordFile.COMMENTS:
+                persistComments(asListOf(CommentAttributes.class));
+                break;
+            case BackupRecordFile.PROFILES:
+                persistProfiles(asListOf(StudentProfileAttributes.class));
+                break;
+            case BackupRecordFile.DELETIONS:
+                applyDeletions(asListOf(EntityChangeAttributes.class));
+                break;
+            default:
+                System.out.println("Unknown kind of entities: " + bufferedKind);
+                break;
+            }
+
+            numberOfEntities += buffer.size();
+            buffer.clear();
+
+            // releases the entities of the batch held by the persistence manager
+            Datastore.finishRequest();
+        }
+
+        private <T extends EntityAttributes> List<T> asListOf(Class<T> entityClass) {
+            List<T> entities = new ArrayList<T>();
+            for (EntityAttributes entity : buffer) {
+                entities.add(entityClass.cast(entity));
+            }
+            return entities;
+        }
+
+        /**
+         * Questions get new IDs when they are first uploaded, so questions which were uploaded before,
+         * e.g. from an older backup, are matched by question number and updated.
+         */
+        private void persistFeedbackQuestions(List<FeedbackQuestionAttributes> questions) {
+            try {
+                for (FeedbackQuestionAttributes question : questions) {
+                    feedbackQuestionsPersisted.put(question.getId(), question);
+                    FeedbackQuestionAttributes existingQuestion = feedbackQuestionsLogic.getFeedbackQuestion(
+                            question.feedbackSessionName, question.courseId, question.questionNumber);
+                    if (existingQuestion != null) {
+                        feedbackQuestionIds.put(question.getId(), existingQuestion.getId());
+                        question.setId(existingQuestion.getId());
+                    }
+                }
+
+                fqDb.createFeedbackQuestions(questions);
+
+            } catch (InvalidParametersException e) {
+                System.out.println("Error in uploading feedback questions: " + e.getMessage());
+            }
+        }
+
+        private void persistFeedbackResponses(List<FeedbackResponseAttributes> responses) {
+            try {
+                for (FeedbackResponseAttributes response : responses) {
+                    response.feedbackQuestionId = getNewFeedbackQuestionId(
+                            response.feedbackQuestionId, response.feedbackSessionName, response.courseId);
+                }
+
+                frDb.createFeedbackResponses(responses);
+            } catch (InvalidParametersException e) {
+                System.out.println("Error in uploading feedback responses: " + e.getMessage());
+            }
+        }
+
+        private void persistFeedbackResponseComments(List<FeedbackResponseCommentAttributes> responseComments) {
+            try {
+                for (FeedbackResponseCommentAttributes responseComment : responseComments) {
+                    responseComment.feedbackQuestionId = getNewFeedbackQuestionId(
+                            responseComment.feedbackQuestionId, responseComment.feedbackSessionName,
+                            responseComment.courseId);
+                }
+
+                fcDb.createFeedbackResponseComments(responseComments);
+            } catch (InvalidParametersException e) {
+                System.out.println("Error in uploading feedback response comments: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Deletes the entities of the tombstones. A tombstone without a key deletes the entities of
+         * its kind in the course which are not in the file, as such kinds are backed up whole.
+         */
+        private void applyDeletions(List<EntityChangeAttributes> tombstones) {
+            for (EntityChangeAttributes tombstone : tombstones) {
+                if (BackupRecordFile.COURSES.equals(tombstone.kind)) {
+                    logic.deleteCourse(tombstone.courseId);
+                } else if (BackupRecordFile.FEEDBACK_RESPONSES.equals(tombstone.kind)) {
+                    deleteFeedbackResponse(tombstone.entityKey);
+                } else if (tombstone.entityKey == null) {
+                    Set<String> keys = uploadedKeys.get(tombstone.kind);
+                    for (EntityAttributes entity : getEntitiesOfCourse(tombstone.kind, tombstone.courseId)) {
+                        if (keys == null || !keys.contains(getUploadKey(tombstone.kind, entity))) {
+                            deleteEntity(tombstone.kind, entity);
+                        }
+                    }
+                } else {
+                    System.out.println("Unknown tombstone: " + tombstone.getIdentificationString());
+                }
+            }
+        }
+
+        /**
+         * Response IDs start with the ID of their question, which changes when it is uploaded,
+         * so the ID is mapped to that of the uploaded question. The question is in the file
+         * as responses changed; if it is not, the question was deleted with its responses.
+         */
+        private void deleteFeedbackResponse(String feedbackResponseId) {
+            int endOfQuestionId = feedbackResponseId.indexOf('%');
+            if (endOfQuestionId < 0) {
+                System.out.println("Unknown feedback response: " + feedbackResponseId);
+                return;
+            }
+            String oldQuestionId = feedbackResponseId.substring(0, endOfQuestionId);
+            FeedbackQuestionAttributes question = feedbackQuestionsPersisted.get(oldQuestionId);
+            if (question == null) {
+                return;
+            }
+            String newQuestionId = getNewFeedbackQuestionId(oldQuestionId, question.feedbackSessionName,
+                                                            question.courseId);
+            FeedbackResponseAttributes response =
+                    frDb.getFeedbackResponse(newQuestionId + feedbackResponseId.substring(endOfQuestionId));
+            if (response != null) {
+                logic.deleteFeedbackResponse(response);
+            }
+        }
+
+        /**
+         * Questions get new IDs when they are uploaded, so the responses and response comments
+         * are matched to the uploaded questions by question number.
+         */
+        private String getNewFeedbackQuestionId(String oldId, String feedbackSessionName, String courseId) {
+            String newId = feedbackQuestionIds.get(oldId);
+            if (newId == null) {
+                FeedbackQuestionAttributes question = feedbackQuestionsPersisted.get(oldId);
+                newId = feedbackQuestionsLogic.getFeedbackQuestion(
+                        feedbackSessionName, courseId, question.questionNumber).getId();
+                feedbackQuestionIds.put(oldId, newId);
+            }
+            return newId;
         }
     }
-    
-    private static void persistStudents(HashMap<String, StudentAttributes> students) {
+
+    /**
+     * @return what identifies the entity among the entities of its kind in its course across uploads,
+     *         or null if the kind is not backed up whole
+     */
+    private static String getUploadKey(String kind, EntityAttributes entity) {
+        switch (kind) {
+        case BackupRecordFile.INSTRUCTORS:
+            return ((InstructorAttributes) entity).email;
+        case BackupRecordFile.STUDENTS:
+            return ((StudentAttributes) entity).email;
+        case BackupRecordFile.FEEDBACK_SESSIONS:
+            return ((FeedbackSessionAttributes) entity).feedbackSessionName;
+        case BackupRecordFile.FEEDBACK_QUESTIONS:
+            FeedbackQuestionAttributes question = (FeedbackQuestionAttributes) entity;
+            return question.feedbackSessionName + "/" + question.questionNumber;
+        case BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS:
+            FeedbackResponseCommentAttributes responseComment = (FeedbackResponseCommentAttributes) entity;
+            return responseComment.giverEmail + "/" + responseComment.createdAt.getTime();
+        case BackupRecordFile.COMMENTS:
+            CommentAttributes comment = (CommentAttributes) entity;
+            return comment.giverEmail + "/" + comment.createdAt.getTime();
+        default:
+            return null;
+        }
+    }
+
+    private static List<? extends EntityAttributes> getEntitiesOfCourse(String kind, String courseId) {
+        switch (kind) {
+        case BackupRecordFile.INSTRUCTORS:
+            return instructorsDb.getInstructorsForCourse(courseId);
+        case BackupRecordFile.STUDENTS:
+            return studentsDb.getStudentsForCourse(courseId);
+        case BackupRecordFile.FEEDBACK_SESSIONS:
+            return fbDb.getFeedbackSessionsForCourse(courseId);
+        case BackupRecordFile.FEEDBACK_QUESTIONS:
+            return fqDb.getFeedbackQuestionsForCourse(courseId);
+        case BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS:
+            return fcDb.getFeedbackResponseCommentsForCourse(courseId);
+        case BackupRecordFile.COMMENTS:
+            return commentsDb.getCommentsForCourse(courseId);
+        default:
+            return new ArrayList<EntityAttributes>();
+        }
+    }
+
+    /**
+     * Deletes the entity along with the entities which depend on it.
+     */
+    private static void deleteEntity(String kind, EntityAttributes entity) {
+        switch (kind) {
+        case BackupRecordFile.INSTRUCTORS:
+            InstructorAttributes instructor = (InstructorAttributes) entity;
+            logic.deleteInstructor(instructor.courseId, instructor.email);
+            break;
+        case BackupRecordFile.STUDENTS:
+            StudentAttributes student = (StudentAttributes) entity;
+            logic.deleteStudentWithoutDocument(student.course, student.email);
+            break;
+        case BackupRecordFile.FEEDBACK_SESSIONS:
+            FeedbackSessionAttributes feedbackSession = (FeedbackSessionAttributes) entity;
+            logic.deleteFeedbackSession(feedbackSession.feedbackSessionName, feedbackSession.courseId);
+            break;
+        case BackupRecordFile.FEEDBACK_QUESTIONS:
+            logic.deleteFeedbackQuestion(((FeedbackQuestionAttributes) entity).getId());
+            break;
+        case BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS:
+            logic.deleteFeedbackResponseComment((FeedbackResponseCommentAttributes) entity);
+            break;
+        case BackupRecordFile.COMMENTS:
+            logic.deleteComment((CommentAttributes) entity);
+            break;
+        default:
+            System.out.println("Unknown kind of entities: " + kind);
+            break;
+        }
+    }
+
+    private static Collection<? extends EntityAttributes> getEntities(DataBundle data, String kind) {
+        switch (kind) {
+        case BackupRecordFile.ACCOUNTS:
+            return data.accounts.values();
+        case BackupRecordFile.COURSES:
+            return data.courses.values();
+        case BackupRecordFile.INSTRUCTORS:
+            return data.instructors.values();
+        case BackupRecordFile.STUDENTS:
+            return data.students.values();
+        case BackupRecordFile.FEEDBACK_SESSIONS:
+            return data.feedbackSessions.values();
+        case BackupRecordFile.FEEDBACK_QUESTIONS:
+            return data.feedbackQuestions.values();
+        case BackupRecordFile.FEEDBACK_RESPONSES:
+            return data.feedbackResponses.values();
+        case BackupRecordFile.FEEDBACK_RESPONSE_COMMENTS:
+            return data.feedbackResponseComments.values();
+        case BackupRecordFile.COMMENTS:
+            return data.comments.values();
+        case BackupRecordFile.PROFILES:
+            return data.profiles.values();
+        default:
+            return new ArrayList<EntityAttributes>();
+        }
+    }
+
+    private static void persistAccounts(List<AccountAttributes> accounts) {
         try {
-            studentsDb.createStudentsWithoutSearchability(students.values());
+            for (AccountAttributes accountData : accounts) {
+                logic.createAccount(accountData.googleId, accountData.name,
+                    accountData.isInstructor, accountData.email, accountData.institute);
+            }
         } catch (InvalidParametersException e) {
-            System.out.println("Error in uploading students: " + e.getMessage());
+            System.out.println("Error in uploading accounts: " + e.getMessage());
         }
     }
-    
-    private static void persistFeedbackSessions(HashMap<String, FeedbackSessionAttributes> feedbackSessions) {
+
+    private static void persistCourses(List<CourseAttributes> courses) {
         try {
-            fbDb.createFeedbackSessions(feedbackSessions.values());
+            coursesDb.createCourses(courses);
         } catch (InvalidParametersException e) {
-            System.out.println("Error in uploading feedback sessions: " + e.getMessage());
+            System.out.println("Error in uploading courses: " + e.getMessage());
         }
     }
-    
-    private static void persistFeedbackQuestions(HashMap<String, FeedbackQuestionAttributes> map) {
-        HashMap<String, FeedbackQuestionAttributes> questions = map;
 
+    private static void persistInstructors(List<InstructorAttributes> instructors) {
         try {
-            fqDb.createFeedbackQuestions(questions.values());
-            
-            for (FeedbackQuestionAttributes question : questions.values()) {
-                feedbackQuestionsPersisted.put(question.getId(), question);
-            }
-            
+            instructorsDb.createInstructors(instructors);
         } catch (InvalidParametersException e) {
-            System.out.println("Error in uploading feedback questions: " + e.getMessage());
+            System.out.println("Error in uploading instructors: " + e.getMessage());
         }
     }
-    
-    private static void persistFeedbackResponses(HashMap<String, FeedbackResponseAttributes> map) {
-        HashMap<String, FeedbackResponseAttributes> responses = map;
-        
+
+    private static void persistStudents(List<StudentAttributes> students) {
         try {
-            for (FeedbackResponseAttributes response : responses.values()) {
-                response = adjustFeedbackResponseId(response);
-            }
-            
-            frDb.createFeedbackResponses(responses.values());  
+            studentsDb.createStudentsWithoutSearchability(students);
         } catch (InvalidParametersException e) {
-            System.out.println("Error in uploading feedback responses: " + e.getMessage());
+            System.out.println("Error in uploading students: " + e.getMessage());
         }
     }
-    
-    private static void persistFeedbackResponseComments(HashMap<String, FeedbackResponseCommentAttributes> map) {
-        HashMap<String, FeedbackResponseCommentAttributes> responseComments = map;
 
+    private static void persistFeedbackSessions(List<FeedbackSessionAttributes> feedbackSessions) {
         try {
-            for (FeedbackResponseCommentAttributes responseComment : responseComments.values()) {
-                responseComment = adjustFeedbackResponseCommentId(responseComment);
-            }
-            
-            fcDb.createFeedbackResponseComments(responseComments.values());
+            fbDb.createFeedbackSessions(feedbackSessions);
         } catch (InvalidParametersException e) {
-            System.out.println("Error in uploading feedback response comments: " + e.getMessage());
+            System.out.println("Error in uploading feedback sessions: " + e.getMessage());
         }
     }
-    
-    private static void persistComments(HashMap<String, CommentAttributes> map) {
-        HashMap<String, CommentAttributes> comments = map;
+
+    private static void persistComments(List<CommentAttributes> comments) {
         try {
-            commentsDb.createComments(comments.values());
+            commentsDb.createComments(comments);
         } catch (InvalidParametersException e) {
             System.out.println("Error in uploading comments: " + e.getMessage());
         }
     }
 
-    private static void persistProfiles(HashMap<String, StudentProfileAttributes> studentProfiles) {
-        HashMap<String, StudentProfileAttributes> profiles = studentProfiles;
+    private static void persistProfiles(List<StudentProfileAttributes> profiles) {
         try {
-            profilesDb.createEntities(profiles.values());
+            profilesDb.createEntities(profiles);
         } catch (InvalidParametersException e) {
             System.out.println("Error in uploading profiles: " + e.getMessage());
         }
     }
-    
-    private static FeedbackResponseAttributes adjustFeedbackResponseId(FeedbackResponseAttributes response) {
-        FeedbackQuestionAttributes question = feedbackQuestionsPersisted.get(response.feedbackQuestionId);
-        
-        if (feedbackQuestionIds.containsKey(question.getId())) {
-            response.feedbackQuestionId = feedbackQuestionIds.get(question.getId());
-        } else {
-            String newId = feedbackQuestionsLogic.getFeedbackQuestion(
-                    response.feedbackSessionName, response.courseId,
-                    question.questionNumber).getId();
-            response.feedbackQuestionId = newId;
-            feedbackQuestionIds.put(question.getId(), newId);
-        }
-        
-        return response;
-    }
-    
-    private static FeedbackResponseCommentAttributes adjustFeedbackResponseCommentId(FeedbackResponseCommentAttributes response) {
-        FeedbackQuestionAttributes question = feedbackQuestionsPersisted.get(response.feedbackQuestionId);
-        
-        if (feedbackQuestionIds.containsKey(question.getId())) {
-            response.feedbackQuestionId = feedbackQuestionIds.get(question.getId());
-        } else {
-            String newId = feedbackQuestionsLogic.getFeedbackQuestion(
-                    response.feedbackSessionName, response.courseId,
-                    question.questionNumber).getId();
-            response.feedbackQuestionId = newId;
-            feedbackQuestionIds.put(question.getId(), newId);
-        }
-        
-        return response;
-    }
 }
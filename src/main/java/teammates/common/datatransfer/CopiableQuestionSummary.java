@@ -0,0 +1,22 @@
+package teammates.common.datatransfer;
+
+/**
+ * Represents a feedback question as listed in the "copy question" modal.
+ */
+public class CopiableQuestionSummary {
+
+    public String feedbackQuestionId;
+    public String courseId;
+    public String feedbackSessionName;
+    public String questionTypeDisplayName;
+    public String questionText;
+
+    public CopiableQuestionSummary(String feedbackQuestionId, String courseId, String feedbackSessionName,
+                                   String questionTypeDisplayName, String questionText) {
+        this.feedbackQuestionId = feedbackQuestionId;
+        this.courseId = courseId;
+        this.feedbackSessionName = feedbackSessionName;
+        this.questionTypeDisplayName = questionTypeDisplayName;
+        this.questionText = questionText;
+    }
+}
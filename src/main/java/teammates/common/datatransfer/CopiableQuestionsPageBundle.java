@@ -0,0 +1,33 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents one page of the questions an instructor can copy, sorted by course,
+ * session, question type and question text, together with the token that is needed
+ * to fetch the page that follows it.
+ */
+public class CopiableQuestionsPageBundle {
+
+    public List<CopiableQuestionSummary> questions = new ArrayList<CopiableQuestionSummary>();
+
+    /**
+     * Opaque token to be passed back to fetch the next page,
+     * or null if this is the last page.
+     */
+    public String nextPageToken;
+
+    public CopiableQuestionsPageBundle() {
+        // leave the page empty
+    }
+
+    public CopiableQuestionsPageBundle(List<CopiableQuestionSummary> questions, String nextPageToken) {
+        this.questions = questions;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public boolean isLastPage() {
+        return nextPageToken == null;
+    }
+}
@@ -53,6 +53,16 @@ public class CourseRoster {
                && student1.team != null && student1.team.equals(student2.team);
     }
     
+    public List<StudentAttributes> getStudentsInTeam(String teamName) {
+        List<StudentAttributes> teamMembers = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : studentListByEmail.values()) {
+            if (student.team.equals(teamName)) {
+                teamMembers.add(student);
+            }
+        }
+        return teamMembers;
+    }
+    
     public StudentAttributes getStudentForEmail(String email) {
         return studentListByEmail.get(email);
     }
@@ -1,5 +1,6 @@
 package teammates.common.datatransfer;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -8,6 +9,13 @@ import java.util.List;
  */
 public abstract class EntityAttributes {
 
+    /**
+     * The values of the fields sanitized by {@link #sanitizeForSaving()} when the attributes
+     * were marked as sanitized, or null if they are not marked.
+     * Transient so that it is not part of the JSON representation.
+     */
+    private transient Object[] valuesSanitizedForSaving;
+
     /**
      * @return true if the attributes represent a valid state for the entity.
      */
@@ -57,4 +65,41 @@ public abstract class EntityAttributes {
      * e.g. trim strings
      */
     public abstract void sanitizeForSaving();
+
+    /**
+     * Performs {@link #sanitizeForSaving()} unless the attributes are
+     * {@link #isSanitizedForSaving() known to be sanitized already}.
+     */
+    public void sanitizeForSavingIfNeeded() {
+        if (!isSanitizedForSaving()) {
+            sanitizeForSaving();
+        }
+    }
+
+    /**
+     * Marks the attributes as already sanitized for saving. To be used only when
+     * all the fields have just been set from sanitized values. Has no effect on
+     * attributes which do not override {@link #getValuesSanitizedForSaving()}.
+     */
+    public void markAsSanitizedForSaving() {
+        valuesSanitizedForSaving = getValuesSanitizedForSaving();
+    }
+
+    /**
+     * @return true if the attributes have been marked as sanitized, and none of the
+     *         fields sanitized by {@link #sanitizeForSaving()} has been given another value since.
+     */
+    public boolean isSanitizedForSaving() {
+        return valuesSanitizedForSaving != null
+               && Arrays.equals(valuesSanitizedForSaving, getValuesSanitizedForSaving());
+    }
+
+    /**
+     * @return the current values of the fields sanitized by {@link #sanitizeForSaving()},
+     *         or null if the attributes cannot be marked as sanitized. To be overridden by
+     *         subclasses whose attributes are created from sanitized values in bulk.
+     */
+    protected Object[] getValuesSanitizedForSaving() {
+        return null;
+    }
 }
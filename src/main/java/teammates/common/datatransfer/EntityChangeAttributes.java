@@ -0,0 +1,91 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import teammates.common.util.Utils;
+import teammates.storage.entity.EntityChange;
+
+/**
+ * Represents a record of the change log kept for incremental backups: an entity of the
+ * course {@link #courseId} was created or updated, or deleted if {@link #isDeletion}. <br>
+ * The {@link #id}, {@link #sequenceNumber} and {@link #timestamp} are assigned when the record is stored.
+ */
+public class EntityChangeAttributes extends EntityAttributes {
+
+    public Long id;
+    public long sequenceNumber;
+    public String courseId;
+
+    /** The type of the entity, as given by {@link EntityAttributes#getEntityTypeAsString()}. */
+    public String kind;
+
+    /**
+     * Identifies the entity among the entities of its kind,
+     * or null if all the entities of the kind in the course may have changed.
+     */
+    public String entityKey;
+
+    public boolean isDeletion;
+    public Date timestamp;
+
+    public EntityChangeAttributes(EntityChange change) {
+        this.id = change.getId();
+        this.sequenceNumber = change.getSequenceNumber();
+        this.courseId = change.getCourseId();
+        this.kind = change.getKind();
+        this.entityKey = change.getEntityKey();
+        this.isDeletion = change.isDeletion();
+        this.timestamp = change.getTimestamp();
+    }
+
+    public EntityChangeAttributes(String courseId, String kind, String entityKey, boolean isDeletion) {
+        this.courseId = courseId;
+        this.kind = kind;
+        this.entityKey = entityKey;
+        this.isDeletion = isDeletion;
+    }
+
+    @Override
+    public List<String> getInvalidityInfo() {
+        List<String> errors = new ArrayList<String>();
+        if (courseId == null || courseId.isEmpty()) {
+            errors.add("The course of an entity change cannot be empty");
+        }
+        if (kind == null || kind.isEmpty()) {
+            errors.add("The kind of an entity change cannot be empty");
+        }
+        return errors;
+    }
+
+    @Override
+    public Object toEntity() {
+        return new EntityChange(sequenceNumber, courseId, kind, entityKey, isDeletion, timestamp);
+    }
+
+    @Override
+    public String getIdentificationString() {
+        return sequenceNumber + "/" + courseId + "/" + kind;
+    }
+
+    @Override
+    public String getEntityTypeAsString() {
+        return "Entity Change";
+    }
+
+    @Override
+    public String getBackupIdentifier() {
+        return "Entity Change";
+    }
+
+    @Override
+    public String getJsonString() {
+        return Utils.getTeammatesGson().toJson(this, EntityChangeAttributes.class);
+    }
+
+    @Override
+    public void sanitizeForSaving() {
+        // the fields are copied from entities which are already sanitized
+    }
+}
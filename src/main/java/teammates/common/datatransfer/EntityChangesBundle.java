@@ -0,0 +1,34 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the records of the change log in a range of sequence numbers,
+ * together with the watermark to pass back to get the records that follow them.
+ * Records sharing a sequence number are ordered by their ID, so the watermark
+ * is made of both.
+ */
+public class EntityChangesBundle {
+
+    /** The records, sorted by sequence number and then by ID. */
+    public List<EntityChangeAttributes> changes = new ArrayList<EntityChangeAttributes>();
+
+    /**
+     * The sequence number up to which the records are in {@link #changes}
+     * or in the bundles returned before.
+     */
+    public long watermark;
+
+    /**
+     * The ID up to which the records with the sequence number {@link #watermark}
+     * are in {@link #changes} or in the bundles returned before.
+     */
+    public long watermarkId;
+
+    public EntityChangesBundle(List<EntityChangeAttributes> changes, long watermark, long watermarkId) {
+        this.changes = changes;
+        this.watermark = watermark;
+        this.watermarkId = watermarkId;
+    }
+}
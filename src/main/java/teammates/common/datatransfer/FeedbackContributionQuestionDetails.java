@@ -1,8 +1,11 @@
 package teammates.common.datatransfer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -167,33 +170,13 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
     
         String currentUserTeam = bundle.emailTeamNameTable.get(studentEmail);
         
-        List<FeedbackResponseAttributes> actualResponses = getActualResponses(question, bundle);
-
-        //List of teams with at least one response
-        List<String> teamNames = getTeamsWithAtLeastOneResponse(actualResponses, bundle);
-        
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-        
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
-        //Each team's contribution question results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
-
-        TeamEvalResult currentUserTeamResults = teamResults.get(currentUserTeam);
-        if (currentUserTeamResults == null) {
+        //Only the results of the student's own team are shown, if the team has at least one response
+        if (!getTeamResponses(question, bundle).containsKey(currentUserTeam)) {
             return "";
         }
+        TeamEvalResult currentUserTeamResults = getTeamEvalResult(bundle, question, currentUserTeam);
 
-        int currentUserIndex = teamMembersEmail.get(currentUserTeam).indexOf(studentEmail);
+        int currentUserIndex = currentUserTeamResults.studentEmails.indexOf(studentEmail);
         int selfClaim = currentUserTeamResults.claimed[currentUserIndex][currentUserIndex];
         int teamClaim = currentUserTeamResults.denormalizedAveragePerceived[currentUserIndex][currentUserIndex];
         
@@ -222,41 +205,18 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             return "";
         }
     
-        List<FeedbackResponseAttributes> actualResponses = getActualResponses(question, bundle);
-        
         //List of teams visible to the instructor and in the selected section
         List<String> teamNames = getTeamNames(bundle);
         
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-        
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
         //Each team's eval results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(question, bundle, teamNames);
         
         //Each person's results summary
-        Map<String, StudentResultSummary> studentResults = getStudentResults(
-                teamMembersEmail, teamResults);
+        Map<String, StudentResultSummary> studentResults = getStudentResults(teamResults);
 
         //Check visibility of recipient
-        boolean hideRecipient = false;
+        boolean hideRecipient = isRecipientHidden(question, bundle);
         FeedbackParticipantType type = question.recipientType;
-        for (FeedbackResponseAttributes response : actualResponses) {
-            if (!bundle.visibilityTable.get(response.getId())[1] 
-                && type != FeedbackParticipantType.SELF 
-                && type != FeedbackParticipantType.NONE) {
-                hideRecipient = true;
-            }
-        }
         
         StringBuilder contribFragments = new StringBuilder();
         
@@ -266,9 +226,8 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             String name = bundle.roster.getStudentForEmail(email).name;
             String team = bundle.roster.getStudentForEmail(email).team;
             
-            List<String> teamEmails = teamMembersEmail.get(team);
             TeamEvalResult teamResult = teamResults.get(team);
-            int studentIndx = teamEmails.indexOf(email);
+            int studentIndx = teamResult.studentEmails.indexOf(email);
             
             String displayName = name;
             String displayTeam = team;
@@ -312,42 +271,18 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             return "";
         }
     
-        List<FeedbackResponseAttributes> actualResponses = getActualResponses(question, bundle);
-
         //List of teams visible to the instructor and in the selected section
         List<String> teamNames = getTeamNames(bundle);
         
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
         //Each team's eval results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(question, bundle, teamNames);
         
         //Each person's results summary
-        Map<String, StudentResultSummary> studentResults = getStudentResults(
-                teamMembersEmail, teamResults);
+        Map<String, StudentResultSummary> studentResults = getStudentResults(teamResults);
         
         //Check visibility of recipient
-        boolean hideRecipient = false;
-        
+        boolean hideRecipient = isRecipientHidden(question, bundle);
         FeedbackParticipantType type = question.recipientType;
-        for (FeedbackResponseAttributes response : actualResponses) {
-            if (!bundle.visibilityTable.get(response.getId())[1] 
-                && type != FeedbackParticipantType.SELF
-                && type != FeedbackParticipantType.NONE) {
-                hideRecipient = true;
-            }
-        }
         
         StringBuilder contribFragments = new StringBuilder();
 
@@ -359,9 +294,8 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             String name = bundle.roster.getStudentForEmail(email).name;
             String team = bundle.roster.getStudentForEmail(email).team;
             
-            List<String> teamEmails = teamMembersEmail.get(team);
             TeamEvalResult teamResult = teamResults.get(team);
-            int studentIndx = teamEmails.indexOf(email);
+            int studentIndx = teamResult.studentEmails.indexOf(email);
             
             String displayName;
             String displayTeam;
@@ -426,56 +360,23 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
      */
     public Map<String, StudentResultSummary> getStudentResults(FeedbackSessionResultsBundle bundle,
             FeedbackQuestionAttributes question) {
-        
-        List<FeedbackResponseAttributes> responses = getActualResponses(question, bundle);
-
-        List<String> teamNames = getTeamsWithAtLeastOneResponse(responses, bundle);
-        
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-        
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                responses, bundle, teamNames);
-        
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
-        
-        return getStudentResults(teamMembersEmail, teamResults);
+        return getStudentResults(getTeamEvalResults(bundle, question));
     }
     
     /**
-     * @return A Map with student email as key and TeamEvalResult as value for the specified question.
+     * @return A Map with team name as key and TeamEvalResult as value for the specified question,
+     *         for the teams with at least one response.
      */
     public Map<String, TeamEvalResult> getTeamEvalResults(FeedbackSessionResultsBundle bundle,
             FeedbackQuestionAttributes question) {
-        
-        List<FeedbackResponseAttributes> responses = getActualResponses(question, bundle);
-
-        List<String> teamNames = getTeamsWithAtLeastOneResponse(responses, bundle);
-        
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-        
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                responses, bundle, teamNames);
-        
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
-        
-        return teamResults;
+        return getTeamResults(question, bundle, getTeamResponses(question, bundle).keySet());
     }
 
-    private Map<String, StudentResultSummary> getStudentResults(
-            Map<String, List<String>> teamMembersEmail,
-            Map<String, TeamEvalResult> teamResults) {
+    private Map<String, StudentResultSummary> getStudentResults(Map<String, TeamEvalResult> teamResults) {
         Map<String, StudentResultSummary> studentResults = new LinkedHashMap<String, StudentResultSummary>();
-        for (Map.Entry<String, TeamEvalResult> entry : teamResults.entrySet()) {
-            TeamEvalResult teamResult = entry.getValue();
-            List<String> teamEmails = teamMembersEmail.get(entry.getKey());
+        for (TeamEvalResult teamResult : teamResults.values()) {
             int i = 0;
-            for (String studentEmail : teamEmails) {
+            for (String studentEmail : teamResult.studentEmails) {
                 StudentResultSummary summary = new StudentResultSummary();
                 summary.claimedFromStudent = teamResult.claimed[i][i];
                 summary.claimedToInstructor = teamResult.normalizedClaimed[i][i];
@@ -490,99 +391,115 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         return studentResults;
     }
 
-    protected Map<String, TeamEvalResult> getTeamResults(List<String> teamNames,
-            Map<String, int[][]> teamSubmissionArray, Map<String, List<String>> teamMembersEmail) {
+    /**
+     * @return the results of the teams in the order given
+     */
+    private Map<String, TeamEvalResult> getTeamResults(FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle bundle, Collection<String> teamNames) {
         Map<String, TeamEvalResult> teamResults = new LinkedHashMap<String, TeamEvalResult>();
         for (String team : teamNames) {
-            TeamEvalResult teamEvalResult = new TeamEvalResult(teamSubmissionArray.get(team));
-            teamEvalResult.studentEmails = teamMembersEmail.get(team);
-            teamResults.put(team, teamEvalResult);
+            teamResults.put(team, getTeamEvalResult(bundle, question, team));
         }
         return teamResults;
     }
 
-    private Map<String, int[][]> getTeamSubmissionArray(List<String> teamNames,
-            Map<String, List<String>> teamMembersEmail,
-            Map<String, List<FeedbackResponseAttributes>> teamResponses) {
-        Map<String, int[][]> teamSubmissionArray = new LinkedHashMap<String, int[][]>();
-        for (String team : teamNames) {
-            int teamSize = teamMembersEmail.get(team).size();
-            teamSubmissionArray.put(team, new int[teamSize][teamSize]);
-            //Initialize all as not submitted.
-            for (int i = 0; i < teamSize; i++) {
-                for (int j = 0; j < teamSize; j++) {
-                    teamSubmissionArray.get(team)[i][j] = Const.POINTS_NOT_SUBMITTED;
-                }
-            }
-            //Fill in submitted points
-            List<FeedbackResponseAttributes> teamResponseList = teamResponses.get(team);
-            List<String> memberEmailList = teamMembersEmail.get(team);
-            for (FeedbackResponseAttributes response : teamResponseList) {
-                int giverIndx = memberEmailList.indexOf(response.giverEmail);
-                int recipientIndx = memberEmailList.indexOf(response.recipientEmail);
-                if (giverIndx == -1 || recipientIndx == -1) {
-                    continue;
-                }
-                int points = ((FeedbackContributionResponseDetails) response.getResponseDetails()).getAnswer();
-                teamSubmissionArray.get(team)[giverIndx][recipientIndx] = points;
-            }
+    /**
+     * The result of a team depends only on the members of the team and the responses given by them,
+     * so it is calculated at most once per question in a bundle, for whichever view needs it first.
+     * @return the TeamEvalResult of the team for the specified question
+     */
+    public TeamEvalResult getTeamEvalResult(FeedbackSessionResultsBundle bundle,
+            FeedbackQuestionAttributes question, String team) {
+        Map<String, TeamEvalResult> calculatedResults =
+                bundle.contributionQuestionTeamEvalResults.get(question.getId());
+        if (calculatedResults == null) {
+            calculatedResults = new HashMap<String, TeamEvalResult>();
+            bundle.contributionQuestionTeamEvalResults.put(question.getId(), calculatedResults);
         }
-        return teamSubmissionArray;
+        
+        TeamEvalResult teamResult = calculatedResults.get(team);
+        if (teamResult == null) {
+            List<String> memberEmails = new ArrayList<String>(bundle.rosterTeamNameMembersTable.get(team));
+            List<FeedbackResponseAttributes> teamResponses = getTeamResponses(question, bundle).get(team);
+            teamResult = new TeamEvalResult(getTeamSubmissionArray(memberEmails, teamResponses));
+            teamResult.studentEmails = memberEmails;
+            calculatedResults.put(team, teamResult);
+        }
+        return teamResult;
     }
 
-    private Map<String, List<FeedbackResponseAttributes>> getTeamResponses(
-            List<FeedbackResponseAttributes> responses,
-            FeedbackSessionResultsBundle bundle, List<String> teamNames) {
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = 
-                new LinkedHashMap<String, List<FeedbackResponseAttributes>>();
-        for (String teamName : teamNames) {
-            teamResponses.put(teamName, new ArrayList<FeedbackResponseAttributes>());
-        }
-        for (FeedbackResponseAttributes response : responses) {
-            String team = bundle.emailTeamNameTable.get(response.giverEmail);
-            if (teamResponses.containsKey(team)) {
-                teamResponses.get(team).add(response);
+    /**
+     * @return the submission array of the team -> int[teamSize][teamSize]
+     *         Where int[0][1] refers points from student 0 to student 1
+     *         Where student 0 is the 0th student in memberEmails
+     */
+    private int[][] getTeamSubmissionArray(List<String> memberEmails,
+            List<FeedbackResponseAttributes> teamResponses) {
+        int teamSize = memberEmails.size();
+        int[][] teamSubmissionArray = new int[teamSize][teamSize];
+        //Initialize all as not submitted.
+        for (int i = 0; i < teamSize; i++) {
+            Arrays.fill(teamSubmissionArray[i], Const.POINTS_NOT_SUBMITTED);
+        }
+        if (teamResponses == null) {
+            return teamSubmissionArray;
+        }
+        //Fill in submitted points
+        for (FeedbackResponseAttributes response : teamResponses) {
+            int giverIndx = memberEmails.indexOf(response.giverEmail);
+            int recipientIndx = memberEmails.indexOf(response.recipientEmail);
+            if (giverIndx == -1 || recipientIndx == -1) {
+                continue;
             }
+            int points = ((FeedbackContributionResponseDetails) response.getResponseDetails()).getAnswer();
+            teamSubmissionArray[giverIndx][recipientIndx] = points;
         }
-        return teamResponses;
+        return teamSubmissionArray;
     }
 
-    private Map<String, List<String>> getTeamMembersEmail(
-            FeedbackSessionResultsBundle bundle, List<String> teamNames) {
-        Map<String, List<String>> teamMembersEmail = new LinkedHashMap<String, List<String>>();
-        for (String teamName : teamNames) {
-            List<String> memberEmails = new ArrayList<String>(bundle.rosterTeamNameMembersTable.get(teamName));
-            teamMembersEmail.put(teamName, memberEmails);
+    /**
+     * @return the actual responses of the question grouped by the team of the giver, where the teams
+     *         are the teams with at least one response
+     */
+    private Map<String, List<FeedbackResponseAttributes>> getTeamResponses(
+            FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
+        String questionId = question.getId();
+        Map<String, List<FeedbackResponseAttributes>> teamResponses =
+                bundle.contributionQuestionTeamResponses.get(questionId);
+        if (teamResponses != null) {
+            return teamResponses;
         }
-        return teamMembersEmail;
-    }
-
-    private List<String> getTeamsWithAtLeastOneResponse(
-            List<FeedbackResponseAttributes> responses,
-            FeedbackSessionResultsBundle bundle) {
-        List<String> teamNames = new ArrayList<String>();
-        for (FeedbackResponseAttributes response : responses) {
+        
+        teamResponses = new LinkedHashMap<String, List<FeedbackResponseAttributes>>();
+        for (FeedbackResponseAttributes response : bundle.actualResponses) {
+            if (!response.feedbackQuestionId.equals(questionId)) {
+                continue;
+            }
             String teamNameOfResponseGiver = bundle.getTeamNameForEmail(response.giverEmail);
-            if (!teamNames.contains(teamNameOfResponseGiver)) {
-                teamNames.add(teamNameOfResponseGiver);
+            List<FeedbackResponseAttributes> responsesOfTeam = teamResponses.get(teamNameOfResponseGiver);
+            if (responsesOfTeam == null) {
+                responsesOfTeam = new ArrayList<FeedbackResponseAttributes>();
+                teamResponses.put(teamNameOfResponseGiver, responsesOfTeam);
             }
+            responsesOfTeam.add(response);
         }
-        return teamNames;
+        bundle.contributionQuestionTeamResponses.put(questionId, teamResponses);
+        return teamResponses;
     }
 
-    private List<FeedbackResponseAttributes> getActualResponses(
-            FeedbackQuestionAttributes question,
-            FeedbackSessionResultsBundle bundle) {
-        List<FeedbackResponseAttributes> responses;
-        String questionId = question.getId();
-        //Get all actual responses for this question.
-        responses = new ArrayList<FeedbackResponseAttributes>();
-        for (FeedbackResponseAttributes response : bundle.actualResponses) {
-            if (response.feedbackQuestionId.equals(questionId)) {
-                responses.add(response);
+    private boolean isRecipientHidden(FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
+        FeedbackParticipantType type = question.recipientType;
+        if (type == FeedbackParticipantType.SELF || type == FeedbackParticipantType.NONE) {
+            return false;
+        }
+        for (List<FeedbackResponseAttributes> responsesOfTeam : getTeamResponses(question, bundle).values()) {
+            for (FeedbackResponseAttributes response : responsesOfTeam) {
+                if (!bundle.visibilityTable.get(response.getId())[1]) {
+                    return true;
+                }
             }
         }
-        return responses;
+        return false;
     }
     
     private static String getNormalizedPointsListColorizedDescending(int[] subs, int index) {
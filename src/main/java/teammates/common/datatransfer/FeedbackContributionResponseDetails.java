@@ -82,13 +82,11 @@ public class FeedbackContributionResponseDetails extends FeedbackResponseDetails
             FeedbackResponseAttributes response,
             FeedbackQuestionAttributes question,
             FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
-        Map<String, TeamEvalResult> teamResults = getContribQnTeamEvalResult(question, feedbackSessionResultsBundle);
-        
         // Need to get actual team name and giver/recipient emails here,
         // only for getting the responseAnswer.
         FeedbackResponseAttributes actualResponse = feedbackSessionResultsBundle.getActualResponse(response);
         String giverTeamName = feedbackSessionResultsBundle.emailTeamNameTable.get(actualResponse.giverEmail);
-        TeamEvalResult teamResult = teamResults.get(giverTeamName);
+        TeamEvalResult teamResult = getContribQnTeamEvalResult(question, feedbackSessionResultsBundle, giverTeamName);
         
         int giverIndex = teamResult.studentEmails.indexOf(actualResponse.giverEmail);
         int recipientIndex = teamResult.studentEmails.indexOf(actualResponse.recipientEmail);
@@ -132,14 +130,13 @@ public class FeedbackContributionResponseDetails extends FeedbackResponseDetails
             FeedbackResponseAttributes response,
             FeedbackQuestionAttributes question,
             FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
-        Map<String, TeamEvalResult> teamResults = getContribQnTeamEvalResult(question, feedbackSessionResultsBundle);
         Map<String, StudentResultSummary> stats = getContribQnStudentResultSummary(question, feedbackSessionResultsBundle);
         
         // Need to get actual team name and giver/recipient emails here,
         // only for getting the responseAnswer.
         FeedbackResponseAttributes actualResponse = feedbackSessionResultsBundle.getActualResponse(response);
         String giverTeamName = feedbackSessionResultsBundle.emailTeamNameTable.get(actualResponse.giverEmail);
-        TeamEvalResult teamResult = teamResults.get(giverTeamName);
+        TeamEvalResult teamResult = getContribQnTeamEvalResult(question, feedbackSessionResultsBundle, giverTeamName);
         
         int giverIndex = teamResult.studentEmails.indexOf(actualResponse.giverEmail);
         int recipientIndex = teamResult.studentEmails.indexOf(actualResponse.recipientEmail);
@@ -201,15 +198,9 @@ public class FeedbackContributionResponseDetails extends FeedbackResponseDetails
         return contribQnStats;
     }
     
-    public Map<String, TeamEvalResult> getContribQnTeamEvalResult(FeedbackQuestionAttributes question,
-            FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
-        Map<String, TeamEvalResult> contribQnStats = feedbackSessionResultsBundle.contributionQuestionTeamEvalResults.get(question.getId());
-        if (contribQnStats == null) {
-            FeedbackContributionQuestionDetails fqcd = (FeedbackContributionQuestionDetails) question.getQuestionDetails();
-            contribQnStats = fqcd.getTeamEvalResults(feedbackSessionResultsBundle, question);
-            feedbackSessionResultsBundle.contributionQuestionTeamEvalResults.put(question.getId(), contribQnStats);
-        }
-        
-        return contribQnStats;
+    public TeamEvalResult getContribQnTeamEvalResult(FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle feedbackSessionResultsBundle, String teamName) {
+        FeedbackContributionQuestionDetails fqcd = (FeedbackContributionQuestionDetails) question.getQuestionDetails();
+        return fqcd.getTeamEvalResult(feedbackSessionResultsBundle, question, teamName);
     }
 }
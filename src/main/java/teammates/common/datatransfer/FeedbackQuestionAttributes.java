@@ -61,6 +61,25 @@ public class FeedbackQuestionAttributes extends EntityAttributes implements Comp
         removeIrrelevantVisibilityOptions();
     }
 
+    public FeedbackQuestionAttributes(FeedbackQuestionAttributes copy) {
+        this.feedbackQuestionId = copy.getId();
+        this.feedbackSessionName = copy.feedbackSessionName;
+        this.courseId = copy.courseId;
+        this.creatorEmail = copy.creatorEmail;
+        this.questionMetaData = copy.questionMetaData;
+        this.questionNumber = copy.questionNumber;
+        this.questionType = copy.questionType;
+        this.giverType = copy.giverType;
+        this.recipientType = copy.recipientType;
+        this.numberOfEntitiesToGiveFeedbackTo = copy.numberOfEntitiesToGiveFeedbackTo;
+        this.showResponsesTo = new ArrayList<FeedbackParticipantType>(copy.showResponsesTo);
+        this.showGiverNameTo = new ArrayList<FeedbackParticipantType>(copy.showGiverNameTo);
+        this.showRecipientNameTo = new ArrayList<FeedbackParticipantType>(copy.showRecipientNameTo);
+        
+        this.createdAt = copy.createdAt;
+        this.updatedAt = copy.updatedAt;
+    }
+
     public Date getCreatedAt() {
         return (createdAt == null) ? Const.TIME_REPRESENTS_DEFAULT_TIMESTAMP : createdAt;
     }
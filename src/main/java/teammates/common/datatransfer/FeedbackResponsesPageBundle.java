@@ -0,0 +1,32 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents one fixed-size page of feedback responses, together with the token
+ * that is needed to fetch the page that follows it.
+ */
+public class FeedbackResponsesPageBundle {
+
+    public List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+
+    /**
+     * Opaque token to be passed back to fetch the next page,
+     * or null if this is the last page.
+     */
+    public String nextPageToken;
+
+    public FeedbackResponsesPageBundle() {
+        // leave the page empty
+    }
+
+    public FeedbackResponsesPageBundle(List<FeedbackResponseAttributes> responses, String nextPageToken) {
+        this.responses = responses;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public boolean isLastPage() {
+        return nextPageToken == null;
+    }
+}
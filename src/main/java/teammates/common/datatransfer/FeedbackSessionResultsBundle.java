@@ -1,10 +1,13 @@
 package teammates.common.datatransfer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +42,23 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
     public FeedbackSessionResponseStatus responseStatus;
     public CourseRoster roster;
     public Map<String, List<FeedbackResponseCommentAttributes>> responseComments;
+    /**
+     * Whether the bundle holds all the responses asked for, i.e. they were neither cut off at
+     * the range given nor split into pages.
+     */
     public boolean isComplete;
+    
+    /**
+     * Whether the responses were fetched one page at a time. The bundle is then complete
+     * only if all the responses fit in the first page.
+     */
+    public boolean isPaged;
+    
+    /**
+     * Token of the next page of responses if the bundle holds only one page of them
+     * and more pages follow, null otherwise.
+     */
+    public String nextPageToken;
 
     /**
      * Responses with identities of giver/recipients NOT hidden.
@@ -51,10 +70,15 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
     // Key is questionId, value is a map of student email to StudentResultSumary
     public Map<String, Map<String, StudentResultSummary>> contributionQuestionStudentResultSummary =
             new HashMap<String, Map<String, StudentResultSummary>>();
-    // Key is questionId, value is a map of team name to TeamEvalResult
+    // Key is questionId, value is a map of team name to TeamEvalResult of every team calculated so far,
+    // shared by the statistics and the results of all views of the question
     public Map<String, Map<String, TeamEvalResult>> contributionQuestionTeamEvalResults =
             new HashMap<String, Map<String, TeamEvalResult>>();
-    
+    // Key is questionId, value is a map of team name to the actual responses given by the members of the team,
+    // in the order of the teams of the first giver of each
+    public Map<String, Map<String, List<FeedbackResponseAttributes>>> contributionQuestionTeamResponses =
+            new HashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
+
     /* 
      * sectionTeamNameTable takes into account the section viewing privileges of the logged-in instructor
      * and the selected section for viewing
@@ -66,469 +90,106 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
     */
     public Map<String, Set<String>> sectionTeamNameTable;
 
+    /*
+     * Sort keys of the responses. Each response is given an array of ranks (of its sections,
+     * names, teams and question) computed once per bundle, so that sorting the responses
+     * for the different views only compares ints.
+     * Built lazily, and rebuilt when a response without keys is sorted.
+     */
+    private static final int GIVER_SECTION = 0;
+    private static final int RECIPIENT_SECTION = 1;
+    private static final int GIVER_NAME = 2;
+    private static final int RECIPIENT_NAME = 3;
+    private static final int GIVER_TEAM = 4;
+    private static final int RECIPIENT_TEAM = 5;
+    private static final int QUESTION = 6;
+    private static final int GIVER_DISPLAY_NAME = 7;
+    private static final int RECIPIENT_DISPLAY_NAME = 8;
+    private static final int GIVER_EMAIL = 9;
+    private static final int RECIPIENT_EMAIL = 10;
+    private static final int ANSWER = 11;
+    private static final int NUMBER_OF_SORT_KEYS = 12;
+
+    /*
+     * Question rank of a response to a question which is not in the bundle. The old comparators
+     * treated such a question as equal to every other, which is not a consistent ordering;
+     * these responses are now placed after the responses to the questions of the bundle.
+     */
+    private static final int MISSING_QUESTION_RANK = Integer.MAX_VALUE;
+
     // Sorts by giverName > recipientName > qnNumber
     // General questions and team questions at the bottom.
-    public Comparator<FeedbackResponseAttributes> compareByGiverRecipientQuestion =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            return order;
-        }
-    };
-
-    // Sorts by giverName > recipientName
-    private Comparator<FeedbackResponseAttributes> compareByGiverRecipient =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            int order = compareByNames(giverName1, giverName2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            if (order != 0) {
-                return order;
-            }
-
-            String resp1 = o1.getResponseDetails().getAnswerString();
-            String resp2 = o2.getResponseDetails().getAnswerString();
-            order = compareByNames(resp1, resp2);
-            return order;
-        }
-    };
-
+    private static final SortOrder GIVER_RECIPIENT_QUESTION =
+            new SortOrder(GIVER_SECTION, GIVER_NAME, RECIPIENT_NAME, QUESTION);
+    // Sorts by giverName > recipientName > answer
+    private static final SortOrder GIVER_RECIPIENT =
+            new SortOrder(GIVER_NAME, RECIPIENT_NAME, ANSWER);
     // Sorts by teamName > giverName > recipientName > qnNumber
-    private Comparator<FeedbackResponseAttributes> compareByTeamGiverRecipientQuestion =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            String t1 = getTeamNameForEmail(o1.giverEmail).isEmpty() ? getNameForEmail(o1.giverEmail)
-                                                                     : getTeamNameForEmail(o1.giverEmail);
-            String t2 = getTeamNameForEmail(o2.giverEmail).isEmpty() ? getNameForEmail(o2.giverEmail)
-                                                                     : getTeamNameForEmail(o2.giverEmail);
-            order = t1.compareTo(t2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            return order;
-        }
-    };
-
+    private static final SortOrder TEAM_GIVER_RECIPIENT_QUESTION =
+            new SortOrder(GIVER_SECTION, GIVER_TEAM, GIVER_NAME, RECIPIENT_NAME, QUESTION);
     // Sorts by recipientName > giverName > qnNumber
-    private Comparator<FeedbackResponseAttributes> compareByRecipientGiverQuestion =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            return order;
-        }
-    };
-
+    private static final SortOrder RECIPIENT_GIVER_QUESTION =
+            new SortOrder(RECIPIENT_SECTION, RECIPIENT_NAME, GIVER_NAME, QUESTION);
     // Sorts by teamName > recipientName > giverName > qnNumber
-    private Comparator<FeedbackResponseAttributes> compareByTeamRecipientGiverQuestion =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            String t1 = getTeamNameForEmail(o1.recipientEmail).isEmpty() ? getNameForEmail(o1.recipientEmail)
-                                                                         : getTeamNameForEmail(o1.recipientEmail);
-            String t2 = getTeamNameForEmail(o2.recipientEmail).isEmpty() ? getNameForEmail(o2.recipientEmail)
-                                                                         : getTeamNameForEmail(o2.recipientEmail);
-            order = t1.compareTo(t2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            return order;
-        }
-    };
-
+    private static final SortOrder TEAM_RECIPIENT_GIVER_QUESTION =
+            new SortOrder(RECIPIENT_SECTION, RECIPIENT_TEAM, RECIPIENT_NAME, GIVER_NAME, QUESTION);
     // Sorts by giverName > question > recipientTeam > recipientName
-    private Comparator<FeedbackResponseAttributes> compareByGiverQuestionTeamRecipient =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-
-            String t1 = getTeamNameForEmail(o1.recipientEmail).isEmpty() ? getNameForEmail(o1.recipientEmail)
-                                                                         : getTeamNameForEmail(o1.recipientEmail);
-            String t2 = getTeamNameForEmail(o2.recipientEmail).isEmpty() ? getNameForEmail(o2.recipientEmail)
-                                                                         : getTeamNameForEmail(o2.recipientEmail);
-            order = t1.compareTo(t2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            return order;
-        }
-    };
-
+    private static final SortOrder GIVER_QUESTION_TEAM_RECIPIENT =
+            new SortOrder(GIVER_SECTION, GIVER_NAME, QUESTION, RECIPIENT_TEAM, RECIPIENT_NAME);
     // Sorts by giverTeam > giverName > question > recipientTeam > recipientName
-    private Comparator<FeedbackResponseAttributes> compareByTeamGiverQuestionTeamRecipient =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverTeam1 = getTeamNameForEmail(o1.giverEmail).isEmpty() ? getNameForEmail(o1.giverEmail)
-                                                                             : getTeamNameForEmail(o1.giverEmail);
-            String giverTeam2 = getTeamNameForEmail(o2.giverEmail).isEmpty() ? getNameForEmail(o2.giverEmail)
-                                                                             : getTeamNameForEmail(o2.giverEmail);
-            order = giverTeam1.compareTo(giverTeam2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-
-            String receiverTeam1 = getTeamNameForEmail(o1.recipientEmail).isEmpty() ? getNameForEmail(o1.recipientEmail)
-                                                                                    : getTeamNameForEmail(o1.recipientEmail);
-            String receiverTeam2 = getTeamNameForEmail(o2.recipientEmail).isEmpty() ? getNameForEmail(o2.recipientEmail)
-                                                                                    : getTeamNameForEmail(o2.recipientEmail);
-            order = receiverTeam1.compareTo(receiverTeam2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            return order;
-        }
-    };
-
+    private static final SortOrder TEAM_GIVER_QUESTION_TEAM_RECIPIENT =
+            new SortOrder(GIVER_SECTION, GIVER_TEAM, GIVER_NAME, QUESTION, RECIPIENT_TEAM, RECIPIENT_NAME);
     // Sorts by recipientName > question > giverTeam > giverName
-    private final Comparator<FeedbackResponseAttributes> compareByRecipientQuestionTeamGiver =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-
-            String t1 = getTeamNameForEmail(o1.giverEmail).isEmpty() ? getNameForEmail(o1.giverEmail)
-                                                                     : getTeamNameForEmail(o1.giverEmail);
-            String t2 = getTeamNameForEmail(o2.giverEmail).isEmpty() ? getNameForEmail(o2.giverEmail)
-                                                                     : getTeamNameForEmail(o2.giverEmail);
-            order = t1.compareTo(t2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            return order;
-        }
-    };
-
+    private static final SortOrder RECIPIENT_QUESTION_TEAM_GIVER =
+            new SortOrder(RECIPIENT_SECTION, RECIPIENT_NAME, QUESTION, GIVER_TEAM, GIVER_NAME);
     // Sorts by recipientTeam > recipientName > question > giverTeam > giverName
-    private Comparator<FeedbackResponseAttributes> compareByTeamRecipientQuestionTeamGiver =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientTeam1 = getTeamNameForEmail(o1.recipientEmail).isEmpty() ? getNameForEmail(o1.recipientEmail)
-                                                                                     : getTeamNameForEmail(o1.recipientEmail);
-            String recipientTeam2 = getTeamNameForEmail(o2.recipientEmail).isEmpty() ? getNameForEmail(o2.recipientEmail)
-                                                                                     : getTeamNameForEmail(o2.recipientEmail);
-            order = recipientTeam1.compareTo(recipientTeam2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverTeam1 = getTeamNameForEmail(o1.giverEmail).isEmpty() ? getNameForEmail(o1.giverEmail)
-                                                                             : getTeamNameForEmail(o1.giverEmail);
-            String giverTeam2 = getTeamNameForEmail(o2.giverEmail).isEmpty() ? getNameForEmail(o2.giverEmail)
-                                                                             : getTeamNameForEmail(o2.giverEmail);
-            order = giverTeam1.compareTo(giverTeam2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            return order;
-        }
-    };
-
+    private static final SortOrder TEAM_RECIPIENT_QUESTION_TEAM_GIVER =
+            new SortOrder(RECIPIENT_SECTION, RECIPIENT_TEAM, RECIPIENT_NAME, QUESTION, GIVER_TEAM, GIVER_NAME);
     // Sorts by recipientTeam > question > recipientName > giverTeam > giverName
-    private Comparator<FeedbackResponseAttributes> compareByTeamQuestionRecipientTeamGiver =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String recipientTeam1 = getTeamNameForEmail(o1.recipientEmail).isEmpty() ? getNameForEmail(o1.recipientEmail)
-                                                                                     : getTeamNameForEmail(o1.recipientEmail);
-            String recipientTeam2 = getTeamNameForEmail(o2.recipientEmail).isEmpty() ? getNameForEmail(o2.recipientEmail)
-                                                                                     : getTeamNameForEmail(o2.recipientEmail);
-            int order = recipientTeam1.compareTo(recipientTeam2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            if (order != 0) {
-                return order;
-            }
+    private static final SortOrder TEAM_QUESTION_RECIPIENT_TEAM_GIVER =
+            new SortOrder(RECIPIENT_TEAM, QUESTION, RECIPIENT_NAME, GIVER_TEAM, GIVER_NAME);
+    // Sorts by giverTeam > question > giverName > recipientTeam > recipientName
+    private static final SortOrder TEAM_QUESTION_GIVER_TEAM_RECIPIENT =
+            new SortOrder(GIVER_TEAM, QUESTION, GIVER_NAME, RECIPIENT_TEAM, RECIPIENT_NAME);
+    // Sorts by recipientName > recipientEmail > giverName > giverEmail
+    private static final SortOrder RECIPIENT_NAME_EMAIL_GIVER_NAME_EMAIL =
+            new SortOrder(RECIPIENT_DISPLAY_NAME, RECIPIENT_EMAIL, GIVER_DISPLAY_NAME, GIVER_EMAIL);
 
-            String giverTeam1 = getTeamNameForEmail(o1.giverEmail).isEmpty() ? getNameForEmail(o1.giverEmail)
-                                                                             : getTeamNameForEmail(o1.giverEmail);
-            String giverTeam2 = getTeamNameForEmail(o2.giverEmail).isEmpty() ? getNameForEmail(o2.giverEmail)
-                                                                             : getTeamNameForEmail(o2.giverEmail);
-            order = giverTeam1.compareTo(giverTeam2);
-            if (order != 0) {
-                return order;
+    // Orders names with class feedback on top and team responses at the bottom, nulls first.
+    private static final Comparator<String> NAME_ORDER = new Comparator<String>() {
+        @Override
+        public int compare(String n1, String n2) {
+            if (n1 == null || n2 == null) {
+                return Boolean.compare(n1 != null, n2 != null);
             }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            return order;
+            return compareByNames(n1, n2);
         }
     };
 
-    // Sorts by giverTeam > question > giverName > recipientTeam > recipientName
-    private Comparator<FeedbackResponseAttributes> compareByTeamQuestionGiverTeamRecipient =
-            new Comparator<FeedbackResponseAttributes>() {
+    // Orders strings by their natural ordering, nulls first.
+    private static final Comparator<String> NATURAL_ORDER = new Comparator<String>() {
         @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverTeam1 = getTeamNameForEmail(o1.giverEmail).isEmpty() ? getNameForEmail(o1.giverEmail)
-                                                                             : getTeamNameForEmail(o1.giverEmail);
-            String giverTeam2 = getTeamNameForEmail(o2.giverEmail).isEmpty() ? getNameForEmail(o2.giverEmail)
-                                                                             : getTeamNameForEmail(o2.giverEmail);
-            int order = giverTeam1.compareTo(giverTeam2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
+        public int compare(String s1, String s2) {
+            if (s1 == null || s2 == null) {
+                return Boolean.compare(s1 != null, s2 != null);
             }
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            if (order != 0) {
-                return order;
-            }
-
-            String receiverTeam1 = getTeamNameForEmail(o1.recipientEmail).isEmpty() ? getNameForEmail(o1.recipientEmail)
-                                                                                    : getTeamNameForEmail(o1.recipientEmail);
-            String receiverTeam2 = getTeamNameForEmail(o2.recipientEmail).isEmpty() ? getNameForEmail(o2.recipientEmail)
-                                                                                    : getTeamNameForEmail(o2.recipientEmail);
-            order = receiverTeam1.compareTo(receiverTeam2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            return order;
+            return s1.compareTo(s2);
         }
     };
 
-    // Sorts by recipientName > recipientEmail > giverName > giverEmail
-    private Comparator<FeedbackResponseAttributes> compareByRecipientNameEmailGiverNameEmail =
+    private Map<FeedbackResponseAttributes, int[]> sortKeys;
+    private boolean isAnswerSortKeyComputed;
+
+    // Sorts by giverName > recipientName > qnNumber
+    // General questions and team questions at the bottom.
+    public Comparator<FeedbackResponseAttributes> compareByGiverRecipientQuestion =
             new Comparator<FeedbackResponseAttributes>() {
         @Override
         public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            // Compare by Recipient Name
-            int recipientNameCompareResult = compareByNames(getNameForEmail(o1.recipientEmail),
-                                                            getNameForEmail(o2.recipientEmail));
-            if (recipientNameCompareResult != 0) {
-                return recipientNameCompareResult;
-            }
-            
-            // Compare by Recipient Email
-            int recipientEmailCompareResult = compareByNames(o1.recipientEmail, o2.recipientEmail);
-            if (recipientEmailCompareResult != 0) {
-                return recipientEmailCompareResult;
-            }
-            
-            // Compare by Giver Name            
-            int giverNameCompareResult = compareByNames(getNameForEmail(o1.giverEmail),
-                                                        getNameForEmail(o2.giverEmail));
-            if (giverNameCompareResult != 0) {
-                return giverNameCompareResult;
-            }
-            
-            // Compare by Giver Email
-            int giverEmailCompareResult = compareByNames(o1.giverEmail, o2.giverEmail);
-            if (giverEmailCompareResult != 0) {
-                return giverEmailCompareResult;
+            if (sortKeys == null || !sortKeys.containsKey(o1) || !sortKeys.containsKey(o2)) {
+                ensureSortKeys(Arrays.asList(o1, o2));
             }
-            
-            return 0;
+            return GIVER_RECIPIENT_QUESTION.compare(sortKeys.get(o1), sortKeys.get(o2));
         }
     };
 
@@ -1525,7 +1186,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         }
 
         for (List<FeedbackResponseAttributes> responsesForQuestion : sortedMap.values()) {
-            Collections.sort(responsesForQuestion, compareByGiverRecipient);
+            sortResponses(responsesForQuestion, GIVER_RECIPIENT);
         }
 
         return sortedMap;
@@ -1553,7 +1214,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         }
 
         for (List<FeedbackResponseAttributes> responsesForQuestion : sortedMap.values()) {
-            Collections.sort(responsesForQuestion, compareByRecipientNameEmailGiverNameEmail);
+            sortResponses(responsesForQuestion, RECIPIENT_NAME_EMAIL_GIVER_NAME_EMAIL);
         }
 
         return sortedMap;
@@ -1566,7 +1227,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesForOneRecipient = null;
         List<FeedbackResponseAttributes> responsesForOneRecipientOneQuestion = null;
 
-        Collections.sort(responses, compareByTeamQuestionRecipientTeamGiver);
+        sortResponses(responses, TEAM_QUESTION_RECIPIENT_TEAM_GIVER);
 
         String recipientTeam = null;
         String questionId = null;
@@ -1620,7 +1281,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         LinkedHashMap<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesFromOneGiver = null;
         List<FeedbackResponseAttributes> responsesFromOneGiverOneQuestion = null;
 
-        Collections.sort(responses, compareByTeamQuestionGiverTeamRecipient);
+        sortResponses(responses, TEAM_QUESTION_GIVER_TEAM_RECIPIENT);
 
         String giverTeam = null;
         String questionId = null;
@@ -1681,10 +1342,9 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         List<FeedbackResponseAttributes> responsesForOneRecipientOneQuestion = null;
 
         if (sortByTeam) {
-            Collections
-                    .sort(responses, compareByTeamRecipientQuestionTeamGiver);
+            sortResponses(responses, TEAM_RECIPIENT_QUESTION_TEAM_GIVER);
         } else {
-            Collections.sort(responses, compareByRecipientQuestionTeamGiver);
+            sortResponses(responses, RECIPIENT_QUESTION_TEAM_GIVER);
         }
 
         String recipient = null;
@@ -1747,9 +1407,9 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
         
         if (sortByTeam) {
-            Collections.sort(responses, compareByTeamRecipientGiverQuestion);
+            sortResponses(responses, TEAM_RECIPIENT_GIVER_QUESTION);
         } else {
-            Collections.sort(responses, compareByRecipientGiverQuestion);
+            sortResponses(responses, RECIPIENT_GIVER_QUESTION);
         }
         
         String prevGiver = null;
@@ -1823,7 +1483,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
 
-        Collections.sort(responses, compareByTeamRecipientGiverQuestion);
+        sortResponses(responses, TEAM_RECIPIENT_GIVER_QUESTION);
    
         
         String prevGiver = null;
@@ -1887,9 +1547,9 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         List<FeedbackResponseAttributes> responsesFromOneGiverOneQuestion = null;
 
         if (sortByTeam) {
-            Collections.sort(responses, compareByTeamGiverQuestionTeamRecipient);
+            sortResponses(responses, TEAM_GIVER_QUESTION_TEAM_RECIPIENT);
         } else {
-            Collections.sort(responses, compareByGiverQuestionTeamRecipient);
+            sortResponses(responses, GIVER_QUESTION_TEAM_RECIPIENT);
         }
 
         String giver = null;
@@ -1952,9 +1612,9 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
         
         if (sortByTeam) {
-            Collections.sort(responses, compareByTeamGiverRecipientQuestion);
+            sortResponses(responses, TEAM_GIVER_RECIPIENT_QUESTION);
         } else {
-            Collections.sort(responses, compareByGiverRecipientQuestion);
+            sortResponses(responses, GIVER_RECIPIENT_QUESTION);
         }
         
         String prevRecipient = null;
@@ -2024,7 +1684,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
                 getResponsesSortedByGiverRecipientQuestion() {
         Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
-        Collections.sort(responses, compareByTeamGiverRecipientQuestion);
+        sortResponses(responses, TEAM_GIVER_RECIPIENT_QUESTION);
         
         
         String prevRecipient = null;
@@ -2137,17 +1797,179 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         return sectionToTeam;
     }
 
-    private int compareByQuestionNumber(FeedbackResponseAttributes r1,
-                                        FeedbackResponseAttributes r2) {
-        FeedbackQuestionAttributes q1 = questions.get(r1.feedbackQuestionId);
-        FeedbackQuestionAttributes q2 = questions.get(r2.feedbackQuestionId);
-        if (q1 == null || q2 == null) {
+    /**
+     * Sorts the responses of the bundle by giver, then recipient, then question, in the same order
+     * as {@link #compareByGiverRecipientQuestion} but comparing the precomputed sort keys only.
+     */
+    public void sortResponsesByGiverRecipientQuestion() {
+        sortResponses(responses, GIVER_RECIPIENT_QUESTION);
+    }
+
+    /**
+     * Sorts the responses in the given order, which is a no-op if they are already in that order.
+     */
+    private void sortResponses(List<FeedbackResponseAttributes> responsesToSort, SortOrder order) {
+        ensureSortKeys(responsesToSort);
+        if (order.isUsingKey(ANSWER)) {
+            ensureAnswerSortKeys();
+        }
+        
+        int[][] keys = new int[responsesToSort.size()][];
+        boolean isSorted = true;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = sortKeys.get(responsesToSort.get(i));
+            isSorted = isSorted && (i == 0 || order.compare(keys[i - 1], keys[i]) <= 0);
+        }
+        if (isSorted) {
+            return;
+        }
+        
+        Map<int[], FeedbackResponseAttributes> responseForKeys = new IdentityHashMap<int[], FeedbackResponseAttributes>();
+        for (int i = 0; i < keys.length; i++) {
+            responseForKeys.put(keys[i], responsesToSort.get(i));
+        }
+        Arrays.sort(keys, order);
+        for (int i = 0; i < keys.length; i++) {
+            responsesToSort.set(i, responseForKeys.get(keys[i]));
+        }
+    }
+
+    /**
+     * Builds the sort keys if any of the given responses does not have them yet,
+     * e.g. if it was added to the bundle after the keys were built.
+     */
+    private void ensureSortKeys(List<FeedbackResponseAttributes> responsesToSort) {
+        if (sortKeys != null && sortKeys.keySet().containsAll(responsesToSort)) {
+            return;
+        }
+        
+        // all responses are ranked together so that keys of different lists stay comparable
+        Set<FeedbackResponseAttributes> responsesToRank =
+                Collections.newSetFromMap(new IdentityHashMap<FeedbackResponseAttributes, Boolean>());
+        responsesToRank.addAll(responses);
+        responsesToRank.addAll(responsesToSort);
+        if (sortKeys != null) {
+            responsesToRank.addAll(sortKeys.keySet());
+        }
+        
+        List<String> namesAndEmails = new ArrayList<String>();
+        List<String> sectionsAndTeams = new ArrayList<String>();
+        for (FeedbackResponseAttributes response : responsesToRank) {
+            for (String email : new String[] {response.giverEmail, response.recipientEmail}) {
+                namesAndEmails.add(emailNameTable.get(email));
+                namesAndEmails.add(getNameForEmail(email));
+                namesAndEmails.add(email);
+                sectionsAndTeams.add(getTeamOrNameForEmail(email));
+            }
+            sectionsAndTeams.add(response.giverSection);
+            sectionsAndTeams.add(response.recipientSection);
+        }
+        Map<String, Integer> nameRanks = getRanks(namesAndEmails, NAME_ORDER);
+        Map<String, Integer> sectionAndTeamRanks = getRanks(sectionsAndTeams, NATURAL_ORDER);
+        // ranked by ID, as distinct questions can be equal, e.g. copies given the same number
+        Map<String, Integer> questionRanks = getRanks(questions.keySet(), new Comparator<String>() {
+            @Override
+            public int compare(String questionId1, String questionId2) {
+                return questions.get(questionId1).compareTo(questions.get(questionId2));
+            }
+        });
+        
+        sortKeys = new IdentityHashMap<FeedbackResponseAttributes, int[]>();
+        for (FeedbackResponseAttributes response : responsesToRank) {
+            int[] keys = new int[NUMBER_OF_SORT_KEYS];
+            keys[GIVER_SECTION] = sectionAndTeamRanks.get(response.giverSection);
+            keys[RECIPIENT_SECTION] = sectionAndTeamRanks.get(response.recipientSection);
+            keys[GIVER_NAME] = nameRanks.get(emailNameTable.get(response.giverEmail));
+            keys[RECIPIENT_NAME] = nameRanks.get(emailNameTable.get(response.recipientEmail));
+            keys[GIVER_TEAM] = sectionAndTeamRanks.get(getTeamOrNameForEmail(response.giverEmail));
+            keys[RECIPIENT_TEAM] = sectionAndTeamRanks.get(getTeamOrNameForEmail(response.recipientEmail));
+            Integer questionRank = questionRanks.get(response.feedbackQuestionId);
+            keys[QUESTION] = questionRank == null ? MISSING_QUESTION_RANK : questionRank;
+            keys[GIVER_DISPLAY_NAME] = nameRanks.get(getNameForEmail(response.giverEmail));
+            keys[RECIPIENT_DISPLAY_NAME] = nameRanks.get(getNameForEmail(response.recipientEmail));
+            keys[GIVER_EMAIL] = nameRanks.get(response.giverEmail);
+            keys[RECIPIENT_EMAIL] = nameRanks.get(response.recipientEmail);
+            sortKeys.put(response, keys);
+        }
+        isAnswerSortKeyComputed = false;
+    }
+
+    /**
+     * Ranks the answers of the responses, which is only needed by some views
+     * and requires parsing the response details.
+     */
+    private void ensureAnswerSortKeys() {
+        if (isAnswerSortKeyComputed) {
+            return;
+        }
+        
+        Map<FeedbackResponseAttributes, String> answers = new IdentityHashMap<FeedbackResponseAttributes, String>();
+        for (FeedbackResponseAttributes response : sortKeys.keySet()) {
+            answers.put(response, response.getResponseDetails().getAnswerString());
+        }
+        Map<String, Integer> answerRanks = getRanks(answers.values(), NAME_ORDER);
+        for (Map.Entry<FeedbackResponseAttributes, int[]> entry : sortKeys.entrySet()) {
+            entry.getValue()[ANSWER] = answerRanks.get(answers.get(entry.getKey()));
+        }
+        isAnswerSortKeyComputed = true;
+    }
+
+    private String getTeamOrNameForEmail(String email) {
+        String teamName = getTeamNameForEmail(email);
+        return teamName.isEmpty() ? getNameForEmail(email) : teamName;
+    }
+
+    /**
+     * @return the rank of each distinct value in the given order, with equal values sharing a rank
+     */
+    private static <T> Map<T, Integer> getRanks(Collection<T> values, Comparator<? super T> order) {
+        List<T> sortedValues = new ArrayList<T>(new HashSet<T>(values));
+        Collections.sort(sortedValues, order);
+        
+        Map<T, Integer> ranks = new HashMap<T, Integer>();
+        int rank = 0;
+        for (int i = 0; i < sortedValues.size(); i++) {
+            if (i > 0 && order.compare(sortedValues.get(i - 1), sortedValues.get(i)) != 0) {
+                rank++;
+            }
+            ranks.put(sortedValues.get(i), rank);
+        }
+        return ranks;
+    }
+
+    /**
+     * Compares the sort keys of two responses by the given keys, in order.
+     */
+    private static final class SortOrder implements Comparator<int[]> {
+        
+        private final int[] keyIndexes;
+        
+        SortOrder(int... keyIndexes) {
+            this.keyIndexes = keyIndexes;
+        }
+        
+        boolean isUsingKey(int keyIndex) {
+            for (int index : keyIndexes) {
+                if (index == keyIndex) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public int compare(int[] keys1, int[] keys2) {
+            for (int index : keyIndexes) {
+                int order = Integer.compare(keys1[index], keys2[index]);
+                if (order != 0) {
+                    return order;
+                }
+            }
             return 0;
         }
-        return q1.compareTo(q2);
     }
 
-    private int compareByNames(String n1, String n2) {
+    private static int compareByNames(String n1, String n2) {
         // Make class feedback always appear on top, and team responses at bottom.
         int n1Priority = 0;
         int n2Priority = 0;
@@ -2223,4 +2045,19 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         return isComplete;
     }
 
+    /**
+     * @return true if the responses were cut off at the range given, so that the rest of them
+     *         cannot be fetched as a next page
+     */
+    public boolean isCutOffAtRange() {
+        return !isComplete && !isPaged;
+    }
+
+    /**
+     * @return true if the bundle holds one page of the responses, with other pages before or after it
+     */
+    public boolean isOnePageOfMany() {
+        return !isComplete && isPaged;
+    }
+
 }
@@ -0,0 +1,25 @@
+package teammates.common.datatransfer;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Represents the courses modified by the requests logged in a window of time,
+ * together with the watermark to pass back to get the courses modified after them.
+ */
+public class ModifiedCoursesBundle {
+
+    /** The IDs of the courses, each listed once, in the order they were first logged. */
+    public Set<String> courseIds = new LinkedHashSet<String>();
+
+    /**
+     * The time in milliseconds up to which all the logged modifications are in {@link #courseIds}
+     * or in the bundles returned before.
+     */
+    public long watermark;
+
+    public ModifiedCoursesBundle(Set<String> courseIds, long watermark) {
+        this.courseIds = courseIds;
+        this.watermark = watermark;
+    }
+}
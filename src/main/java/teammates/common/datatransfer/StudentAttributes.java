@@ -369,6 +369,11 @@ public class StudentAttributes extends EntityAttributes {
         section = Sanitizer.sanitizeTitle(section);
         comments = Sanitizer.sanitizeTextField(comments);
     }
+
+    @Override
+    protected Object[] getValuesSanitizedForSaving() {
+        return new Object[] {googleId, email, course, name, team, section, comments};
+    }
     
     public String getStudentStatus() {
         if (isRegistered()) {
@@ -114,7 +114,11 @@ public class StudentAttributesFactory {
             paramSection = Const.DEFAULT_SECTION;
         }
 
-        return new StudentAttributes(paramSection, paramTeam, paramName, paramEmail, paramComment, courseId);
+        StudentAttributes student =
+                new StudentAttributes(paramSection, paramTeam, paramName, paramEmail, paramComment, courseId);
+        // the constructor sanitizes all the fields
+        student.markAsSanitizedForSaving();
+        return student;
     }
 
     private int locateColumnIndexes(String headerRow) throws EnrollException {
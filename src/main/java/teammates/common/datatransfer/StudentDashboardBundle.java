@@ -0,0 +1,24 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents what a student sees on the home page: the courses the student is in,
+ * the feedback sessions viewable to the student in those courses
+ * and whether the student has submitted each of those sessions.
+ */
+public class StudentDashboardBundle {
+
+    public List<CourseDetailsBundle> courses = new ArrayList<CourseDetailsBundle>();
+
+    /**
+     * Maps each of the feedback sessions in {@link #courses} to
+     * whether the student has submitted it.
+     */
+    public Map<FeedbackSessionAttributes, Boolean> sessionSubmissionStatusMap =
+            new HashMap<FeedbackSessionAttributes, Boolean>();
+
+}
@@ -124,6 +124,9 @@ public final class Const {
         public static final String ENCODING = "UTF8";
         public static final int NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT = 24;
         
+        /** Number of questions shown at a time in the "copy question" modal */
+        public static final int COPIABLE_QUESTIONS_PAGE_SIZE = 50;
+        
         /** This is the limit after which TEAMMATES will send error message.
          * Must be within the range of int */
         public static final int MAX_PROFILE_PIC_SIZE = 5000000;
@@ -156,6 +159,10 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_TASK_QUEUE = "feedback-remind-email-queue";
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_TASK_QUEUE = "feedback-remind-email-particular-users-queue";
         public static final String SEND_EMAIL_TASK_QUEUE = "send-email-queue";
+        public static final String CASCADE_DELETION_TASK_QUEUE = "cascade-deletion-queue";
+        
+        /** The time a request may spend deleting a course or a session before the rest is left to a task */
+        public static final long CASCADE_DELETION_TIME_LIMIT_MILLIS = 20 * 1000;
         
         public static final String QUEUE_XML_PATH = "src/main/webapp/WEB-INF/queue.xml";
         public static final String DEFAULT_PROFILE_PICTURE_PATH = "/images/profile_picture_default.png";
@@ -620,6 +627,8 @@ public final class Const {
         public static final String FEEDBACK_RESULTS_SHOWSTATS = "frshowstats";
         public static final String FEEDBACK_RESULTS_NEED_AJAX = "frneedajax";
         public static final String FEEDBACK_RESULTS_MAIN_INDEX = "frmainindex";
+        public static final String FEEDBACK_RESULTS_PAGE_TOKEN = "frpagetoken";
+        public static final String COPIABLE_QUESTIONS_PAGE_TOKEN = "cqpagetoken";
 
         public static final String PREVIEWAS = "previewas";
         
@@ -692,6 +701,8 @@ public final class Const {
         public static final String SUBMISSION_REMIND_USERLIST = "usersToRemind";
         
         public static final String ENROLLMENT_DETAILS = "enrollmentdetails";
+        public static final String DELETION_CHECKPOINT = "deletioncheckpoint";
+        public static final String ENTITY_MODIFIED_LOGS_SINCE = "since";
         
         public static final String SEARCH_KEY = "searchkey";
         public static final String DISPLAY_ARCHIVE = "displayarchive";
@@ -814,6 +825,8 @@ public final class Const {
         public static final String INSTRUCTOR_FEEDBACK_QUESTION_ADD = "/page/instructorFeedbackQuestionAdd";
         public static final String INSTRUCTOR_FEEDBACK_QUESTION_COPY = "/page/instructorFeedbackQuestionCopy";
         public static final String INSTRUCTOR_FEEDBACK_QUESTION_EDIT = "/page/instructorFeedbackQuestionEdit";
+        public static final String INSTRUCTOR_FEEDBACK_QUESTION_REORDER = "/page/instructorFeedbackQuestionReorder";
+        public static final String INSTRUCTOR_FEEDBACK_COPIABLE_QUESTIONS = "/page/instructorFeedbackCopiableQuestions";
         public static final String INSTRUCTOR_FEEDBACK_QUESTION_VISIBILITY_MESSAGE = "/page/instructorFeedbackQuestionvisibilityMessage";
         
         public static final String INSTRUCTOR_FEEDBACK_RESPONSE_COMMENT_ADD = "/page/instructorFeedbackResponseCommentAdd";
@@ -894,6 +907,7 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_WORKER = 
                                     "/feedbackRemindEmailParticularUsersWorker";
         public static final String SEND_EMAIL_WORKER = "/sendEmailWorker";
+        public static final String CASCADE_DELETION_WORKER = "/cascadeDeletionWorker";
     }
     
     public class AutomatedActionNames {
@@ -1106,6 +1120,8 @@ public final class Const {
         public static final String FEEDBACK_QUESTION_ADDED = "The question has been added to this feedback session.";
         public static final String FEEDBACK_QUESTION_EDITED = "The changes to the question has been updated.";
         public static final String FEEDBACK_QUESTION_DELETED = "The question has been deleted.";
+        public static final String FEEDBACK_QUESTION_REORDERED = "The questions have been reordered.";
+        public static final String FEEDBACK_QUESTION_REORDER_INVALID = "The questions to reorder must be all the questions of the session, each given once.";
         public static final String FEEDBACK_QUESTION_EXISTS = "The requested question has already been created.";
         public static final String FEEDBACK_QUESTION_EMPTY = "You have not created any questions for this feedback session yet. Click the button below to add a feedback question.";
         public static final String FEEDBACK_QUESTION_NUMBEROFENTITIESINVALID = "Please enter the maximum number of recipients each respondants should give feedback to.";
@@ -1131,6 +1147,9 @@ public final class Const {
         public static final String FEEDBACK_RESULTS_SECTIONVIEWWARNING = "This session seems to have a large number of responses. It is recommended to view the results one question/section at a time. " 
                                                                        + "To view responses for a particular question, click on the question below. "
                                                                        + "To view response for a particular section, choose the section from the drop-down box above.";
+        public static final String FEEDBACK_RESULTS_SECTIONPAGESINFO = "This section has too many responses to be shown at once, so they are shown one page at a time. "
+                                                                     + "Statistics and participants without responses are not shown. "
+                                                                     + "To see them, view the results by question or download the results.";
         
         public static final String ENROLL_LINE_EMPTY = "Please input at least one student detail.";
         public static final String ENROLL_LINES_PROBLEM_DETAIL_PREFIX = "&bull;";
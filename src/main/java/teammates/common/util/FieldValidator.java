@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import teammates.common.datatransfer.FeedbackParticipantType;
 
@@ -299,6 +300,15 @@ public class FieldValidator {
      */
     public static final String REGEX_GOOGLE_ID_NON_EMAIL = "[a-zA-Z0-9_.-]+";
     
+    /*
+     * Compiled once as the validation is run on every entity before saving.
+     */
+    private static final Pattern NAME_PATTERN = StringHelper.compileRegex(REGEX_NAME);
+    private static final Pattern COURSE_ID_PATTERN = StringHelper.compileRegex(REGEX_COURSE_ID);
+    private static final Pattern EMAIL_PATTERN = StringHelper.compileRegex(REGEX_EMAIL);
+    private static final Pattern GOOGLE_ID_NON_EMAIL_PATTERN = StringHelper.compileRegex(REGEX_GOOGLE_ID_NON_EMAIL);
+    private static final Pattern NON_ALPHANUMERIC_PATTERN = StringHelper.compileRegex("^.*[^a-zA-Z0-9 ].*$");
+    
     /*
      * =======================================================================
      * Regex used for checking header column name in enroll lines
@@ -528,7 +538,7 @@ public class FieldValidator {
         if (value.length() > maxLength) {
             return String.format(SIZE_CAPPED_NON_EMPTY_STRING_ERROR_MESSAGE, sanitizedValue, fieldName, REASON_TOO_LONG, fieldName, maxLength);
         } 
-        if (StringHelper.isMatching(value, "^.*[^a-zA-Z0-9 ].*$")) {
+        if (StringHelper.isMatching(value, NON_ALPHANUMERIC_PATTERN)) {
             return String.format(ALPHANUMERIC_STRING_ERROR_MESSAGE, sanitizedValue, fieldName, fieldName);
         }
         return "";
@@ -599,12 +609,12 @@ public class FieldValidator {
             if (!startsWithBraces) {
                 return String.format(INVALID_NAME_ERROR_MESSAGE, sanitizedValue, fieldName, REASON_START_WITH_NON_ALPHANUMERIC_CHAR, fieldName);
             }
-            if (!StringHelper.isMatching(value.substring(1), REGEX_NAME)) {
+            if (!StringHelper.isMatching(value.substring(1), NAME_PATTERN)) {
                 return String.format(INVALID_NAME_ERROR_MESSAGE, sanitizedValue, fieldName, REASON_CONTAINS_INVALID_CHAR, fieldName);
             }
             return "";
         } 
-        if (!StringHelper.isMatching(value, REGEX_NAME)) {
+        if (!StringHelper.isMatching(value, NAME_PATTERN)) {
             return String.format(INVALID_NAME_ERROR_MESSAGE, sanitizedValue, fieldName, REASON_CONTAINS_INVALID_CHAR, fieldName);
         }
         return "";
@@ -774,17 +784,8 @@ public class FieldValidator {
     }
 
     public String getValidityInfoForNonHtmlField(String fieldName, String value) {
-        String sanitizedValue = value;
-        sanitizedValue = sanitizedValue.replace("<", "&lt;")
-            .replace(">", "&gt;")
-            .replace("\"", "&quot;")
-            .replace("/", "&#x2f;")
-            .replace("'", "&#39;")
-            //To ensure when apply sanitizeForHtml for multiple times, the string's still fine
-            //Regex meaning: replace '&' with safe encoding, but not the one that is safe already
-            .replaceAll("&(?!(amp;)|(lt;)|(gt;)|(quot;)|(#x2f;)|(#39;))", "&amp;");
         //Fails if sanitized value is not same as value
-        return value.equals(sanitizedValue) ? "" : String.format(NON_HTML_FIELD_ERROR_MESSAGE, fieldName);
+        return Sanitizer.isSanitizedForHtml(value) ? "" : String.format(NON_HTML_FIELD_ERROR_MESSAGE, fieldName);
     }
     
     public String getValidityInfoForNonNullField(String fieldName, Object value) {
@@ -807,7 +808,7 @@ public class FieldValidator {
         if (value.length() > GOOGLE_ID_MAX_LENGTH) {
             return String.format(GOOGLE_ID_ERROR_MESSAGE, sanitizedValue, REASON_TOO_LONG);
         } 
-        if (!StringHelper.isMatching(value, REGEX_EMAIL) && !StringHelper.isMatching(value, REGEX_GOOGLE_ID_NON_EMAIL)) {
+        if (!StringHelper.isMatching(value, EMAIL_PATTERN) && !StringHelper.isMatching(value, GOOGLE_ID_NON_EMAIL_PATTERN)) {
             return String.format(GOOGLE_ID_ERROR_MESSAGE, sanitizedValue, REASON_INCORRECT_FORMAT);
         }
         return "";
@@ -827,7 +828,7 @@ public class FieldValidator {
         if (value.length() > COURSE_ID_MAX_LENGTH) {
             return String.format(COURSE_ID_ERROR_MESSAGE, sanitizedValue, REASON_TOO_LONG);
         }
-        if (!StringHelper.isMatching(value, REGEX_COURSE_ID)) {
+        if (!StringHelper.isMatching(value, COURSE_ID_PATTERN)) {
             return String.format(COURSE_ID_ERROR_MESSAGE, sanitizedValue, REASON_INCORRECT_FORMAT);
         }
         return "";
@@ -847,7 +848,7 @@ public class FieldValidator {
         if (value.length() > EMAIL_MAX_LENGTH) {
             return String.format(EMAIL_ERROR_MESSAGE, sanitizedValue, REASON_TOO_LONG);
         }
-        if (!StringHelper.isMatching(value, REGEX_EMAIL)) {
+        if (!StringHelper.isMatching(value, EMAIL_PATTERN)) {
             return String.format(EMAIL_ERROR_MESSAGE, sanitizedValue, REASON_INCORRECT_FORMAT);
         }
         return "";
@@ -897,6 +898,6 @@ public class FieldValidator {
      * @return true if it is a valid email address, else false. 
      */
     public static boolean isValidEmailAddress(String email) {
-        return StringHelper.isMatching(email, REGEX_EMAIL);
+        return StringHelper.isMatching(email, EMAIL_PATTERN);
     }
 }
@@ -0,0 +1,93 @@
+package teammates.common.util;
+
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+
+/**
+ * Process-wide cache of the parts of the results pages rendered for a viewer of a feedback
+ * session which is published and closed, whose results are not expected to change.
+ * <br>
+ * Every course has a data version, which is bumped by the storage layer whenever an entity of
+ * the course (a response, a comment, a student, an instructor, a question or the session itself)
+ * is written. The versions are shared by all instances, see {@link VersionedCache}, so a write
+ * on any instance stops the fragments of the course from being served anywhere.
+ */
+public final class ResultsFragmentCache {
+
+    private static final int MAX_ENTRIES = 500;
+
+    private static final VersionedCache<Object> CACHE =
+            new VersionedCache<Object>(ResultsFragmentCache.class.getSimpleName(), MAX_ENTRIES);
+
+    private ResultsFragmentCache() {
+        // utility class
+    }
+
+    /**
+     * @return true if fragments of the session's results may be cached, i.e. if the session
+     *         is published and closed.
+     */
+    public static boolean isCacheable(FeedbackSessionAttributes session) {
+        return session != null && session.isPublished() && session.isClosed();
+    }
+
+    /**
+     * @return the key of the fragment identified by the parameters. Parameters which do not
+     *         apply to the fragment may be null.
+     * @param viewer the email of the user the fragment is rendered for
+     * @param viewType the view or role the fragment is rendered for, e.g. "student" or "question"
+     * @param fragmentId identifies the fragment within the view, e.g. the ID of a question
+     */
+    public static String getKey(String courseId, String feedbackSessionName, String viewer,
+                                String section, String viewType, String fragmentId) {
+        return courseId + '%' + feedbackSessionName + '%' + viewer + '%' + section
+               + '%' + viewType + '%' + fragmentId;
+    }
+
+    /**
+     * @return the version to pass to {@link #get} and {@link #put}, to be read before
+     *         the data of the course a fragment is built from is read.
+     *         {@link VersionedCache#UNKNOWN_VERSION} if it cannot be read.
+     */
+    public static long getDataVersion(String courseId) {
+        return CACHE.getVersion(courseId);
+    }
+
+    /**
+     * @return the cached fragment, or null if there is none, it is out of date,
+     *         or it is not of the given type.
+     */
+    public static <T> T get(String key, Class<T> fragmentType, long currentDataVersion) {
+        Object fragment = CACHE.get(key, currentDataVersion);
+        return fragmentType.isInstance(fragment) ? fragmentType.cast(fragment) : null;
+    }
+
+    /**
+     * Caches the fragment of the course, built from data read after {@link #getDataVersion}
+     * returned {@code dataVersionBeforeBuilding}. The fragment must not be modified afterwards.
+     */
+    public static void put(String courseId, String key, Object fragment, long dataVersionBeforeBuilding) {
+        CACHE.put(courseId, key, fragment, dataVersionBeforeBuilding);
+    }
+
+    /**
+     * Bumps the data version of the course, so that its fragments are not served any more.
+     * To be called whenever data of the course is written.
+     */
+    public static void invalidateCourse(String courseId) {
+        if (courseId == null) {
+            return;
+        }
+        CACHE.invalidate(courseId);
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * @return the counters of the cache, for logging.
+     */
+    public static String getStatistics() {
+        return CACHE.getStatistics();
+    }
+}
@@ -19,6 +19,11 @@ import com.google.appengine.api.datastore.Text;
  */
 public final class Sanitizer {
     
+    /**
+     * Entities that {@link #sanitizeForHtml} leaves untouched, so that it can be applied multiple times.
+     */
+    private static final String[] HTML_SAFE_ENTITIES = {"amp;", "lt;", "gt;", "quot;", "#x2f;", "#39;"};
+    
     private Sanitizer() {
         // utility class
     }
@@ -118,19 +123,77 @@ public final class Sanitizer {
     /**
      * Sanitizes the string for inserting into HTML. Converts special characters
      * into HTML-safe equivalents.
+     * This function can be applied multiple times, and returns the given string itself
+     * if it is already sanitized.
      */
     public static String sanitizeForHtml(String str) {
         if (str == null) {
             return null;
         }
-        return str.replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("/", "&#x2f;")
-                .replace("'", "&#39;")
-                //To ensure when apply sanitizeForHtml for multiple times, the string's still fine
-                //Regex meaning: replace '&' with safe encoding, but not the one that is safe already
-                .replaceAll("&(?!(amp;)|(lt;)|(gt;)|(quot;)|(#x2f;)|(#39;))", "&amp;");
+        
+        int firstUnsafeIndex = getFirstHtmlUnsafeIndex(str, 0);
+        if (firstUnsafeIndex == -1) {
+            return str;
+        }
+        
+        StringBuilder sanitized = new StringBuilder(str.length() + 16);
+        sanitized.append(str, 0, firstUnsafeIndex);
+        for (int i = firstUnsafeIndex; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+            case '<':
+                sanitized.append("&lt;");
+                break;
+            case '>':
+                sanitized.append("&gt;");
+                break;
+            case '"':
+                sanitized.append("&quot;");
+                break;
+            case '/':
+                sanitized.append("&#x2f;");
+                break;
+            case '\'':
+                sanitized.append("&#39;");
+                break;
+            case '&':
+                // an '&' which already starts a safe encoding is kept as it is
+                sanitized.append(isStartOfHtmlSafeEntity(str, i) ? "&" : "&amp;");
+                break;
+            default:
+                sanitized.append(c);
+                break;
+            }
+        }
+        return sanitized.toString();
+    }
+    
+    /**
+     * @return true if the string is unchanged by {@link #sanitizeForHtml}
+     */
+    public static boolean isSanitizedForHtml(String str) {
+        return str == null || getFirstHtmlUnsafeIndex(str, 0) == -1;
+    }
+    
+    private static int getFirstHtmlUnsafeIndex(String str, int fromIndex) {
+        for (int i = fromIndex; i < str.length(); i++) {
+            char c = str.charAt(i);
+            boolean isUnsafe = c == '<' || c == '>' || c == '"' || c == '/' || c == '\''
+                               || c == '&' && !isStartOfHtmlSafeEntity(str, i);
+            if (isUnsafe) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean isStartOfHtmlSafeEntity(String str, int ampersandIndex) {
+        for (String entity : HTML_SAFE_ENTITIES) {
+            if (str.startsWith(entity, ampersandIndex + 1)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
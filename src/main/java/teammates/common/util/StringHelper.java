@@ -6,6 +6,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import javax.crypto.Cipher;
@@ -16,6 +18,14 @@ import javax.crypto.spec.SecretKeySpec;
  */
 public final class StringHelper {
     
+    private static final Pattern WHITESPACES_PATTERN = Pattern.compile("\\s+");
+    
+    /**
+     * Compiled patterns of the regexes given to {@link #isMatching(String, String)}.
+     * The regexes used in the application are constants, so this does not grow without bound.
+     */
+    private static final ConcurrentMap<String, Pattern> COMPILED_PATTERNS = new ConcurrentHashMap<String, Pattern>();
+    
     private StringHelper() {
         // utility class
     }
@@ -43,9 +53,30 @@ public final class StringHelper {
      * @param regex The regex repression used for the matching
      */
     public static boolean isMatching(String input, String regex) {
+        Pattern pattern = COMPILED_PATTERNS.get(regex);
+        if (pattern == null) {
+            pattern = compileRegex(regex);
+            COMPILED_PATTERNS.putIfAbsent(regex, pattern);
+        }
+        return isMatching(input, pattern);
+    }
+    
+    /**
+     * Check whether the input string matches the compiled regex repression
+     * @param input The string to be matched
+     * @param pattern The pattern compiled with {@link #compileRegex(String)}
+     */
+    public static boolean isMatching(String input, Pattern pattern) {
+        return pattern.matcher(input).matches();
+    }
+    
+    /**
+     * Compiles the regex repression with the flags used by {@link #isMatching(String, String)}
+     */
+    public static Pattern compileRegex(String regex) {
         // Important to use the CANON_EQ flag to make sure that canonical characters
         // such as é is correctly matched regardless of single/double code point encoding
-        return Pattern.compile(regex, Pattern.CANON_EQ).matcher(input).matches();
+        return Pattern.compile(regex, Pattern.CANON_EQ);
     }
     
     /**
@@ -290,7 +321,31 @@ public final class StringHelper {
         if (str == null) {
             return null;
         }
-        return str.trim().replaceAll("\\s+", " ");
+        if (isWithoutExtraSpace(str)) {
+            return str;
+        }
+        return WHITESPACES_PATTERN.matcher(str.trim()).replaceAll(" ");
+    }
+    
+    /**
+     * @return true if {@link #removeExtraSpace(String)} would not change the string
+     */
+    private static boolean isWithoutExtraSpace(String str) {
+        if (str.isEmpty()) {
+            return true;
+        }
+        if (str.charAt(0) <= ' ' || str.charAt(str.length() - 1) <= ' ') {
+            return false;
+        }
+        for (int i = 1; i < str.length() - 1; i++) {
+            char c = str.charAt(i);
+            boolean isExtraSpace = c == ' ' && str.charAt(i + 1) == ' '
+                                   || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            if (isExtraSpace) {
+                return false;
+            }
+        }
+        return true;
     }
     
     /**
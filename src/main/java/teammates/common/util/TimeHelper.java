@@ -12,6 +12,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 
+import org.apache.commons.lang3.time.FastDateFormat;
+
 import teammates.common.util.Const.SystemParams;
 
 /** A helper class to hold time-related functions (e.g., converting dates to strings etc.).
@@ -22,6 +24,30 @@ public final class TimeHelper {
     private static final Map<String, String> TIME_ZONE_CITIES_MAP = new HashMap<String, String>();
     private static final List<Double> TIME_ZONE_VALUES = new ArrayList<Double>();
     
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    
+    /*
+     * Dates are formatted on every row of the sessions tables, results pages and logs, so the formats
+     * are created once. FastDateFormat is immutable and thread-safe, unlike SimpleDateFormat.
+     * Formats in the default time zone are looked up in the cache of FastDateFormat on each call instead,
+     * so that they follow changes to the default time zone.
+     */
+    private static final String TIME_12H_PATTERN = "EEE, dd MMM yyyy, hh:mm a";
+    private static final String TIME_12H_NOON_PATTERN = "EEE, dd MMM yyyy, hh:mm";
+    private static final String CALENDAR_PATTERN = "MM/dd/yyyy HH:mm:ss SSS";
+    
+    private static final FastDateFormat DATE_FORMAT = FastDateFormat.getInstance("dd/MM/yyyy", UTC);
+    private static final FastDateFormat COMMENT_FORMAT =
+            FastDateFormat.getInstance("EEE, dd MMM yyyy, hh:mm a zzz", UTC);
+    private static final FastDateFormat COMMENT_NOON_FORMAT = FastDateFormat.getInstance(TIME_12H_NOON_PATTERN, UTC);
+    private static final FastDateFormat INSTRUCTOR_HOME_PAGE_FORMAT = FastDateFormat.getInstance("d MMM h:mm a", UTC);
+    private static final FastDateFormat INSTRUCTOR_HOME_PAGE_NOON_FORMAT =
+            FastDateFormat.getInstance("d MMM h:mm", UTC);
+    
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final long NOON_MINUTE_OF_DAY = 12 * 60;
+    
     /*
      *This time zone - city map was created by selecting major cities from each time zone.
      *reference: http://en.wikipedia.org/wiki/List_of_UTC_time_offsets 
@@ -201,42 +227,32 @@ public final class TimeHelper {
         if (date == null) {
             return "";
         }
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return sdf.format(date);
+        return DATE_FORMAT.format(date);
     }
     
     /**
-     * Formats a date in the format dd MMM yyyy, hh:mm a. Example: 05 May 2012,
-     * 2:04 PM<br />
+     * Formats a date in the format dd MMM yyyy, hh:mm a, in the default time zone.
+     * Example: 05 May 2012, 2:04 PM<br />
      */
     public static String formatTime12H(Date date) {
         if (date == null) {
             return "";
         }
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
-            return new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm").format(date) + " NOON";
+        if (isNoon(date, TimeZone.getDefault())) {
+            return FastDateFormat.getInstance(TIME_12H_NOON_PATTERN).format(date) + " NOON";
         }
-        return new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm a").format(date);
+        return FastDateFormat.getInstance(TIME_12H_PATTERN).format(date);
     }
     
     public static String formatDateTimeForComments(Date date) {
         if (date == null) {
             return "";
         }
-        SimpleDateFormat sdf = null;
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
-            sdf = new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm");
-            sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-            return sdf.format(date) + " NOON UTC";
+        // noon is checked in the default time zone, although the time is shown in UTC
+        if (isNoon(date, TimeZone.getDefault())) {
+            return COMMENT_NOON_FORMAT.format(date) + " NOON UTC";
         }
-        sdf = new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm a zzz");
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return sdf.format(date);
+        return COMMENT_FORMAT.format(date);
     }
 
     /**
@@ -246,24 +262,35 @@ public final class TimeHelper {
         if (date == null) {
             return "";
         }
-        SimpleDateFormat sdf = null;
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
-            sdf = new SimpleDateFormat("d MMM h:mm");
-            sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-            return sdf.format(date) + " NOON";
+        if (isNoon(date, TimeZone.getDefault())) {
+            return INSTRUCTOR_HOME_PAGE_NOON_FORMAT.format(date) + " NOON";
         }
-        sdf = new SimpleDateFormat("d MMM h:mm a");
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return sdf.format(date);
+        return INSTRUCTOR_HOME_PAGE_FORMAT.format(date);
     }
 
     public static String calendarToString(Calendar c) {
         if (c == null) {
             return "";
         }
-        return new SimpleDateFormat("MM/dd/yyyy HH:mm:ss SSS").format(c.getTime());
+        return FastDateFormat.getInstance(CALENDAR_PATTERN).format(c.getTime());
+    }
+    
+    /**
+     * @return true if the date is at 12:00 (to the minute) in the time zone. This is worked out
+     *         from the offset of the time zone at the date, without creating a {@code Calendar}.
+     */
+    private static boolean isNoon(Date date, TimeZone timeZone) {
+        long localTime = date.getTime() + timeZone.getOffset(date.getTime());
+        long minutes = localTime / MILLIS_PER_MINUTE;
+        if (localTime % MILLIS_PER_MINUTE < 0) {
+            // round times before 1970 down, like the minutes of a calendar
+            minutes--;
+        }
+        long minuteOfDay = minutes % MINUTES_PER_DAY;
+        if (minuteOfDay < 0) {
+            minuteOfDay += MINUTES_PER_DAY;
+        }
+        return minuteOfDay == NOON_MINUTE_OF_DAY;
     }
 
     /**
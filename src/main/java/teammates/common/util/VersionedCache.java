@@ -0,0 +1,172 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+/**
+ * Process-wide cache of values which are expensive to build, bounded to the most recently used
+ * {@code maxEntries} values. Every value belongs to a scope, e.g. a course, whose version is kept
+ * in memcache so that it is shared by all instances:
+ * <ul>
+ * <li>{@link #getVersion} is to be called before reading the data a value is built from,
+ * and the version passed to {@link #put} and {@link #get}.</li>
+ * <li>{@link #invalidate} bumps the version of the scope, so that no instance serves the values
+ * of the scope built before, including values still being built.</li>
+ * </ul>
+ * If memcache loses the version of a scope, it starts again from the current time, which is
+ * newer than any version it has had. If memcache cannot be reached, nothing is cached.
+ */
+public class VersionedCache<V> {
+
+    /**
+     * Version of a scope whose version could not be read. Nothing is cached under it.
+     */
+    public static final long UNKNOWN_VERSION = -1;
+
+    private final String name;
+
+    private final Map<String, CachedValue<V>> cache;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param name prefixes the memcache keys of the versions, so it must be unique among the caches
+     */
+    public VersionedCache(String name, final int maxEntries) {
+        this.name = name;
+        this.cache = new LinkedHashMap<String, CachedValue<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValue<V>> eldest) {
+                boolean isFull = size() > maxEntries;
+                if (isFull) {
+                    evictionCount++;
+                }
+                return isFull;
+            }
+        };
+    }
+
+    /**
+     * @return the current version of the scope, or {@link #UNKNOWN_VERSION} if it cannot be read
+     */
+    public long getVersion(String scope) {
+        return incrementVersion(scope, 0);
+    }
+
+    /**
+     * @return the cached value, or null if there is none or it was built under another version
+     *         than the given version of its scope
+     */
+    public V get(String key, long currentVersion) {
+        synchronized (cache) {
+            CachedValue<V> cached = cache.get(key);
+            if (cached != null && (currentVersion == UNKNOWN_VERSION || cached.version != currentVersion)) {
+                cache.remove(key);
+                evictionCount++;
+                cached = null;
+            }
+            if (cached == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            return cached.value;
+        }
+    }
+
+    /**
+     * Caches the value of the scope, built from data read after {@link #getVersion} returned
+     * {@code versionBeforeBuilding}. The value must not be modified afterwards.
+     */
+    public void put(String scope, String key, V value, long versionBeforeBuilding) {
+        if (versionBeforeBuilding == UNKNOWN_VERSION) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(key, new CachedValue<V>(scope, value, versionBeforeBuilding));
+        }
+    }
+
+    /**
+     * Bumps the version of the scope on all instances and drops the values of the scope
+     * cached on this instance.
+     */
+    public void invalidate(String scope) {
+        incrementVersion(scope, 1);
+        synchronized (cache) {
+            List<String> keysToRemove = new ArrayList<String>();
+            for (Map.Entry<String, CachedValue<V>> entry : cache.entrySet()) {
+                if (entry.getValue().scope.equals(scope)) {
+                    keysToRemove.add(entry.getKey());
+                }
+            }
+            cache.keySet().removeAll(keysToRemove);
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHitCount() {
+        synchronized (cache) {
+            return hitCount;
+        }
+    }
+
+    public long getMissCount() {
+        synchronized (cache) {
+            return missCount;
+        }
+    }
+
+    /**
+     * @return the number of values dropped because the cache was full or their scope had changed
+     */
+    public long getEvictionCount() {
+        synchronized (cache) {
+            return evictionCount;
+        }
+    }
+
+    /**
+     * @return the counters of the cache, for logging.
+     */
+    public String getStatistics() {
+        synchronized (cache) {
+            return "size=" + cache.size() + ", hits=" + hitCount + ", misses=" + missCount
+                   + ", evictions=" + evictionCount;
+        }
+    }
+
+    private long incrementVersion(String scope, long delta) {
+        MemcacheService memcache = MemcacheServiceFactory.getMemcacheService();
+        // the version starts from the current time if memcache does not have it
+        Long version = memcache.increment(name + '%' + scope, delta, System.currentTimeMillis());
+        return version == null ? UNKNOWN_VERSION : version;
+    }
+
+    private static final class CachedValue<V> {
+
+        private final String scope;
+        private final V value;
+        private final long version;
+
+        CachedValue(String scope, V value, long version) {
+            this.scope = scope;
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
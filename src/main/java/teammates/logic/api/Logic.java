@@ -15,6 +15,7 @@ import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CommentParticipantType;
 import teammates.common.datatransfer.CommentSearchResultBundle;
 import teammates.common.datatransfer.CommentSendingState;
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.CourseRoster;
@@ -33,6 +34,7 @@ import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.InstructorSearchResultBundle;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardBundle;
 import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
@@ -786,6 +788,19 @@ public class Logic {
         return coursesLogic.getCourseDetailsListForStudent(googleId);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * 
+     * @return Details of courses the student is in, with the feedback sessions viewable
+     *         to the student and whether the student has submitted each of them.
+     */
+    public StudentDashboardBundle getStudentDashboard(String googleId) throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
+        return coursesLogic.getStudentDashboard(googleId);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1754,6 +1769,26 @@ public class Logic {
                                                            courseId, instructorEmail);
     }
     
+    /**
+     * Copies the questions to the end of the session, in the order of their IDs,
+     * creating them in a single batch. Questions which do not exist are skipped.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackQuestionAttributes> copyFeedbackQuestions(List<String> feedbackQuestionIds,
+                                                                  String feedbackSessionName, String courseId,
+                                                                  String instructorEmail)
+            throws InvalidParametersException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackQuestionIds);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, instructorEmail);
+
+        return feedbackQuestionsLogic.copyFeedbackQuestions(feedbackQuestionIds, feedbackSessionName, 
+                                                            courseId, instructorEmail);
+    }
+    
     /**
      * Updates the question number of a Feedback Question.<br>
      * Preconditions: <br>
@@ -1766,6 +1801,25 @@ public class Logic {
         feedbackQuestionsLogic.updateFeedbackQuestionNumber(updatedQuestion);
     }
     
+    /**
+     * Reorders the questions of the session, writing the numbers of the questions which
+     * move in one batch.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @param feedbackQuestionIds the IDs of all the questions of the session, in their new order
+     * @throws InvalidParametersException if the IDs are not those of the questions of the session,
+     *         each given once
+     */
+    public void reorderFeedbackQuestions(String feedbackSessionName, String courseId,
+                                         List<String> feedbackQuestionIds)
+            throws InvalidParametersException, EntityDoesNotExistException {
+
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackQuestionIds);
+        feedbackQuestionsLogic.reorderFeedbackQuestions(feedbackSessionName, courseId, feedbackQuestionIds);
+    }
+    
     /**
      * Updates the details of a Feedback Question.<br>
      * The FeedbackQuestionAttributes should have the updated attributes
@@ -1805,16 +1859,16 @@ public class Logic {
     }
     
     /**
-     * Gets all copiable questions for an instructor<br>
-     * Returns an empty list if they are no questions
-     * for the session.
+     * Gets one page of the questions an instructor can copy, sorted by course,
+     * session, question type and question text.<br>
      * Preconditions: <br>
-     * * All parameters are non-null.
+     * * All parameters except {@code pageToken} are non-null.
+     * @param pageToken the token of the page to get, or null for the first page
      */
-    public List<FeedbackQuestionAttributes> getCopiableFeedbackQuestionsForInstructor(String googleId)
-            throws EntityDoesNotExistException {
+    public CopiableQuestionsPageBundle getCopiableFeedbackQuestionsForInstructor(
+            String googleId, int pageSize, String pageToken) {
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
-        return feedbackQuestionsLogic.getCopiableFeedbackQuestionsForInstructor(googleId);
+        return feedbackQuestionsLogic.getCopiableFeedbackQuestionsForInstructor(googleId, pageSize, pageToken);
     }
     
     /**
@@ -1922,39 +1976,45 @@ public class Logic {
     }
     
     /**
-     * Gets a question+response bundle for questions with responses that
-     * is visible to the instructor for a feedback session from a section within the given range
+     * Gets one page of the question+response bundle for questions with responses that
+     * is visible to the instructor for a feedback session from a section.
+     * A null section gets the responses of all sections.
+     * The token of the next page, if any, is stored in the returned bundle.
      * Preconditions: <br>
-     * * All parameters are non-null.
+     * * All parameters except section and pageToken are non-null.
      */
-    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromSectionWithinRange(
-            String feedbackSessionName, String courseId, String userEmail, String section, long range)
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromSectionInPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            int pageSize, String pageToken)
             throws EntityDoesNotExistException {
         
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, userEmail);
 
-        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorFromSectionWithinRange(
-                                        feedbackSessionName, courseId, userEmail, section, range);
+        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorFromSectionInPage(
+                                        feedbackSessionName, courseId, userEmail, section, pageSize, pageToken);
     }
     
     /**
-     * Gets a question+response bundle for questions with responses that
-     * is visible to the instructor for a feedback session to a section within the given range
+     * Gets one page of the question+response bundle for questions with responses that
+     * is visible to the instructor for a feedback session to a section.
+     * A null section gets the responses of all sections.
+     * The token of the next page, if any, is stored in the returned bundle.
      * Preconditions: <br>
-     * * All parameters are non-null.
+     * * All parameters except section and pageToken are non-null.
      */
-    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorToSectionWithinRange(
-            String feedbackSessionName, String courseId, String userEmail, String section, long range)
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorToSectionInPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            int pageSize, String pageToken)
             throws EntityDoesNotExistException {
         
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, userEmail);
 
-        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorToSectionWithinRange(
-                                        feedbackSessionName, courseId, userEmail, section, range);
+        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorToSectionInPage(
+                                        feedbackSessionName, courseId, userEmail, section, pageSize, pageToken);
     }
 
     /**
@@ -2221,6 +2281,32 @@ public class Logic {
         return feedbackResponseCommentsLogic.getFeedbackResponseCommentsForSendingState(courseId, state);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of response comments in the sending state, counted without loading them.
+     * @throws EntityDoesNotExistException when the course with given courseId doesn't exist
+     */
+    public int getFeedbackResponseCommentsCountForSendingState(String courseId, CommentSendingState state)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return feedbackResponseCommentsLogic.getFeedbackResponseCommentsCountForSendingState(courseId, state);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return true if there is a response comment in the sending state.
+     * @throws EntityDoesNotExistException when the course with given courseId doesn't exist
+     */
+    public boolean isFeedbackResponseCommentForSendingStatePresent(String courseId, CommentSendingState state)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return feedbackResponseCommentsLogic.isFeedbackResponseCommentForSendingStatePresent(courseId, state);
+    }
+    
     /**
      * Create or update document for the given FeedbackResponseComment
      * @param comment to be put into documents
@@ -2490,6 +2576,32 @@ public class Logic {
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
         return commentsLogic.getCommentsForSendingState(courseId, sendingState);
     }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of comments in the sending state, counted without loading them.
+     * @throws EntityDoesNotExistException when the course with given courseId doesn't exist
+     */
+    public int getCommentsCountForSendingState(String courseId, CommentSendingState sendingState)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return commentsLogic.getCommentsCountForSendingState(courseId, sendingState);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return true if there is a comment in the sending state.
+     * @throws EntityDoesNotExistException when the course with given courseId doesn't exist
+     */
+    public boolean isCommentForSendingStatePresent(String courseId, CommentSendingState sendingState)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return commentsLogic.isCommentForSendingStatePresent(courseId, sendingState);
+    }
 
     /**
      * This method is not scalable. Not to be used unless for admin features.
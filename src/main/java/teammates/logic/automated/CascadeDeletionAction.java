@@ -0,0 +1,54 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Continues the deletion of a course, or of a feedback session if a session name is given,
+ * from the checkpoint at which the previous request or task stopped.
+ */
+public class CascadeDeletionAction extends TaskQueueWorkerAction {
+    private String courseId;
+    private String sessionName;
+    private String checkpoint;
+    
+    public CascadeDeletionAction(HttpServletRequest request) {
+        super(request);
+        
+        this.courseId = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+        
+        this.sessionName = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.FEEDBACK_SESSION_NAME);
+        
+        this.checkpoint = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.DELETION_CHECKPOINT);
+        Assumption.assertNotNull(checkpoint);
+    }
+    
+    @Override
+    public boolean execute() {
+        log.info("Continuing deletion of " + (sessionName == null ? "" : "feedback session : " + sessionName + " in ")
+                 + "course : " + courseId + " from checkpoint : " + checkpoint);
+        
+        try {
+            if (sessionName == null) {
+                CoursesLogic.inst().continueCourseDeletion(courseId, checkpoint);
+            } else {
+                FeedbackSessionsLogic.inst().continueFeedbackSessionDeletion(sessionName, courseId, checkpoint);
+            }
+            return true;
+        } catch (Exception e) {
+            log.severe("Error encountered while deleting course : " + courseId + "\n"
+                       + TeammatesException.toStringWithStackTrace(e));
+            return false;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package teammates.logic.automated;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import teammates.common.datatransfer.ModifiedCoursesBundle;
+import teammates.common.util.Const;
+
+import com.google.appengine.api.log.AppLogLine;
+import com.google.appengine.api.log.LogQuery;
+import com.google.appengine.api.log.LogService;
+import com.google.appengine.api.log.RequestLogs;
+
+/**
+ * Extracts the courses whose entities were modified from the application logs, i.e. from
+ * the lines logged by the storage layer for each entity of a course it modifies. <br>
+ * Each read carries on from the watermark returned by the previous one, so that the logs of
+ * a request are read once. As the logs of a request only become visible some time after it
+ * completes, logs are only read up to {@link #SETTLE_TIME_MILLIS} before the time of the read.
+ */
+public class EntityModifiedLogs {
+
+    /**
+     * Requests which completed longer ago than this are assumed to have their logs visible.
+     */
+    private static final long SETTLE_TIME_MILLIS = 60 * 1000;
+
+    /**
+     * How far back the logs are read when there is no watermark yet.
+     */
+    private static final long INITIAL_RANGE_MILLIS = 24 * 60 * 60 * 1000;
+
+    private final LogService logService;
+
+    public EntityModifiedLogs(LogService logService) {
+        this.logService = logService;
+    }
+
+    /**
+     * @param watermark the watermark returned by the previous read, or null if there is none
+     * @param currentTimeMillis the time of the read
+     * @return the courses modified by the requests which completed since the watermark,
+     *         up to the time which becomes the new watermark
+     */
+    public ModifiedCoursesBundle getModifiedCourses(Long watermark, long currentTimeMillis) {
+        long endTime = currentTimeMillis - SETTLE_TIME_MILLIS;
+        long startTime = watermark == null ? endTime - INITIAL_RANGE_MILLIS : watermark;
+
+        Set<String> courseIds = new LinkedHashSet<String>();
+        if (startTime >= endTime) {
+            return new ModifiedCoursesBundle(courseIds, startTime);
+        }
+
+        // the start time is inclusive and the end time exclusive, so consecutive reads do not overlap
+        LogQuery q = LogQuery.Builder.withDefaults().includeAppLogs(true)
+                .startTimeMillis(startTime).endTimeMillis(endTime);
+        for (RequestLogs requestLogs : logService.fetch(q)) {
+            for (AppLogLine logLine : requestLogs.getAppLogLines()) {
+                String courseId = getModifiedCourseId(logLine.getLogMessage());
+                if (courseId != null) {
+                    courseIds.add(courseId);
+                }
+            }
+        }
+
+        return new ModifiedCoursesBundle(courseIds, endTime);
+    }
+
+    /**
+     * @return the ID of the course if the line was logged for a modification of it, null otherwise.
+     */
+    private static String getModifiedCourseId(String logMessage) {
+        int markerIndex = logMessage.indexOf(Const.SystemParams.COURSE_BACKUP_LOG_MSG);
+        if (markerIndex < 0) {
+            return null;
+        }
+        String courseId = logMessage.substring(markerIndex + Const.SystemParams.COURSE_BACKUP_LOG_MSG.length()).trim();
+        return courseId.isEmpty() ? null : courseId;
+    }
+}
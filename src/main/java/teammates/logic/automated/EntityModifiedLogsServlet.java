@@ -2,20 +2,23 @@ package teammates.logic.automated;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.Iterator;
-import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import teammates.common.datatransfer.ModifiedCoursesBundle;
 import teammates.common.exception.TeammatesException;
+import teammates.common.util.Const;
 
-import com.google.appengine.api.log.AppLogLine;
-import com.google.appengine.api.log.LogQuery;
-import com.google.appengine.api.log.LogService;
 import com.google.appengine.api.log.LogServiceFactory;
-import com.google.appengine.api.log.RequestLogs;
 
+/**
+ * Lists the courses modified since the watermark given by the client in the
+ * {@link Const.ParamsNames#ENTITY_MODIFIED_LOGS_SINCE} parameter, or in the past day if there is none.
+ * The first line of the response is the new watermark, to be passed in the next request,
+ * followed by one course ID per line. The servlet keeps no state, so each client
+ * carries its own watermark and reading the list does not affect other clients.
+ */
 @SuppressWarnings("serial")
 public class EntityModifiedLogsServlet extends AutomatedRemindersServlet {
 
@@ -27,39 +30,29 @@ public class EntityModifiedLogsServlet extends AutomatedRemindersServlet {
         String message = "Compiling logs for email notification";
         logMessage(req, message);
 
-        resp.setContentType("application/json");
-   
         try {
-            PrintWriter writer = resp.getWriter();
-
-            LogService logService = LogServiceFactory.getLogService();
-
-            long endTime = new java.util.Date().getTime();
-            // Sets the range to 6 minutes to slightly overlap the 5 minute scheduled task timer
-            long queryRange = 1000 * 60 * 60 * 24;
-            long startTime = endTime - queryRange;
+            String watermarkParam = req.getParameter(Const.ParamsNames.ENTITY_MODIFIED_LOGS_SINCE);
+            Long watermark;
+            try {
+                watermark = watermarkParam == null ? null : Long.valueOf(watermarkParam);
+            } catch (NumberFormatException e) {
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid watermark: " + watermarkParam);
+                return;
+            }
 
-            LogQuery q = LogQuery.Builder.withDefaults().includeAppLogs(true)
-                    .startTimeMillis(startTime).endTimeMillis(endTime);
-            Iterator<RequestLogs> logIterator = logService.fetch(q).iterator();
+            ModifiedCoursesBundle modifiedCourses = new EntityModifiedLogs(LogServiceFactory.getLogService())
+                    .getModifiedCourses(watermark, System.currentTimeMillis());
 
-            while (logIterator.hasNext()) {
-                RequestLogs requestLogs = logIterator.next();
-                List<AppLogLine> logList = requestLogs.getAppLogLines();
-                
-                for (int i = 0; i < logList.size(); i++) {
-                    AppLogLine currentLog = logList.get(i);
-                    String logMessage = currentLog.getLogMessage();
-                    if (logMessage.contains("modified course::")) {
-                        String[] tokens = logMessage.split("::");
-                        String courseId = tokens[1];
-                      
-                        writer.println(courseId);
-                    }
-                }
+            resp.setContentType("text/plain");
+            PrintWriter writer = resp.getWriter();
+            writer.println(modifiedCourses.watermark);
+            for (String courseId : modifiedCourses.courseIds) {
+                writer.println(courseId);
             }
+            writer.flush();
         } catch (IOException e) {  
             log.severe(TeammatesException.toStringWithStackTrace(e));
         }
     }
+
 }
@@ -28,9 +28,11 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.ResultsFragmentCache;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.logic.api.Logic;
+import teammates.logic.core.SessionQuestionPlanCache;
 import teammates.storage.api.AccountsDb;
 import teammates.storage.api.CommentsDb;
 import teammates.storage.api.CoursesDb;
@@ -82,6 +84,18 @@ public class BackDoorLogic extends Logic {
 
     public String persistDataBundle(DataBundle dataBundle)
             throws InvalidParametersException, EntityDoesNotExistException {
+        return persistDataBundle(dataBundle, false);
+    }
+    
+    /**
+     * Same as {@link #persistDataBundle(DataBundle)}, but the respondants of the sessions
+     * are not updated if {@code isRespondantsUpdateDeferred}. <br>
+     * This is for bulk loads, where the responses of a session are split over many
+     * bundles: the respondants are then updated once per session by
+     * {@link #updateRespondantsForSessions(DataBundle)} after all the responses are persisted.
+     */
+    public String persistDataBundle(DataBundle dataBundle, boolean isRespondantsUpdateDeferred)
+            throws InvalidParametersException, EntityDoesNotExistException {
         
         if (dataBundle == null) {
             throw new InvalidParametersException(
@@ -90,6 +104,9 @@ public class BackDoorLogic extends Logic {
         
         //deleteExistingData(dataBundle);
         
+        // the data is written directly to the datastore, bypassing the cache invalidation of the logic layer
+        invalidateCachesOfCourses(dataBundle);
+        
         HashMap<String, AccountAttributes> accounts = dataBundle.accounts;
         for (AccountAttributes account : accounts.values()) {
             if (account.studentProfile == null) {
@@ -163,7 +180,7 @@ public class BackDoorLogic extends Logic {
             
             String sessionId = response.feedbackSessionName + "%" + response.courseId;
             
-            if (!sessionIds.contains(sessionId)) {
+            if (!isRespondantsUpdateDeferred && !sessionIds.contains(sessionId)) {
                 updateRespondants(response.feedbackSessionName, response.courseId);
                 sessionIds.add(sessionId);
             }
@@ -187,6 +204,28 @@ public class BackDoorLogic extends Logic {
         return Const.StatusCodes.BACKDOOR_STATUS_SUCCESS;
     }
 
+    /**
+     * Updates the respondants of the feedback sessions in the given data bundle,
+     * from the responses which are already in the datastore.
+     * @return status of the request in the form 'status meassage'+'additional
+     *         info (if any)' e.g., "[BACKEND_STATUS_SUCCESS]" e.g.,
+     *         "[BACKEND_STATUS_FAILURE]NullPointerException at ..."
+     */
+    public String updateRespondantsForSessions(DataBundle dataBundle)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        
+        if (dataBundle == null) {
+            throw new InvalidParametersException(
+                    Const.StatusCodes.NULL_PARAMETER, "Null data bundle");
+        }
+        
+        for (FeedbackSessionAttributes session : dataBundle.feedbackSessions.values()) {
+            updateRespondants(session.feedbackSessionName, session.courseId);
+        }
+        
+        return Const.StatusCodes.BACKDOOR_STATUS_SUCCESS;
+    }
+
     /**
      * Checks if the role of {@code instructor} matches its privileges
      * 
@@ -255,6 +294,12 @@ public class BackDoorLogic extends Logic {
             ThreadHelper.waitFor(50);
         }
         
+        HashMap<String, InstructorAttributes> instructors = dataBundle.instructors;
+        for (InstructorAttributes instructor : instructors.values()) {
+            InstructorAttributes instructorInDb = instructorsDb.getInstructorForEmail(instructor.courseId, instructor.email);
+            instructorsDb.putDocument(instructorInDb);
+        }
+        
         HashMap<String, FeedbackResponseCommentAttributes> responseComments = dataBundle.feedbackResponseComments;
         for (FeedbackResponseCommentAttributes responseComment : responseComments.values()) {
             FeedbackResponseCommentAttributes fcInDb = fcDb.getFeedbackResponseComment(
@@ -463,7 +508,9 @@ public class BackDoorLogic extends Logic {
     }
 
     public void deleteExistingData(DataBundle dataBundle) {
-                
+        
+        invalidateCachesOfCourses(dataBundle);
+        
         //TODO: questions and responses will be deleted automatically.
         //  We don't attempt to delete them again, to save time.
         deleteCourses(dataBundle.courses.values());
@@ -478,6 +525,23 @@ public class BackDoorLogic extends Logic {
         //waitUntilDeletePersists(dataBundle);
     }
 
+    private void invalidateCachesOfCourses(DataBundle dataBundle) {
+        Set<String> courseIds = new HashSet<String>();
+        for (CourseAttributes course : dataBundle.courses.values()) {
+            courseIds.add(course.getId());
+        }
+        for (FeedbackSessionAttributes session : dataBundle.feedbackSessions.values()) {
+            courseIds.add(session.courseId);
+        }
+        for (FeedbackQuestionAttributes question : dataBundle.feedbackQuestions.values()) {
+            courseIds.add(question.courseId);
+        }
+        for (String courseId : courseIds) {
+            SessionQuestionPlanCache.invalidateCourse(courseId);
+            ResultsFragmentCache.invalidateCourse(courseId);
+        }
+    }
+
     private void deleteCourses(Collection<CourseAttributes> courses) {  
         List<String> courseIds = new ArrayList<String>();
         for (CourseAttributes course : courses) {
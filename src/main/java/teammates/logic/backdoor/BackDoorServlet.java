@@ -66,6 +66,8 @@ public class BackDoorServlet extends HttpServlet {
     public static final String OPERATION_PUT_DOCUMENTS_FOR_STUDENTS = "OPERATION_PUT_DOCUMENTS_FOR_STUDENTS";
 
     public static final String OPERATION_PERSIST_DATABUNDLE = "OPERATION_PERSIST_DATABUNDLE";
+    public static final String OPERATION_PERSIST_DATABUNDLE_IN_BULK = "OPERATION_PERSIST_DATABUNDLE_IN_BULK";
+    public static final String OPERATION_UPDATE_RESPONDANTS = "OPERATION_UPDATE_RESPONDANTS";
     public static final String OPERATION_REMOVE_DATABUNDLE = "OPERATION_REMOVE_DATABUNDLE";
     public static final String OPERATION_REMOVE_AND_RESTORE_DATABUNDLE = "OPERATION_REMOVE_AND_RESTORE_DATABUNDLE";
     public static final String OPERATION_SYSTEM_ACTIVATE_AUTOMATED_REMINDER = "activate_auto_reminder";
@@ -192,6 +194,18 @@ public class BackDoorServlet extends HttpServlet {
             DataBundle dataBundle = Utils.getTeammatesGson().fromJson(
                     dataBundleJsonString, DataBundle.class);
             backDoorLogic.persistDataBundle(dataBundle);
+        } else if (action.equals(OPERATION_PERSIST_DATABUNDLE_IN_BULK)) {
+            String dataBundleJsonString = req
+                    .getParameter(PARAMETER_DATABUNDLE_JSON);
+            DataBundle dataBundle = Utils.getTeammatesGson().fromJson(
+                    dataBundleJsonString, DataBundle.class);
+            backDoorLogic.persistDataBundle(dataBundle, true);
+        } else if (action.equals(OPERATION_UPDATE_RESPONDANTS)) {
+            String dataBundleJsonString = req
+                    .getParameter(PARAMETER_DATABUNDLE_JSON);
+            DataBundle dataBundle = Utils.getTeammatesGson().fromJson(
+                    dataBundleJsonString, DataBundle.class);
+            backDoorLogic.updateRespondantsForSessions(dataBundle);
         } else if (action.equals(OPERATION_REMOVE_DATABUNDLE)) {
             String dataBundleJsonString = req
                     .getParameter(PARAMETER_DATABUNDLE_JSON);
@@ -17,6 +17,7 @@ import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
 import teammates.storage.api.AccountsDb;
+import teammates.storage.api.CourseInstitutesDb;
 import teammates.storage.api.ProfilesDb;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -33,6 +34,7 @@ public class AccountsLogic {
     private static AccountsLogic instance;
     private static final AccountsDb accountsDb = new AccountsDb();
     private static final ProfilesDb profilesDb = new ProfilesDb();
+    private static final CourseInstitutesDb courseInstitutesDb = new CourseInstitutesDb();
     
     private static final Logger log = Utils.getLogger();
     
@@ -78,6 +80,11 @@ public class AccountsLogic {
     }
     
     public String getCourseInstitute(String courseId) {
+        String storedInstitute = courseInstitutesDb.getInstitute(courseId);
+        if (storedInstitute != null) {
+            return storedInstitute;
+        }
+        
         CourseAttributes cd = new CoursesLogic().getCourse(courseId);
         Assumption.assertNotNull("Trying to getCourseInstitute for inexistent course with id " + courseId, cd);
         List<InstructorAttributes> instructorList = InstructorsLogic.inst().getInstructorsForCourse(cd.getId());
@@ -85,6 +92,7 @@ public class AccountsLogic {
         Assumption.assertTrue("Course has no instructors: " + cd.getId(), !instructorList.isEmpty());
         // Retrieve institute field from one of the instructors of the course
         String institute = "";
+        String instituteGoogleId = null;
         for (int i = 0; i < instructorList.size(); i++) {
             String instructorGoogleId = instructorList.get(i).googleId;
             if (instructorGoogleId == null) {
@@ -93,10 +101,12 @@ public class AccountsLogic {
             AccountAttributes instructorAcc = accountsDb.getAccount(instructorGoogleId);
             if (instructorAcc != null) {
                 institute = instructorAcc.institute;
+                instituteGoogleId = instructorGoogleId;
                 break;
             }
         }
         Assumption.assertNotEmpty("No institute found for the course", institute);
+        courseInstitutesDb.putInstitute(courseId, institute, instituteGoogleId);
         return institute;
     }
 
@@ -175,6 +185,8 @@ public class AccountsLogic {
                   
         instructor.googleId = googleId;
         InstructorsLogic.inst().updateInstructorByEmail(instructor.email, instructor);
+        courseInstitutesDb.putInstituteIfAbsent(instructor.courseId,
+                                                account == null ? instituteToSave : account.institute, googleId);
         
         //Update the goolgeId of the student entity for the instructor which was created from sampleData.
         StudentAttributes student = StudentsLogic.inst().getStudentForEmail(instructor.courseId, instructor.email);
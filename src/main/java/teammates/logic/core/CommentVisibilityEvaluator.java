@@ -0,0 +1,190 @@
+package teammates.logic.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.UserType.Role;
+
+/**
+ * Decides which feedback response comments of a session a user can see, and whether the user
+ * can see the names of their givers.
+ * <br>
+ * The parts of the decision which only depend on the user, i.e. the user's role and team, are
+ * computed once when the evaluator is created, and the visibility settings of each question are
+ * compiled into a bit mask the first time a comment following them is checked. Each comment is
+ * then checked with a few comparisons.
+ */
+public class CommentVisibilityEvaluator {
+
+    // sentinel teams which never match a team of the roster, for users and response participants not in it
+    private static final String TEAM_OF_RESPONSE_GIVER_NOT_IN_ROSTER = "giverTeam";
+    private static final String TEAM_OF_RESPONSE_RECIPIENT_NOT_IN_ROSTER = "recipientTeam";
+    private static final String TEAM_OF_USER_NOT_IN_ROSTER = "currentUserTeam";
+
+    private static final int GIVER = mask(FeedbackParticipantType.GIVER);
+    private static final int RECEIVER = mask(FeedbackParticipantType.RECEIVER);
+    private static final int INSTRUCTORS = mask(FeedbackParticipantType.INSTRUCTORS);
+    private static final int STUDENTS = mask(FeedbackParticipantType.STUDENTS);
+    private static final int OWN_TEAM_MEMBERS = mask(FeedbackParticipantType.OWN_TEAM_MEMBERS);
+    private static final int RECEIVER_TEAM_MEMBERS = mask(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS);
+
+    private final String userEmail;
+    private final boolean isInstructor;
+    private final boolean isStudent;
+    private final String studentTeam;
+    private final Set<String> studentsEmailInTeam;
+
+    private final CourseRoster roster;
+    private final boolean isInstructorInRoster;
+    private final boolean isStudentInRoster;
+    private final String userTeamInRoster;
+
+    private final Map<String, Integer> questionVisibilityMasks = new HashMap<String, Integer>();
+
+    /**
+     * @param student the user, if the user is a student
+     * @param studentsEmailInTeam the emails of the members of the user's team, if the user is a student
+     * @param roster the roster of the course, used to decide whether the names of comment givers are visible
+     */
+    public CommentVisibilityEvaluator(String userEmail, Role role, StudentAttributes student,
+                                      Set<String> studentsEmailInTeam, CourseRoster roster) {
+        this.userEmail = userEmail;
+        this.isInstructor = role == Role.INSTRUCTOR;
+        this.isStudent = role == Role.STUDENT;
+        this.studentTeam = student == null ? null : student.team;
+        this.studentsEmailInTeam = studentsEmailInTeam;
+
+        this.roster = roster;
+        this.isInstructorInRoster = roster.getInstructorForEmail(userEmail) != null;
+        StudentAttributes studentInRoster = roster.getStudentForEmail(userEmail);
+        this.isStudentInRoster = studentInRoster != null;
+        this.userTeamInRoster = studentInRoster == null ? TEAM_OF_USER_NOT_IN_ROSTER : studentInRoster.team;
+    }
+
+    /**
+     * @return true if the user can see the comment on the response to the question.
+     *         False if the response or the question is not visible to the user, i.e. null.
+     */
+    public boolean isCommentVisible(FeedbackResponseCommentAttributes comment, FeedbackResponseAttributes response,
+                                    FeedbackQuestionAttributes question) {
+        if (response == null || question == null) {
+            return false;
+        }
+
+        int visibleTo = comment.isVisibilityFollowingFeedbackQuestion
+                      ? getQuestionVisibilityMask(question)
+                      : getCommentVisibilityMask(comment);
+
+        return isInstructor && isVisibleTo(visibleTo, INSTRUCTORS)
+               || response.recipientEmail.equals(userEmail) && isVisibleTo(visibleTo, RECEIVER)
+               || response.giverEmail.equals(userEmail) && isVisibleTo(visibleTo, GIVER)
+               || comment.giverEmail.equals(userEmail)
+               || isStudent && isVisibleTo(visibleTo, STUDENTS)
+               || isStudent && question.recipientType == FeedbackParticipantType.TEAMS
+                  && isVisibleTo(visibleTo, RECEIVER) && response.recipientEmail.equals(studentTeam)
+               || (question.giverType == FeedbackParticipantType.TEAMS || isVisibleTo(visibleTo, OWN_TEAM_MEMBERS))
+                  && studentsEmailInTeam.contains(response.giverEmail)
+               || isVisibleTo(visibleTo, RECEIVER_TEAM_MEMBERS) && studentsEmailInTeam.contains(response.recipientEmail);
+    }
+
+    /**
+     * @return true if the user can see the name of the giver of the comment on the response.
+     */
+    public boolean isGiverNameVisible(FeedbackResponseCommentAttributes comment, FeedbackResponseAttributes response) {
+        List<FeedbackParticipantType> showNameTo = comment.showGiverNameTo;
+        //in the old ver, name is always visible
+        if (showNameTo == null || comment.isVisibilityFollowingFeedbackQuestion) {
+            return true;
+        }
+
+        //comment giver can always see
+        if (userEmail.equals(comment.giverEmail)) {
+            return true;
+        }
+
+        for (FeedbackParticipantType type : showNameTo) {
+            switch (type) {
+            case GIVER:
+                if (userEmail.equals(response.giverEmail)) {
+                    return true;
+                }
+                break;
+            case INSTRUCTORS:
+                if (isInstructorInRoster) {
+                    return true;
+                }
+                break;
+            case RECEIVER:
+                if (userEmail.equals(response.recipientEmail)) {
+                    return true;
+                }
+                break;
+            case OWN_TEAM_MEMBERS:
+                if (getTeamInRoster(response.giverEmail, TEAM_OF_RESPONSE_GIVER_NOT_IN_ROSTER)
+                        .equals(userTeamInRoster)) {
+                    return true;
+                }
+                break;
+            case RECEIVER_TEAM_MEMBERS:
+                if (getTeamInRoster(response.recipientEmail, TEAM_OF_RESPONSE_RECIPIENT_NOT_IN_ROSTER)
+                        .equals(userTeamInRoster)) {
+                    return true;
+                }
+                break;
+            case STUDENTS:
+                if (isStudentInRoster) {
+                    return true;
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        return false;
+    }
+
+    private int getQuestionVisibilityMask(FeedbackQuestionAttributes question) {
+        Integer visibleTo = questionVisibilityMasks.get(question.getId());
+        if (visibleTo == null) {
+            // the giver of a response can always see the comments which follow the visibility of the question
+            visibleTo = GIVER | getVisibilityMask(question.showResponsesTo);
+            questionVisibilityMasks.put(question.getId(), visibleTo);
+        }
+        return visibleTo;
+    }
+
+    private static int getCommentVisibilityMask(FeedbackResponseCommentAttributes comment) {
+        return getVisibilityMask(comment.showCommentTo);
+    }
+
+    private static int getVisibilityMask(List<FeedbackParticipantType> visibleTo) {
+        int visibilityMask = 0;
+        if (visibleTo != null) {
+            for (FeedbackParticipantType type : visibleTo) {
+                visibilityMask |= mask(type);
+            }
+        }
+        return visibilityMask;
+    }
+
+    private static boolean isVisibleTo(int visibilityMask, int viewerMask) {
+        return (visibilityMask & viewerMask) != 0;
+    }
+
+    private static int mask(FeedbackParticipantType type) {
+        return 1 << type.ordinal();
+    }
+
+    private String getTeamInRoster(String email, String teamIfNotInRoster) {
+        StudentAttributes student = roster.getStudentForEmail(email);
+        return student == null ? teamIfNotInRoster : student.team;
+    }
+}
@@ -107,6 +107,18 @@ public class CommentsLogic {
         return commentsDb.getCommentsForSendingState(courseId, sendingState);
     }
     
+    public int getCommentsCountForSendingState(String courseId, CommentSendingState sendingState)
+           throws EntityDoesNotExistException {
+        verifyIsCoursePresent(courseId, "get");
+        return commentsDb.getCommentsCountForSendingState(courseId, sendingState);
+    }
+    
+    public boolean isCommentForSendingStatePresent(String courseId, CommentSendingState sendingState)
+           throws EntityDoesNotExistException {
+        verifyIsCoursePresent(courseId, "get");
+        return commentsDb.isCommentForSendingStatePresent(courseId, sendingState);
+    }
+    
     public void updateCommentsSendingState(String courseId, CommentSendingState oldState, CommentSendingState newState)
            throws EntityDoesNotExistException {
         verifyIsCoursePresent(courseId, "clear pending");
@@ -502,8 +514,8 @@ public class CommentsLogic {
         
         List<FeedbackResponseCommentAttributes> sendingResponseCommentsList = 
                 frcLogic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.SENDING);
-        populateRecipientEmailsFromPendingResponseComments(sendingResponseCommentsList, allStudents, roster,
-                                                           teamStudentTable, recipientEmailsList);
+        populateRecipientEmailsFromPendingResponseComments(sendingResponseCommentsList, allStudents,
+                                                           recipientEmailsList);
         
         return recipientEmailsList;
     }
@@ -529,118 +541,44 @@ public class CommentsLogic {
     
     /************ Send Email For Pending Comments : populate recipients emails from Feedback Response Comments ************/
 
+    /**
+     * The questions and responses of all the comments are fetched up front in batched gets,
+     * after which the recipients of all the comments are resolved in a single pass.
+     */
     private void populateRecipientEmailsFromPendingResponseComments(
                      List<FeedbackResponseCommentAttributes> sendingResponseCommentsList,
-                     List<StudentAttributes> allStudents, CourseRoster roster,
-                     Map<String, List<StudentAttributes>> teamStudentTable,
-                     Set<String> recipientEmailsList) {
+                     List<StudentAttributes> allStudents, Set<String> recipientEmailsList) {
+        if (sendingResponseCommentsList.isEmpty()) {
+            return;
+        }
+        
+        Set<String> feedbackQuestionIds = new HashSet<String>();
+        Set<String> feedbackResponseIds = new HashSet<String>();
+        for (FeedbackResponseCommentAttributes frc : sendingResponseCommentsList) {
+            feedbackQuestionIds.add(frc.feedbackQuestionId);
+            feedbackResponseIds.add(frc.feedbackResponseId);
+        }
         
         Map<String, FeedbackQuestionAttributes> feedbackQuestionsTable =
                 new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : fqLogic.getFeedbackQuestions(feedbackQuestionIds)) {
+            feedbackQuestionsTable.put(question.getId(), question);
+        }
         Map<String, FeedbackResponseAttributes> feedbackResponsesTable =
                 new HashMap<String, FeedbackResponseAttributes>();
-        Map<String, Set<String>> responseCommentsAddedTable = new HashMap<String, Set<String>>();
+        for (FeedbackResponseAttributes response : frLogic.getFeedbackResponses(feedbackResponseIds)) {
+            feedbackResponsesTable.put(response.getId(), response);
+        }
         
+        ResponseCommentRecipientResolver resolver = new ResponseCommentRecipientResolver(allStudents);
         for (FeedbackResponseCommentAttributes frc : sendingResponseCommentsList) {
-            FeedbackQuestionAttributes relatedQuestion = getRelatedQuestion(feedbackQuestionsTable, frc);
-            FeedbackResponseAttributes relatedResponse = getRelatedResponse(feedbackResponsesTable, frc);
-            
-            if (relatedQuestion != null && relatedResponse != null) {
-                populateRecipientEmailsForGiver(roster, teamStudentTable, recipientEmailsList,
-                        responseCommentsAddedTable, frc, relatedQuestion, relatedResponse);
-                populateRecipientEmailsForReceiver(roster, teamStudentTable, recipientEmailsList,
-                        responseCommentsAddedTable, frc, relatedResponse);
-                populateRecipientEmailsForTeamMember(roster, teamStudentTable, recipientEmailsList,
-                        responseCommentsAddedTable, frc, relatedResponse);
-                populateRecipientEmailsForAllStudents(allStudents, recipientEmailsList,
-                        responseCommentsAddedTable, frc);
-            }
-        }
-    }
-
-    private void populateRecipientEmailsForAllStudents(List<StudentAttributes> allStudents,
-            Set<String> recipientEmailsList, Map<String, Set<String>> responseCommentsAddedTable,
-            FeedbackResponseCommentAttributes frc) {
-        if (frc.isVisibleTo(FeedbackParticipantType.STUDENTS)) {
-            for (StudentAttributes student : allStudents) {
-                addRecipientEmailsToList(responseCommentsAddedTable, recipientEmailsList,
-                                         frc.getId().toString(), student.email);
+            if (resolver.isAllStudentsRecipients()) {
+                break;
             }
+            resolver.addRecipientsOf(frc, feedbackQuestionsTable.get(frc.feedbackQuestionId),
+                                     feedbackResponsesTable.get(frc.feedbackResponseId));
         }
-    }
-
-    private void populateRecipientEmailsForTeamMember(CourseRoster roster,
-            Map<String, List<StudentAttributes>> teamStudentTable, Set<String> recipientEmailsList,
-            Map<String, Set<String>> responseCommentsAddedTable, FeedbackResponseCommentAttributes frc,
-            FeedbackResponseAttributes relatedResponse) {
-        if (frc.isVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)) {
-            StudentAttributes studentOfThisEmail = roster.getStudentForEmail(relatedResponse.recipientEmail);
-            if (studentOfThisEmail == null) {
-                addRecipientEmailsForTeam(teamStudentTable, recipientEmailsList, responseCommentsAddedTable,
-                                                frc.getId().toString(), relatedResponse.recipientEmail);
-            } else {
-                addRecipientEmailsForTeam(teamStudentTable, recipientEmailsList, responseCommentsAddedTable,
-                                                frc.getId().toString(), studentOfThisEmail.team);
-            }
-        }
-    }
-
-    private void populateRecipientEmailsForReceiver(CourseRoster roster,
-            Map<String, List<StudentAttributes>> teamStudentTable, Set<String> recipientEmailsList,
-            Map<String, Set<String>> responseCommentsAddedTable, FeedbackResponseCommentAttributes frc,
-            FeedbackResponseAttributes relatedResponse) {
-        if (frc.isVisibleTo(FeedbackParticipantType.RECEIVER)) {
-            //recipientEmail is email
-            if (roster.getStudentForEmail(relatedResponse.recipientEmail) == null) {
-                addRecipientEmailsForTeam(teamStudentTable, recipientEmailsList,
-                                                responseCommentsAddedTable, frc.getId().toString(),
-                                                relatedResponse.recipientEmail);
-            } else {
-                addRecipientEmailsToList(responseCommentsAddedTable, recipientEmailsList, 
-                                                frc.getId().toString(), relatedResponse.recipientEmail);
-            }
-        }
-    }
-
-    private void populateRecipientEmailsForGiver(CourseRoster roster,
-            Map<String, List<StudentAttributes>> teamStudentTable, Set<String> recipientEmailsList,
-            Map<String, Set<String>> responseCommentsAddedTable, FeedbackResponseCommentAttributes frc,
-            FeedbackQuestionAttributes relatedQuestion, FeedbackResponseAttributes relatedResponse) {
-        StudentAttributes giver = roster.getStudentForEmail(relatedResponse.giverEmail);
-        if (giver == null) {
-            return;
-        }
-        
-        if (frc.isVisibleTo(FeedbackParticipantType.GIVER)) {
-            addRecipientEmailsToList(responseCommentsAddedTable, recipientEmailsList, 
-                                     frc.getId().toString(), relatedResponse.giverEmail);
-        }
-        
-        if (relatedQuestion.giverType == FeedbackParticipantType.TEAMS
-            || frc.isVisibleTo(FeedbackParticipantType.OWN_TEAM_MEMBERS)) {
-            addRecipientEmailsForTeam(teamStudentTable, recipientEmailsList, responseCommentsAddedTable,
-                                      frc.getId().toString(), giver.team);
-        }
-    }
-
-    private FeedbackResponseAttributes getRelatedResponse(
-            Map<String, FeedbackResponseAttributes> feedbackResponsesTable, FeedbackResponseCommentAttributes frc) {
-        FeedbackResponseAttributes relatedResponse = feedbackResponsesTable.get(frc.feedbackResponseId);
-        if (relatedResponse == null) {
-            relatedResponse = frLogic.getFeedbackResponse(frc.feedbackResponseId);
-            feedbackResponsesTable.put(frc.feedbackResponseId, relatedResponse);
-        }
-        return relatedResponse;
-    }
-
-    private FeedbackQuestionAttributes getRelatedQuestion(
-            Map<String, FeedbackQuestionAttributes> feedbackQuestionsTable, FeedbackResponseCommentAttributes frc) {
-        FeedbackQuestionAttributes relatedQuestion = feedbackQuestionsTable.get(frc.feedbackQuestionId);
-        if (relatedQuestion == null) {
-            relatedQuestion = fqLogic.getFeedbackQuestion(frc.feedbackQuestionId);
-            feedbackQuestionsTable.put(frc.feedbackQuestionId, relatedQuestion);
-        }
-        return relatedQuestion;
+        recipientEmailsList.addAll(resolver.getRecipientEmails());
     }
     
     /************ Send Email For Pending Comments : populate recipients emails from Student Comments ************/
@@ -19,6 +19,7 @@ import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -30,6 +31,7 @@ import teammates.common.util.FieldValidator;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
+import teammates.storage.api.CascadeDeletionDb;
 import teammates.storage.api.CoursesDb;
 
 /**
@@ -47,7 +49,8 @@ public class CoursesLogic {
     
     private static final Logger log = Utils.getLogger();
     
-    /* Explanation: This class depends on CoursesDb class but no other *Db classes.
+    /* Explanation: This class depends on CoursesDb class but no other *Db classes,
+     * except CascadeDeletionDb which deletes a course together with everything in it.
      * That is because reading/writing entities from/to the datastore is the 
      * responsibility of the matching *Logic class.
      * However, this class can talk to other *Logic classes. That is because
@@ -56,12 +59,12 @@ public class CoursesLogic {
      */
 
     private static final CoursesDb coursesDb = new CoursesDb();
+    private static final CascadeDeletionDb cascadeDeletionDb = new CascadeDeletionDb();
     
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private static final AccountsLogic accountsLogic = AccountsLogic.inst();
     private static final FeedbackSessionsLogic feedbackSessionsLogic = FeedbackSessionsLogic.inst();
-    private static final CommentsLogic commentsLogic = CommentsLogic.inst();
 
     public static CoursesLogic inst() {
         if (instance == null) {
@@ -141,45 +144,28 @@ public class CoursesLogic {
 
     public List<CourseDetailsBundle> getCourseDetailsListForStudent(String googleId) 
                 throws EntityDoesNotExistException {
+        return getStudentDashboard(googleId).courses;
+    }
+
+    /**
+     * Gets the courses of the student together with the viewable feedback sessions and
+     * their submission status, in a constant number of batched datastore reads.
+     */
+    public StudentDashboardBundle getStudentDashboard(String googleId) throws EntityDoesNotExistException {
+        List<StudentAttributes> studentDataList = studentsLogic.getStudentsForGoogleId(googleId);
         
-        List<CourseAttributes> courseList = getCoursesForStudentAccount(googleId);
-        List<CourseDetailsBundle> courseDetailsList = new ArrayList<CourseDetailsBundle>();
+        if (studentDataList.isEmpty()) {
+            throw new EntityDoesNotExistException("Student with Google ID " + googleId + " does not exist");
+        }
         
-        for (CourseAttributes c : courseList) {
-
-            StudentAttributes s = studentsLogic.getStudentForCourseIdAndGoogleId(c.getId(), googleId);
-            
-            if (s == null) {
-                //TODO Remove excessive logging after the reason why s can be null is found
-                StringBuilder logMsg = new StringBuilder();
-                logMsg.append(
-                    "Student is null in CoursesLogic.getCourseDetailsListForStudent(String googleId)<br> Student Google ID: "
-                    + googleId + "<br> Course: " + c.getId()
-                    + "<br> All Courses Retrieved using the Google ID:");
-                for (CourseAttributes course : courseList) {
-                    logMsg.append("<br>").append(course.getId());
-                }
-                log.severe(logMsg.toString());
-                
-                //TODO Failing might not be the best course of action here. 
-                //Maybe throw a custom exception and tell user to wait due to eventual consistency?
-                Assumption.assertNotNull("Student should not be null at this point.", s);
-            }
-            
-            // Skip the course existence check since the course ID is obtained from a
-            // valid CourseAttributes resulting from query
-            List<FeedbackSessionAttributes> feedbackSessionList = 
-                    feedbackSessionsLogic.getFeedbackSessionsForUserInCourseSkipCheck(c.getId(), s.email);
-
-            CourseDetailsBundle cdd = new CourseDetailsBundle(c);
-            
-            for (FeedbackSessionAttributes fs : feedbackSessionList) {
-                cdd.feedbackSessions.add(new FeedbackSessionDetailsBundle(fs));
-            }
-            
-            courseDetailsList.add(cdd);
+        List<String> courseIds = new ArrayList<String>();
+        for (StudentAttributes s : studentDataList) {
+            courseIds.add(s.course);
         }
-        return courseDetailsList;
+        List<CourseAttributes> courseList = coursesDb.getCourses(courseIds);
+        List<InstructorAttributes> instructorList = instructorsLogic.getInstructorsForGoogleId(googleId);
+        
+        return feedbackSessionsLogic.getStudentDashboard(studentDataList, courseList, instructorList);
     }
 
     public List<String> getSectionsNameForCourse(String courseId) throws EntityDoesNotExistException {
@@ -677,14 +663,30 @@ public class CoursesLogic {
 
     /**
      * Delete a course from its given corresponding ID
-     * This will also cascade the data in other databases which are related to this course
+     * This will also cascade the data in other databases which are related to this course.
+     * Whatever cannot be deleted within {@link Const.SystemParams#CASCADE_DELETION_TIME_LIMIT_MILLIS}
+     * is left to a task queue worker.
      */ 
     public void deleteCourseCascade(String courseId) {
-        studentsLogic.deleteStudentsForCourse(courseId);
-        instructorsLogic.deleteInstructorsForCourse(courseId);
-        commentsLogic.deleteCommentsForCourse(courseId);
-        feedbackSessionsLogic.deleteFeedbackSessionsForCourseCascade(courseId);
-        coursesDb.deleteCourse(courseId);
+        continueCourseDeletion(courseId, null);
+    }
+    
+    /**
+     * Continues the deletion of a course from the checkpoint at which an earlier deletion stopped,
+     * and schedules a task to continue it again if it is not finished in time.
+     */
+    public void continueCourseDeletion(String courseId, String checkpoint) {
+        long deadline = System.currentTimeMillis() + Const.SystemParams.CASCADE_DELETION_TIME_LIMIT_MILLIS;
+        String nextCheckpoint = cascadeDeletionDb.deleteCourseCascade(courseId, checkpoint, deadline);
+        SessionQuestionPlanCache.invalidateCourse(courseId);
+        
+        if (nextCheckpoint != null) {
+            HashMap<String, String> paramMap = new HashMap<String, String>();
+            paramMap.put(Const.ParamsNames.COURSE_ID, courseId);
+            paramMap.put(Const.ParamsNames.DELETION_CHECKPOINT, nextCheckpoint);
+            TaskQueuesLogic.inst().createAndAddTask(Const.SystemParams.CASCADE_DELETION_TASK_QUEUE,
+                                                    Const.ActionURIs.CASCADE_DELETION_WORKER, paramMap);
+        }
     }
     
     private HashMap<String, CourseSummaryBundle> getCourseSummaryWithoutStatsForInstructor(
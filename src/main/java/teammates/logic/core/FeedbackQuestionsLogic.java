@@ -1,8 +1,8 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -10,10 +10,10 @@ import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 
-import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
-import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
@@ -77,7 +77,27 @@ public class FeedbackQuestionsLogic {
             FeedbackQuestionAttributes fqa, int questionNumber) throws InvalidParametersException {
         fqa.questionNumber = questionNumber;
         fqa.removeIrrelevantVisibilityOptions();
-        return fqDb.createFeedbackQuestionWithoutExistenceCheck(fqa);
+        FeedbackQuestionAttributes createdQuestion = fqDb.createFeedbackQuestionWithoutExistenceCheck(fqa);
+        SessionQuestionPlanCache.invalidate(fqa.feedbackSessionName, fqa.courseId);
+        return createdQuestion;
+    }
+    
+    /**
+     * Creates the questions in a single batch, e.g. the questions of a copied session.
+     * Does not check if the feedback sessions exist.
+     * Does not check if the question numbers are valid (does not check for clashes, or make adjustments)
+     * @return the created questions, in the order given
+     */
+    public List<FeedbackQuestionAttributes> createFeedbackQuestionsNoIntegrityCheck(
+            List<FeedbackQuestionAttributes> questions) throws InvalidParametersException {
+        for (FeedbackQuestionAttributes fqa : questions) {
+            fqa.removeIrrelevantVisibilityOptions();
+        }
+        List<FeedbackQuestionAttributes> createdQuestions = fqDb.createFeedbackQuestionsWithoutExistenceCheck(questions);
+        for (FeedbackQuestionAttributes fqa : questions) {
+            SessionQuestionPlanCache.invalidate(fqa.feedbackSessionName, fqa.courseId);
+        }
+        return createdQuestions;
     }
     
     public FeedbackQuestionAttributes copyFeedbackQuestion(String feedbackQuestionId,
@@ -96,6 +116,52 @@ public class FeedbackQuestionsLogic {
         return question;
     }
 
+    /**
+     * Copies the questions to the end of the given session, in the order of their IDs.
+     * The questions are fetched and created in batches. Questions which do not exist are skipped.
+     * @return the copied questions
+     */
+    public List<FeedbackQuestionAttributes> copyFeedbackQuestions(List<String> feedbackQuestionIds,
+            String feedbackSessionName, String courseId, String instructorEmail)
+            throws InvalidParametersException {
+        
+        Map<String, FeedbackQuestionAttributes> questionsToCopy = new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : getFeedbackQuestions(feedbackQuestionIds)) {
+            questionsToCopy.put(question.getId(), question);
+        }
+        
+        int numberOfQuestions = 0;
+        try {
+            numberOfQuestions = getFeedbackQuestionsForSession(feedbackSessionName, courseId).size();
+        } catch (EntityDoesNotExistException e) {
+            Assumption.fail("Session disappeared.");
+        }
+        
+        List<FeedbackQuestionAttributes> questions = new ArrayList<FeedbackQuestionAttributes>();
+        for (String feedbackQuestionId : feedbackQuestionIds) {
+            FeedbackQuestionAttributes question = questionsToCopy.remove(feedbackQuestionId);
+            if (question == null) {
+                continue;
+            }
+            question.feedbackSessionName = feedbackSessionName;
+            question.courseId = courseId;
+            question.creatorEmail = instructorEmail;
+            question.questionNumber = numberOfQuestions + questions.size() + 1;
+            question.setId(null);
+            questions.add(question);
+        }
+        
+        return createFeedbackQuestionsNoIntegrityCheck(questions);
+    }
+
+    
+    /**
+     * Gets the questions with the given IDs in batched gets.
+     * Questions which do not exist are left out.
+     */
+    public List<FeedbackQuestionAttributes> getFeedbackQuestions(Collection<String> feedbackQuestionIds) {
+        return fqDb.getFeedbackQuestions(feedbackQuestionIds);
+    }
     
     /**
      * Gets a single question corresponding to the given parameters. <br><br>
@@ -159,50 +225,20 @@ public class FeedbackQuestionsLogic {
     
 
     /**
-     *  Gets a {@link List} of every FeedbackQuestion that the instructor can copy
+     * Gets one page of the questions that the instructor can copy, i.e. the questions of all
+     * the instructor's courses, sorted by course, session, question type and question text.
+     * The page is read from the catalogue of copiable questions, without reading the sessions
+     * or the questions themselves.
+     * @param pageToken the token of the page to get, or null for the first page
      */
-    public List<FeedbackQuestionAttributes> getCopiableFeedbackQuestionsForInstructor(String googleId)
-            throws EntityDoesNotExistException {
+    public CopiableQuestionsPageBundle getCopiableFeedbackQuestionsForInstructor(
+            String googleId, int pageSize, String pageToken) {
         
-        List<FeedbackQuestionAttributes> copiableQuestions = new ArrayList<FeedbackQuestionAttributes>();
-        List<CourseAttributes> courses = coursesLogic.getCoursesForInstructor(googleId);
-        for (CourseAttributes course : courses) {
-            List<FeedbackSessionAttributes> sessions = fsLogic.getFeedbackSessionsForCourse(course.getId());
-            for (FeedbackSessionAttributes session : sessions) {
-                List<FeedbackQuestionAttributes> questions =
-                        getFeedbackQuestionsForSession(session.feedbackSessionName, course.getId());
-                copiableQuestions.addAll(questions);
-            }
+        List<String> courseIds = new ArrayList<String>();
+        for (InstructorAttributes instructor : instructorsLogic.getInstructorsForGoogleId(googleId)) {
+            courseIds.add(instructor.courseId);
         }
-        Collections.sort(copiableQuestions, new Comparator<FeedbackQuestionAttributes>() {
-            @Override
-            public int compare(FeedbackQuestionAttributes q1, FeedbackQuestionAttributes q2) {
-                int order = q1.courseId.compareTo(q2.courseId);
-                if (order != 0) {
-                    return order;
-                }
-                
-                order = q1.feedbackSessionName.compareTo(q2.feedbackSessionName);
-                if (order != 0) {
-                    return order;
-                }
-                
-                FeedbackQuestionDetails q1Details = q1.getQuestionDetails();
-                FeedbackQuestionDetails q2Details = q2.getQuestionDetails();
-                
-                String q1DisplayName = q1Details.getQuestionTypeDisplayName();
-                String q2DisplayName = q2Details.getQuestionTypeDisplayName();
-                
-                order = q1DisplayName.compareTo(q2DisplayName);
-                if (order != 0) {
-                    return order;
-                }
-                
-                return q1Details.questionText.compareTo(q2Details.questionText);
-            }
-        });
-        
-        return copiableQuestions;
+        return fqDb.getCopiableQuestionsForCoursesInPage(courseIds, pageSize, pageToken);
     }
     
     /**
@@ -273,6 +309,13 @@ public class FeedbackQuestionsLogic {
         return questions;
     }
     
+    /**
+     * Gets the questions of all the sessions in the given courses, in no particular order.
+     */
+    public List<FeedbackQuestionAttributes> getFeedbackQuestionsForCourses(List<String> courseIds) {
+        return fqDb.getFeedbackQuestionsForCourses(courseIds);
+    }
+    
     /**
      * Gets a {@code List} of all questions for the list of questions that an
      * instructor can view/submit
@@ -350,6 +393,17 @@ public class FeedbackQuestionsLogic {
             FeedbackQuestionAttributes question, String giver, 
             InstructorAttributes instructorGiver, StudentAttributes studentGiver)
                     throws EntityDoesNotExistException {
+        return getRecipientsForQuestion(question, giver, instructorGiver, studentGiver, null);
+    }
+
+    /**
+     * Gets the recipients of the question for the giver, taking the students and instructors
+     * of the course from {@code roster} instead of the datastore if it is not null.
+     */
+    public Map<String, String> getRecipientsForQuestion(
+            FeedbackQuestionAttributes question, String giver, 
+            InstructorAttributes instructorGiver, StudentAttributes studentGiver, CourseRoster roster)
+                    throws EntityDoesNotExistException {
 
         Map<String, String> recipients = new HashMap<String, String>();
         
@@ -376,8 +430,9 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case STUDENTS:
-            List<StudentAttributes> studentsInCourse =
-                studentsLogic.getStudentsForCourse(question.courseId);
+            List<StudentAttributes> studentsInCourse = roster == null
+                                                       ? studentsLogic.getStudentsForCourse(question.courseId)
+                                                       : roster.getStudents();
             for (StudentAttributes student : studentsInCourse) {
                 // Ensure student does not evaluate himself
                 if (!giver.equals(student.email)) {
@@ -386,8 +441,9 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case INSTRUCTORS:
-            List<InstructorAttributes> instructorsInCourse =
-                instructorsLogic.getInstructorsForCourse(question.courseId);
+            List<InstructorAttributes> instructorsInCourse = roster == null
+                                                             ? instructorsLogic.getInstructorsForCourse(question.courseId)
+                                                             : roster.getInstructors();
             for (InstructorAttributes instr : instructorsInCourse) {
                 // Ensure instructor does not evaluate himself
                 if (!giver.equals(instr.email)) {
@@ -396,13 +452,21 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case TEAMS:
-            List<TeamDetailsBundle> teams =
-                coursesLogic.getTeamsForCourse(question.courseId);
-            for (TeamDetailsBundle team : teams) {
+            List<String> teamNames = new ArrayList<String>();
+            if (roster == null) {
+                for (TeamDetailsBundle team : coursesLogic.getTeamsForCourse(question.courseId)) {
+                    teamNames.add(team.name);
+                }
+            } else {
+                for (StudentAttributes student : roster.getStudents()) {
+                    teamNames.add(student.team);
+                }
+            }
+            for (String teamName : teamNames) {
                 // Ensure student('s team) does not evaluate own team.
-                if (!giverTeam.equals(team.name)) {
+                if (!giverTeam.equals(teamName)) {
                     // recipientEmail doubles as team name in this case.
-                    recipients.put(team.name, team.name);
+                    recipients.put(teamName, teamName);
                 }
             }
             break;
@@ -410,8 +474,7 @@ public class FeedbackQuestionsLogic {
             recipients.put(giverTeam, giverTeam);
             break;
         case OWN_TEAM_MEMBERS:
-            List<StudentAttributes> students = 
-                studentsLogic.getStudentsForTeam(giverTeam, question.courseId);
+            List<StudentAttributes> students = getStudentsForTeam(giverTeam, question.courseId, roster);
             for (StudentAttributes student : students) {
                 if (!student.email.equals(giver)) {
                     recipients.put(student.email, student.name);
@@ -419,8 +482,7 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case OWN_TEAM_MEMBERS_INCLUDING_SELF:
-            List<StudentAttributes> teamMembers = 
-                studentsLogic.getStudentsForTeam(giverTeam, question.courseId);
+            List<StudentAttributes> teamMembers = getStudentsForTeam(giverTeam, question.courseId, roster);
             for (StudentAttributes student : teamMembers) {
                 // accepts self feedback too
                 recipients.put(student.email, student.name);
@@ -435,6 +497,11 @@ public class FeedbackQuestionsLogic {
         return recipients;
     }
     
+    private List<StudentAttributes> getStudentsForTeam(String teamName, String courseId, CourseRoster roster) {
+        return roster == null ? studentsLogic.getStudentsForTeam(teamName, courseId)
+                              : roster.getStudentsInTeam(teamName);
+    }
+    
     public boolean isQuestionHasResponses(String feedbackQuestionId) {
         return !frLogic.getFeedbackResponsesForQuestionWithinRange(feedbackQuestionId, 1)
                        .isEmpty();
@@ -523,6 +590,7 @@ public class FeedbackQuestionsLogic {
      * Adjust questions between the old and new number,
      * if the new number is smaller, then shift up (increase qn#) all questions in between.
      * if the new number is bigger, then shift down(decrease qn#) all questions in between.
+     * The numbers of the shifted questions are written in one batch.
      * @param oldQuestionNumber
      * @param newQuestionNumber
      * @param questions
@@ -530,47 +598,72 @@ public class FeedbackQuestionsLogic {
     private void adjustQuestionNumbers(int oldQuestionNumber,
             int newQuestionNumber, List<FeedbackQuestionAttributes> questions) {
         
+        Map<String, Integer> newQuestionNumbers = new HashMap<String, Integer>();
         if (oldQuestionNumber > newQuestionNumber && oldQuestionNumber >= 1) {
             for (int i = oldQuestionNumber - 1; i >= newQuestionNumber; i--) {
                 FeedbackQuestionAttributes question = questions.get(i - 1);
                 question.questionNumber += 1;
-                try {
-                    updateFeedbackQuestionWithoutResponseRateUpdate(question);
-                } catch (InvalidParametersException e) {
-                    Assumption.fail("Invalid question.");
-                } catch (EntityDoesNotExistException e) {
-                    Assumption.fail("Question disappeared.");
-                }
+                newQuestionNumbers.put(question.getId(), question.questionNumber);
             }
         } else if (oldQuestionNumber < newQuestionNumber && oldQuestionNumber < questions.size()) {
             for (int i = oldQuestionNumber + 1; i <= newQuestionNumber; i++) {
                 FeedbackQuestionAttributes question = questions.get(i - 1);
                 question.questionNumber -= 1;
-                try {
-                    updateFeedbackQuestionWithoutResponseRateUpdate(question);
-                } catch (InvalidParametersException e) {
-                    Assumption.fail("Invalid question.");
-                } catch (EntityDoesNotExistException e) {
-                    Assumption.fail("Question disappeared.");
-                }
+                newQuestionNumbers.put(question.getId(), question.questionNumber);
             }
         }
+        updateFeedbackQuestionNumbers(questions, newQuestionNumbers);
     }
-
+    
     /**
-     * Updates the feedback question. For each attribute in
-     * {@code newAttributes}, the existing value is preserved if the attribute
-     * is null (due to 'keep existing' policy). Existing responses for the
-     * question are automatically deleted if giverType/recipientType are
-     * changed, or if the response visibility is increased. However, the
-     * response rate of the feedback session is not updated.<br>
-     * Precondition: <br>
-     * {@code newAttributes} is not {@code null}
+     * Reorders the questions of the session, e.g. to apply a drag-and-drop reorder in the
+     * question editor. The questions of the session are read once, and the numbers of the
+     * questions which move are written in one batch.
+     * @param feedbackQuestionIds the IDs of all the questions of the session, in their new order
+     * @throws InvalidParametersException if the IDs are not those of the questions of the session,
+     *         each given once
      */
-    private void updateFeedbackQuestionWithoutResponseRateUpdate(FeedbackQuestionAttributes newAttributes)
+    public void reorderFeedbackQuestions(String feedbackSessionName, String courseId,
+                                         List<String> feedbackQuestionIds)
             throws InvalidParametersException, EntityDoesNotExistException {
-
-        updateFeedbackQuestion(newAttributes, false);
+        
+        List<FeedbackQuestionAttributes> questions = getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        
+        Map<String, FeedbackQuestionAttributes> questionsById = new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : questions) {
+            questionsById.put(question.getId(), question);
+        }
+        if (feedbackQuestionIds.size() != questions.size()
+                || !questionsById.keySet().equals(new HashSet<String>(feedbackQuestionIds))) {
+            throw new InvalidParametersException(Const.StatusMessages.FEEDBACK_QUESTION_REORDER_INVALID);
+        }
+        
+        Map<String, Integer> newQuestionNumbers = new HashMap<String, Integer>();
+        for (int i = 0; i < feedbackQuestionIds.size(); i++) {
+            FeedbackQuestionAttributes question = questionsById.get(feedbackQuestionIds.get(i));
+            if (question.questionNumber != i + 1) {
+                newQuestionNumbers.put(question.getId(), i + 1);
+            }
+        }
+        
+        if (!newQuestionNumbers.isEmpty()) {
+            fqDb.updateFeedbackQuestionNumbers(newQuestionNumbers);
+            SessionQuestionPlanCache.invalidate(feedbackSessionName, courseId);
+        }
+    }
+    
+    private void updateFeedbackQuestionNumbers(List<FeedbackQuestionAttributes> questions,
+                                               Map<String, Integer> newQuestionNumbers) {
+        if (newQuestionNumbers.isEmpty()) {
+            return;
+        }
+        try {
+            fqDb.updateFeedbackQuestionNumbers(newQuestionNumbers);
+        } catch (EntityDoesNotExistException e) {
+            Assumption.fail("Question disappeared.");
+        }
+        FeedbackQuestionAttributes question = questions.get(0);
+        SessionQuestionPlanCache.invalidate(question.feedbackSessionName, question.courseId);
     }
 
     /**
@@ -611,6 +704,7 @@ public class FeedbackQuestionsLogic {
         oldQuestion.updateValues(newAttributes);
         newAttributes.removeIrrelevantVisibilityOptions();
         fqDb.updateFeedbackQuestion(newAttributes);
+        SessionQuestionPlanCache.invalidate(oldQuestion.feedbackSessionName, oldQuestion.courseId);
     }
 
     public void deleteFeedbackQuestionsForSession(String feedbackSessionName, String courseId) 
@@ -678,6 +772,7 @@ public class FeedbackQuestionsLogic {
      */
     public void deleteFeedbackQuestionsForCourse(String courseId) {
         fqDb.deleteFeedbackQuestionsForCourse(courseId);
+        SessionQuestionPlanCache.invalidateCourse(courseId);
     }
     
     /**
@@ -707,6 +802,7 @@ public class FeedbackQuestionsLogic {
         }
         
         fqDb.deleteEntity(questionToDelete);
+        SessionQuestionPlanCache.invalidate(feedbackSessionName, courseId);
         
         if (questionToDelete.questionNumber < questionsToShiftQnNumber.size()) {
             shiftQuestionNumbersDown(questionToDelete.questionNumber, questionsToShiftQnNumber);
@@ -716,18 +812,14 @@ public class FeedbackQuestionsLogic {
     // Shifts all question numbers after questionNumberToShiftFrom down by one.
     private void shiftQuestionNumbersDown(int questionNumberToShiftFrom,
             List<FeedbackQuestionAttributes> questionsToShift) {
+        Map<String, Integer> newQuestionNumbers = new HashMap<String, Integer>();
         for (FeedbackQuestionAttributes question : questionsToShift) {                
             if (question.questionNumber > questionNumberToShiftFrom) {
                 question.questionNumber -= 1;
-                try {
-                    updateFeedbackQuestionWithoutResponseRateUpdate(question);
-                } catch (InvalidParametersException e) {
-                    Assumption.fail("Invalid question.");
-                } catch (EntityDoesNotExistException e) {
-                    Assumption.fail("Question disappeared.");
-                }
+                newQuestionNumbers.put(question.getId(), question.questionNumber);
             }
         }
+        updateFeedbackQuestionNumbers(questionsToShift, newQuestionNumbers);
     }
     
     /*
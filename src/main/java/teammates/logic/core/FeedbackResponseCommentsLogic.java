@@ -3,21 +3,14 @@ package teammates.logic.core;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Set;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CommentSendingState;
-import teammates.common.datatransfer.CourseRoster;
-import teammates.common.datatransfer.FeedbackParticipantType;
-import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentSearchResultBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
-import teammates.common.datatransfer.StudentAttributes;
-import teammates.common.datatransfer.UserType;
-import teammates.common.datatransfer.UserType.Role;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
@@ -151,6 +144,39 @@ public class FeedbackResponseCommentsLogic {
         return frcList;
     }
     
+    /**
+     * Counts the response comments in the sending state without loading them.
+     */
+    public int getFeedbackResponseCommentsCountForSendingState(String courseId, CommentSendingState state)
+            throws EntityDoesNotExistException {
+        verifyIsCoursePresent(courseId);
+        
+        int count = 0;
+        List<FeedbackSessionAttributes> feedbackSessions = fsLogic.getFeedbackSessionsForCourse(courseId);
+        for (FeedbackSessionAttributes fs : feedbackSessions) {
+            if (fs.isPublished()) {
+                count += frcDb.getFeedbackResponseCommentsCountForSendingState(courseId, fs.feedbackSessionName,
+                                                                               state);
+            }
+        }
+        return count;
+    }
+    
+    public boolean isFeedbackResponseCommentForSendingStatePresent(String courseId, CommentSendingState state)
+            throws EntityDoesNotExistException {
+        verifyIsCoursePresent(courseId);
+        
+        List<FeedbackSessionAttributes> feedbackSessions = fsLogic.getFeedbackSessionsForCourse(courseId);
+        for (FeedbackSessionAttributes fs : feedbackSessions) {
+            if (fs.isPublished()
+                    && frcDb.isFeedbackResponseCommentForSendingStatePresent(courseId, fs.feedbackSessionName,
+                                                                             state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     public void updateFeedbackResponseCommentsSendingState(
             String courseId, CommentSendingState oldState, CommentSendingState newState) 
             throws EntityDoesNotExistException {
@@ -203,134 +229,6 @@ public class FeedbackResponseCommentsLogic {
         frcDb.deleteDocument(commentToDelete);
     }
     
-    /**
-     * Verify whether the comment's giver name is visible to certain user
-     * @param comment
-     * @param response
-     * @param userEmail
-     * @param roster
-     * @return true/false
-     */
-    public boolean isNameVisibleTo(FeedbackResponseCommentAttributes comment, FeedbackResponseAttributes response,
-                                   String userEmail, CourseRoster roster) {
-        List<FeedbackParticipantType> showNameTo = comment.showGiverNameTo;
-        //in the old ver, name is always visible
-        if (showNameTo == null || comment.isVisibilityFollowingFeedbackQuestion) {
-            return true;
-        }
-        
-        //comment giver can always see
-        if (userEmail.equals(comment.giverEmail)) {
-            return true;
-        }
-        
-        String responseGiverTeam = "giverTeam";
-        if (roster.getStudentForEmail(response.giverEmail) != null) {
-            responseGiverTeam = roster.getStudentForEmail(response.giverEmail).team;
-        }
-        String responseRecipientTeam = "recipientTeam";
-        if (roster.getStudentForEmail(response.recipientEmail) != null) {
-            responseRecipientTeam = roster.getStudentForEmail(response.recipientEmail).team;
-        }
-        String currentUserTeam = "currentUserTeam";
-        if (roster.getStudentForEmail(userEmail) != null) {
-            currentUserTeam = roster.getStudentForEmail(userEmail).team;
-        }
-        
-        for (FeedbackParticipantType type : showNameTo) {
-            if (type == FeedbackParticipantType.GIVER && userEmail.equals(response.giverEmail)) {
-                return true;
-            } else if (type == FeedbackParticipantType.INSTRUCTORS && roster.getInstructorForEmail(userEmail) != null) {
-                return true;
-            } else if (type == FeedbackParticipantType.RECEIVER && userEmail.equals(response.recipientEmail)) {
-                return true;
-            } else if (type == FeedbackParticipantType.OWN_TEAM_MEMBERS && responseGiverTeam.equals(currentUserTeam)) {
-                return true;
-            } else if (type == FeedbackParticipantType.RECEIVER_TEAM_MEMBERS
-                    && responseRecipientTeam.equals(currentUserTeam)) {
-                return true;
-            } else if (type == FeedbackParticipantType.STUDENTS && roster.getStudentForEmail(userEmail) != null) {
-                return true;
-            }
-        }   
-        return false;
-    }
-    
-    /**
-     * Verify whether the comment is visible to certain user
-     * @return true/false
-     */
-    public boolean isResponseCommentVisibleForUser(String userEmail, String courseId, UserType.Role role,
-            String section, StudentAttributes student, Set<String> studentsEmailInTeam,
-            FeedbackResponseAttributes response, FeedbackQuestionAttributes relatedQuestion,
-            FeedbackResponseCommentAttributes relatedComment, InstructorAttributes instructor) {
-        if (response == null || relatedQuestion == null) {
-            return false;
-        }
-        
-        boolean isVisibilityFollowingFeedbackQuestion = relatedComment.isVisibilityFollowingFeedbackQuestion;
-        boolean isVisibleToGiver = isVisibilityFollowingFeedbackQuestion 
-                                 || relatedComment.isVisibleTo(FeedbackParticipantType.GIVER);
-        
-        boolean isVisibleResponseComment = false;
-        
-        
-        boolean userIsInstructor = role == Role.INSTRUCTOR;
-        boolean userIsStudent = role == Role.STUDENT;
-        
-        boolean userIsInstructorAndRelatedResponseCommentIsVisibleToInstructors =
-                userIsInstructor && isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                                               FeedbackParticipantType.INSTRUCTORS);
-        boolean userIsResponseRecipientAndRelatedResponseCommentIsVisibleToRecipients =
-                response.recipientEmail.equals(userEmail) && isResponseCommentVisibleTo(relatedQuestion,
-                                                                     relatedComment, FeedbackParticipantType.RECEIVER);
-        boolean userIsResponseGiverAndRelatedResponseCommentIsVisibleToGivers =
-                response.giverEmail.equals(userEmail) && isVisibleToGiver;
-        boolean userIsRelatedResponseCommentGiver = relatedComment.giverEmail.equals(userEmail);
-        boolean userIsStudentAndRelatedResponseCommentIsVisibleToStudents =
-                userIsStudent && isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                                            FeedbackParticipantType.STUDENTS);
-        
-        boolean userIsInResponseRecipientTeamAndRelatedResponseCommentIsVisibleToRecipients = 
-                userIsStudent 
-                && relatedQuestion.recipientType == FeedbackParticipantType.TEAMS
-                && isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                              FeedbackParticipantType.RECEIVER)
-                && response.recipientEmail.equals(student.team);
-        boolean userIsInResponseGiverTeamAndRelatedResponseCommentIsVisibleToGiversTeamMembers =
-                (relatedQuestion.giverType == FeedbackParticipantType.TEAMS
-                || isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                              FeedbackParticipantType.OWN_TEAM_MEMBERS))
-                && studentsEmailInTeam.contains(response.giverEmail);
-        boolean userIsInResponseRecipientTeamAndRelatedResponseCommentIsVisibleToRecipientsTeamMembers =
-                isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                           FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
-                && studentsEmailInTeam.contains(response.recipientEmail);
-        
-        if (userIsInstructorAndRelatedResponseCommentIsVisibleToInstructors
-                || userIsResponseRecipientAndRelatedResponseCommentIsVisibleToRecipients
-                || userIsResponseGiverAndRelatedResponseCommentIsVisibleToGivers
-                || userIsRelatedResponseCommentGiver
-                || userIsStudentAndRelatedResponseCommentIsVisibleToStudents) {
-            isVisibleResponseComment = true;
-        } else if (userIsInResponseRecipientTeamAndRelatedResponseCommentIsVisibleToRecipients
-                || userIsInResponseGiverTeamAndRelatedResponseCommentIsVisibleToGiversTeamMembers
-                || userIsInResponseRecipientTeamAndRelatedResponseCommentIsVisibleToRecipientsTeamMembers) {
-            isVisibleResponseComment = true;
-        }
-        return isVisibleResponseComment;
-    }
-
-    private boolean isResponseCommentVisibleTo(FeedbackQuestionAttributes relatedQuestion,
-                                               FeedbackResponseCommentAttributes relatedComment,
-                                               FeedbackParticipantType viewerType) {
-        boolean isVisibilityFollowingFeedbackQuestion = relatedComment.isVisibilityFollowingFeedbackQuestion;
-        boolean isVisibleTo = isVisibilityFollowingFeedbackQuestion 
-                            ? relatedQuestion.isResponseVisibleTo(viewerType) 
-                            : relatedComment.isVisibleTo(viewerType);
-        return isVisibleTo;
-    }
-    
     private void verifyIsCoursePresent(String courseId) throws EntityDoesNotExistException {
         if (!coursesLogic.isCoursePresent(courseId)) {
             throw new EntityDoesNotExistException(
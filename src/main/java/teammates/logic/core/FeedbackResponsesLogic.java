@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -12,6 +13,7 @@ import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.UserType;
@@ -60,6 +62,14 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponse(feedbackResponseId);
     }
 
+    /**
+     * Gets the responses with the given IDs in batched gets.
+     * Responses which do not exist are left out.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        return frDb.getFeedbackResponses(feedbackResponseIds);
+    }
+
     public FeedbackResponseAttributes getFeedbackResponse(
             String feedbackQuestionId, String giverEmail, String recipient) {
         // TODO: check what is this line doing here!!!
@@ -110,22 +120,24 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesForSessionInSectionWithinRange(feedbackSessionName, courseId, section, range);
     }
 
-    public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionFromSectionWithinRange(
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionFromSectionInPage(
             String feedbackSessionName, String courseId, String section,
-            long range) {
+            int pageSize, String pageToken) {
         if (section == null) {
-            return getFeedbackResponsesForSessionWithinRange(feedbackSessionName, courseId, range);
+            return frDb.getFeedbackResponsesForSessionInPage(feedbackSessionName, courseId, pageSize, pageToken);
         }
-        return frDb.getFeedbackResponsesForSessionFromSectionWithinRange(feedbackSessionName, courseId, section, range);
+        return frDb.getFeedbackResponsesForSessionFromSectionInPage(feedbackSessionName, courseId, section,
+                                                                    pageSize, pageToken);
     }
 
-    public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionToSectionWithinRange(
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionToSectionInPage(
             String feedbackSessionName, String courseId, String section,
-            long range) {
+            int pageSize, String pageToken) {
         if (section == null) {
-            return getFeedbackResponsesForSessionWithinRange(feedbackSessionName, courseId, range);
+            return frDb.getFeedbackResponsesForSessionInPage(feedbackSessionName, courseId, pageSize, pageToken);
         }
-        return frDb.getFeedbackResponsesForSessionToSectionWithinRange(feedbackSessionName, courseId, section, range);
+        return frDb.getFeedbackResponsesForSessionToSectionInPage(feedbackSessionName, courseId, section,
+                                                                  pageSize, pageToken);
     }
 
     public List<FeedbackResponseAttributes> getFeedbackResponsesForQuestion(String feedbackQuestionId) {
@@ -189,6 +201,11 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesForReceiverForCourse(courseId, userEmail);
     }
 
+    public List<FeedbackResponseAttributes> getFeedbackResponsesFromGiversForSession(
+            String feedbackSessionName, String courseId, List<String> giverEmails) {
+        return frDb.getFeedbackResponsesFromGiversForSession(feedbackSessionName, courseId, giverEmails);
+    }
+
     public List<FeedbackResponseAttributes> getFeedbackResponsesFromGiverForCourse(
             String courseId, String userEmail) {
         return frDb.getFeedbackResponsesFromGiverForCourse(courseId, userEmail);
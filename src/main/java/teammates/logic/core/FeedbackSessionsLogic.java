@@ -16,12 +16,14 @@ import java.util.logging.Logger;
 import javax.mail.internet.MimeMessage;
 
 import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
@@ -30,13 +32,13 @@ import teammates.common.datatransfer.FeedbackSessionResultsBundle;
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardBundle;
 import teammates.common.datatransfer.UserType;
 import teammates.common.datatransfer.UserType.Role;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.ExceedingRangeException;
 import teammates.common.exception.InvalidParametersException;
-import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
@@ -45,6 +47,8 @@ import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Utils;
+import teammates.logic.core.SessionQuestionPlanCache.QuestionPlan;
+import teammates.storage.api.CascadeDeletionDb;
 import teammates.storage.api.FeedbackSessionsDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.storage.api.StudentsDb;
@@ -56,6 +60,7 @@ public class FeedbackSessionsLogic {
     private static final Logger log = Utils.getLogger();
 
     private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private static final CascadeDeletionDb cascadeDeletionDb = new CascadeDeletionDb();
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
     private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
@@ -117,8 +122,9 @@ public class FeedbackSessionsLogic {
             question.courseId = newCourseId;
             question.feedbackSessionName = newFeedbackSessionName;
             question.creatorEmail = instructorEmail;
-            fqLogic.createFeedbackQuestionNoIntegrityCheck(question, question.questionNumber);
+            question.setId(null);
         }
+        fqLogic.createFeedbackQuestionsNoIntegrityCheck(feedbackQuestions);
         
         return copiedFeedbackSession;
     }
@@ -387,26 +393,109 @@ public class FeedbackSessionsLogic {
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> bundle = new HashMap<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>();
         Map<String, Map<String, String>> recipientList = new HashMap<String, Map<String, String>>();
 
-        List<FeedbackQuestionAttributes> questions = fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName,
-                courseId);
+        List<FeedbackQuestionAttributes> questions = getQuestionPlanForStudents(feedbackSessionName, courseId)
+                                                             .getQuestionsCopy();
+        if (questions.isEmpty()) {
+            return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
+        }
 
+        // the roster is read once for all the questions, but not cached as students may change teams any time
+        CourseRoster roster = null;
         Set<String> hiddenInstructorEmails = null;
-        
+        if (isRosterNeededForStudents(questions)) {
+            roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
+                                      instructorsLogic.getInstructorsForCourse(courseId));
+            hiddenInstructorEmails = getHiddenInstructorEmails(roster.getInstructors());
+        }
+
+        // fetches the responses of the student (and of the team, for team questions) in a single query
+        List<String> giverEmails = new ArrayList<String>();
+        giverEmails.add(student.email);
         for (FeedbackQuestionAttributes question : questions) {
-            if (question.getRecipientType() == FeedbackParticipantType.INSTRUCTORS) {
-                hiddenInstructorEmails = getHiddenInstructorEmails(courseId);
+            if (question.giverType == FeedbackParticipantType.TEAMS) {
+                // responses to team questions are given by the team, or by a member for older responses
+                giverEmails.add(student.team);
+                for (StudentAttributes teamMember : getStudentsForTeam(student.team, courseId, roster)) {
+                    if (!teamMember.email.equals(student.email)) {
+                        giverEmails.add(teamMember.email);
+                    }
+                }
                 break;
             }
         }
+        Map<String, List<FeedbackResponseAttributes>> responsesForQuestion =
+                new HashMap<String, List<FeedbackResponseAttributes>>();
+        for (FeedbackResponseAttributes response
+                : frLogic.getFeedbackResponsesFromGiversForSession(feedbackSessionName, courseId, giverEmails)) {
+            if (!responsesForQuestion.containsKey(response.feedbackQuestionId)) {
+                responsesForQuestion.put(response.feedbackQuestionId, new ArrayList<FeedbackResponseAttributes>());
+            }
+            responsesForQuestion.get(response.feedbackQuestionId).add(response);
+        }
 
         for (FeedbackQuestionAttributes question : questions) {
+            List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+            if (responsesForQuestion.containsKey(question.getId())) {
+                for (FeedbackResponseAttributes response : responsesForQuestion.get(question.getId())) {
+                    boolean isGivenByStudentOrTeam = question.giverType == FeedbackParticipantType.TEAMS
+                                                     || response.giverEmail.equals(student.email);
+                    if (isGivenByStudentOrTeam) {
+                        responses.add(response);
+                    }
+                }
+            }
+            Map<String, String> recipients =
+                    fqLogic.getRecipientsForQuestion(question, userEmail, null, student, roster);
+
+            removeHiddenInstructors(question, responses, recipients, hiddenInstructorEmails);
+
+            normalizeMaximumResponseEntities(question, recipients);
 
-            updateBundleAndRecipientListWithResponsesForStudent(userEmail, student,
-                    bundle, recipientList, question, hiddenInstructorEmails);
+            bundle.put(question, responses);
+            recipientList.put(question.getId(), recipients);
         }
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
     }
+
+    /**
+     * Gets the questions for students in the session, from {@link SessionQuestionPlanCache} if possible.
+     */
+    private QuestionPlan getQuestionPlanForStudents(String feedbackSessionName, String courseId) {
+        long version = SessionQuestionPlanCache.getVersion(courseId);
+        QuestionPlan plan = SessionQuestionPlanCache.get(feedbackSessionName, courseId, version);
+        if (plan != null) {
+            return plan;
+        }
+
+        plan = new QuestionPlan(feedbackSessionName, courseId,
+                                fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName, courseId));
+        SessionQuestionPlanCache.put(plan, version);
+        return plan;
+    }
+
+    private boolean isRosterNeededForStudents(List<FeedbackQuestionAttributes> questions) {
+        for (FeedbackQuestionAttributes question : questions) {
+            if (question.giverType == FeedbackParticipantType.TEAMS
+                    || isRosterNeededForRecipients(question.recipientType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRosterNeededForRecipients(FeedbackParticipantType recipientType) {
+        return recipientType == FeedbackParticipantType.STUDENTS
+               || recipientType == FeedbackParticipantType.INSTRUCTORS
+               || recipientType == FeedbackParticipantType.TEAMS
+               || recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS
+               || recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF;
+    }
+
+    private List<StudentAttributes> getStudentsForTeam(String teamName, String courseId, CourseRoster roster) {
+        return roster == null ? studentsLogic.getStudentsForTeam(teamName, courseId)
+                              : roster.getStudentsInTeam(teamName);
+    }
     
     public FeedbackSessionQuestionsBundle getFeedbackSessionQuestionsForStudent(
             String feedbackSessionName, String courseId, String feedbackQuestionId, String userEmail)
@@ -524,7 +613,10 @@ public class FeedbackSessionsLogic {
 
         InstructorsLogic instructorLogic = InstructorsLogic.inst();
 
-        List<InstructorAttributes> instructors = instructorLogic.getInstructorsForCourse(courseId);
+        return getHiddenInstructorEmails(instructorLogic.getInstructorsForCourse(courseId));
+    }
+
+    private Set<String> getHiddenInstructorEmails(List<InstructorAttributes> instructors) {
         Set<String> hiddenInstructorEmails = new HashSet<>();
 
         for (InstructorAttributes instructor : instructors) {
@@ -641,11 +733,14 @@ public class FeedbackSessionsLogic {
     }
 
     /**
-     * Gets results of a feedback session to show to an instructor in a section in an indicated range
-     * @throws ExceedingRangeException if the results are beyond the range
+     * Gets one page of the results of a feedback session given from a section to show to an instructor.
+     * The token of the next page, if any, is stored in the returned bundle.
+     * The bundle is complete only if all the responses fit in one page.
+     * @param pageToken the token of the page to get, or null for the first page
      */
-    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromSectionWithinRange(
-            String feedbackSessionName, String courseId, String userEmail, String section, long range)
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromSectionInPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            int pageSize, String pageToken)
             throws EntityDoesNotExistException {
         
         CourseRoster roster = new CourseRoster(
@@ -657,18 +752,20 @@ public class FeedbackSessionsLogic {
         params.put("fromSection", "true");
         params.put("toSection", "false");
         params.put("section", section);
-        if (range > 0) {
-            params.put("range", String.valueOf(range));
-        }
+        params.put("pageSize", String.valueOf(pageSize));
+        params.put("pageToken", pageToken);
         return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail, UserType.Role.INSTRUCTOR, roster, params);
     }
 
     /**
-     * Gets results of a feedback session to show to an instructor in a section in an indicated range
-     * @throws ExceedingRangeException if the results are beyond the range
+     * Gets one page of the results of a feedback session given to a section to show to an instructor.
+     * The token of the next page, if any, is stored in the returned bundle.
+     * The bundle is complete only if all the responses fit in one page.
+     * @param pageToken the token of the page to get, or null for the first page
      */
-    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorToSectionWithinRange(
-            String feedbackSessionName, String courseId, String userEmail, String section, long range)
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorToSectionInPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            int pageSize, String pageToken)
             throws EntityDoesNotExistException {
         
         CourseRoster roster = new CourseRoster(
@@ -680,9 +777,8 @@ public class FeedbackSessionsLogic {
         params.put("fromSection", "false");
         params.put("toSection", "true");
         params.put("section", section);
-        if (range > 0) {
-            params.put("range", String.valueOf(range));
-        }
+        params.put("pageSize", String.valueOf(pageSize));
+        params.put("pageToken", pageToken);
         return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail, UserType.Role.INSTRUCTOR, roster, params);
     }
     
@@ -821,9 +917,17 @@ public class FeedbackSessionsLogic {
         if (!results.isComplete) {
             throw new ExceedingRangeException("Number of responses exceeds the limited range");
         }
+        return getFeedbackSessionResultsSummaryInSectionAsCsv(results, section);
+    }
+
+    /**
+     * @return the results in the bundle in csv format. The responses of the bundle
+     *         are sorted in the process.
+     */
+    public String getFeedbackSessionResultsSummaryInSectionAsCsv(
+            FeedbackSessionResultsBundle results, String section) {
         // sort responses by giver > recipient > qnNumber
-        Collections.sort(results.responses,
-                results.compareByGiverRecipientQuestion);
+        results.sortResponsesByGiverRecipientQuestion();
         
         StringBuilder exportBuilder = new StringBuilder(100);
 
@@ -1099,6 +1203,26 @@ public class FeedbackSessionsLogic {
         return allQuestions.isEmpty();
     }
 
+    /**
+     * Checks whether the student has completed the feedback session,
+     * given the questions of the session that were already retrieved.
+     */
+    public boolean isFeedbackSessionCompletedByStudent(FeedbackSessionAttributes fsa, String userEmail,
+                                                       List<FeedbackQuestionAttributes> questionsOfSession) {
+        Assumption.assertNotNull(fsa);
+        if (fsa.respondingStudentList.contains(userEmail)) {
+            return true;
+        }
+        
+        for (FeedbackQuestionAttributes question : questionsOfSession) {
+            if (isQuestionForStudents(question)) {
+                return false;
+            }
+        }
+        // if there is no question for students, session is complete
+        return true;
+    }
+
     public boolean isFeedbackSessionCompletedByInstructor(
             String feedbackSessionName,
             String courseId, String userEmail)
@@ -1163,6 +1287,7 @@ public class FeedbackSessionsLogic {
         makeEmailStateConsistent(oldSession, newSession);
 
         fsDb.updateFeedbackSession(newSession);
+        SessionQuestionPlanCache.invalidate(newSession.feedbackSessionName, newSession.courseId);
     }
     
     public void updateRespondantsForInstructor(String oldEmail, String newEmail, String courseId) throws InvalidParametersException, EntityDoesNotExistException {
@@ -1627,27 +1752,36 @@ public class FeedbackSessionsLogic {
      */
     public void deleteFeedbackSessionsForCourse(String courseId) {
         fsDb.deleteFeedbackSessionsForCourse(courseId);
+        SessionQuestionPlanCache.invalidateCourse(courseId);
     }
 
     /**
      * This method deletes a specific feedback session, and all it's question
-     * and responses
+     * and responses. Whatever cannot be deleted within
+     * {@link SystemParams#CASCADE_DELETION_TIME_LIMIT_MILLIS} is left to a task queue worker.
      */
     public void deleteFeedbackSessionCascade(String feedbackSessionName, String courseId) {
-
-        try {
-            fqLogic.deleteFeedbackQuestionsForSession(feedbackSessionName, courseId);
-        } catch (EntityDoesNotExistException e) {
-            // Silently fail if session does not exist
-            log.warning(TeammatesException.toStringWithStackTrace(e));
+        continueFeedbackSessionDeletion(feedbackSessionName, courseId, null);
+    }
+    
+    /**
+     * Continues the deletion of a feedback session from the checkpoint at which an earlier deletion
+     * stopped, and schedules a task to continue it again if it is not finished in time.
+     */
+    public void continueFeedbackSessionDeletion(String feedbackSessionName, String courseId, String checkpoint) {
+        long deadline = System.currentTimeMillis() + SystemParams.CASCADE_DELETION_TIME_LIMIT_MILLIS;
+        String nextCheckpoint =
+                cascadeDeletionDb.deleteFeedbackSessionCascade(feedbackSessionName, courseId, checkpoint, deadline);
+        SessionQuestionPlanCache.invalidate(feedbackSessionName, courseId);
+        
+        if (nextCheckpoint != null) {
+            HashMap<String, String> paramMap = new HashMap<String, String>();
+            paramMap.put(ParamsNames.COURSE_ID, courseId);
+            paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+            paramMap.put(ParamsNames.DELETION_CHECKPOINT, nextCheckpoint);
+            TaskQueuesLogic.inst().createAndAddTask(SystemParams.CASCADE_DELETION_TASK_QUEUE,
+                                                    Const.ActionURIs.CASCADE_DELETION_WORKER, paramMap);
         }
-
-        FeedbackSessionAttributes sessionToDelete = new FeedbackSessionAttributes();
-        sessionToDelete.feedbackSessionName = feedbackSessionName;
-        sessionToDelete.courseId = courseId;
-
-        fsDb.deleteEntity(sessionToDelete);
-
     }
 
     public FeedbackSessionDetailsBundle getFeedbackSessionDetails(
@@ -1788,12 +1922,8 @@ public class FeedbackSessionsLogic {
                 responses.addAll(responsesForThisQn);
                 for (FeedbackResponseAttributes response : responsesForThisQn) {
                     relevantResponse.put(response.getId(), response);
-                    addEmailNamePairsToTable(emailNameTable, response,
-                            question, roster);
-                    addEmailLastNamePairsToTable(emailLastNameTable, response,
-                            question, roster);
-                    addEmailTeamNamePairsToTable(emailTeamNameTable, response,
-                            question, roster);
+                    addEmailNamePairsToTables(emailNameTable, emailLastNameTable,
+                            emailTeamNameTable, response, question, roster);
                     addVisibilityToTable(visibilityTable, question, response,
                             userEmail, role, roster);
                 }
@@ -1811,22 +1941,18 @@ public class FeedbackSessionsLogic {
             }
         }
         
-        InstructorAttributes instructor = null;
-        if (role == Role.INSTRUCTOR) {
-            instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
-        }
-        
         List<FeedbackResponseCommentAttributes> allResponseComments =
                 frcLogic.getFeedbackResponseCommentForSession(courseId,
                         feedbackSessionName);
+        CommentVisibilityEvaluator commentVisibility =
+                new CommentVisibilityEvaluator(userEmail, role, student, studentsEmailInTeam, roster);
         for (FeedbackResponseCommentAttributes frc : allResponseComments) {
             FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
             FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
-            boolean isVisibleResponseComment = frcLogic.isResponseCommentVisibleForUser(userEmail, courseId,
-                    role, section, student, studentsEmailInTeam, relatedResponse,
-                    relatedQuestion, frc, instructor);
+            boolean isVisibleResponseComment =
+                    commentVisibility.isCommentVisible(frc, relatedResponse, relatedQuestion);
             if (isVisibleResponseComment) {
-                if (!frcLogic.isNameVisibleTo(frc, relatedResponse, userEmail, roster)) {
+                if (!commentVisibility.isGiverNameVisible(frc, relatedResponse)) {
                     frc.giverEmail = "Anonymous";
                 }
                 
@@ -1940,6 +2066,11 @@ public class FeedbackSessionsLogic {
                                         question, userEmail, Role.INSTRUCTOR, section);
                     }
     
+                    InstructorAttributes instructor = null;
+                    if (role == Role.INSTRUCTOR) {
+                        instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
+                    }
+
                     boolean thisQuestionHasResponses = !responsesForThisQn.isEmpty();
                     if (thisQuestionHasResponses) {
                         for (FeedbackResponseAttributes response : responsesForThisQn) {
@@ -1953,10 +2084,6 @@ public class FeedbackSessionsLogic {
                                             .isResponseVisibleTo(FeedbackParticipantType.STUDENTS)) {
                                 isVisibleResponse = true;
                             }
-                            InstructorAttributes instructor = null;
-                            if (role == Role.INSTRUCTOR) {
-                                instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
-                            }
                             if (isVisibleResponse && instructor != null) {
                                 boolean isGiverSectionRestricted = 
                                         !instructor.isAllowedForPrivilege(response.giverSection, 
@@ -1976,13 +2103,8 @@ public class FeedbackSessionsLogic {
                             }
                             if (isVisibleResponse) {
                                 responses.add(response);
-                                addEmailNamePairsToTable(emailNameTable, response,
-                                        question, roster);
-                                addEmailLastNamePairsToTable(emailLastNameTable, response,
-                                        question, roster);
-                                addEmailTeamNamePairsToTable(emailTeamNameTable,
-                                        response,
-                                        question, roster);
+                                addEmailNamePairsToTables(emailNameTable, emailLastNameTable,
+                                        emailTeamNameTable, response, question, roster);
                                 addVisibilityToTable(visibilityTable, question,
                                         response, userEmail, role, roster);
                             }
@@ -2012,9 +2134,28 @@ public class FeedbackSessionsLogic {
         boolean isToSection = Boolean.parseBoolean(params.get("toSection"));
         boolean isFromSection = Boolean.parseBoolean(params.get("fromSection"));
         boolean isComplete = params.get("range") == null;
+        boolean isPaged = params.get("pageSize") != null;
+        String nextPageToken = null;
         
         List<FeedbackResponseAttributes> allResponses = new ArrayList<FeedbackResponseAttributes>();
-        if (params.get("range") == null) {
+        if (isPaged) {
+            int pageSize = Integer.parseInt(params.get("pageSize"));
+            String pageToken = params.get("pageToken");
+            FeedbackResponsesPageBundle page = null;
+            if (isFromSection) {
+                page = frLogic.getFeedbackResponsesForSessionFromSectionInPage(feedbackSessionName, courseId,
+                                                                               section, pageSize, pageToken);
+            } else if (isToSection) {
+                page = frLogic.getFeedbackResponsesForSessionToSectionInPage(feedbackSessionName, courseId,
+                                                                             section, pageSize, pageToken);
+            } else {
+                Assumption.fail("Client did not indicate the origin of the responses");
+            }
+            allResponses = page.responses;
+            nextPageToken = page.nextPageToken;
+            // the responses of the other pages are missing unless there is only one page
+            isComplete = pageToken == null && page.isLastPage();
+        } else if (params.get("range") == null) {
             if (isInSection) {
                 allResponses = frLogic.getFeedbackResponsesForSessionInSection(feedbackSessionName,
                                                                                courseId, section);
@@ -2032,12 +2173,6 @@ public class FeedbackSessionsLogic {
             if (isInSection) {
                 allResponses = frLogic.getFeedbackResponsesForSessionInSectionWithinRange(feedbackSessionName,
                                                                                           courseId, section, range);
-            } else if (isFromSection) {
-                allResponses = frLogic.getFeedbackResponsesForSessionFromSectionWithinRange(feedbackSessionName,
-                                                                                            courseId, section, range);
-            } else if (isToSection) {
-                allResponses = frLogic.getFeedbackResponsesForSessionToSectionWithinRange(feedbackSessionName,
-                                                                                          courseId, section, range);
             } else {
                 Assumption.fail("Client did not indicate the origin of the responses");
             }
@@ -2084,12 +2219,8 @@ public class FeedbackSessionsLogic {
                     relevantResponse.put(response.getId(), response);
                     relevantQuestions.put(relatedQuestion.getId(),
                             relatedQuestion);
-                    addEmailNamePairsToTable(emailNameTable, response,
-                            relatedQuestion, roster);
-                    addEmailLastNamePairsToTable(emailLastNameTable, response,
-                            relatedQuestion, roster);                
-                    addEmailTeamNamePairsToTable(emailTeamNameTable, response,
-                            relatedQuestion, roster);
+                    addEmailNamePairsToTables(emailNameTable, emailLastNameTable,
+                            emailTeamNameTable, response, relatedQuestion, roster);
                     addVisibilityToTable(visibilityTable, relatedQuestion,
                             response, userEmail, role, roster);
                 }
@@ -2103,14 +2234,15 @@ public class FeedbackSessionsLogic {
             List<FeedbackResponseCommentAttributes> allResponseComments =
                     frcLogic.getFeedbackResponseCommentForSessionInSection(courseId,
                             feedbackSessionName, section);
+            CommentVisibilityEvaluator commentVisibility =
+                    new CommentVisibilityEvaluator(userEmail, role, student, studentsEmailInTeam, roster);
             for (FeedbackResponseCommentAttributes frc : allResponseComments) {
                 FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
                 FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
-                boolean isVisibleResponseComment = frcLogic.isResponseCommentVisibleForUser(userEmail, courseId,
-                        role, section, student, studentsEmailInTeam, relatedResponse,
-                        relatedQuestion, frc, instructor);
+                boolean isVisibleResponseComment =
+                        commentVisibility.isCommentVisible(frc, relatedResponse, relatedQuestion);
                 if (isVisibleResponseComment) {
-                    if (!frcLogic.isNameVisibleTo(frc, relatedResponse, userEmail, roster)) {
+                    if (!commentVisibility.isGiverNameVisible(frc, relatedResponse)) {
                         frc.giverEmail = "Anonymous";
                     }
                     
@@ -2140,6 +2272,8 @@ public class FeedbackSessionsLogic {
                         session, responses, relevantQuestions, emailNameTable, 
                         emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
                         visibilityTable, responseStatus, roster, responseComments, isComplete);
+        results.isPaged = isPaged;
+        results.nextPageToken = nextPageToken;
 
         return results;
     }
@@ -2247,55 +2381,32 @@ public class FeedbackSessionsLogic {
         visibilityTable.put(response.getId(), visibility);
     }
 
-    private void addEmailNamePairsToTable(Map<String, String> emailNameTable,
+    /**
+     * Adds the names, last names and team names of the giver and recipient of the response
+     * to the tables. The names of each participant are looked up in the roster once for all
+     * the tables, and only if they are not in the tables yet.
+     */
+    private void addEmailNamePairsToTables(Map<String, String> emailNameTable,
+            Map<String, String> emailLastNameTable, Map<String, String> emailTeamNameTable,
             FeedbackResponseAttributes response,
             FeedbackQuestionAttributes question, CourseRoster roster) {
         // keys of emailNameTable are participantIdentifiers,
         // which consists of students' email, instructors' email, team names, or %GENERAL%.
         // participants identifiers of anonymous responses are not anonymised in the tables
-        addEmailNamePairsToTable(emailNameTable, response, question, roster,
-                EMAIL_NAME_PAIR);
-    }
-    
-    private void addEmailLastNamePairsToTable(Map<String, String> emailLastNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster) {
-        addEmailNamePairsToTable(emailLastNameTable, response, question, roster,
-                EMAIL_LASTNAME_PAIR);
-    }
-
-    private void addEmailTeamNamePairsToTable(
-            Map<String, String> emailTeamNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster) {
-        addEmailNamePairsToTable(emailTeamNameTable, response, question,
-                roster, EMAIL_TEAMNAME_PAIR);
-    }
-
-    private void addEmailNamePairsToTable(Map<String, String> emailNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster,
-            int pairType) {
         if (question.giverType == FeedbackParticipantType.TEAMS 
             && roster.isStudentInCourse(response.giverEmail)) {
-            if (!emailNameTable.containsKey(response.giverEmail + Const.TEAM_OF_EMAIL_OWNER)) {
-                emailNameTable.put(
-                        response.giverEmail + Const.TEAM_OF_EMAIL_OWNER,
-                        getNameTeamNamePairForEmail(question.giverType,
-                                response.giverEmail, roster)[pairType]);
-            }
+            addEmailNamePairsToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                    response.giverEmail + Const.TEAM_OF_EMAIL_OWNER,
+                    question.giverType, response.giverEmail, roster);
             
             StudentAttributes studentGiver = roster.getStudentForEmail(response.giverEmail);
-            if (studentGiver != null && !emailNameTable.containsKey(studentGiver.team)) {
-                emailNameTable.put(studentGiver.team, getNameTeamNamePairForEmail(
-                                                        question.giverType,
-                                                        response.giverEmail, roster)[pairType]);
+            if (studentGiver != null) {
+                addEmailNamePairsToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                        studentGiver.team, question.giverType, response.giverEmail, roster);
             }
-        } else if (!emailNameTable.containsKey(response.giverEmail)) {
-            emailNameTable.put(
-                    response.giverEmail,
-                    getNameTeamNamePairForEmail(question.giverType,
-                            response.giverEmail, roster)[pairType]);
+        } else {
+            addEmailNamePairsToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                    response.giverEmail, question.giverType, response.giverEmail, roster);
         }
 
         FeedbackParticipantType recipientType = null;
@@ -2304,12 +2415,29 @@ public class FeedbackSessionsLogic {
         } else {
             recipientType = question.recipientType;
         }
-        if (!emailNameTable.containsKey(response.recipientEmail)) {
-            emailNameTable.put(
-                    response.recipientEmail,
-                    getNameTeamNamePairForEmail(recipientType,
-                                                response.recipientEmail, roster)[pairType]);
-            
+        addEmailNamePairsToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                response.recipientEmail, recipientType, response.recipientEmail, roster);
+    }
+
+    private void addEmailNamePairsToTables(Map<String, String> emailNameTable,
+            Map<String, String> emailLastNameTable, Map<String, String> emailTeamNameTable,
+            String participantIdentifier, FeedbackParticipantType type, String email, CourseRoster roster) {
+        boolean isInAllTables = emailNameTable.containsKey(participantIdentifier)
+                                && emailLastNameTable.containsKey(participantIdentifier)
+                                && emailTeamNameTable.containsKey(participantIdentifier);
+        if (isInAllTables) {
+            return;
+        }
+        
+        String[] pair = getNameTeamNamePairForEmail(type, email, roster);
+        if (!emailNameTable.containsKey(participantIdentifier)) {
+            emailNameTable.put(participantIdentifier, pair[EMAIL_NAME_PAIR]);
+        }
+        if (!emailLastNameTable.containsKey(participantIdentifier)) {
+            emailLastNameTable.put(participantIdentifier, pair[EMAIL_LASTNAME_PAIR]);
+        }
+        if (!emailTeamNameTable.containsKey(participantIdentifier)) {
+            emailTeamNameTable.put(participantIdentifier, pair[EMAIL_TEAMNAME_PAIR]);
         }
     }
 
@@ -2514,30 +2642,138 @@ public class FeedbackSessionsLogic {
         return isFeedbackSessionViewableToStudents(session);
     }
 
+    private boolean isFeedbackSessionViewableTo(
+            FeedbackSessionAttributes session,
+            String userEmail,
+            boolean isInstructorOfCourse,
+            List<FeedbackQuestionAttributes> questionsOfSession) {
+        
+        if (session.feedbackSessionType == FeedbackSessionType.PRIVATE) {
+            return session.creatorEmail.equals(userEmail);
+        }
+        return isInstructorOfCourse || isFeedbackSessionViewableToStudents(session, questionsOfSession);
+    }
+
     public boolean isFeedbackSessionViewableToStudents(
             FeedbackSessionAttributes session) {
+        if (!session.isVisible()) {
+            return false;
+        }
+        
         // Allow students to view the feedback session if there are questions for them
         List<FeedbackQuestionAttributes> questionsToAnswer =
                 fqLogic.getFeedbackQuestionsForStudents(
                         session.feedbackSessionName, session.courseId);
-        
-        if (session.isVisible() && !questionsToAnswer.isEmpty()) {
+        if (!questionsToAnswer.isEmpty()) {
             return true;
         }
         
-        // Allow students to view the feedback session 
-        // if there are any questions for instructors to answer
-        // where the responses of the questions are visible to the students
-        List<FeedbackQuestionAttributes> questionsWithVisibleResponses = new ArrayList<FeedbackQuestionAttributes>();
-        List<FeedbackQuestionAttributes> questionsForInstructors =
-                                        fqLogic.getFeedbackQuestionsForCreatorInstructor(session);
-        for (FeedbackQuestionAttributes question : questionsForInstructors) {
-            if (frLogic.isResponseOfFeedbackQuestionVisibleToStudent(question)) {
-                questionsWithVisibleResponses.add(question);
+        // the questions for instructors are only retrieved if there are none for students
+        return isFeedbackSessionViewableToStudents(session, fqLogic.getFeedbackQuestionsForCreatorInstructor(session));
+    }
+    
+    /**
+     * Checks whether the feedback session is viewable to students,
+     * given the questions of the session that were already retrieved.
+     */
+    public boolean isFeedbackSessionViewableToStudents(
+            FeedbackSessionAttributes session, List<FeedbackQuestionAttributes> questionsOfSession) {
+        if (!session.isVisible()) {
+            return false;
+        }
+        
+        for (FeedbackQuestionAttributes question : questionsOfSession) {
+            // Allow students to view the feedback session if there are questions for them
+            if (isQuestionForStudents(question)) {
+                return true;
+            }
+            
+            // Allow students to view the feedback session 
+            // if there are any questions for instructors to answer
+            // where the responses of the questions are visible to the students
+            boolean isQuestionForCreatorInstructor = question.giverType == FeedbackParticipantType.INSTRUCTORS
+                                                     || question.giverType == FeedbackParticipantType.SELF;
+            if (isQuestionForCreatorInstructor && frLogic.isResponseOfFeedbackQuestionVisibleToStudent(question)) {
+                return true;
             }
         }
+        return false;
+    }
+    
+    /**
+     * Gets the feedback sessions viewable to a student in the given courses, together with
+     * whether the student has submitted them, using two datastore queries regardless of
+     * the number of courses and sessions.
+     * 
+     * @param studentRoles the student roles of the student, one for each of the courses
+     * @param instructorRoles the instructor roles having the same google ID as the student
+     */
+    public StudentDashboardBundle getStudentDashboard(List<StudentAttributes> studentRoles,
+                                                      List<CourseAttributes> courses,
+                                                      List<InstructorAttributes> instructorRoles) {
+        List<String> courseIds = new ArrayList<String>();
+        for (CourseAttributes course : courses) {
+            courseIds.add(course.getId());
+        }
+        
+        Map<String, List<FeedbackSessionAttributes>> sessionsOfCourse =
+                new HashMap<String, List<FeedbackSessionAttributes>>();
+        for (FeedbackSessionAttributes session : fsDb.getFeedbackSessionsForCourses(courseIds)) {
+            if (!sessionsOfCourse.containsKey(session.courseId)) {
+                sessionsOfCourse.put(session.courseId, new ArrayList<FeedbackSessionAttributes>());
+            }
+            sessionsOfCourse.get(session.courseId).add(session);
+        }
+        
+        Map<String, List<FeedbackQuestionAttributes>> questionsOfSession =
+                new HashMap<String, List<FeedbackQuestionAttributes>>();
+        for (FeedbackQuestionAttributes question : fqLogic.getFeedbackQuestionsForCourses(courseIds)) {
+            String sessionKey = question.courseId + "%" + question.feedbackSessionName;
+            if (!questionsOfSession.containsKey(sessionKey)) {
+                questionsOfSession.put(sessionKey, new ArrayList<FeedbackQuestionAttributes>());
+            }
+            questionsOfSession.get(sessionKey).add(question);
+        }
+        
+        Map<String, String> studentEmailOfCourse = new HashMap<String, String>();
+        for (StudentAttributes student : studentRoles) {
+            studentEmailOfCourse.put(student.course, student.email);
+        }
+        Set<String> instructorCourseAndEmails = new HashSet<String>();
+        for (InstructorAttributes instructor : instructorRoles) {
+            instructorCourseAndEmails.add(instructor.courseId + "%" + instructor.email);
+        }
         
-        return session.isVisible() && !questionsWithVisibleResponses.isEmpty();
+        StudentDashboardBundle dashboard = new StudentDashboardBundle();
+        for (CourseAttributes course : courses) {
+            String studentEmail = studentEmailOfCourse.get(course.getId());
+            Assumption.assertNotNull("Student should not be null at this point.", studentEmail);
+            boolean isInstructorOfCourse = instructorCourseAndEmails.contains(course.getId() + "%" + studentEmail);
+            
+            CourseDetailsBundle courseDetails = new CourseDetailsBundle(course);
+            List<FeedbackSessionAttributes> sessions = sessionsOfCourse.get(course.getId());
+            for (FeedbackSessionAttributes session : sessions == null
+                                                     ? new ArrayList<FeedbackSessionAttributes>() : sessions) {
+                List<FeedbackQuestionAttributes> questions =
+                        questionsOfSession.get(session.courseId + "%" + session.feedbackSessionName);
+                if (questions == null) {
+                    questions = new ArrayList<FeedbackQuestionAttributes>();
+                }
+                if (!isFeedbackSessionViewableTo(session, studentEmail, isInstructorOfCourse, questions)) {
+                    continue;
+                }
+                courseDetails.feedbackSessions.add(new FeedbackSessionDetailsBundle(session));
+                dashboard.sessionSubmissionStatusMap.put(
+                        session, isFeedbackSessionCompletedByStudent(session, studentEmail, questions));
+            }
+            dashboard.courses.add(courseDetails);
+        }
+        return dashboard;
+    }
+    
+    private boolean isQuestionForStudents(FeedbackQuestionAttributes question) {
+        return question.giverType == FeedbackParticipantType.STUDENTS
+               || question.giverType == FeedbackParticipantType.TEAMS;
     }
     
     /**
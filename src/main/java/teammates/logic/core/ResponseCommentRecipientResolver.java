@@ -0,0 +1,108 @@
+package teammates.logic.core;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+
+/**
+ * Collects the students of a course who can see some of the given response comments,
+ * i.e. who are to be notified when the comments are sent.
+ * <br>
+ * Students are identified by their index in the roster, so that the recipients of each comment
+ * (the giver, the receiver, their teams or all students) are added as a union of bit sets.
+ */
+public class ResponseCommentRecipientResolver {
+
+    private final List<StudentAttributes> students;
+    private final Map<String, Integer> studentIndexByEmail = new HashMap<String, Integer>();
+    private final Map<String, BitSet> studentsByTeam = new HashMap<String, BitSet>();
+
+    private final BitSet recipients;
+
+    public ResponseCommentRecipientResolver(List<StudentAttributes> students) {
+        this.students = students;
+        this.recipients = new BitSet(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            StudentAttributes student = students.get(i);
+            studentIndexByEmail.put(student.email, i);
+            BitSet team = studentsByTeam.get(student.team);
+            if (team == null) {
+                team = new BitSet(students.size());
+                studentsByTeam.put(student.team, team);
+            }
+            team.set(i);
+        }
+    }
+
+    /**
+     * Adds the students who can see the comment on the given response to the given question.
+     * Nothing is added if the question or the response does not exist.
+     */
+    public void addRecipientsOf(FeedbackResponseCommentAttributes comment,
+                                FeedbackQuestionAttributes question, FeedbackResponseAttributes response) {
+        if (question == null || response == null || isAllStudentsRecipients()) {
+            return;
+        }
+
+        if (comment.isVisibleTo(FeedbackParticipantType.STUDENTS)) {
+            recipients.set(0, students.size());
+            return;
+        }
+
+        Integer giverIndex = studentIndexByEmail.get(response.giverEmail);
+        if (giverIndex != null) {
+            if (comment.isVisibleTo(FeedbackParticipantType.GIVER)) {
+                recipients.set(giverIndex);
+            }
+            if (question.giverType == FeedbackParticipantType.TEAMS
+                    || comment.isVisibleTo(FeedbackParticipantType.OWN_TEAM_MEMBERS)) {
+                addTeam(students.get(giverIndex).team);
+            }
+        }
+
+        // the recipient of a response is either a student or a team, identified by its name
+        Integer recipientIndex = studentIndexByEmail.get(response.recipientEmail);
+        if (comment.isVisibleTo(FeedbackParticipantType.RECEIVER)) {
+            if (recipientIndex == null) {
+                addTeam(response.recipientEmail);
+            } else {
+                recipients.set(recipientIndex);
+            }
+        }
+        if (comment.isVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)) {
+            addTeam(recipientIndex == null ? response.recipientEmail : students.get(recipientIndex).team);
+        }
+    }
+
+    /**
+     * @return true if every student is already a recipient, in which case
+     *         the remaining comments need not be looked at
+     */
+    public boolean isAllStudentsRecipients() {
+        return !students.isEmpty() && recipients.cardinality() == students.size();
+    }
+
+    public Set<String> getRecipientEmails() {
+        Set<String> emails = new HashSet<String>();
+        for (int i = recipients.nextSetBit(0); i >= 0; i = recipients.nextSetBit(i + 1)) {
+            emails.add(students.get(i).email);
+        }
+        return emails;
+    }
+
+    private void addTeam(String teamName) {
+        BitSet team = studentsByTeam.get(teamName);
+        if (team != null) {
+            recipients.or(team);
+        }
+    }
+}
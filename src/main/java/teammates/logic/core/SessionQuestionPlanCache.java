@@ -0,0 +1,100 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.util.VersionedCache;
+
+/**
+ * Process-wide cache of the {@link QuestionPlan} of feedback sessions, i.e. the parts of
+ * the student submission page that are the same for all the students of the session.
+ * The plans of a course are dropped on all instances when the questions or the sessions
+ * of the course are edited, see {@link VersionedCache}.
+ */
+public final class SessionQuestionPlanCache {
+
+    private static final int MAX_ENTRIES = 200;
+
+    private static final VersionedCache<QuestionPlan> CACHE =
+            new VersionedCache<QuestionPlan>(SessionQuestionPlanCache.class.getSimpleName(), MAX_ENTRIES);
+
+    private SessionQuestionPlanCache() {
+        // utility class
+    }
+
+    /**
+     * @return the version to pass to {@link #get} and {@link #put}, to be read before
+     *         the questions of the course are read.
+     */
+    public static long getVersion(String courseId) {
+        return CACHE.getVersion(courseId);
+    }
+
+    /**
+     * @return the cached plan of the session, or null if there is none or it is out of date.
+     */
+    public static QuestionPlan get(String feedbackSessionName, String courseId, long currentVersion) {
+        return CACHE.get(getKey(feedbackSessionName, courseId), currentVersion);
+    }
+
+    /**
+     * Caches the plan, built from questions read after {@link #getVersion} returned {@code versionBeforeBuilding}.
+     */
+    public static void put(QuestionPlan plan, long versionBeforeBuilding) {
+        CACHE.put(plan.courseId, getKey(plan.feedbackSessionName, plan.courseId), plan, versionBeforeBuilding);
+    }
+
+    /**
+     * Drops the plan of the session. Versions are kept per course, so the plans of
+     * the other sessions of the course are dropped too.
+     */
+    public static void invalidate(String feedbackSessionName, String courseId) {
+        invalidateCourse(courseId);
+    }
+
+    public static void invalidateCourse(String courseId) {
+        CACHE.invalidate(courseId);
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+
+    private static String getKey(String feedbackSessionName, String courseId) {
+        return courseId + '%' + feedbackSessionName;
+    }
+
+    /**
+     * Immutable view of the questions that students answer in a session.
+     */
+    public static final class QuestionPlan {
+
+        private final String feedbackSessionName;
+        private final String courseId;
+        private final List<FeedbackQuestionAttributes> questions;
+
+        public QuestionPlan(String feedbackSessionName, String courseId,
+                            List<FeedbackQuestionAttributes> questions) {
+            this.feedbackSessionName = feedbackSessionName;
+            this.courseId = courseId;
+            List<FeedbackQuestionAttributes> questionsCopy = new ArrayList<FeedbackQuestionAttributes>();
+            for (FeedbackQuestionAttributes question : questions) {
+                questionsCopy.add(new FeedbackQuestionAttributes(question));
+            }
+            this.questions = Collections.unmodifiableList(questionsCopy);
+        }
+
+        /**
+         * @return copies of the questions, sorted by question number, which the caller may modify
+         */
+        public List<FeedbackQuestionAttributes> getQuestionsCopy() {
+            List<FeedbackQuestionAttributes> questionsCopy = new ArrayList<FeedbackQuestionAttributes>();
+            for (FeedbackQuestionAttributes question : questions) {
+                questionsCopy.add(new FeedbackQuestionAttributes(question));
+            }
+            return questionsCopy;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package teammates.logic.core;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import teammates.common.util.Const;
@@ -39,107 +40,131 @@ public class TeamEvalResult {
     // The 2d int arrays are of the format [giverIndex][recipientIndex]
     public List<String> studentEmails;
 
+    /**
+     * Calculates the results of the team. <br>
+     * The calculation is done in a few primitive buffers, row by row, with the same
+     * floating point operations in the same order as the step by step methods below,
+     * so the results are the same. The steps are logged at FINE level only if enabled.
+     */
     public TeamEvalResult(int[][] submissionValues) {
         /*This is the only method that should be public. However, many of the 
          * other methods are set as public for the ease of testing.
          */
+        boolean isLogged = log.isLoggable(Level.FINE);
+        if (isLogged) {
+            log.fine("==================\n" + "starting result calculation for\n"
+                    + pointsToString(submissionValues));
+        }
 
-        log.fine("==================\n" + "starting result calculation for\n"
-                + pointsToString(submissionValues));
-
+        int teamSize = submissionValues.length;
         claimed = submissionValues;
+        normalizedClaimed = new int[teamSize][];
 
-        normalizedClaimed = normalizeValues(claimed);
-
-        int[][] claimedSanitized = sanitizeInput(submissionValues);
-        log.fine("claimed values sanitized :\n"
-                + pointsToString(claimedSanitized));
-
-        double[][] claimedSanitizedNormalized = normalizeValues(intToDouble(claimedSanitized));
-        log.fine("claimed values sanitized and normalized :\n"
-                + pointsToString(claimedSanitizedNormalized));
-
-        double[][] peerContributionRatioAsDouble = calculatePeerContributionRatio(claimedSanitizedNormalized);
-        log.fine("peerContributionRatio as double :\n"
-                + pointsToString(peerContributionRatioAsDouble));
-
-        double[] averagePerceivedAsDouble = averageColumns(peerContributionRatioAsDouble);
-        log.fine("averagePerceived as double:\n"
-                + replaceMagicNumbers(Arrays.toString(averagePerceivedAsDouble)));
-
-        double[] normalizedAveragePerceivedAsDouble = normalizeValues(averagePerceivedAsDouble);
-        log.fine("normalizedAveragePerceivedAsDouble as double:\n"
-                + replaceMagicNumbers(Arrays
-                        .toString(normalizedAveragePerceivedAsDouble)));
-
-        double[][] normalizedPeerContributionRatioAsDouble = adjustPeerContributionRatioToTallyNormalizedAveragePerceived(peerContributionRatioAsDouble);
-        log.fine("normalizedPeerContributionRatio as double :\n"
-                + pointsToString(peerContributionRatioAsDouble));
-
-        normalizedPeerContributionRatio = doubleToInt(normalizedPeerContributionRatioAsDouble);
-        log.fine("normalizedUnbiasedClaimed as int :\n"
-                + pointsToString(normalizedPeerContributionRatio));
+        // the peer contribution ratios: the sanitized claims, normalized, without
+        // the self rating, and normalized again. [giverIndex][recipientIndex]
+        double[][] peerContributionRatio = new double[teamSize][teamSize];
+        double[] row = new double[teamSize];
+        for (int i = 0; i < teamSize; i++) {
+            for (int j = 0; j < teamSize; j++) {
+                row[j] = claimed[i][j];
+            }
+            normalizedClaimed[i] = normalizeToInt(row, calculateFactor(row));
 
-        denormalizedAveragePerceived = calculatePerceivedForStudents(
-                claimedSanitized, normalizedAveragePerceivedAsDouble);
-        log.fine("perceived to students :\n"
-                + pointsToString(denormalizedAveragePerceived));
+            double[] ratio = peerContributionRatio[i];
+            for (int j = 0; j < teamSize; j++) {
+                ratio[j] = isSanitized(claimed[i][j]) ? claimed[i][j] : NA;
+            }
+            multiplyByFactorInPlace(calculateFactor(ratio), ratio);
+            ratio[i] = NA;
+            multiplyByFactorInPlace(calculateFactor(ratio), ratio);
+        }
+        if (isLogged) {
+            log.fine("peerContributionRatio as double :\n"
+                    + pointsToString(peerContributionRatio));
+        }
 
-        normalizedAveragePerceived = doubleToInt(normalizedAveragePerceivedAsDouble);
+        double[] averagePerceived = new double[teamSize];
+        for (int j = 0; j < teamSize; j++) {
+            averagePerceived[j] = averageColumn(peerContributionRatio, j);
+        }
+        // the factor which normalizes the average perceived values also adjusts the
+        // peer contribution ratios to tally with the normalized average perceived values
+        double factor = calculateFactor(averagePerceived);
+
+        double[] normalizedAveragePerceivedAsDouble = averagePerceived;
+        multiplyByFactorInPlace(factor, normalizedAveragePerceivedAsDouble);
+        if (isLogged) {
+            log.fine("normalizedAveragePerceivedAsDouble as double:\n"
+                    + replaceMagicNumbers(Arrays.toString(normalizedAveragePerceivedAsDouble)));
+        }
 
-        log.fine("Final result:\n" + this.toString());
+        normalizedPeerContributionRatio = new int[teamSize][];
+        denormalizedAveragePerceived = new int[teamSize][];
+        for (int i = 0; i < teamSize; i++) {
+            normalizedPeerContributionRatio[i] = normalizeToInt(peerContributionRatio[i], factor);
+            denormalizedAveragePerceived[i] =
+                    calculatePerceivedForStudent(claimed[i], normalizedAveragePerceivedAsDouble, row);
+        }
+        normalizedAveragePerceived = normalizeToInt(normalizedAveragePerceivedAsDouble, 0);
 
-        log.fine("==================");
+        if (isLogged) {
+            log.fine("Final result:\n" + this.toString());
+            log.fine("==================");
+        }
     }
 
     /**
-     * Replaces all missing points (for various reasons such as 'not sure' or
-     * 'did not submit') with NA
+     * Does the same as {@link #calculatePerceivedForStudent(int[], double[])} on a
+     * claimed row which is not sanitized yet, without creating intermediate arrays.
      */
-    private int[][] sanitizeInput(int[][] input) {
-        int teamSize = input.length;
-        int[][] output = new int[teamSize][teamSize];
+    private static int[] calculatePerceivedForStudent(int[] claimedRow,
+            double[] normalizedAveragePerceivedAsDouble, double[] buffer) {
+        int teamSize = claimedRow.length;
+        double sumOfPerceived = NA;
+        double sumOfActual = NA;
         for (int i = 0; i < teamSize; i++) {
-            for (int j = 0; j < teamSize; j++) {
-                int points = input[i][j];
-                boolean pointsNotGiven = points == Const.POINTS_NOT_SUBMITTED
-                                         || points == Const.POINTS_NOT_SURE;
-                output[i][j] = pointsNotGiven ? NA : points;
+            int claimedSanitized = isSanitized(claimedRow[i]) ? claimedRow[i] : NA;
+            double perceived = normalizedAveragePerceivedAsDouble[i];
+            if (claimedSanitized != NA && perceived != NA) {
+                sumOfPerceived = sumOfPerceived == NA ? perceived : sumOfPerceived + perceived;
+            }
+            if (!isSpecialValue((int) perceived) && claimedSanitized != NA) {
+                sumOfActual = sumOfActual == NA ? claimedSanitized : sumOfActual + claimedSanitized;
             }
         }
-        return output;
-    }
-
-    private static double[][] calculatePeerContributionRatio(double[][] input) {
-
-        int teamSize = input.length;
-
-        double[][] selfRatingsRemoved = removeSelfRatings(input);
+        sumOfActual = (int) sumOfActual;
 
-        double[][] selfRatingRemovedAndNormalized = new double[teamSize][teamSize];
-        for (int i = 0; i < teamSize; i++) {
-            selfRatingRemovedAndNormalized[i] = normalizeValues(selfRatingsRemoved[i]);
+        // if the student did not submit
+        if (sumOfActual == NA) {
+            sumOfActual = sumOfPerceived;
         }
 
-        return selfRatingRemovedAndNormalized;
+        System.arraycopy(normalizedAveragePerceivedAsDouble, 0, buffer, 0, teamSize);
+        return normalizeToInt(buffer, sumOfActual / sumOfPerceived);
     }
 
-    private static double[][] adjustPeerContributionRatioToTallyNormalizedAveragePerceived(
-            double[][] peerContributionRatio) {
-        double[] columnsAveraged = averageColumns(peerContributionRatio);
-        double factor = calculateFactor(columnsAveraged);
-        return multiplyByFactor(factor, peerContributionRatio);
+    /**
+     * Multiplies the non-special values by the factor (as {@link #multiplyByFactor(double, double[])})
+     * and rounds all the values. The values given are modified.
+     */
+    private static int[] normalizeToInt(double[] values, double factor) {
+        multiplyByFactorInPlace(factor, values);
+        int[] output = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            output[i] = (int) (Math.round(values[i]));
+        }
+        return output;
     }
 
-    private int[][] calculatePerceivedForStudents(int[][] claimedSanitized,
-            double[] normalizedAveragePerceivedAsDouble) {
-        int teamSize = claimedSanitized.length;
-        int[][] output = new int[teamSize][teamSize];
-        for (int k = 0; k < teamSize; k++) {
-            output[k] = calculatePerceivedForStudent(claimedSanitized[k],
-                    normalizedAveragePerceivedAsDouble);
+    private static void multiplyByFactorInPlace(double factor, double[] values) {
+        if (factor == 0) {
+            return;
+        }
+        for (int j = 0; j < values.length; j++) {
+            if (!isSpecialValue((int) values[j])) {
+                values[j] = values[j] * factor;
+            }
         }
-        return output;
     }
 
     public static int[] calculatePerceivedForStudent(int[] claimedSanitizedRow,
@@ -292,7 +317,9 @@ public class TeamEvalResult {
     
         double idealSum = count * 100.0;
         double factor = actualSum == 0 ? 0 : idealSum / actualSum;
-        log.fine("Factor = " + idealSum + "/" + actualSum + " = " + factor);
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Factor = " + idealSum + "/" + actualSum + " = " + factor);
+        }
         return factor;
     }
 
@@ -337,19 +364,18 @@ public class TeamEvalResult {
                     isSanitized(doubleToInt(input[i])));
             output[i] = averageColumn(input, i);
         }
-        log.fine("Column averages: "
-                + replaceMagicNumbers(Arrays.toString(output)));
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Column averages: "
+                    + replaceMagicNumbers(Arrays.toString(output)));
+        }
         return output;
     }
 
     private static double averageColumn(double[][] array, int columnIndex) {
         double sum = 0;
         int count = 0;
-        StringBuilder values = new StringBuilder();
         for (int j = 0; j < array.length; j++) {
             double value = array[j][columnIndex];
-
-            values.append(value).append(' ');
             if (value == NA) {
                 continue;
             }
@@ -359,8 +385,14 @@ public class TeamEvalResult {
         // omit calculation if no data points
         double average = count == 0 ? NA : (double) (sum / count);
 
-        String logMessage = "Average(" + values.toString().trim() + ") = " + average;
-        log.fine(replaceMagicNumbers(logMessage));
+        if (log.isLoggable(Level.FINE)) {
+            StringBuilder values = new StringBuilder();
+            for (int j = 0; j < array.length; j++) {
+                values.append(array[j][columnIndex]).append(' ');
+            }
+            String logMessage = "Average(" + values.toString().trim() + ") = " + average;
+            log.fine(replaceMagicNumbers(logMessage));
+        }
 
         return average;
     }
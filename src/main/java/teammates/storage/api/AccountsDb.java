@@ -1,6 +1,7 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -31,6 +32,8 @@ import com.google.appengine.api.datastore.KeyFactory;
  */
 public class AccountsDb extends EntitiesDb {
     
+    private CourseInstitutesDb courseInstitutesDb = new CourseInstitutesDb();
+    
     /**
      * Preconditions: 
      * <br> * {@code accountToAdd} is not null and has valid data.
@@ -142,6 +145,7 @@ public class AccountsDb extends EntitiesDb {
         }
         
         a.sanitizeForSaving();
+        boolean isInstituteChanged = !a.institute.equals(accountToUpdate.getInstitute());
         accountToUpdate.setName(a.name);
         accountToUpdate.setEmail(a.email);
         accountToUpdate.setIsInstructor(a.isInstructor);
@@ -157,8 +161,11 @@ public class AccountsDb extends EntitiesDb {
                 accountToUpdate.setStudentProfile((StudentProfile) a.studentProfile.toEntity());
             }
         }
-        log.info(a.getBackupIdentifier());
+        logChange(a);
         closePM();
+        if (isInstituteChanged) {
+            courseInstitutesDb.updateInstituteOfAccount(a.googleId, a.institute);
+        }
     }
     
     public void updateAccount(AccountAttributes a) 
@@ -190,6 +197,7 @@ public class AccountsDb extends EntitiesDb {
         }
         deleteEntity(accountToDelete);
         closePM();
+        courseInstitutesDb.deleteInstitutesOfAccounts(Arrays.asList(googleId));
     }
     
     public void deleteAccounts(Collection<AccountAttributes> accounts) {
@@ -201,6 +209,11 @@ public class AccountsDb extends EntitiesDb {
         }
         deleteEntities(accounts);
         closePM();
+        List<String> googleIds = new ArrayList<String>();
+        for (AccountAttributes deletedAccount : accounts) {
+            googleIds.add(deletedAccount.googleId);
+        }
+        courseInstitutesDb.deleteInstitutesOfAccounts(googleIds);
     }
 
     private Account getAccountEntity(String googleId, boolean retrieveStudentProfile) {
@@ -62,7 +62,7 @@ public class AdminEmailsDb extends EntitiesDb {
         adminEmailToUpdate.setIsInTrashBin(ae.isInTrashBin);
         adminEmailToUpdate.setSendDate(ae.sendDate);
         
-        log.info(ae.getBackupIdentifier());
+        logChange(ae);
         closePM();
         
     }
@@ -119,7 +119,7 @@ public class AdminEmailsDb extends EntitiesDb {
         adminEmailToUpdate.setIsInTrashBin(newAdminEmail.isInTrashBin);
         adminEmailToUpdate.setSendDate(newAdminEmail.sendDate);
         
-        log.info(newAdminEmail.getBackupIdentifier());
+        logChange(newAdminEmail);
         closePM();
         
     }
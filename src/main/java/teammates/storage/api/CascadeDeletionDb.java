@@ -0,0 +1,245 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.StringHelper;
+import teammates.storage.entity.Comment;
+import teammates.storage.entity.CopiableQuestion;
+import teammates.storage.entity.Course;
+import teammates.storage.entity.FeedbackQuestion;
+import teammates.storage.entity.FeedbackResponse;
+import teammates.storage.entity.FeedbackResponseComment;
+import teammates.storage.entity.FeedbackSession;
+import teammates.storage.entity.Instructor;
+import teammates.storage.entity.Student;
+import teammates.storage.search.SearchManager;
+
+import com.google.appengine.api.datastore.Cursor;
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.FetchOptions;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+import com.google.appengine.api.datastore.Query;
+import com.google.appengine.api.datastore.Query.CompositeFilterOperator;
+import com.google.appengine.api.datastore.Query.Filter;
+import com.google.appengine.api.datastore.Query.FilterOperator;
+import com.google.appengine.api.datastore.Query.FilterPredicate;
+import com.google.appengine.api.datastore.QueryResultList;
+
+/**
+ * Deletes a course or a feedback session together with everything in it, one kind of entity
+ * after another. The keys of each kind are collected with keys-only queries and deleted in batches
+ * of {@link #DELETION_BATCH_SIZE}, together with their search documents.
+ * <br>
+ * A deletion stops after the first batch which ends past its deadline, and returns a checkpoint
+ * from which it can be resumed, e.g. by a task queue worker. Deleting a batch again does no harm,
+ * so a deletion can also be resumed from the checkpoint it was started from.
+ */
+public class CascadeDeletionDb extends EntitiesDb {
+
+    public static final int DELETION_BATCH_SIZE = 500;
+
+    /**
+     * The search service limits the number of documents which can be deleted in one call.
+     */
+    private static final int MAX_DOCUMENTS_PER_DELETION = 200;
+
+    private static final String CHECKPOINT_SEPARATOR = ":";
+
+    private static final String COURSE = Course.class.getSimpleName();
+    private static final String INSTRUCTOR = Instructor.class.getSimpleName();
+    private static final String STUDENT = Student.class.getSimpleName();
+    private static final String COMMENT = Comment.class.getSimpleName();
+    private static final String FEEDBACK_SESSION = FeedbackSession.class.getSimpleName();
+    private static final String FEEDBACK_QUESTION = FeedbackQuestion.class.getSimpleName();
+    private static final String FEEDBACK_RESPONSE = FeedbackResponse.class.getSimpleName();
+    private static final String FEEDBACK_RESPONSE_COMMENT = FeedbackResponseComment.class.getSimpleName();
+
+    /**
+     * The course goes first, so that it disappears at once even if the rest is deleted by later tasks.
+     */
+    private static final List<String> KINDS_OF_COURSE = Arrays.asList(
+            COURSE, INSTRUCTOR, STUDENT, COMMENT,
+            FEEDBACK_SESSION, FEEDBACK_QUESTION, FEEDBACK_RESPONSE, FEEDBACK_RESPONSE_COMMENT);
+
+    private static final List<String> KINDS_OF_SESSION = Arrays.asList(
+            FEEDBACK_SESSION, FEEDBACK_QUESTION, FEEDBACK_RESPONSE, FEEDBACK_RESPONSE_COMMENT);
+
+    private DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+
+    private CourseInstitutesDb courseInstitutesDb = new CourseInstitutesDb();
+
+    /**
+     * Deletes the course and all the instructors, students, comments and feedback sessions in it.<br>
+     * Preconditions: <br>
+     * * All parameters except {@code checkpoint} are non-null.
+     * @param checkpoint returned by an earlier call for the same course, or null to start from the beginning
+     * @param deadline the time in milliseconds after which no more batches are deleted
+     * @return the checkpoint to resume the deletion from, or null if nothing is left to delete
+     */
+    public String deleteCourseCascade(String courseId, String checkpoint, long deadline) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        return deleteCascade(KINDS_OF_COURSE, courseId, null, checkpoint, deadline);
+    }
+
+    /**
+     * Deletes the feedback session and all the questions, responses and response comments in it.<br>
+     * Preconditions: <br>
+     * * All parameters except {@code checkpoint} are non-null.
+     * @param checkpoint returned by an earlier call for the same session, or null to start from the beginning
+     * @param deadline the time in milliseconds after which no more batches are deleted
+     * @return the checkpoint to resume the deletion from, or null if nothing is left to delete
+     */
+    public String deleteFeedbackSessionCascade(String feedbackSessionName, String courseId,
+                                               String checkpoint, long deadline) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        return deleteCascade(KINDS_OF_SESSION, courseId, feedbackSessionName, checkpoint, deadline);
+    }
+
+    /**
+     * A checkpoint is the index of the kind being deleted, followed by the cursor
+     * of the next batch of that kind if the kind has been partly deleted.
+     */
+    private String deleteCascade(List<String> kinds, String courseId, String feedbackSessionName,
+                                 String checkpoint, long deadline) {
+        int kindIndex = 0;
+        Cursor cursor = null;
+        if (checkpoint != null) {
+            int separatorIndex = checkpoint.indexOf(CHECKPOINT_SEPARATOR);
+            if (separatorIndex == -1) {
+                kindIndex = Integer.parseInt(checkpoint);
+            } else {
+                kindIndex = Integer.parseInt(checkpoint.substring(0, separatorIndex));
+                cursor = Cursor.fromWebSafeString(checkpoint.substring(separatorIndex + 1));
+            }
+            Assumption.assertTrue("Invalid deletion checkpoint: " + checkpoint,
+                                  kindIndex >= 0 && kindIndex < kinds.size());
+        }
+
+        while (true) {
+            cursor = deleteBatch(kinds.get(kindIndex), courseId, feedbackSessionName, cursor);
+            if (cursor == null) {
+                kindIndex++;
+                if (kindIndex == kinds.size()) {
+                    return null;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return cursor == null ? String.valueOf(kindIndex)
+                                      : kindIndex + CHECKPOINT_SEPARATOR + cursor.toWebSafeString();
+            }
+        }
+    }
+
+    /**
+     * Deletes the next batch of entities of the kind, starting from the cursor if it is non-null.
+     * @return the cursor of the batch after this one, or null if no entity of the kind is left
+     */
+    private Cursor deleteBatch(String kind, String courseId, String feedbackSessionName, Cursor cursor) {
+        if (kind.equals(COURSE)) {
+            datastore.delete(KeyFactory.createKey(COURSE, courseId));
+            logDeletion(new CourseAttributes(courseId, "Non-existent course"));
+            return null;
+        }
+
+        Query query = new Query(kind).setFilter(getFilter(kind, courseId, feedbackSessionName));
+        // the search documents of instructors are identified by a property of theirs, not by their keys
+        if (!kind.equals(INSTRUCTOR)) {
+            query.setKeysOnly();
+        }
+        FetchOptions fetchOptions = FetchOptions.Builder.withLimit(DELETION_BATCH_SIZE)
+                                                        .chunkSize(DELETION_BATCH_SIZE)
+                                                        .prefetchSize(DELETION_BATCH_SIZE);
+        if (cursor != null) {
+            fetchOptions.startCursor(cursor);
+        }
+        QueryResultList<Entity> entities = datastore.prepare(query).asQueryResultList(fetchOptions);
+
+        List<Key> keys = new ArrayList<Key>();
+        List<String> documentIds = new ArrayList<String>();
+        for (Entity entity : entities) {
+            Key key = entity.getKey();
+            keys.add(key);
+            if (kind.equals(INSTRUCTOR)) {
+                String registrationKey = (String) entity.getProperty("registrationKey");
+                if (registrationKey != null) {
+                    documentIds.add(StringHelper.encrypt(registrationKey));
+                }
+            } else if (kind.equals(STUDENT)) {
+                documentIds.add(KeyFactory.keyToString(key));
+            } else if (kind.equals(COMMENT) || kind.equals(FEEDBACK_RESPONSE_COMMENT)) {
+                documentIds.add(String.valueOf(key.getId()));
+            } else if (kind.equals(FEEDBACK_QUESTION)) {
+                keys.add(CopiableQuestion.createKey(KeyFactory.keyToString(key)));
+            }
+        }
+
+        if (!keys.isEmpty()) {
+            datastore.delete(keys);
+            deleteDocumentsInBatches(getSearchIndex(kind), documentIds);
+        }
+        if (kind.equals(INSTRUCTOR)) {
+            courseInstitutesDb.deleteInstitutesOfCourses(Arrays.asList(courseId));
+        }
+        if (kind.equals(FEEDBACK_SESSION) && feedbackSessionName != null && !keys.isEmpty()) {
+            FeedbackSessionAttributes session = new FeedbackSessionAttributes();
+            session.feedbackSessionName = feedbackSessionName;
+            session.courseId = courseId;
+            logDeletion(session);
+        }
+
+        return entities.size() < DELETION_BATCH_SIZE ? null : entities.getCursor();
+    }
+
+    private static Filter getFilter(String kind, String courseId, String feedbackSessionName) {
+        String courseIdProperty = kind.equals(STUDENT) ? "courseID" : "courseId";
+        Filter courseFilter = new FilterPredicate(courseIdProperty, FilterOperator.EQUAL, courseId);
+        if (feedbackSessionName == null) {
+            return courseFilter;
+        }
+        return CompositeFilterOperator.and(
+                courseFilter, new FilterPredicate("feedbackSessionName", FilterOperator.EQUAL, feedbackSessionName));
+    }
+
+    private static String getSearchIndex(String kind) {
+        if (kind.equals(INSTRUCTOR)) {
+            return Const.SearchIndex.INSTRUCTOR;
+        } else if (kind.equals(STUDENT)) {
+            return Const.SearchIndex.STUDENT;
+        } else if (kind.equals(COMMENT)) {
+            return Const.SearchIndex.COMMENT;
+        } else if (kind.equals(FEEDBACK_RESPONSE_COMMENT)) {
+            return Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT;
+        }
+        return null;
+    }
+
+    private void deleteDocumentsInBatches(String indexName, List<String> documentIds) {
+        for (int i = 0; i < documentIds.size(); i += MAX_DOCUMENTS_PER_DELETION) {
+            List<String> batch = documentIds.subList(i, Math.min(i + MAX_DOCUMENTS_PER_DELETION, documentIds.size()));
+            try {
+                SearchManager.deleteDocuments(indexName, batch.toArray(new String[batch.size()]));
+            } catch (Exception e) {
+                log.info("Unable to delete documents in the index: " + indexName + " with document ids " + batch);
+            }
+        }
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        // this class deletes entities by their keys only
+        return null;
+    }
+}
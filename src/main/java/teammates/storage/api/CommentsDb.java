@@ -229,6 +229,26 @@ public class CommentsDb extends EntitiesDb {
         return commentAttributesList;
     }
     
+    /**
+     * Counts the comments in the sending state (SENT|SENDING|PENDING) with a keys-only query,
+     * without loading the comments themselves.
+     */
+    public int getCommentsCountForSendingState(String courseId, CommentSendingState state) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        return countCommentsForSendingState(courseId, state, 0);
+    }
+    
+    /**
+     * @return true if there is a comment in the sending state (SENT|SENDING|PENDING).
+     *         Only the key of at most one comment is read.
+     */
+    public boolean isCommentForSendingStatePresent(String courseId, CommentSendingState state) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        return countCommentsForSendingState(courseId, state, 1) > 0;
+    }
+    
     /*
      * Get comments for a course
      */
@@ -259,7 +279,7 @@ public class CommentsDb extends EntitiesDb {
             comment.setSendingState(newState);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logChangeOfAllEntitiesInCourse(courseId, "Comment");
         getPM().close();
     }
 
@@ -310,7 +330,7 @@ public class CommentsDb extends EntitiesDb {
         getPM().close();
         
         CommentAttributes updatedComment = new CommentAttributes(comment);
-        log.info(updatedComment.getBackupIdentifier());
+        logChange(updatedComment);
         return updatedComment;
     }
     
@@ -336,7 +356,7 @@ public class CommentsDb extends EntitiesDb {
             giverComment.setGiverEmail(updatedInstrEmail);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logChangeOfAllEntitiesInCourse(courseId, "Comment");
         getPM().close();
     }
     
@@ -350,7 +370,7 @@ public class CommentsDb extends EntitiesDb {
             recipientComment.setGiverEmail(updatedInstrEmail);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logChangeOfAllEntitiesInCourse(courseId, "Comment");
         getPM().close();
     }
     
@@ -377,7 +397,7 @@ public class CommentsDb extends EntitiesDb {
             recipientComment.getRecipients().add(updatedStudentEmail);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logChangeOfAllEntitiesInCourse(courseId, "Comment");
         getPM().close();
     }
     
@@ -567,6 +587,14 @@ public class CommentsDb extends EntitiesDb {
         return getCommentsWithoutDeletedEntity(commentList);
     }
     
+    /**
+     * @param limit the maximum number of comments to count, or 0 to count all of them
+     */
+    private int countCommentsForSendingState(String courseId, CommentSendingState sendingState, int limit) {
+        return countEntities(Comment.class.getSimpleName(), limit,
+                             "courseId", courseId, "sendingState", sendingState.toString());
+    }
+    
     private List<Comment> getCommentEntitiesForGiver(String courseId, String giverEmail) {
         Query q = getPM().newQuery(Comment.class);
         q.declareParameters("String courseIdParam, String giverEmailParam");
@@ -0,0 +1,210 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.Query;
+
+import teammates.common.datatransfer.CopiableQuestionSummary;
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.entity.CopiableQuestion;
+
+import com.google.appengine.api.datastore.Key;
+
+/**
+ * Handles the catalogue of questions which instructors can copy, i.e. one
+ * {@link CopiableQuestion} per feedback question, kept up to date by {@link FeedbackQuestionsDb}.
+ * The catalogue of an instructor is made of the entries of the instructor's courses,
+ * so that it need not be rebuilt when instructors join or leave a course.
+ */
+public class CopiableQuestionsDb extends EntitiesDb {
+
+    /**
+     * The datastore limits the number of values an {@code IN} filter can match.
+     */
+    private static final int MAX_COURSES_PER_QUERY = 30;
+
+    private static final Comparator<CopiableQuestion> SORT_KEY_ORDER = new Comparator<CopiableQuestion>() {
+        @Override
+        public int compare(CopiableQuestion q1, CopiableQuestion q2) {
+            return q1.getSortKey().compareTo(q2.getSortKey());
+        }
+    };
+
+    /**
+     * Adds the questions to the catalogue, replacing their existing entries if any.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null and every question has an ID.
+     */
+    public void putCopiableQuestions(Collection<FeedbackQuestionAttributes> questions) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, questions);
+
+        if (questions.isEmpty()) {
+            return;
+        }
+
+        List<String> ids = new ArrayList<String>();
+        for (FeedbackQuestionAttributes question : questions) {
+            ids.add(question.getId());
+        }
+        Map<String, CopiableQuestion> existingEntries = new HashMap<String, CopiableQuestion>();
+        for (CopiableQuestion entry : getCopiableQuestionEntities(ids)) {
+            existingEntries.put(entry.getFeedbackQuestionId(), entry);
+        }
+
+        List<CopiableQuestion> newEntries = new ArrayList<CopiableQuestion>();
+        for (FeedbackQuestionAttributes question : questions) {
+            FeedbackQuestionDetails details = question.getQuestionDetails();
+            CopiableQuestion entry = existingEntries.get(question.getId());
+            if (entry == null) {
+                newEntries.add(new CopiableQuestion(question.getId(), question.courseId,
+                                                    question.feedbackSessionName,
+                                                    details.getQuestionTypeDisplayName(), details.questionText));
+            } else {
+                entry.setQuestion(question.courseId, question.feedbackSessionName,
+                                  details.getQuestionTypeDisplayName(), details.questionText);
+            }
+        }
+
+        getPM().makePersistentAll(newEntries);
+        closePM();
+    }
+
+    /**
+     * Removes the questions with the given IDs from the catalogue.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteCopiableQuestions(Collection<String> feedbackQuestionIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionIds);
+
+        if (feedbackQuestionIds.isEmpty()) {
+            return;
+        }
+
+        getPM().deletePersistentAll(getCopiableQuestionEntities(new ArrayList<String>(feedbackQuestionIds)));
+        getPM().flush();
+    }
+
+    /**
+     * Removes all the questions of the courses from the catalogue.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteCopiableQuestionsForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        if (courseIds.isEmpty()) {
+            return;
+        }
+
+        Query q = getPM().newQuery(CopiableQuestion.class);
+        q.setFilter(":p.contains(courseId)");
+        q.deletePersistentAll(courseIds);
+        getPM().flush();
+    }
+
+    /**
+     * Gets one page of the questions of the courses, sorted by course, session, question type
+     * and question text. Pages are cut after the sort key of their last question, so fetching a page
+     * reads at most one page of entries per {@link #MAX_COURSES_PER_QUERY} courses,
+     * regardless of how deep into the catalogue it is.<br>
+     * Preconditions: <br>
+     * * All parameters except {@code pageToken} are non-null.
+     * @param pageToken the token of the page to get, or null for the first page
+     * @return A page with at most {@code pageSize} questions.
+     */
+    public CopiableQuestionsPageBundle getCopiableQuestionsForCoursesInPage(
+            List<String> courseIds, int pageSize, String pageToken) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        Assumption.assertTrue("Page size must be positive", pageSize > 0);
+
+        // one more entry than needed is read to tell whether there is a next page
+        List<CopiableQuestion> entries = new ArrayList<CopiableQuestion>();
+        for (int i = 0; i < courseIds.size(); i += MAX_COURSES_PER_QUERY) {
+            List<String> courseIdsInQuery =
+                    courseIds.subList(i, Math.min(i + MAX_COURSES_PER_QUERY, courseIds.size()));
+            entries.addAll(getCopiableQuestionEntitiesForCourses(courseIdsInQuery, pageSize + 1, pageToken));
+        }
+        Collections.sort(entries, SORT_KEY_ORDER);
+
+        List<CopiableQuestionSummary> questions = new ArrayList<CopiableQuestionSummary>();
+        for (CopiableQuestion entry : entries.subList(0, Math.min(pageSize, entries.size()))) {
+            questions.add(new CopiableQuestionSummary(entry.getFeedbackQuestionId(), entry.getCourseId(),
+                                                      entry.getFeedbackSessionName(),
+                                                      entry.getQuestionTypeDisplayName(),
+                                                      entry.getQuestionText()));
+        }
+
+        String nextPageToken = entries.size() > pageSize
+                             ? entries.get(pageSize - 1).getSortKey()
+                             : null;
+        return new CopiableQuestionsPageBundle(questions, nextPageToken);
+    }
+
+    private List<CopiableQuestion> getCopiableQuestionEntitiesForCourses(
+            List<String> courseIds, int limit, String startAfterSortKey) {
+        Query q = getPM().newQuery(CopiableQuestion.class);
+        if (startAfterSortKey == null) {
+            q.declareParameters("java.util.Collection courseIdsParam");
+            q.setFilter("courseIdsParam.contains(courseId)");
+        } else {
+            q.declareParameters("java.util.Collection courseIdsParam, String sortKeyParam");
+            q.setFilter("courseIdsParam.contains(courseId) && sortKey > sortKeyParam");
+        }
+        q.setOrdering("sortKey ascending");
+        q.setRange(0, limit);
+
+        @SuppressWarnings("unchecked")
+        List<CopiableQuestion> entries = startAfterSortKey == null
+                                       ? (List<CopiableQuestion>) q.execute(courseIds)
+                                       : (List<CopiableQuestion>) q.execute(courseIds, startAfterSortKey);
+
+        List<CopiableQuestion> existingEntries = new ArrayList<CopiableQuestion>();
+        for (CopiableQuestion entry : entries) {
+            if (!JDOHelper.isDeleted(entry)) {
+                existingEntries.add(entry);
+            }
+        }
+        return existingEntries;
+    }
+
+    private List<CopiableQuestion> getCopiableQuestionEntities(List<String> feedbackQuestionIds) {
+        List<CopiableQuestion> entries = new ArrayList<CopiableQuestion>();
+        for (int i = 0; i < feedbackQuestionIds.size(); i += MAX_KEYS_PER_BATCH_GET) {
+            List<Key> keysInBatch = new ArrayList<Key>();
+            for (String id : feedbackQuestionIds.subList(
+                    i, Math.min(i + MAX_KEYS_PER_BATCH_GET, feedbackQuestionIds.size()))) {
+                keysInBatch.add(CopiableQuestion.createKey(id));
+            }
+            Query q = getPM().newQuery(CopiableQuestion.class);
+            q.setFilter(":p.contains(key)");
+
+            @SuppressWarnings("unchecked")
+            List<CopiableQuestion> entriesInBatch = (List<CopiableQuestion>) q.execute(keysInBatch);
+            for (CopiableQuestion entry : entriesInBatch) {
+                if (!JDOHelper.isDeleted(entry)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        // catalogue entries have no attributes of their own
+        return null;
+    }
+}
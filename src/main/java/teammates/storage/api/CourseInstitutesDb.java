@@ -0,0 +1,178 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.Query;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.entity.CourseInstitute;
+
+import com.google.appengine.api.datastore.Key;
+
+/**
+ * Handles the institutes resolved for courses, i.e. one {@link CourseInstitute} per course
+ * whose institute has been looked up or set by a joining instructor.
+ * {@link AccountsDb} and {@link InstructorsDb} keep them up to date: an account update is
+ * written to the institutes taken from the account, and the institute of a course is removed
+ * when an instructor of the course is removed or given another google ID.
+ * Empty institutes are never stored, so that a course without one is looked up again.
+ */
+public class CourseInstitutesDb extends EntitiesDb {
+
+    /**
+     * The datastore limits the number of values an {@code IN} filter can match.
+     */
+    private static final int MAX_ACCOUNTS_PER_QUERY = 30;
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the stored institute of the course, or null if there is none.
+     */
+    public String getInstitute(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        CourseInstitute courseInstitute = getCourseInstituteEntity(courseId);
+        return courseInstitute == null ? null : courseInstitute.getInstitute();
+    }
+
+    /**
+     * Stores the institute of the course, taken from the account of the given google ID,
+     * replacing the stored one if any. Does nothing if the institute is empty.<br>
+     * Preconditions: <br>
+     * * {@code courseId} and {@code googleId} are non-null.
+     */
+    public void putInstitute(String courseId, String institute, String googleId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
+
+        if (institute == null || institute.isEmpty()) {
+            return;
+        }
+        getPM().makePersistent(new CourseInstitute(courseId, institute, googleId));
+        closePM();
+    }
+
+    /**
+     * Stores the institute of the course, taken from the account of an instructor who has just
+     * joined the course, unless the course has one stored already.
+     * Does nothing if the institute is empty.<br>
+     * Preconditions: <br>
+     * * {@code courseId} and {@code googleId} are non-null.
+     */
+    public void putInstituteIfAbsent(String courseId, String institute, String googleId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        if (institute == null || institute.isEmpty() || getCourseInstituteEntity(courseId) != null) {
+            return;
+        }
+        putInstitute(courseId, institute, googleId);
+    }
+
+    /**
+     * Writes the institute of the account with the given google ID to the courses whose institute
+     * was taken from that account, or removes their institutes if it is empty.
+     * To be called whenever the institute in the account changes.<br>
+     * Preconditions: <br>
+     * * {@code googleId} is non-null.
+     */
+    public void updateInstituteOfAccount(String googleId, String institute) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
+
+        List<CourseInstitute> courseInstitutes = getCourseInstituteEntitiesForAccounts(Arrays.asList(googleId));
+        if (institute == null || institute.isEmpty()) {
+            getPM().deletePersistentAll(courseInstitutes);
+            getPM().flush();
+            return;
+        }
+        for (CourseInstitute courseInstitute : courseInstitutes) {
+            courseInstitute.setInstitute(institute);
+        }
+        closePM();
+    }
+
+    /**
+     * Removes the institutes taken from the accounts with the given google IDs.
+     * To be called whenever the accounts are deleted.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteInstitutesOfAccounts(Collection<String> googleIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleIds);
+
+        if (googleIds.isEmpty()) {
+            return;
+        }
+        getPM().deletePersistentAll(getCourseInstituteEntitiesForAccounts(new ArrayList<String>(googleIds)));
+        getPM().flush();
+    }
+
+    /**
+     * Removes the institutes of the courses, so that they are looked up again.
+     * To be called whenever an instructor of the courses is removed or given another google ID.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteInstitutesOfCourses(Collection<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        List<String> courseIdList = new ArrayList<String>(courseIds);
+        for (int i = 0; i < courseIdList.size(); i += MAX_KEYS_PER_BATCH_GET) {
+            List<Key> keysInBatch = new ArrayList<Key>();
+            for (String courseId : courseIdList.subList(
+                    i, Math.min(i + MAX_KEYS_PER_BATCH_GET, courseIdList.size()))) {
+                keysInBatch.add(CourseInstitute.createKey(courseId));
+            }
+            Query q = getPM().newQuery(CourseInstitute.class);
+            q.setFilter(":p.contains(key)");
+            q.deletePersistentAll(keysInBatch);
+        }
+        getPM().flush();
+    }
+
+    private CourseInstitute getCourseInstituteEntity(String courseId) {
+        try {
+            CourseInstitute courseInstitute =
+                    getPM().getObjectById(CourseInstitute.class, CourseInstitute.createKey(courseId));
+            return JDOHelper.isDeleted(courseInstitute) ? null : courseInstitute;
+        } catch (IllegalArgumentException iae) {
+            return null;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        }
+    }
+
+    private List<CourseInstitute> getCourseInstituteEntitiesForAccounts(List<String> googleIds) {
+        List<CourseInstitute> courseInstitutes = new ArrayList<CourseInstitute>();
+        for (int i = 0; i < googleIds.size(); i += MAX_ACCOUNTS_PER_QUERY) {
+            Query q = getPM().newQuery(CourseInstitute.class);
+            q.setFilter(":p.contains(googleId)");
+
+            @SuppressWarnings("unchecked")
+            List<CourseInstitute> courseInstitutesInQuery = (List<CourseInstitute>) q.execute(
+                    googleIds.subList(i, Math.min(i + MAX_ACCOUNTS_PER_QUERY, googleIds.size())));
+            for (CourseInstitute courseInstitute : courseInstitutesInQuery) {
+                if (!JDOHelper.isDeleted(courseInstitute)) {
+                    courseInstitutes.add(courseInstitute);
+                }
+            }
+        }
+        return courseInstitutes;
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        // course institutes have no attributes of their own
+        return null;
+    }
+}
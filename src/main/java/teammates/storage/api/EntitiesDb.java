@@ -2,17 +2,22 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.jdo.PersistenceManager;
 
 import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.EntityChangeAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
+import teammates.common.util.ResultsFragmentCache;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.storage.datastore.Datastore;
@@ -22,6 +27,18 @@ import teammates.storage.search.SearchQuery;
 
 import com.google.appengine.api.blobstore.BlobKey;
 import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
+import com.google.appengine.api.datastore.Cursor;
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.FetchOptions;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.Query;
+import com.google.appengine.api.datastore.Query.CompositeFilterOperator;
+import com.google.appengine.api.datastore.Query.Filter;
+import com.google.appengine.api.datastore.Query.FilterOperator;
+import com.google.appengine.api.datastore.Query.FilterPredicate;
+import com.google.appengine.api.datastore.QueryResultList;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 import com.google.appengine.api.search.SearchQueryException;
@@ -40,6 +57,11 @@ public abstract class EntitiesDb {
     public static final String ERROR_CREATE_INSTRUCTOR_ALREADY_EXISTS = "Trying to create a Instructor that exists: ";
     public static final String ERROR_TRYING_TO_MAKE_NON_EXISTENT_ACCOUNT_AN_INSTRUCTOR = "Trying to make an non-existent account an Instructor :";
 
+    /**
+     * The number of keys fetched by one batch get, which is the most the datastore allows.
+     */
+    protected static final int MAX_KEYS_PER_BATCH_GET = 1000;
+
     protected static final Logger log = Utils.getLogger();
     
     /**
@@ -52,7 +74,7 @@ public abstract class EntitiesDb {
         Assumption.assertNotNull(
                 Const.StatusCodes.DBLEVEL_NULL_INPUT, entityToAdd);
         
-        entityToAdd.sanitizeForSaving();
+        entityToAdd.sanitizeForSavingIfNeeded();
         
         if (!entityToAdd.isValid()) {
             throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
@@ -92,7 +114,7 @@ public abstract class EntitiesDb {
             }
         }
         
-        log.info(entityToAdd.getBackupIdentifier());
+        logChange(entityToAdd);
         
         return entity;
     }
@@ -106,7 +128,7 @@ public abstract class EntitiesDb {
         List<Object> entities = new ArrayList<Object>(); 
         
         for (EntityAttributes entityToAdd : entitiesToAdd) {
-            entityToAdd.sanitizeForSaving();
+            entityToAdd.sanitizeForSavingIfNeeded();
             
             if (!entityToAdd.isValid()) {
                 throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
@@ -117,12 +139,11 @@ public abstract class EntitiesDb {
             } else {
                 entitiesToUpdate.add(entityToAdd);
             }
-            
-            log.info(entityToAdd.getBackupIdentifier());
         }
        
         getPM().makePersistentAll(entities);
         getPM().flush();
+        logChanges(entitiesToAdd, false);
  
         return entitiesToUpdate;
 
@@ -137,7 +158,7 @@ public abstract class EntitiesDb {
         List<Object> entities = new ArrayList<Object>(); 
         
         for (EntityAttributes entityToAdd : entitiesToAdd) {
-            entityToAdd.sanitizeForSaving();
+            entityToAdd.sanitizeForSavingIfNeeded();
             
             if (!entityToAdd.isValid()) {
                 throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
@@ -148,12 +169,11 @@ public abstract class EntitiesDb {
             } else {
                 entitiesToUpdate.add(entityToAdd);
             }
-            
-            log.info(entityToAdd.getBackupIdentifier());
         }
         
         getPM().makePersistentAll(entities);
         getPM().flush();
+        logChanges(entitiesToAdd, false);
  
         return entities;
 
@@ -171,7 +191,7 @@ public abstract class EntitiesDb {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entityToAdd);
         
-        entityToAdd.sanitizeForSaving();
+        entityToAdd.sanitizeForSavingIfNeeded();
         
         if (!entityToAdd.isValid()) {
             throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
@@ -200,11 +220,68 @@ public abstract class EntitiesDb {
                          + entityToAdd.getIdentificationString());
             }
         }
-        log.info(entityToAdd.getBackupIdentifier());
+        logChange(entityToAdd);
         
         return entity;
     }
     
+    /**
+     * Creates the entities in a single batch, without checking whether they exist,
+     * and waits for the batch to persist. As the entities are stored together, only
+     * the last one is checked for. None of the entities is created if any of them is invalid.
+     * <br> Warning: Do not use this method unless the entities cannot exist yet,
+     * e.g. when their keys are generated on creation.
+     * <br> Preconditions: 
+     * <br> * {@code entitiesToAdd} is not null.
+     * @return the created entities, in the order given
+     */
+    public List<Object> createEntitiesWithoutExistenceCheck(List<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
+        
+        List<Object> entities = new ArrayList<Object>();
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            entityToAdd.sanitizeForSavingIfNeeded();
+            
+            if (!entityToAdd.isValid()) {
+                throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
+            }
+            
+            entities.add(entityToAdd.toEntity());
+        }
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        
+        getPM().makePersistentAll(entities);
+        getPM().flush();
+        
+        // Wait for the batch to persist
+        EntityAttributes lastEntityToAdd = entitiesToAdd.get(entitiesToAdd.size() - 1);
+        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
+            int elapsedTime = 0;
+            Object entityCheck = getEntity(lastEntityToAdd);
+            while (entityCheck == null
+                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
+                ThreadHelper.waitBriefly();
+                entityCheck = getEntity(lastEntityToAdd);
+                //check before incrementing to avoid boundary case problem
+                if (entityCheck == null) {
+                    elapsedTime += ThreadHelper.WAIT_DURATION;
+                }
+            }
+            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
+                log.info("Operation did not persist in time: create"
+                         + lastEntityToAdd.getEntityTypeAsString() + "->"
+                         + lastEntityToAdd.getIdentificationString());
+            }
+        }
+        logChanges(entitiesToAdd, false);
+        
+        return entities;
+    }
+    
     // TODO: use this method for subclasses.
     /**
      * Note: This is a non-cascade delete.<br>
@@ -243,23 +320,83 @@ public abstract class EntitiesDb {
                         + entityToDelete.getIdentificationString());
             }
         }
-        log.info(entityToDelete.getBackupIdentifier());
+        logDeletion(entityToDelete);
     }
     
     public void deleteEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToDelete);
         List<Object> entities = new ArrayList<Object>();
+        List<EntityAttributes> deletedEntities = new ArrayList<EntityAttributes>();
         for (EntityAttributes entityToDelete : entitiesToDelete) {
             Object entity = getEntity(entityToDelete);
             if (entity != null) {
                 entities.add(entity);
-                log.info(entityToDelete.getBackupIdentifier());
+                deletedEntities.add(entityToDelete);
             }
         }
         
         getPM().deletePersistentAll(entities);
         getPM().flush();
+        logChanges(deletedEntities, true);
+    }
+    
+    /**
+     * Logs the creation or update of the entity, and records it in the change log
+     * if the entity belongs to a course.
+     */
+    protected void logChange(EntityAttributes entity) {
+        logChanges(Collections.singletonList(entity), false);
+    }
+    
+    /**
+     * Logs the deletion of the entity, and records it in the change log
+     * if the entity belongs to a course.
+     */
+    protected void logDeletion(EntityAttributes entity) {
+        logChanges(Collections.singletonList(entity), true);
+    }
+    
+    protected void logChanges(Collection<? extends EntityAttributes> entities, boolean isDeletion) {
+        List<EntityChangeAttributes> changes = new ArrayList<EntityChangeAttributes>();
+        Set<String> changedCourseIds = new HashSet<String>();
+        for (EntityAttributes entity : entities) {
+            String backupIdentifier = entity.getBackupIdentifier();
+            log.info(backupIdentifier);
+            if (backupIdentifier.startsWith(Const.SystemParams.COURSE_BACKUP_LOG_MSG)) {
+                String courseId = backupIdentifier.substring(Const.SystemParams.COURSE_BACKUP_LOG_MSG.length());
+                changes.add(new EntityChangeAttributes(courseId, entity.getEntityTypeAsString(),
+                                                       getChangeKey(entity), isDeletion));
+                changedCourseIds.add(courseId);
+            }
+        }
+        for (String courseId : changedCourseIds) {
+            ResultsFragmentCache.invalidateCourse(courseId);
+        }
+        if (!changes.isEmpty()) {
+            new EntityChangesDb().createEntityChanges(changes);
+        }
+    }
+    
+    /**
+     * Logs the update of many entities of the kind in the course, and records it in the change log
+     * as a change of all of them.
+     * @param kind the type of the entities, as given by {@link EntityAttributes#getEntityTypeAsString()}
+     */
+    protected void logChangeOfAllEntitiesInCourse(String courseId, String kind) {
+        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        ResultsFragmentCache.invalidateCourse(courseId);
+        List<EntityChangeAttributes> changes = new ArrayList<EntityChangeAttributes>();
+        changes.add(new EntityChangeAttributes(courseId, kind, null, false));
+        new EntityChangesDb().createEntityChanges(changes);
+    }
+    
+    /**
+     * @return the key identifying the entity in the change log. To be overridden by
+     *         subclasses whose entities can be fetched by a key known to the attributes.
+     */
+    protected String getChangeKey(EntityAttributes attributes) {
+        return attributes.getIdentificationString();
     }
     
     public void commitOutstandingChanges() {
@@ -297,6 +434,60 @@ public abstract class EntitiesDb {
      */
     protected abstract Object getEntity(EntityAttributes attributes);
     
+    /**
+     * Counts the entities of the kind whose properties have the given values with a keys-only query,
+     * which loads none of the entities. The JDO plugin reads whole entities even when only their keys
+     * are selected, so the datastore is queried directly, after writing the pending changes of JDO.
+     * @param propertyValues pairs of property names and values, all of which must match
+     * @param limit the maximum number of entities to count, or 0 to count all of them
+     */
+    protected int countEntities(String kind, int limit, Object... propertyValues) {
+        getPM().flush();
+        
+        List<Filter> filters = new ArrayList<Filter>();
+        for (int i = 0; i < propertyValues.length; i += 2) {
+            filters.add(new FilterPredicate((String) propertyValues[i], FilterOperator.EQUAL, propertyValues[i + 1]));
+        }
+        Query query = new Query(kind).setKeysOnly();
+        query.setFilter(filters.size() == 1 ? filters.get(0) : CompositeFilterOperator.and(filters));
+        
+        FetchOptions fetchOptions = limit > 0 ? FetchOptions.Builder.withLimit(limit)
+                                              : FetchOptions.Builder.withDefaults();
+        return DatastoreServiceFactory.getDatastoreService().prepare(query).countEntities(fetchOptions);
+    }
+    
+    /**
+     * Deletes the entities of the kind which match the filter, in batches of {@code batchSize} keys
+     * read with keys-only queries, so that neither the entities nor all of their keys are loaded at once.
+     * The datastore is queried directly, after writing the pending changes of JDO.
+     * @return the number of entities deleted
+     */
+    protected int deleteEntitiesInBatches(String kind, Filter filter, int batchSize) {
+        getPM().flush();
+        
+        DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+        Query query = new Query(kind).setFilter(filter).setKeysOnly();
+        FetchOptions fetchOptions = FetchOptions.Builder.withLimit(batchSize)
+                                                        .chunkSize(batchSize)
+                                                        .prefetchSize(batchSize);
+        int numberOfDeletedEntities = 0;
+        Cursor cursor = null;
+        do {
+            if (cursor != null) {
+                fetchOptions.startCursor(cursor);
+            }
+            QueryResultList<Entity> entities = datastore.prepare(query).asQueryResultList(fetchOptions);
+            List<Key> keys = new ArrayList<Key>();
+            for (Entity entity : entities) {
+                keys.add(entity.getKey());
+            }
+            datastore.delete(keys);
+            numberOfDeletedEntities += keys.size();
+            cursor = entities.size() < batchSize ? null : entities.getCursor();
+        } while (cursor != null);
+        return numberOfDeletedEntities;
+    }
+    
     protected PersistenceManager getPM() {
         return Datastore.getPersistenceManager();
     }
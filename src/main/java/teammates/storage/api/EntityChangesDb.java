@@ -0,0 +1,162 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.Query;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.EntityChangeAttributes;
+import teammates.common.datatransfer.EntityChangesBundle;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.entity.EntityChange;
+
+import com.google.appengine.api.datastore.Query.FilterOperator;
+import com.google.appengine.api.datastore.Query.FilterPredicate;
+
+/**
+ * Handles the change log from which incremental backups are made.
+ * The records are written by {@link EntitiesDb} whenever an entity of a course is
+ * created, updated or deleted, and are read back in ranges of sequence numbers. <br>
+ * The sequence number of a record is the time of the change in milliseconds, so records
+ * written at the same time, on one instance or on several, share a sequence number.
+ * Records are therefore read in the order of their sequence number and then of their
+ * datastore-allocated ID, which is unique, and pages are resumed from both. <br>
+ * As clocks of instances differ slightly and the change log is read with eventually
+ * consistent queries, a range should only be read up to the
+ * {@link #getSettledSequenceNumber() settled sequence number}.
+ */
+public class EntityChangesDb extends EntitiesDb {
+
+    /**
+     * Used as the ID of a watermark to skip all the records with its sequence number.
+     */
+    public static final long AFTER_ALL_IDS = Long.MAX_VALUE;
+
+    /**
+     * Changes older than this are assumed to be visible to queries
+     * from all instances.
+     */
+    private static final long SETTLE_TIME_MILLIS = 60 * 1000;
+
+    private static final int DELETION_BATCH_SIZE = 500;
+
+    /**
+     * Stores the records, assigning them their sequence numbers and time stamps.
+     */
+    public void createEntityChanges(Collection<EntityChangeAttributes> changesToAdd) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, changesToAdd);
+
+        Date now = new Date();
+        List<Object> changes = new ArrayList<Object>();
+        for (EntityChangeAttributes change : changesToAdd) {
+            change.sequenceNumber = now.getTime();
+            change.timestamp = now;
+            changes.add(change.toEntity());
+        }
+
+        getPM().makePersistentAll(changes);
+        getPM().flush();
+    }
+
+    /**
+     * @return the sequence number up to which the change log can be read
+     *         without missing any record that is still to become visible.
+     */
+    public long getSettledSequenceNumber() {
+        return System.currentTimeMillis() - SETTLE_TIME_MILLIS;
+    }
+
+    /**
+     * Gets the records after the watermark ({@code afterSequenceNumber}, {@code afterId}), i.e. those
+     * with a greater sequence number, or with the same sequence number and a greater ID,
+     * up to the sequence number {@code upToSequenceNumber}. <br>
+     * Preconditions: <br>
+     * * {@code maxChanges} is positive.
+     * @param afterId {@link #AFTER_ALL_IDS} to start after all the records of {@code afterSequenceNumber}
+     * @return at most {@code maxChanges} records, in the order of their sequence number and ID.
+     *         The watermark of the bundle is ({@code upToSequenceNumber}, {@link #AFTER_ALL_IDS})
+     *         if there are no more records in the range, or that of the last record returned otherwise.
+     */
+    public EntityChangesBundle getEntityChanges(long afterSequenceNumber, long afterId,
+                                                long upToSequenceNumber, int maxChanges) {
+        Assumption.assertTrue("Maximum number of changes must be positive", maxChanges > 0);
+
+        List<EntityChange> changeList = new ArrayList<EntityChange>();
+        if (afterId != AFTER_ALL_IDS && afterSequenceNumber <= upToSequenceNumber) {
+            changeList.addAll(getEntityChangesWithSequenceNumber(afterSequenceNumber, afterId, maxChanges));
+        }
+        if (changeList.size() < maxChanges) {
+            changeList.addAll(getEntityChangesAfter(afterSequenceNumber, upToSequenceNumber,
+                                                    maxChanges - changeList.size()));
+        }
+
+        List<EntityChangeAttributes> changes = new ArrayList<EntityChangeAttributes>();
+        for (EntityChange change : changeList) {
+            if (!JDOHelper.isDeleted(change)) {
+                changes.add(new EntityChangeAttributes(change));
+            }
+        }
+
+        if (changeList.size() < maxChanges) {
+            return new EntityChangesBundle(changes, upToSequenceNumber, AFTER_ALL_IDS);
+        }
+        EntityChange lastChange = changeList.get(changeList.size() - 1);
+        return new EntityChangesBundle(changes, lastChange.getSequenceNumber(), lastChange.getId());
+    }
+
+    /**
+     * Deletes the records up to the sequence number, once they are no longer needed.
+     * The records are deleted by their keys in batches, as there can be many of them.
+     * @return the number of records deleted
+     */
+    public int deleteEntityChangesUpTo(long upToSequenceNumber) {
+        return deleteEntitiesInBatches(EntityChange.class.getSimpleName(),
+                                       new FilterPredicate("sequenceNumber", FilterOperator.LESS_THAN_OR_EQUAL,
+                                                           upToSequenceNumber),
+                                       DELETION_BATCH_SIZE);
+    }
+
+    /**
+     * @return the records with the sequence number and an ID greater than {@code afterId}, in ID order
+     */
+    private List<EntityChange> getEntityChangesWithSequenceNumber(long sequenceNumber, long afterId,
+                                                                  int maxChanges) {
+        Query q = getPM().newQuery(EntityChange.class);
+        q.declareParameters("Long sequenceNumberParam, Long afterIdParam");
+        q.setFilter("sequenceNumber == sequenceNumberParam && id > afterIdParam");
+        q.setOrdering("id ascending");
+        q.setRange(0, maxChanges);
+
+        @SuppressWarnings("unchecked")
+        List<EntityChange> changeList = (List<EntityChange>) q.execute(sequenceNumber, afterId);
+        return changeList;
+    }
+
+    /**
+     * @return the records with a sequence number greater than {@code afterSequenceNumber}
+     *         and at most {@code upToSequenceNumber}, in the order of their sequence number and ID
+     */
+    private List<EntityChange> getEntityChangesAfter(long afterSequenceNumber, long upToSequenceNumber,
+                                                     int maxChanges) {
+        Query q = getPM().newQuery(EntityChange.class);
+        q.declareParameters("Long afterSequenceNumberParam, Long upToSequenceNumberParam");
+        q.setFilter("sequenceNumber > afterSequenceNumberParam && sequenceNumber <= upToSequenceNumberParam");
+        q.setOrdering("sequenceNumber ascending, id ascending");
+        q.setRange(0, maxChanges);
+
+        @SuppressWarnings("unchecked")
+        List<EntityChange> changeList = (List<EntityChange>) q.execute(afterSequenceNumber, upToSequenceNumber);
+        return changeList;
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        // records are only read in ranges of sequence numbers
+        return null;
+    }
+}
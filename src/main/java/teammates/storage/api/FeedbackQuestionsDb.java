@@ -1,12 +1,16 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
@@ -16,9 +20,17 @@ import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.storage.entity.FeedbackQuestion;
 
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+
 public class FeedbackQuestionsDb extends EntitiesDb {
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Question : ";
     
+    private CopiableQuestionsDb copiableQuestionsDb = new CopiableQuestionsDb();
+    
     public void createFeedbackQuestions(Collection<FeedbackQuestionAttributes> questionsToAdd) throws InvalidParametersException {
         List<EntityAttributes> questionsToUpdate = createEntities(questionsToAdd);
         for (EntityAttributes entity : questionsToUpdate) {
@@ -31,6 +43,29 @@ public class FeedbackQuestionsDb extends EntitiesDb {
                 Assumption.fail("Entity found be already existing and not existing simultaneously");
             }
         }
+        
+        // the IDs of the created questions are only known to the datastore
+        List<String> courseIds = new ArrayList<String>();
+        for (FeedbackQuestionAttributes question : questionsToAdd) {
+            if (!courseIds.contains(question.courseId)) {
+                courseIds.add(question.courseId);
+            }
+        }
+        copiableQuestionsDb.putCopiableQuestions(getFeedbackQuestionsForCourses(courseIds));
+    }
+    
+    /**
+     * Creates the questions in a single batch. None of them is created if any of them is invalid.
+     * @return the created questions, with their generated IDs, in the order given
+     */
+    public List<FeedbackQuestionAttributes> createFeedbackQuestionsWithoutExistenceCheck(
+            List<FeedbackQuestionAttributes> questionsToAdd) throws InvalidParametersException {
+        List<FeedbackQuestionAttributes> createdQuestions = new ArrayList<FeedbackQuestionAttributes>();
+        for (Object obj : createEntitiesWithoutExistenceCheck(questionsToAdd)) {
+            createdQuestions.add(new FeedbackQuestionAttributes((FeedbackQuestion) obj));
+        }
+        copiableQuestionsDb.putCopiableQuestions(createdQuestions);
+        return createdQuestions;
     }
     
     /**
@@ -51,11 +86,43 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return new FeedbackQuestionAttributes(fq);        
     }
 
+    /**
+     * Gets the questions with the given IDs, fetching them by key in batches
+     * of {@link #MAX_KEYS_PER_BATCH_GET} instead of one get per question.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     * @return The questions which exist, in no particular order.
+     */
+    public List<FeedbackQuestionAttributes> getFeedbackQuestions(Collection<String> feedbackQuestionIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionIds);
+        
+        List<FeedbackQuestionAttributes> fqList = new ArrayList<FeedbackQuestionAttributes>();
+        List<String> ids = new ArrayList<String>();
+        for (String feedbackQuestionId : feedbackQuestionIds) {
+            // IDs which are not encoded keys cannot be looked up by key, and do not exist anyway
+            if (isEncodedKey(feedbackQuestionId)) {
+                ids.add(feedbackQuestionId);
+            }
+        }
+        for (int start = 0; start < ids.size(); start += MAX_KEYS_PER_BATCH_GET) {
+            List<String> batch = ids.subList(start, Math.min(start + MAX_KEYS_PER_BATCH_GET, ids.size()));
+            for (FeedbackQuestion question : getFeedbackQuestionEntities(batch)) {
+                if (!JDOHelper.isDeleted(question)) {
+                    fqList.add(new FeedbackQuestionAttributes(question));
+                }
+            }
+        }
+        
+        return fqList;
+    }
+
     public FeedbackQuestionAttributes createFeedbackQuestionWithoutExistenceCheck(
             EntityAttributes entityToAdd) throws InvalidParametersException {
         Object obj = this.createEntityWithoutExistenceCheck(entityToAdd);
         
-        return new FeedbackQuestionAttributes((FeedbackQuestion) obj);
+        FeedbackQuestionAttributes createdQuestion = new FeedbackQuestionAttributes((FeedbackQuestion) obj);
+        copiableQuestionsDb.putCopiableQuestions(Arrays.asList(createdQuestion));
+        return createdQuestion;
     }
     
     /**
@@ -83,6 +150,42 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return new FeedbackQuestionAttributes(fq);        
     }
     
+    /**
+     * Gets the questions of all the given courses in a single query.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     * @return An empty list if no such questions are found.
+     */
+    public List<FeedbackQuestionAttributes> getFeedbackQuestionsForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        List<FeedbackQuestionAttributes> fqList = new ArrayList<FeedbackQuestionAttributes>();
+        if (courseIds.isEmpty()) {
+            return fqList;
+        }
+        
+        for (FeedbackQuestion question : getFeedbackQuestionEntitiesForCourses(courseIds)) {
+            if (!JDOHelper.isDeleted(question)) {
+                fqList.add(new FeedbackQuestionAttributes(question));
+            }
+        }
+        
+        return fqList;
+    }
+    
+    /**
+     * Gets one page of the catalogue of the questions of the courses which can be copied,
+     * sorted by course, session, question type and question text.<br>
+     * Preconditions: <br>
+     * * All parameters except {@code pageToken} are non-null. 
+     * @param pageToken the token of the page to get, or null for the first page
+     * @return A page with at most {@code pageSize} questions.
+     */
+    public CopiableQuestionsPageBundle getCopiableQuestionsForCoursesInPage(
+            List<String> courseIds, int pageSize, String pageToken) {
+        return copiableQuestionsDb.getCopiableQuestionsForCoursesInPage(courseIds, pageSize, pageToken);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null. 
@@ -206,8 +309,57 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         //set true to prevent changes to last update timestamp
         fq.keepUpdateTimestamp = keepUpdateTimestamp;
         
-        log.info(newAttributes.getBackupIdentifier());
+        FeedbackQuestionAttributes updatedQuestion = new FeedbackQuestionAttributes(fq);
+        logChange(newAttributes);
         getPM().close();
+        copiableQuestionsDb.putCopiableQuestions(Arrays.asList(updatedQuestion));
+    }
+    
+    /**
+     * Sets the numbers of the questions in a single batched write, rewriting only the
+     * question number and the {@code updatedAt} timestamp of each question. Unlike
+     * {@link #updateFeedbackQuestion}, the questions are not re-validated.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null and the questions are of the same course.
+     * @param newQuestionNumbers the new number of each question, by question ID
+     */
+    public void updateFeedbackQuestionNumbers(Map<String, Integer> newQuestionNumbers)
+            throws EntityDoesNotExistException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newQuestionNumbers);
+        
+        if (newQuestionNumbers.isEmpty()) {
+            return;
+        }
+        
+        // writes pending changes and drops the cached questions, which are about to become stale
+        closePM();
+        
+        List<String> ids = new ArrayList<String>(newQuestionNumbers.keySet());
+        List<Key> keys = new ArrayList<Key>();
+        for (String id : ids) {
+            if (!isEncodedKey(id)) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT + id);
+            }
+            keys.add(KeyFactory.stringToKey(id));
+        }
+        
+        DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+        Map<Key, Entity> questions = datastore.get(keys);
+        
+        Date now = new Date();
+        String courseId = null;
+        for (int i = 0; i < ids.size(); i++) {
+            Entity question = questions.get(keys.get(i));
+            if (question == null) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT + ids.get(i));
+            }
+            question.setProperty("questionNumber", newQuestionNumbers.get(ids.get(i)));
+            question.setProperty("updatedAt", now);
+            courseId = (String) question.getProperty("courseId");
+        }
+        
+        datastore.put(questions.values());
+        logChangeOfAllEntitiesInCourse(courseId, "Feedback Question");
     }
     
     public void deleteFeedbackQuestionsForCourse(String courseId) {
@@ -225,6 +377,25 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         getPM().deletePersistentAll(feedbackQuestionList);
         getPM().flush();
+        copiableQuestionsDb.deleteCopiableQuestionsForCourses(courseIds);
+    }
+    
+    /**
+     * Deletes the question, and removes it from the catalogue of questions which can be copied.
+     * @see EntitiesDb#deleteEntity(EntityAttributes)
+     */
+    @Override
+    public void deleteEntity(EntityAttributes entityToDelete) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entityToDelete);
+        
+        FeedbackQuestion fq = (FeedbackQuestion) getEntity(entityToDelete);
+        if (fq == null) {
+            return;
+        }
+        String feedbackQuestionId = fq.getId();
+        
+        super.deleteEntity(entityToDelete);
+        copiableQuestionsDb.deleteCopiableQuestions(Arrays.asList(feedbackQuestionId));
     }
     
     private List<FeedbackQuestion> getFeedbackQuestionEntitiesForCourses(List<String> courseIds) {
@@ -237,6 +408,28 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return feedbackQuestionList;
     }
     
+    private static boolean isEncodedKey(String feedbackQuestionId) {
+        try {
+            KeyFactory.stringToKey(feedbackQuestionId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * A filter on the primary key alone is fulfilled by a batch get of the keys, not a query.
+     */
+    private List<FeedbackQuestion> getFeedbackQuestionEntities(List<String> feedbackQuestionIds) {
+        Query q = getPM().newQuery(FeedbackQuestion.class);
+        q.setFilter(":p.contains(feedbackQuestionId)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackQuestion> feedbackQuestionList = (List<FeedbackQuestion>) q.execute(feedbackQuestionIds);
+        
+        return feedbackQuestionList;
+    }
+    
     // Gets a question entity if it's Key (feedbackQuestionId) is known.
     private FeedbackQuestion getFeedbackQuestionEntity(String feedbackQuestionId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
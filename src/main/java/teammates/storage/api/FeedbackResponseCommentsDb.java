@@ -20,6 +20,7 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
+import teammates.common.util.ResultsFragmentCache;
 import teammates.storage.entity.FeedbackResponseComment;
 import teammates.storage.search.FeedbackResponseCommentSearchDocument;
 import teammates.storage.search.FeedbackResponseCommentSearchQuery;
@@ -200,8 +201,12 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         
         List<FeedbackResponseComment> frcList = getFeedbackResponseCommentEntitiesForResponse(responseId);
         
+        // all the comments of a response are in the course of the response
+        String courseId = frcList.isEmpty() ? null : frcList.get(0).getCourseId();
+        
         getPM().deletePersistentAll(frcList);
         getPM().flush();
+        ResultsFragmentCache.invalidateCourse(courseId);
     }
     
     /*
@@ -336,7 +341,7 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             frc.setFeedbackResponseId(newAttributes.feedbackResponseId);
         }
         
-        log.info(newAttributes.getBackupIdentifier());
+        logChange(newAttributes);
         getPM().close();
         
         return new FeedbackResponseCommentAttributes(frc);
@@ -361,7 +366,7 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             responseComment.setGiverEmail(updatedEmail);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logChangeOfAllEntitiesInCourse(courseId, "FeedbackResponseComment");
         getPM().close();
     }
     
@@ -386,6 +391,32 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return resultList;  
     }
     
+    /**
+     * Counts the response comments of the session in the sending state (SENT|SENDING|PENDING)
+     * with a keys-only query, without loading the comments themselves.
+     */
+    public int getFeedbackResponseCommentsCountForSendingState(String courseId, String sessionName,
+                                                               CommentSendingState state) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, sessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, state);
+        
+        return countFeedbackResponseCommentsForSendingState(courseId, sessionName, state, 0);
+    }
+    
+    /**
+     * @return true if the session has a response comment in the sending state (SENT|SENDING|PENDING).
+     *         Only the key of at most one comment is read.
+     */
+    public boolean isFeedbackResponseCommentForSendingStatePresent(String courseId, String sessionName,
+                                                                   CommentSendingState state) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, sessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, state);
+        
+        return countFeedbackResponseCommentsForSendingState(courseId, sessionName, state, 1) > 0;
+    }
+    
     /*
      * Update response comments from old state to new state
      */
@@ -400,7 +431,7 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             frComment.setSendingState(newState);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logChangeOfAllEntitiesInCourse(courseId, "FeedbackResponseComment");
         getPM().close();
     }
     
@@ -481,7 +512,20 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             feedbackResponseCommentToGet.createdAt,
             feedbackResponseCommentToGet.giverEmail);
     }
-    
+
+    /**
+     * Comments are recorded in the change log by their ID, or by their giver and creation time
+     * if the ID is not known, as these identify a comment when its other fields are not given.
+     */
+    @Override
+    protected String getChangeKey(EntityAttributes attributes) {
+        FeedbackResponseCommentAttributes comment = (FeedbackResponseCommentAttributes) attributes;
+        if (comment.getId() != null) {
+            return comment.getId().toString();
+        }
+        return comment.giverEmail + "%" + comment.createdAt;
+    }
+
     private Object getFeedbackResponseCommentEntity(String courseId, Date createdAt, String giverEmail) {
         List<FeedbackResponseComment> frcList = getFeedbackResponseCommentEntityForGiver(courseId, giverEmail);
         if (frcList.isEmpty()) {
@@ -525,6 +569,15 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return getCommentsWithoutDeletedEntity(feedbackResponseCommentList);
     }
 
+    /**
+     * @param limit the maximum number of response comments to count, or 0 to count all of them
+     */
+    private int countFeedbackResponseCommentsForSendingState(String courseId, String feedbackSessionName,
+                                                             CommentSendingState state, int limit) {
+        return countEntities(FeedbackResponseComment.class.getSimpleName(), limit, "courseId", courseId,
+                             "feedbackSessionName", feedbackSessionName, "sendingState", state.toString());
+    }
+
     private FeedbackResponseComment getFeedbackResponseCommentEntity(Long feedbackResponseCommentId) {
         Query q = getPM().newQuery(FeedbackResponseComment.class);
         q.declareParameters("String feedbackResponseCommentIdParam");
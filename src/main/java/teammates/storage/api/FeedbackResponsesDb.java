@@ -1,16 +1,16 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
@@ -46,6 +46,29 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return new FeedbackResponseAttributes(feedbackResponse);    
     }
 
+    /**
+     * Gets the responses with the given IDs, fetching them by key in batches
+     * of {@link #MAX_KEYS_PER_BATCH_GET} instead of one get per response.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return The responses which exist, in no particular order.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseIds);
+        
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+        List<String> ids = new ArrayList<String>(feedbackResponseIds);
+        for (int start = 0; start < ids.size(); start += MAX_KEYS_PER_BATCH_GET) {
+            List<String> batch = ids.subList(start, Math.min(start + MAX_KEYS_PER_BATCH_GET, ids.size()));
+            for (FeedbackResponse fr : getFeedbackResponseEntities(batch)) {
+                if (!JDOHelper.isDeleted(fr)) {
+                    fraList.add(new FeedbackResponseAttributes(fr));
+                }
+            }
+        }
+        return fraList;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -337,53 +360,64 @@ public class FeedbackResponsesDb extends EntitiesDb {
     }
 
     /**
+     * Gets one page of the responses in the session. Responses are paged in the order of their IDs,
+     * i.e. by question, then giver, then recipient, and each page starts after the ID of the last
+     * response of the previous page, so fetching a page costs the same regardless of how deep
+     * into the session it is and no response is skipped or repeated across pages.
      * Preconditions: <br>
-     * * All parameters are non-null. 
-     * @return An empty list if no such responses are found.
+     * * All parameters except {@code pageToken} are non-null. 
+     * @param pageToken the token of the page to get, or null for the first page
+     * @return A page with at most {@code pageSize} responses.
      */
-    public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionFromSectionWithinRange(
-            String feedbackSessionName, String courseId, String section, long range) {
-
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionInPage(
+            String feedbackSessionName, String courseId, int pageSize, String pageToken) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        return getFeedbackResponsesPage("String feedbackSessionNameParam, String courseIdParam",
+                                        "feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam",
+                                        pageSize, pageToken, feedbackSessionName, courseId);
+    }
+    
+    /**
+     * Gets one page of the responses in the session which are given from the section.
+     * Preconditions: <br>
+     * * All parameters except {@code pageToken} are non-null. 
+     * @param pageToken the token of the page to get, or null for the first page
+     * @return A page with at most {@code pageSize} responses.
+     */
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionFromSectionInPage(
+            String feedbackSessionName, String courseId, String section, int pageSize, String pageToken) {
+        
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
-
-        Collection<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionFromSectionWithinRange(feedbackSessionName,
-                                                                                      courseId, section, range);
-        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
-
-        for (FeedbackResponse fr : frList) {
-            if (!JDOHelper.isDeleted(fr)) {
-                fraList.add(new FeedbackResponseAttributes(fr));
-            }
-        }
-
-        return fraList;
+        
+        return getFeedbackResponsesPage("String feedbackSessionNameParam, String courseIdParam, String sectionParam",
+                                        "feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam"
+                                        + " && giverSection == sectionParam",
+                                        pageSize, pageToken, feedbackSessionName, courseId, section);
     }
-
+    
     /**
+     * Gets one page of the responses in the session which are given to the section.
      * Preconditions: <br>
-     * * All parameters are non-null. 
-     * @return An empty list if no such responses are found.
+     * * All parameters except {@code pageToken} are non-null. 
+     * @param pageToken the token of the page to get, or null for the first page
+     * @return A page with at most {@code pageSize} responses.
      */
-    public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionToSectionWithinRange(
-            String feedbackSessionName, String courseId, String section, long range) {
-
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionToSectionInPage(
+            String feedbackSessionName, String courseId, String section, int pageSize, String pageToken) {
+        
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
-
-        Collection<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionToSectionWithinRange(feedbackSessionName,
-                                                                                      courseId, section, range);
-        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
-
-        for (FeedbackResponse fr : frList) {
-            if (!JDOHelper.isDeleted(fr)) {
-                fraList.add(new FeedbackResponseAttributes(fr));
-            }
-        }
-
-        return fraList;
+        
+        return getFeedbackResponsesPage("String feedbackSessionNameParam, String courseIdParam, String sectionParam",
+                                        "feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam"
+                                        + " && receiverSection == sectionParam",
+                                        pageSize, pageToken, feedbackSessionName, courseId, section);
     }
     
     /**
@@ -513,6 +547,34 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
 
+    /**
+     * Gets the responses given by any of the givers in the session, in a single query.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     * @return An empty list if no such responses are found.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponsesFromGiversForSession(
+            String feedbackSessionName, String courseId, List<String> giverEmails) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmails);
+        
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+        if (giverEmails.isEmpty()) {
+            return fraList;
+        }
+        
+        for (FeedbackResponse fr : getFeedbackResponseEntitiesFromGiversForSession(
+                                           feedbackSessionName, courseId, giverEmails)) {
+            if (!JDOHelper.isDeleted(fr)) {
+                fraList.add(new FeedbackResponseAttributes(fr));
+            }
+        }
+        
+        return fraList;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null. 
@@ -637,7 +699,7 @@ public class FeedbackResponsesDb extends EntitiesDb {
         fr.setGiverSection(newAttributes.giverSection);
         fr.setRecipientSection(newAttributes.recipientSection);
                 
-        log.info(newAttributes.getBackupIdentifier());
+        logChange(newAttributes);
         getPM().close();
     }
     
@@ -694,6 +756,17 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return (List<FeedbackResponse>) q.execute(courseId);
     }
     
+    /**
+     * A filter on the primary key alone is fulfilled by a batch get of the keys, not a query.
+     */
+    @SuppressWarnings("unchecked")
+    private List<FeedbackResponse> getFeedbackResponseEntities(List<String> feedbackResponseIds) {
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.setFilter(":p.contains(feedbackResponseId)");
+        
+        return (List<FeedbackResponse>) q.execute(feedbackResponseIds);
+    }
+
     private FeedbackResponse getFeedbackResponseEntity(String feedbackResponseId) {
         Query q = getPM().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackResponseIdParam");
@@ -816,35 +889,18 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
  
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSection(
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSection(
             String feedbackSessionName, String courseId, String section) {
 
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-
         Query q = getPM().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && giverSection == sectionParam");
-        
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-            (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && sections == sectionParam");
         
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && receiverSection == sectionParam");
         @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
+        List<FeedbackResponse> queryResponses =
             (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-        
-        return feedbackResponses.values();   
+
+        return queryResponses;
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromSection(
@@ -875,69 +931,21 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return  queryResponses;
     }
     
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSectionWithinRange(
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSectionWithinRange(
             String feedbackSessionName, String courseId, String section, long range) {
 
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-
         Query q = getPM().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && giverSection == sectionParam");
-        q.setRange(0, range + 1);
-        
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-            (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-        
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && receiverSection == sectionParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && sections == sectionParam");
         q.setRange(0, range + 1);
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
-            (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
         
-        return feedbackResponses.values();   
-    }
-
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromSectionWithinRange(
-            String feedbackSessionName, String courseId, String section, long range) {
-
-        Query q = getPM().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && giverSection == sectionParam");
-        q.setRange(0, range + 1);
-
         @SuppressWarnings("unchecked")
         List<FeedbackResponse> queryResponses =
             (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
 
-        return  queryResponses;
+        return queryResponses;
     }
 
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionToSectionWithinRange(
-            String feedbackSessionName, String courseId, String section, long range) {
-
-        Query q = getPM().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && receiverSection == sectionParam");
-        q.setRange(0, range + 1);
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> queryResponses =
-            (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-
-        return  queryResponses;
-    }
-    
     private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestion(
             String feedbackQuestionId, String receiver) {
 
@@ -952,37 +960,19 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestionInSection(
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestionInSection(
             String feedbackQuestionId, String receiver, String section) {
         
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-        
         Query q = getPM().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackQuestionIdParam, String receiverParam, String sectionParam");
         q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && receiver == receiverParam "
-                    + "&& giverSection == sectionParam");
+                    + "&& sections == sectionParam");
     
         @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-            (List<FeedbackResponse>) q.execute(feedbackQuestionId, receiver, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-        
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && receiver == receiverParam "
-                + "&& receiverSection == sectionParam");
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
+        List<FeedbackResponse> queryResponses =
             (List<FeedbackResponse>) q.execute(feedbackQuestionId, receiver, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
         
-        return feedbackResponses.values();   
+        return queryResponses;
     }
     
     private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestion(
@@ -999,37 +989,19 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestionInSection(
+    private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestionInSection(
             String feedbackQuestionId, String giverEmail, String section) {
         
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-        
         Query q = getPM().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackQuestionIdParam, String giverEmailParam, String sectionParam");
         q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam "
-                    + "&& giverSection == sectionParam");
+                    + "&& sections == sectionParam");
     
         @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-            (List<FeedbackResponse>) q.execute(feedbackQuestionId, giverEmail, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-        
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam "
-                + "&& receiverSection == sectionParam");
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
+        List<FeedbackResponse> queryResponses =
             (List<FeedbackResponse>) q.execute(feedbackQuestionId, giverEmail, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
         
-        return feedbackResponses.values(); 
+        return queryResponses;
     }
     
     private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForSessionWithinRange(
@@ -1047,6 +1019,20 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
+    private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiversForSession(
+            String feedbackSessionName, String courseId, List<String> giverEmails) {
+        
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.setFilter("feedbackSessionName == :feedbackSessionNameParam && courseId == :courseIdParam"
+                    + " && :giverEmailsParam.contains(giverEmail)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses =
+            (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, giverEmails);
+        
+        return feedbackResponses;
+    }
+
     private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForCourse(
             String courseId, String receiver) {
 
@@ -1075,6 +1061,54 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
     
+    private FeedbackResponsesPageBundle getFeedbackResponsesPage(String parameters, String filter,
+                                                                 int pageSize, String startAfterId,
+                                                                 Object... values) {
+        Assumption.assertTrue("Page size must be positive", pageSize > 0);
+        
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        List<Object> valueList = new ArrayList<Object>(Arrays.asList(values));
+        if (startAfterId == null) {
+            q.declareParameters(parameters);
+            q.setFilter(filter);
+        } else {
+            q.declareParameters(parameters + ", String startAfterIdParam");
+            q.setFilter(filter + " && feedbackResponseId > startAfterIdParam");
+            valueList.add(startAfterId);
+        }
+        q.setOrdering("feedbackResponseId ascending");
+        // one more than a page, to tell whether another page follows
+        q.setRange(0, pageSize + 1);
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> frList = (List<FeedbackResponse>) q.executeWithArray(valueList.toArray());
+        
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponse fr : frList.subList(0, Math.min(pageSize, frList.size()))) {
+            if (!JDOHelper.isDeleted(fr)) {
+                fraList.add(new FeedbackResponseAttributes(fr));
+            }
+        }
+        
+        String nextPageToken = frList.size() > pageSize
+                             ? frList.get(pageSize - 1).getId()
+                             : null;
+        return new FeedbackResponsesPageBundle(fraList, nextPageToken);
+    }
+
+    /**
+     * Responses are recorded in the change log by their ID,
+     * so that incremental backups can fetch the changed responses only.
+     */
+    @Override
+    protected String getChangeKey(EntityAttributes attributes) {
+        FeedbackResponseAttributes response = (FeedbackResponseAttributes) attributes;
+        if (response.getId() != null) {
+            return response.getId();
+        }
+        return response.feedbackQuestionId + "%" + response.giverEmail + "%" + response.recipientEmail;
+    }
+
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         
@@ -178,6 +178,29 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return fsaList;
     }
     
+    /**
+     * Gets the sessions of all the given courses in a single query.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     * @return An empty list if no sessions are found for the given courses.
+     */
+    public List<FeedbackSessionAttributes> getFeedbackSessionsForCourses(List<String> courseIds) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        if (courseIds.isEmpty()) {
+            return fsaList;
+        }
+        
+        for (FeedbackSession fs : getFeedbackSessionEntitiesForCourses(courseIds)) {
+            if (!JDOHelper.isDeleted(fs)) {
+                fsaList.add(new FeedbackSessionAttributes(fs));
+            }
+        }
+        return fsaList;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null. 
@@ -257,7 +280,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
         fs.setSendClosingEmail(newAttributes.isClosingEmailEnabled);
         fs.setSendPublishedEmail(newAttributes.isPublishedEmailEnabled);
                 
-        log.info(newAttributes.getBackupIdentifier());
+        logChange(newAttributes);
         getPM().close();
     }
 
@@ -287,7 +310,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingInstructorList().addAll(emails);
         
-        log.info(feedbackSession.getBackupIdentifier());
+        logChange(feedbackSession);
         getPM().close();
     }
 
@@ -314,7 +337,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
             fs.getRespondingInstructorList().add(newEmail);
         }
        
-        log.info(feedbackSession.getBackupIdentifier());
+        logChange(feedbackSession);
         getPM().close();
     }
 
@@ -336,7 +359,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingInstructorList().clear();
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logChange(feedbackSession);
         getPM().close();
     }
 
@@ -366,7 +389,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingInstructorList().remove(email);
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logChange(feedbackSession);
         getPM().close();
     }
 
@@ -389,7 +412,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingStudentList().addAll(emails);
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logChange(feedbackSession);
         getPM().close();
     }
 
@@ -416,7 +439,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
             fs.getRespondingStudentList().add(newEmail);
         }
         
-        log.info(feedbackSession.getBackupIdentifier());
+        logChange(feedbackSession);
         getPM().close();
     }
 
@@ -438,7 +461,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingStudentList().clear();
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logChange(feedbackSession);
         getPM().close();
     }
 
@@ -461,7 +484,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
         
         fs.getRespondingStudentList().remove(email);
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logChange(feedbackSession);
         getPM().close();
     }
     
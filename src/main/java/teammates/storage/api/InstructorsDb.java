@@ -1,6 +1,7 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -18,6 +19,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
+import teammates.common.util.ResultsFragmentCache;
 import teammates.common.util.StringHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.storage.entity.Instructor;
@@ -34,6 +36,8 @@ import com.google.appengine.api.search.ScoredDocument;
  */
 public class InstructorsDb extends EntitiesDb {
     
+    private CourseInstitutesDb courseInstitutesDb = new CourseInstitutesDb();
+    
     /* =========================================================================
      * Methods related to Google Search API
      * =========================================================================
@@ -307,7 +311,7 @@ public class InstructorsDb extends EntitiesDb {
         //TODO: make courseId+email the non-modifiable values
         
         putDocument(new InstructorAttributes(instructorToUpdate));
-        log.info(instructorAttributesToUpdate.getBackupIdentifier());
+        logChange(instructorAttributesToUpdate);
         getPM().close();
     }
     
@@ -335,6 +339,11 @@ public class InstructorsDb extends EntitiesDb {
                         + ThreadHelper.getCurrentThreadStack());
         }
         
+        if (instructorToUpdate.getGoogleId() != null
+                && !instructorToUpdate.getGoogleId().equals(instructorAttributesToUpdate.googleId)) {
+            courseInstitutesDb.deleteInstitutesOfCourses(Arrays.asList(instructorToUpdate.getCourseId()));
+        }
+        
         instructorToUpdate.setGoogleId(instructorAttributesToUpdate.googleId);
         instructorToUpdate.setName(instructorAttributesToUpdate.name);
         instructorToUpdate.setIsArchived(instructorAttributesToUpdate.isArchived);
@@ -344,7 +353,7 @@ public class InstructorsDb extends EntitiesDb {
         
         //TODO: make courseId+email the non-modifiable values
         putDocument(new InstructorAttributes(instructorToUpdate));
-        log.info(instructorAttributesToUpdate.getBackupIdentifier());
+        logChange(instructorAttributesToUpdate);
         getPM().close();
     }
     
@@ -368,6 +377,8 @@ public class InstructorsDb extends EntitiesDb {
 
         getPM().deletePersistent(instructorToDelete);
         getPM().flush();
+        ResultsFragmentCache.invalidateCourse(courseId);
+        courseInstitutesDb.deleteInstitutesOfCourses(Arrays.asList(courseId));
   
         // Check delete operation persisted
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
@@ -406,6 +417,7 @@ public class InstructorsDb extends EntitiesDb {
         
         getPM().deletePersistentAll(instructorsToDelete);
         getPM().flush();       
+        courseInstitutesDb.deleteInstitutesOfCourses(courseIds);
     }
     
     /**
@@ -418,12 +430,18 @@ public class InstructorsDb extends EntitiesDb {
 
         List<Instructor> instructorList = getInstructorEntitiesForGoogleId(googleId);
         
+        List<String> courseIds = new ArrayList<String>();
         for (Instructor instructor : instructorList) {        
             deleteDocument(new InstructorAttributes(instructor)); 
+            courseIds.add(instructor.getCourseId());
         } 
         
         getPM().deletePersistentAll(instructorList);
         getPM().flush();
+        for (String courseId : courseIds) {
+            ResultsFragmentCache.invalidateCourse(courseId);
+        }
+        courseInstitutesDb.deleteInstitutesOfCourses(courseIds);
       
     }
     
@@ -442,6 +460,7 @@ public class InstructorsDb extends EntitiesDb {
         }        
         getPM().deletePersistentAll(instructorList);
         getPM().flush();
+        courseInstitutesDb.deleteInstitutesOfCourses(Arrays.asList(courseId));
 
     }
     
@@ -19,6 +19,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
+import teammates.common.util.ResultsFragmentCache;
 import teammates.common.util.StringHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.storage.entity.Student;
@@ -417,7 +418,7 @@ public class StudentsDb extends EntitiesDb {
         // Set true to prevent changes to last update timestamp
         student.keepUpdateTimestamp = keepUpdateTimestamp;
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logChange(new StudentAttributes(student));
         getPM().close();
     }
 
@@ -454,6 +455,7 @@ public class StudentsDb extends EntitiesDb {
        
         getPM().deletePersistent(studentToDelete);
         getPM().flush();
+        ResultsFragmentCache.invalidateCourse(courseId);
     
         // Check delete operation persisted
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
@@ -493,6 +495,10 @@ public class StudentsDb extends EntitiesDb {
 
         List<Student> studentList = getStudentEntitiesForGoogleId(googleId);
         
+        List<String> courseIds = new ArrayList<String>();
+        for (Student student : studentList) {
+            courseIds.add(student.getCourseId());
+        }
         if (hasDocument) {
             for (Student student : studentList) {
                 deleteDocument(new StudentAttributes(student));
@@ -500,6 +506,9 @@ public class StudentsDb extends EntitiesDb {
         }
         getPM().deletePersistentAll(studentList);
         getPM().flush();
+        for (String courseId : courseIds) {
+            ResultsFragmentCache.invalidateCourse(courseId);
+        }
     }
 
     /**
@@ -0,0 +1,120 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Lightweight copy of the fields of a feedback question which are shown in the
+ * "copy question" modal, so that the modal can be filled without reading and parsing
+ * the questions themselves. There is one per question, keyed by the ID of the question.
+ * <br>
+ * The ID of a question is itself an encoded key, which would be taken for the key of
+ * the question if it were the primary key, so it is the name of the key instead.
+ */
+@PersistenceCapable
+public class CopiableQuestion {
+
+    /**
+     * Separates the fields of the sort key. It sorts before any character expected in the fields,
+     * so that the sort keys are ordered by their fields in turn.
+     */
+    public static final char SORT_KEY_SEPARATOR = '\t';
+
+    /**
+     * Length the question text is cut to in the sort key, to keep the key within
+     * the size limit of indexed properties.
+     */
+    private static final int MAX_QUESTION_TEXT_LENGTH_IN_SORT_KEY = 100;
+
+    @PrimaryKey
+    @Persistent
+    private Key key;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String feedbackQuestionId;
+
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String feedbackSessionName;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String questionTypeDisplayName;
+
+    @Persistent
+    private Text questionText;
+
+    /**
+     * Orders the questions by course, session, question type and question text.
+     * Ends with the question ID, so that no two questions have the same key.
+     */
+    @Persistent
+    private String sortKey;
+
+    public CopiableQuestion(String feedbackQuestionId, String courseId, String feedbackSessionName,
+                            String questionTypeDisplayName, String questionText) {
+        this.key = createKey(feedbackQuestionId);
+        this.feedbackQuestionId = feedbackQuestionId;
+        setQuestion(courseId, feedbackSessionName, questionTypeDisplayName, questionText);
+    }
+
+    /**
+     * Replaces the copied fields of the question, e.g. after the question is edited.
+     */
+    public void setQuestion(String courseId, String feedbackSessionName,
+                            String questionTypeDisplayName, String questionText) {
+        this.courseId = courseId;
+        this.feedbackSessionName = feedbackSessionName;
+        this.questionTypeDisplayName = questionTypeDisplayName;
+        this.questionText = new Text(questionText);
+        this.sortKey = courseId + SORT_KEY_SEPARATOR + feedbackSessionName + SORT_KEY_SEPARATOR
+                       + questionTypeDisplayName + SORT_KEY_SEPARATOR
+                       + truncate(questionText, MAX_QUESTION_TEXT_LENGTH_IN_SORT_KEY)
+                       + SORT_KEY_SEPARATOR + feedbackQuestionId;
+    }
+
+    /**
+     * @return the key of the entry of the question with the given ID
+     */
+    public static Key createKey(String feedbackQuestionId) {
+        return KeyFactory.createKey(CopiableQuestion.class.getSimpleName(), feedbackQuestionId);
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength);
+    }
+
+    public String getFeedbackQuestionId() {
+        return feedbackQuestionId;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getQuestionTypeDisplayName() {
+        return questionTypeDisplayName;
+    }
+
+    public String getQuestionText() {
+        return questionText == null ? null : questionText.getValue();
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+}
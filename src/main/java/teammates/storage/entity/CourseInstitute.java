@@ -0,0 +1,66 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+
+/**
+ * The institute of a course, i.e. the institute in the account of one of the course's instructors,
+ * so that it can be read without reading the instructors and their accounts.
+ * There is at most one per course, keyed by the ID of the course.
+ * <br>
+ * It remembers the google ID of the account the institute was taken from, so that it can
+ * follow updates to the institute in that account.
+ */
+@PersistenceCapable
+public class CourseInstitute {
+
+    @PrimaryKey
+    @Persistent
+    private Key key;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String courseId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String institute;
+
+    @Persistent
+    private String googleId;
+
+    public CourseInstitute(String courseId, String institute, String googleId) {
+        this.key = createKey(courseId);
+        this.courseId = courseId;
+        this.institute = institute;
+        this.googleId = googleId;
+    }
+
+    /**
+     * @return the key of the institute of the course with the given ID
+     */
+    public static Key createKey(String courseId) {
+        return KeyFactory.createKey(CourseInstitute.class.getSimpleName(), courseId);
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getInstitute() {
+        return institute;
+    }
+
+    public void setInstitute(String institute) {
+        this.institute = institute;
+    }
+
+    public String getGoogleId() {
+        return googleId;
+    }
+}
@@ -0,0 +1,84 @@
+package teammates.storage.entity;
+
+import java.util.Date;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents a record of the change log, i.e. the creation, update or deletion
+ * of an entity belonging to a course.
+ */
+@PersistenceCapable
+public class EntityChange {
+
+    @PrimaryKey
+    @Persistent(valueStrategy = IdGeneratorStrategy.IDENTITY)
+    private Long id;
+
+    @Persistent
+    private Long sequenceNumber;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String courseId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String kind;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text entityKey;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Boolean isDeletion;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Date timestamp;
+
+    public EntityChange(long sequenceNumber, String courseId, String kind, String entityKey,
+                        boolean isDeletion, Date timestamp) {
+        this.sequenceNumber = sequenceNumber;
+        this.courseId = courseId;
+        this.kind = kind;
+        this.entityKey = entityKey == null ? null : new Text(entityKey);
+        this.isDeletion = isDeletion;
+        this.timestamp = timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getEntityKey() {
+        return entityKey == null ? null : entityKey.getValue();
+    }
+
+    public boolean isDeletion() {
+        return isDeletion != null && isDeletion;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+}
@@ -1,6 +1,8 @@
 package teammates.storage.entity;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import javax.jdo.annotations.NotPersistent;
 import javax.jdo.annotations.PersistenceCapable;
@@ -55,6 +57,14 @@ public class FeedbackResponse implements StoreCallback {
     @Persistent
     private String receiverSection;
 
+    /**
+     * The giver and receiver sections of the response, for fetching the responses
+     * in a section with a single query. Derived from {@code giverSection} and
+     * {@code receiverSection}; do not set this directly.
+     */
+    @Persistent
+    private List<String> sections;
+
     @Persistent
     private Text answer; //TODO: rename to responseMetaData, will require database conversion
 
@@ -76,6 +86,7 @@ public class FeedbackResponse implements StoreCallback {
         this.receiver = recipient;
         this.receiverSection = recipientSection;
         this.answer = answer;
+        updateSections();
                 
         this.feedbackResponseId = feedbackQuestionId + "%" + giverEmail + "%" + receiver; 
         
@@ -137,6 +148,7 @@ public class FeedbackResponse implements StoreCallback {
 
     public void setGiverSection(String giverSection) {
         this.giverSection = giverSection;
+        updateSections();
     }
 
     public String getRecipientEmail() {
@@ -153,6 +165,22 @@ public class FeedbackResponse implements StoreCallback {
 
     public void setRecipientSection(String recipientSection) {
         this.receiverSection = recipientSection;
+        updateSections();
+    }
+
+    public List<String> getSections() {
+        return sections;
+    }
+
+    private void updateSections() {
+        List<String> newSections = new ArrayList<String>();
+        if (giverSection != null) {
+            newSections.add(giverSection);
+        }
+        if (receiverSection != null && !receiverSection.equals(giverSection)) {
+            newSections.add(receiverSection);
+        }
+        this.sections = newSections;
     }
 
     public Text getResponseMetaData() {
@@ -188,5 +216,9 @@ public class FeedbackResponse implements StoreCallback {
     @Override
     public void jdoPreStore() {
         this.setLastUpdate(new Date());
+        // fills in the sections of responses stored before the property existed
+        if (sections == null) {
+            updateSections();
+        }
     }
 }
@@ -71,8 +71,8 @@ public class InstructorCommentsPageAction extends Action {
         
         int numberOfPendingComments = 0;
         if (!courseId.isEmpty()) {
-            numberOfPendingComments = logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size() 
-                    + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+            numberOfPendingComments = logic.getCommentsCountForSendingState(courseId, CommentSendingState.PENDING)
+                    + logic.getFeedbackResponseCommentsCountForSendingState(courseId, CommentSendingState.PENDING);
         }
         
         statusToAdmin = "instructorComments Page Load<br>" 
@@ -0,0 +1,44 @@
+package teammates.ui.controller;
+
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.logic.api.GateKeeper;
+
+/**
+ * Loads a further page of the questions in the "copy question" modal of the session being edited,
+ * following the page given by {@link Const.ParamsNames#COPIABLE_QUESTIONS_PAGE_TOKEN}.
+ */
+public class InstructorFeedbackCopiableQuestionsAjaxPageAction extends Action {
+
+    @Override
+    protected ActionResult execute() {
+        String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
+        String feedbackSessionName = getRequestParamValue(Const.ParamsNames.FEEDBACK_SESSION_NAME);
+        String pageToken = getRequestParamValue(Const.ParamsNames.COPIABLE_QUESTIONS_PAGE_TOKEN);
+        
+        Assumption.assertNotNull(courseId);
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(pageToken);
+        
+        new GateKeeper().verifyAccessible(logic.getInstructorForGoogleId(courseId, account.googleId),
+                                          logic.getFeedbackSession(feedbackSessionName, courseId),
+                                          false, Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION);
+        
+        CopiableQuestionsPageBundle copiableQuestions =
+                logic.getCopiableFeedbackQuestionsForInstructor(account.googleId,
+                                                                Const.SystemParams.COPIABLE_QUESTIONS_PAGE_SIZE,
+                                                                pageToken);
+        
+        statusToAdmin = "instructorFeedbackCopiableQuestions Page Load<br>"
+                        + "Loaded " + copiableQuestions.questions.size() + " questions to copy into Feedback Session "
+                        + "<span class=\"bold\">[" + feedbackSessionName + "]</span>"
+                        + "in Course: <span class=\"bold\">[" + courseId + "]</span>";
+        
+        InstructorFeedbackCopiableQuestionsAjaxPageData data =
+                new InstructorFeedbackCopiableQuestionsAjaxPageData(account);
+        data.init(copiableQuestions);
+        
+        return createAjaxResult(data);
+    }
+}
@@ -0,0 +1,30 @@
+package teammates.ui.controller;
+
+import java.util.List;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
+import teammates.ui.template.FeedbackQuestionTableRow;
+
+public class InstructorFeedbackCopiableQuestionsAjaxPageData extends PageData {
+
+    private List<FeedbackQuestionTableRow> questionRows;
+    private String nextPageToken;
+
+    public InstructorFeedbackCopiableQuestionsAjaxPageData(AccountAttributes account) {
+        super(account);
+    }
+
+    public void init(CopiableQuestionsPageBundle copiableQuestions) {
+        questionRows = InstructorFeedbackEditPageData.buildCopyQuestionsModalRows(copiableQuestions.questions);
+        nextPageToken = copiableQuestions.nextPageToken;
+    }
+
+    public List<FeedbackQuestionTableRow> getQuestionRows() {
+        return questionRows;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
@@ -34,7 +35,9 @@ public class InstructorFeedbackEditPageAction extends Action {
         
         
         List<FeedbackQuestionAttributes> questions = logic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
-        List<FeedbackQuestionAttributes> copiableQuestions = logic.getCopiableFeedbackQuestionsForInstructor(account.googleId);
+        CopiableQuestionsPageBundle copiableQuestions =
+                logic.getCopiableFeedbackQuestionsForInstructor(account.googleId,
+                                                                Const.SystemParams.COPIABLE_QUESTIONS_PAGE_SIZE, null);
         
         Map<String, Boolean> questionHasResponses = new HashMap<String, Boolean>();
         
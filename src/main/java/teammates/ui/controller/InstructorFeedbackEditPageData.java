@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Map;
 
 import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.CopiableQuestionSummary;
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
@@ -41,7 +43,7 @@ public class InstructorFeedbackEditPageData extends PageData {
     }
     
     public void init(FeedbackSessionAttributes feedbackSession, List<FeedbackQuestionAttributes> questions,
-                     List<FeedbackQuestionAttributes> copiableQuestions, 
+                     CopiableQuestionsPageBundle copiableQuestions,
                      Map<String, Boolean> questionHasResponses,
                      List<StudentAttributes> studentList, List<InstructorAttributes> instructorList,
                      InstructorAttributes instructor) {
@@ -89,28 +91,31 @@ public class InstructorFeedbackEditPageData extends PageData {
     }   
 
     private void buildCopyQnForm(FeedbackSessionAttributes feedbackSession,
-                                    List<FeedbackQuestionAttributes> copiableQuestions,
+                                    CopiableQuestionsPageBundle copiableQuestions,
                                     InstructorAttributes instructor) {
-        List<FeedbackQuestionTableRow> copyQuestionRows = buildCopyQuestionsModalRows(copiableQuestions,
-                                                                                      instructor);
+        boolean canCopy = instructor.isAllowedForPrivilege(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION);
+        List<FeedbackQuestionTableRow> copyQuestionRows = canCopy
+                                                        ? buildCopyQuestionsModalRows(copiableQuestions.questions)
+                                                        : new ArrayList<FeedbackQuestionTableRow>();
         copyQnForm = new FeedbackQuestionCopyTable(feedbackSession.courseId, feedbackSession.feedbackSessionName, 
-                                                   copyQuestionRows);
+                                                   copyQuestionRows,
+                                                   canCopy ? copiableQuestions.nextPageToken : null);
     }
 
-    private List<FeedbackQuestionTableRow> buildCopyQuestionsModalRows(List<FeedbackQuestionAttributes> copiableQuestions,
-                                                                       InstructorAttributes instructor) {
+    /**
+     * Builds the rows of the "copy question" modal, also used for the pages of questions
+     * loaded after the first one.
+     */
+    public static List<FeedbackQuestionTableRow> buildCopyQuestionsModalRows(
+            List<CopiableQuestionSummary> copiableQuestions) {
         List<FeedbackQuestionTableRow> copyQuestionRows = new ArrayList<FeedbackQuestionTableRow>();
-        if (instructor.isAllowedForPrivilege(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION)) {
-            for (FeedbackQuestionAttributes question : copiableQuestions) {
-                String courseId = question.courseId;
-                String fsName = question.feedbackSessionName;
-                String qnType = question.getQuestionDetails().getQuestionTypeDisplayName();
-                String qnText = question.getQuestionDetails().questionText;
-                String qnId = question.getId();
-                
-                FeedbackQuestionTableRow row = new FeedbackQuestionTableRow(courseId, fsName, qnType, qnText, qnId);
-                copyQuestionRows.add(row);
-            }
+        for (CopiableQuestionSummary question : copiableQuestions) {
+            FeedbackQuestionTableRow row = new FeedbackQuestionTableRow(question.courseId,
+                                                                        question.feedbackSessionName,
+                                                                        question.questionTypeDisplayName,
+                                                                        question.questionText,
+                                                                        question.feedbackQuestionId);
+            copyQuestionRows.add(row);
         }
         return copyQuestionRows;
     }
@@ -0,0 +1,55 @@
+package teammates.ui.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Const.StatusMessageColor;
+import teammates.common.util.StatusMessage;
+import teammates.logic.api.GateKeeper;
+
+/**
+ * Applies a reorder of all the questions of a session, e.g. by drag-and-drop in the question editor,
+ * in one request. The questions are given in their new order as
+ * {@code FEEDBACK_QUESTION_ID-0}, {@code FEEDBACK_QUESTION_ID-1} and so on.
+ */
+public class InstructorFeedbackQuestionReorderAction extends Action {
+
+    @Override
+    protected ActionResult execute() throws EntityDoesNotExistException {
+        String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
+        String feedbackSessionName = getRequestParamValue(Const.ParamsNames.FEEDBACK_SESSION_NAME);
+        
+        Assumption.assertPostParamNotNull(Const.ParamsNames.COURSE_ID, courseId);
+        Assumption.assertPostParamNotNull(Const.ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+        
+        new GateKeeper().verifyAccessible(logic.getInstructorForGoogleId(courseId, account.googleId),
+                                          logic.getFeedbackSession(feedbackSessionName, courseId),
+                                          false, Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION);
+        
+        List<String> feedbackQuestionIds = new ArrayList<String>();
+        int index = 0;
+        String feedbackQuestionId = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_ID + "-" + index);
+        while (feedbackQuestionId != null) {
+            feedbackQuestionIds.add(feedbackQuestionId);
+            index++;
+            feedbackQuestionId = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_ID + "-" + index);
+        }
+        
+        try {
+            logic.reorderFeedbackQuestions(feedbackSessionName, courseId, feedbackQuestionIds);
+            statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_QUESTION_REORDERED,
+                                               StatusMessageColor.SUCCESS));
+            statusToAdmin = "Feedback Questions for session:<span class=\"bold\">(" + feedbackSessionName
+                            + ")</span> for Course <span class=\"bold\">[" + courseId + "]</span> reordered.";
+        } catch (InvalidParametersException e) {
+            setStatusForException(e);
+        }
+        
+        return createRedirectResult(new PageData(account)
+                                            .getInstructorFeedbackEditLink(courseId, feedbackSessionName));
+    }
+}
@@ -47,8 +47,8 @@ public class InstructorFeedbackResponseCommentsLoadAction extends Action {
         CourseRoster roster = new CourseRoster(logic.getStudentsForCourse(courseId),
                                                logic.getInstructorsForCourse(courseId));
         
-        int numberOfPendingComments = logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size()
-                + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+        int numberOfPendingComments = logic.getCommentsCountForSendingState(courseId, CommentSendingState.PENDING)
+                + logic.getFeedbackResponseCommentsCountForSendingState(courseId, CommentSendingState.PENDING);
         FeedbackSessionResultsBundle bundle = getFeedbackResultBundle(courseId, fsName, roster);
         InstructorFeedbackResponseCommentsLoadPageData data =
                 new InstructorFeedbackResponseCommentsLoadPageData(
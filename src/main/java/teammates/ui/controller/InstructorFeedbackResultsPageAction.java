@@ -8,6 +8,7 @@ import teammates.common.exception.ExceedingRangeException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
+import teammates.common.util.ResultsFragmentCache;
 import teammates.common.util.StatusMessage;
 import teammates.common.util.StringHelper;
 import teammates.logic.api.GateKeeper;
@@ -16,9 +17,8 @@ import teammates.ui.controller.InstructorFeedbackResultsPageData.ViewType;
 public class InstructorFeedbackResultsPageAction extends Action {
 
     private static final String ALL_SECTION_OPTION = "All";
-    private static final int DEFAULT_QUERY_RANGE = 1000;
-    private static final int DEFAULT_SECTION_QUERY_RANGE = 2500;
-    private static final int QUERY_RANGE_FOR_AJAX_TESTING = 5;
+    private static final int DEFAULT_PAGE_SIZE = 500;
+    private static final int PAGE_SIZE_FOR_AJAX_TESTING = 5;
 
     @Override
     protected ActionResult execute() throws EntityDoesNotExistException {
@@ -39,6 +39,7 @@ public class InstructorFeedbackResultsPageAction extends Action {
         new GateKeeper().verifyAccessible(instructor, session, !isCreatorOnly);
 
         InstructorFeedbackResultsPageData data = new InstructorFeedbackResultsPageData(account);
+        data.setResultsDataVersion(ResultsFragmentCache.getDataVersion(courseId));
         String selectedSection = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_GROUPBYSECTION);
 
         if (selectedSection == null) {
@@ -59,6 +60,7 @@ public class InstructorFeedbackResultsPageAction extends Action {
         String groupByTeam = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_GROUPBYTEAM);
         String sortType = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_SORTTYPE);
         String startIndex = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_MAIN_INDEX);
+        String pageToken = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_PAGE_TOKEN);
         
         if (startIndex != null) {
             data.setStartIndex(Integer.parseInt(startIndex));
@@ -73,32 +75,26 @@ public class InstructorFeedbackResultsPageAction extends Action {
         
         String questionId = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_ID);
         String isTestingAjax = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_NEED_AJAX);
-        int queryRange = isTestingAjax == null ? DEFAULT_QUERY_RANGE : QUERY_RANGE_FOR_AJAX_TESTING;
+        int pageSize = isTestingAjax == null ? DEFAULT_PAGE_SIZE : PAGE_SIZE_FOR_AJAX_TESTING;
+        // the first page of all sections tells whether they can be shown at once,
+        // otherwise the sections are loaded one at a time
+        String section = ALL_SECTION_OPTION.equals(selectedSection) ? null : selectedSection;
         
-        if (ALL_SECTION_OPTION.equals(selectedSection) && questionId == null && !"question".equals(sortType)) {
-            // bundle for all questions and all sections  
-            data.setBundle(
-                     logic.getFeedbackSessionResultsForInstructorWithinRangeFromView(
-                                                                           feedbackSessionName, courseId,
-                                                                           instructor.email,
-                                                                           queryRange, sortType));
-        } else if ("question".equals(sortType)) {
+        if ("question".equals(sortType)) {
             data.setBundle(getBundleForQuestionView(isTestingAjax, courseId, feedbackSessionName, instructor, data,
                                                     selectedSection, sortType, questionId));
         } else if ("giver-question-recipient".equals(sortType)
                 || "giver-recipient-question".equals(sortType)) {
             data.setBundle(logic
-                    .getFeedbackSessionResultsForInstructorFromSectionWithinRange(feedbackSessionName, courseId,
-                                                                                  instructor.email,
-                                                                                  selectedSection,
-                                                                                  DEFAULT_SECTION_QUERY_RANGE));
-        } else if ("recipient-question-giver".equals(sortType)
-                || "recipient-giver-question".equals(sortType)) {
+                    .getFeedbackSessionResultsForInstructorFromSectionInPage(feedbackSessionName, courseId,
+                                                                             instructor.email, section,
+                                                                             pageSize, pageToken));
+        } else {
+            // recipient sorts, and the unknown sorts which are shown as recipient-giver-question
             data.setBundle(logic
-                    .getFeedbackSessionResultsForInstructorToSectionWithinRange(feedbackSessionName, courseId,
-                                                                                instructor.email,
-                                                                                selectedSection,
-                                                                                DEFAULT_SECTION_QUERY_RANGE));
+                    .getFeedbackSessionResultsForInstructorToSectionInPage(feedbackSessionName, courseId,
+                                                                           instructor.email, section,
+                                                                           pageSize, pageToken));
         }
 
         if (data.getBundle() == null) {
@@ -115,6 +111,8 @@ public class InstructorFeedbackResultsPageAction extends Action {
                                                            || isShowSectionWarningForQuestionView)) {
             statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESULTS_SECTIONVIEWWARNING, StatusMessageColor.WARNING));
             isError = true;
+        } else if (data.getBundle().isOnePageOfMany() && pageToken == null) {
+            statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESULTS_SECTIONPAGESINFO, StatusMessageColor.INFO));
         }
         
 
@@ -158,26 +156,27 @@ public class InstructorFeedbackResultsPageAction extends Action {
                                                                   throws EntityDoesNotExistException {
         FeedbackSessionResultsBundle bundle;
         if (questionId == null) {
+            // load page structure without responses
+            // set up question tables, responses of each question to load by ajax
             if (ALL_SECTION_OPTION.equals(selectedSection)) {
-                // load page structure without responses
-                
                 data.setLargeNumberOfRespondents(needAjax != null);
                 
                 // all sections and all questions for question view
-                // set up question tables, responses to load by ajax
                 bundle = logic.getFeedbackSessionResultsForInstructorWithinRangeFromView(
                                                feedbackSessionName, courseId,
                                                instructor.email,
                                                1, sortType);
-                // set isComplete to true to prevent behavior when there are too many responses, 
-                // such as the display of warning messages
-                bundle.isComplete = true;
             } else {
-                // bundle for all questions, with a selected section
-                bundle = logic.getFeedbackSessionResultsForInstructorInSection(feedbackSessionName, courseId,
-                                                                                    instructor.email,
-                                                                                    selectedSection);
+                // all questions, with a selected section
+                bundle = logic.getFeedbackSessionResultsForInstructorInSectionWithinRangeFromView(
+                                               feedbackSessionName, courseId,
+                                               instructor.email, selectedSection,
+                                               1, sortType);
             }
+            // set isComplete to true to prevent behavior when there are too many responses, 
+            // such as the display of warning messages
+            bundle.isComplete = true;
+            data.setLoadingStructureOnly(true);
         } else {
             if (ALL_SECTION_OPTION.equals(selectedSection)) {
                 // bundle for a specific question, with all sections
@@ -22,7 +22,9 @@ import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
+import teammates.common.util.ResultsFragmentCache;
 import teammates.common.util.StringHelper;
+import teammates.common.util.VersionedCache;
 import teammates.ui.template.ElementTag;
 import teammates.ui.template.FeedbackResponseComment;
 import teammates.ui.template.FeedbackSessionPublishButton;
@@ -50,6 +52,13 @@ public class InstructorFeedbackResultsPageData extends PageData {
     // isLargeNumberOfRespondents is an attribute used for testing the ui, for ViewType.Question 
     private boolean isLargeNumberOfRespondents;
     
+    // for ViewType.Question, whether only the question panels are built, for the responses to be loaded by ajax
+    private boolean isLoadingStructureOnly;
+    
+    // data version of the course before the bundle was read, see ResultsFragmentCache. Unknown by default,
+    // in which case nothing is cached
+    private long resultsDataVersion = VersionedCache.UNKNOWN_VERSION;
+    
     private FeedbackSessionResultsBundle bundle;
     private InstructorAttributes instructor;
     private List<String> sections;
@@ -133,9 +142,9 @@ public class InstructorFeedbackResultsPageData extends PageData {
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> questionToResponseMap = bundle.getQuestionResponseMap();
         questionPanels = new ArrayList<InstructorFeedbackResultsQuestionTable>();
         
-        // if there is more than one question, we omit generation of responseRows,
-        // and load them by ajax question by question
-        boolean isLoadingStructureOnly = questionToResponseMap.size() > 1;
+        // if there is more than one question, or the bundle has been loaded without responses,
+        // we omit generation of responseRows and statistics, and load them by ajax question by question
+        boolean isLoadingStructureOnly = this.isLoadingStructureOnly || questionToResponseMap.size() > 1;
                                         
         for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry : questionToResponseMap.entrySet()) {
             FeedbackQuestionAttributes question = entry.getKey();
@@ -163,17 +172,25 @@ public class InstructorFeedbackResultsPageData extends PageData {
         this.showStats = showStats;
         this.groupByTeam = groupByTeam;
         
-        for (FeedbackQuestionAttributes question : bundle.questions.values()) {
-            FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
-            questionToDetailsMap.put(question, questionDetails);
-        }
-        
         this.sections = getSectionsFromBundle();
         
         displayableFsName = sanitizeForHtml(bundle.feedbackSession.feedbackSessionName);
         displayableCourseId = sanitizeForHtml(bundle.feedbackSession.courseId);
     }
 
+    /**
+     * Returns the details of the question, which are only deserialized
+     * the first time they are needed by the page.
+     */
+    private FeedbackQuestionDetails getQuestionDetails(FeedbackQuestionAttributes question) {
+        FeedbackQuestionDetails questionDetails = questionToDetailsMap.get(question);
+        if (questionDetails == null) {
+            questionDetails = question.getQuestionDetails();
+            questionToDetailsMap.put(question, questionDetails);
+        }
+        return questionDetails;
+    }
+
     private List<String> getSectionsFromBundle() {
         List<String> sectionNames = new ArrayList<>();
         for (String section : bundle.sectionsInCourse()) {
@@ -204,7 +221,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
         this.sortType = view.toString();
         initCommonVariables(instructor, selectedSection, showStats, groupByTeam);
         
-        if (!bundle.isComplete) {
+        if (isLoadingResponsesBySection()) {
             // results page to be loaded by ajax instead 
             if (isAllSectionsSelected()) {
                 buildSectionPanelsForForAjaxLoading(getSections());
@@ -548,7 +565,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
                                                                          : primaryParticipantIndex;
             
             String additionalInfoText = 
-                    questionToDetailsMap.get(question).getQuestionAdditionalInfoHtml(
+                    getQuestionDetails(question).getQuestionAdditionalInfoHtml(
                             question.getQuestionNumber(), String.format(
                                     additionalInfoId, giverIndex, recipientIndex));
             ElementTag rowAttributes = null;
@@ -657,7 +674,8 @@ public class InstructorFeedbackResultsPageData extends PageData {
         case GIVER_QUESTION_RECIPIENT:
         case RECIPIENT_QUESTION_GIVER:
             prepareHeadersForTeamPanelsInSectionPanel(sectionPanel);
-            if (!responsesGroupedByTeam.isEmpty()) {
+            // the statistics of a team cannot be computed from some pages of its responses
+            if (!responsesGroupedByTeam.isEmpty() && !bundle.isOnePageOfMany()) {
                 buildTeamsStatisticsTableForSectionPanel(sectionPanel, responsesGroupedByTeam, 
                                                          teamsWithResponses);
             }
@@ -666,7 +684,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
             for (String team : teamsWithResponses) {
                 // teamsWithResponses can include teams of anonymous student ("Anonymous student #'s Team")
                 // and "-"
-                isTeamDisplayingStatistics.put(team, isTeamVisible(team));
+                isTeamDisplayingStatistics.put(team, isTeamVisible(team) && !bundle.isOnePageOfMany());
             }
             sectionPanel.setDisplayingTeamStatistics(isTeamDisplayingStatistics);
             sectionPanel.setSectionName(sectionName);
@@ -695,6 +713,10 @@ public class InstructorFeedbackResultsPageData extends PageData {
     private void buildMissingTeamAndParticipantPanelsForSection(
                                     InstructorFeedbackResultsSectionPanel sectionPanel, String sectionName,
                                     Set<String> teamWithResponses) {
+        if (bundle.isOnePageOfMany()) {
+            // the teams may have responses in the other pages
+            return;
+        }
 
         // update the teams for the previous section
         Set<String> teamsInSection = bundle.getTeamsInSectionFromRoster(sectionName);
@@ -759,6 +781,10 @@ public class InstructorFeedbackResultsPageData extends PageData {
     private void buildMissingParticipantPanelsForTeam(
                                     InstructorFeedbackResultsSectionPanel sectionPanel, String teamName,
                                     Set<String> teamMembersWithResponses) {
+        if (bundle.isOnePageOfMany()) {
+            // the team members may have responses in the other pages
+            return;
+        }
         
         Set<String> teamMembersEmail = new HashSet<String>();
         teamMembersEmail.addAll(bundle.getTeamMembersFromRoster(teamName));
@@ -1018,7 +1044,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
         boolean isCollapsible = true;
         List<InstructorFeedbackResultsResponseRow> responseRows = null;
         
-        FeedbackQuestionDetails questionDetails = questionToDetailsMap.get(question);
+        FeedbackQuestionDetails questionDetails = getQuestionDetails(question);
         if (isShowingResponseRows) {
             switch (viewType) {
             case QUESTION:
@@ -1046,9 +1072,17 @@ public class InstructorFeedbackResultsPageData extends PageData {
             
         }
         
-        String studentEmail = student == null ? null : student.email;
-        String statisticsTable = questionDetails.getQuestionResultStatisticsHtml(responses, question, studentEmail, 
-                                                                                 bundle, viewType.toString());
+        // the question view without response rows only shows the structure of the page,
+        // so the statistics are left to the ajax request which loads the responses.
+        // A page of responses has no statistics, as the rest of the responses are in the other pages
+        String statisticsTable = "";
+        if (isShowingResponseRows && viewType == ViewType.QUESTION) {
+            statisticsTable = getQuestionStatisticsHtmlForQuestionView(question, questionDetails, responses);
+        } else if (viewType != ViewType.QUESTION && !bundle.isOnePageOfMany()) {
+            String studentEmail = student == null ? null : student.email;
+            statisticsTable = questionDetails.getQuestionResultStatisticsHtml(responses, question, studentEmail, 
+                                                                              bundle, viewType.toString());
+        }
         
         String questionText = questionDetails.getQuestionText();
         String additionalInfoText = questionDetails.getQuestionAdditionalInfoHtml(question.questionNumber, additionalInfoId);
@@ -1072,6 +1106,33 @@ public class InstructorFeedbackResultsPageData extends PageData {
         return questionTable;
     }
 
+    /**
+     * Returns the statistics of all the responses to the question in the bundle. For a session which
+     * is published and closed, they are cached in {@link ResultsFragmentCache} for the instructor
+     * and the selected section.
+     */
+    private String getQuestionStatisticsHtmlForQuestionView(FeedbackQuestionAttributes question,
+                                                            FeedbackQuestionDetails questionDetails,
+                                                            List<FeedbackResponseAttributes> responses) {
+        String studentEmail = student == null ? null : student.email;
+        if (!ResultsFragmentCache.isCacheable(bundle.feedbackSession)) {
+            return questionDetails.getQuestionResultStatisticsHtml(responses, question, studentEmail, 
+                                                                   bundle, viewType.toString());
+        }
+        
+        String courseId = bundle.feedbackSession.courseId;
+        String fragmentKey = ResultsFragmentCache.getKey(courseId, bundle.feedbackSession.feedbackSessionName,
+                                                         instructor.email, selectedSection, viewType.toString(),
+                                                         question.getId());
+        String statisticsTable = ResultsFragmentCache.get(fragmentKey, String.class, resultsDataVersion);
+        if (statisticsTable == null) {
+            statisticsTable = questionDetails.getQuestionResultStatisticsHtml(responses, question, studentEmail, 
+                                                                              bundle, viewType.toString());
+            ResultsFragmentCache.put(courseId, fragmentKey, statisticsTable, resultsDataVersion);
+        }
+        return statisticsTable;
+    }
+
     private void buildTableColumnHeaderForQuestionView(List<ElementTag> columnTags, 
                                                        Map<String, Boolean> isSortable) {
         ElementTag giverTeamElement = 
@@ -1334,7 +1395,11 @@ public class InstructorFeedbackResultsPageData extends PageData {
                                                                     String giverIdentifier,
                                                                     String giverName, String giverTeam) {
         List<InstructorFeedbackResultsResponseRow> missingResponses = new ArrayList<InstructorFeedbackResultsResponseRow>();
-        FeedbackQuestionDetails questionDetails = questionToDetailsMap.get(question);
+        if (bundle.isOnePageOfMany()) {
+            // the responses may be in the other pages
+            return missingResponses;
+        }
+        FeedbackQuestionDetails questionDetails = getQuestionDetails(question);
         
         for (String possibleRecipient : possibleReceivers) {            
             if (questionDetails.shouldShowNoResponseText(giverIdentifier, possibleRecipient, question)) {
@@ -1372,7 +1437,11 @@ public class InstructorFeedbackResultsPageData extends PageData {
                                     List<String> possibleGivers, String recipientIdentifier,
                                     String recipientName, String recipientTeam) {
         List<InstructorFeedbackResultsResponseRow> missingResponses = new ArrayList<InstructorFeedbackResultsResponseRow>();
-        FeedbackQuestionDetails questionDetails = questionToDetailsMap.get(question);
+        if (bundle.isOnePageOfMany()) {
+            // the responses may be in the other pages
+            return missingResponses;
+        }
+        FeedbackQuestionDetails questionDetails = getQuestionDetails(question);
         
         for (String possibleGiver : possibleGivers) {
             String possibleGiverName = bundle.getFullNameFromRoster(possibleGiver);
@@ -1763,6 +1832,14 @@ public class InstructorFeedbackResultsPageData extends PageData {
         return getInstructorFeedbackResultsLink(bundle.feedbackSession.courseId, bundle.feedbackSession.feedbackSessionName);
     }
     
+    /**
+     * @return the token of the next page of responses of the selected section, or null if
+     *         there is no next page or the sections are loaded one at a time instead
+     */
+    public String getNextPageToken() {
+        return isAllSectionsSelected() ? null : bundle.nextPageToken;
+    }
+    
     private boolean isAllowedToModerate(InstructorAttributes instructor, String sectionName, String feedbackSessionName) {
         return instructor.isAllowedForPrivilege(sectionName, feedbackSessionName, 
                                                 Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION_COMMENT_IN_SECTIONS);
@@ -1804,7 +1881,15 @@ public class InstructorFeedbackResultsPageData extends PageData {
     
     public boolean isLargeNumberOfResponses() {
         return viewType == ViewType.QUESTION && isLargeNumberOfRespondents() && isAllSectionsSelected()
-             || !bundle.isComplete;
+             || isLoadingResponsesBySection();
+    }
+    
+    /**
+     * @return true if the responses in the bundle cannot be shown at once, and are to be loaded
+     *         by ajax one section at a time instead, or cannot be shown at all in a selected section
+     */
+    private boolean isLoadingResponsesBySection() {
+        return bundle.isCutOffAtRange() || bundle.isOnePageOfMany() && isAllSectionsSelected();
     }
     
     public boolean isLargeNumberOfRespondents() {
@@ -1818,5 +1903,17 @@ public class InstructorFeedbackResultsPageData extends PageData {
     public void setLargeNumberOfRespondents(boolean needAjax) {
         this.isLargeNumberOfRespondents = needAjax;
     }
+
+    public void setLoadingStructureOnly(boolean isLoadingStructureOnly) {
+        this.isLoadingStructureOnly = isLoadingStructureOnly;
+    }
+
+    /**
+     * Sets the data version of the course, as given by {@link ResultsFragmentCache#getDataVersion}
+     * before the bundle was read, for fragments built from the bundle to be cached.
+     */
+    public void setResultsDataVersion(long resultsDataVersion) {
+        this.resultsDataVersion = resultsDataVersion;
+    }
     
 }
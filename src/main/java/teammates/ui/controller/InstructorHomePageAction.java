@@ -42,10 +42,9 @@ public class InstructorHomePageAction extends Action {
         FeedbackSessionAttributes.sortFeedbackSessionsByCreationTimeDescending(course.feedbackSessions);
         
         int commentsForSendingStateCount =
-                logic.getCommentsForSendingState(courseToLoad, CommentSendingState.PENDING).size();
+                logic.getCommentsCountForSendingState(courseToLoad, CommentSendingState.PENDING);
         int feedbackResponseCommentsForSendingStateCount =
-                logic.getFeedbackResponseCommentsForSendingState(courseToLoad, CommentSendingState.PENDING)
-                     .size();
+                logic.getFeedbackResponseCommentsCountForSendingState(courseToLoad, CommentSendingState.PENDING);
         int pendingCommentsCount = commentsForSendingStateCount + feedbackResponseCommentsForSendingStateCount;
         List<String> sectionNames = logic.getSectionNamesForCourse(course.course.getId());
         
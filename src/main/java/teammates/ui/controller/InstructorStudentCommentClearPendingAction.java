@@ -36,12 +36,12 @@ public class InstructorStudentCommentClearPendingAction extends Action {
         // Wait for the operation to persist
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
             int elapsedTime = 0;
-            int pendingCommentsSize = getPendingCommentsSize(courseId);
-            while (pendingCommentsSize != 0 && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
+            boolean isPendingCommentPresent = isPendingCommentPresent(courseId);
+            while (isPendingCommentPresent && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
                 ThreadHelper.waitBriefly();
-                pendingCommentsSize = getPendingCommentsSize(courseId);
+                isPendingCommentPresent = isPendingCommentPresent(courseId);
                 //check before incrementing to avoid boundary case problem
-                if (pendingCommentsSize != 0) {
+                if (isPendingCommentPresent) {
                     elapsedTime += ThreadHelper.WAIT_DURATION;
                 }
             }
@@ -67,8 +67,8 @@ public class InstructorStudentCommentClearPendingAction extends Action {
                                      + Const.ParamsNames.COURSE_ID + "=" + courseId);
     }
     
-    private int getPendingCommentsSize(String courseId) throws EntityDoesNotExistException {
-        return logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size()
-                + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+    private boolean isPendingCommentPresent(String courseId) throws EntityDoesNotExistException {
+        return logic.isCommentForSendingStatePresent(courseId, CommentSendingState.PENDING)
+                || logic.isFeedbackResponseCommentForSendingStatePresent(courseId, CommentSendingState.PENDING);
     }
 }
@@ -5,13 +5,16 @@ import java.util.Map;
 
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.UnauthorizedAccessException;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
+import teammates.common.util.ResultsFragmentCache;
 import teammates.common.util.StatusMessage;
 import teammates.logic.api.GateKeeper;
+import teammates.ui.controller.StudentFeedbackResultsPageData.ResultsFragment;
 
 public class StudentFeedbackResultsPageAction extends Action {
     @Override
@@ -27,26 +30,50 @@ public class StudentFeedbackResultsPageAction extends Action {
             return createPleaseJoinCourseResponse(courseId);
         }
 
-        new GateKeeper().verifyAccessible(getCurrentStudent(courseId),
-                                          logic.getFeedbackSession(feedbackSessionName, courseId));
+        FeedbackSessionAttributes feedbackSession = logic.getFeedbackSession(feedbackSessionName, courseId);
+        new GateKeeper().verifyAccessible(getCurrentStudent(courseId), feedbackSession);
 
         StudentFeedbackResultsPageData data = new StudentFeedbackResultsPageData(account, student);
 
         data.student = getCurrentStudent(courseId);
-        data.setBundle(logic.getFeedbackSessionResultsForStudent(feedbackSessionName, courseId, data.student.email));
 
-        if (data.getBundle() == null) {
-            // not covered because GateKeeper will detect this as unauthorized exception, but we can
-            // leave this here as a safety net on the off cases that GateKeeper fails to catch the Exception
-            throw new EntityDoesNotExistException("Feedback session " + feedbackSessionName
-                                                  + " does not exist in " + courseId + ".");
-        }
+        // the results of a published and closed session are not expected to change,
+        // so the page is built from the results bundle only on the first view by the student
+        boolean isCacheable = ResultsFragmentCache.isCacheable(feedbackSession);
+        String fragmentKey = ResultsFragmentCache.getKey(courseId, feedbackSessionName, data.student.email,
+                                                         null, "student", null);
+        long dataVersion = ResultsFragmentCache.getDataVersion(courseId);
+        ResultsFragment fragment = isCacheable ? ResultsFragmentCache.get(fragmentKey, ResultsFragment.class, dataVersion)
+                                               : null;
+        boolean isFromCache = fragment != null;
+
+        if (!isFromCache) {
+            data.setBundle(logic.getFeedbackSessionResultsForStudent(feedbackSessionName, courseId,
+                                                                     data.student.email));
+
+            if (data.getBundle() == null) {
+                // not covered because GateKeeper will detect this as unauthorized exception, but we can
+                // leave this here as a safety net on the off cases that GateKeeper fails to catch the Exception
+                throw new EntityDoesNotExistException("Feedback session " + feedbackSessionName
+                                                      + " does not exist in " + courseId + ".");
+            }
 
-        if (!data.getBundle().feedbackSession.isPublished()) {
-            throw new UnauthorizedAccessException("This feedback session is not yet visible.");
+            if (!data.getBundle().feedbackSession.isPublished()) {
+                throw new UnauthorizedAccessException("This feedback session is not yet visible.");
+            }
+
+            Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> questionsWithResponses =
+                                            data.getBundle().getQuestionResponseMapSortedByRecipient();
+            data.init(questionsWithResponses);
+            fragment = data.getResultsFragment();
+            if (isCacheable) {
+                ResultsFragmentCache.put(courseId, fragmentKey, fragment, dataVersion);
+            }
+        } else {
+            data.init(feedbackSession, fragment);
         }
 
-        if (data.getBundle().isStudentHasSomethingNewToSee(data.student)) {
+        if (fragment.isStudentHasSomethingNewToSee()) {
             statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESULTS_SOMETHINGNEW, StatusMessageColor.INFO));
         } else {
             statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESULTS_NOTHINGNEW, StatusMessageColor.WARNING));
@@ -55,10 +82,10 @@ public class StudentFeedbackResultsPageAction extends Action {
         statusToAdmin = "Show student feedback result page<br>"
                         + "Session Name: " + feedbackSessionName + "<br>"
                         + "Course ID: " + courseId;
+        if (isFromCache) {
+            statusToAdmin += "<br>Served from the results fragment cache (" + ResultsFragmentCache.getStatistics() + ")";
+        }
         
-        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> questionsWithResponses =
-                                        data.getBundle().getQuestionResponseMapSortedByRecipient();
-        data.init(questionsWithResponses);
         return createShowPageResult(Const.ViewURIs.STUDENT_FEEDBACK_RESULTS, data);
     }
 
@@ -1,6 +1,7 @@
 package teammates.ui.controller;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +11,7 @@ import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.util.Config;
@@ -22,6 +24,7 @@ import teammates.ui.template.StudentFeedbackResultsQuestionWithResponses;
 
 public class StudentFeedbackResultsPageData extends PageData {
     private FeedbackSessionResultsBundle bundle;
+    private FeedbackSessionAttributes feedbackSession;
     private String registerMessage;
     private List<StudentFeedbackResultsQuestionWithResponses> feedbackResultsQuestionsWithResponses;
     
@@ -30,7 +33,30 @@ public class StudentFeedbackResultsPageData extends PageData {
     }
     
     public void init(Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> questionsWithResponses) {
-        
+        initRegisterMessage();
+        createFeedbackResultsQuestionsWithResponses(questionsWithResponses);
+    }
+    
+    /**
+     * Initializes the page from the fragment cached by an earlier view of the page by the same student,
+     * without a results bundle.
+     */
+    public void init(FeedbackSessionAttributes feedbackSession, ResultsFragment fragment) {
+        this.feedbackSession = feedbackSession;
+        initRegisterMessage();
+        feedbackResultsQuestionsWithResponses = fragment.questionsWithResponses;
+    }
+    
+    /**
+     * @return the parts of the page built from the results bundle, to be reused by later views of the page
+     *         by the same student. {@link #init(Map)} should be called before this method.
+     */
+    public ResultsFragment getResultsFragment() {
+        return new ResultsFragment(feedbackResultsQuestionsWithResponses,
+                                   bundle.isStudentHasSomethingNewToSee(student));
+    }
+    
+    private void initRegisterMessage() {
         String joinUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_COURSE_JOIN_NEW)
                                                    .withRegistrationKey(student.key)
                                                    .withStudentEmail(student.email)
@@ -39,13 +65,16 @@ public class StudentFeedbackResultsPageData extends PageData {
         
         registerMessage = String.format(Const.StatusMessages.UNREGISTERED_STUDENT_RESULTS, 
                                             student.name, joinUrl);
-        createFeedbackResultsQuestionsWithResponses(questionsWithResponses);
     }
 
     public FeedbackSessionResultsBundle getBundle() {
         return bundle;
     }
     
+    public FeedbackSessionAttributes getFeedbackSession() {
+        return feedbackSession;
+    }
+    
     public String getRegisterMessage() {
         return registerMessage;
     }
@@ -84,6 +113,7 @@ public class StudentFeedbackResultsPageData extends PageData {
     
     public void setBundle(FeedbackSessionResultsBundle bundle) {
         this.bundle = bundle;
+        this.feedbackSession = bundle == null ? null : bundle.feedbackSession;
     }
 
     /**
@@ -239,4 +269,24 @@ public class StudentFeedbackResultsPageData extends PageData {
         }
         return responsesForRecipient;
     }    
+
+    /**
+     * The parts of the page built from the results bundle, which stay the same
+     * for the student as long as the results of the session do not change.
+     */
+    public static final class ResultsFragment {
+        
+        private final List<StudentFeedbackResultsQuestionWithResponses> questionsWithResponses;
+        private final boolean isStudentHasSomethingNewToSee;
+        
+        private ResultsFragment(List<StudentFeedbackResultsQuestionWithResponses> questionsWithResponses,
+                                boolean isStudentHasSomethingNewToSee) {
+            this.questionsWithResponses = Collections.unmodifiableList(questionsWithResponses);
+            this.isStudentHasSomethingNewToSee = isStudentHasSomethingNewToSee;
+        }
+        
+        public boolean isStudentHasSomethingNewToSee() {
+            return isStudentHasSomethingNewToSee;
+        }
+    }
 }
@@ -8,9 +8,8 @@ import java.util.Map;
 import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
-import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardBundle;
 import teammates.common.exception.EntityDoesNotExistException;
-import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.StatusMessage;
@@ -28,8 +27,9 @@ public class StudentHomePageAction extends Action {
         Map<FeedbackSessionAttributes, Boolean> sessionSubmissionStatusMap = new HashMap<>();
         
         try {
-            courses = logic.getCourseDetailsListForStudent(account.googleId);
-            sessionSubmissionStatusMap = generateFeedbackSessionSubmissionStatusMap(courses, account.googleId);
+            StudentDashboardBundle dashboard = logic.getStudentDashboard(account.googleId);
+            courses = dashboard.courses;
+            sessionSubmissionStatusMap = dashboard.sessionSubmissionStatusMap;
             
             CourseDetailsBundle.sortDetailedCourses(courses);
             
@@ -60,28 +60,6 @@ public class StudentHomePageAction extends Action {
         return response;
     }
     
-    private Map<FeedbackSessionAttributes, Boolean> generateFeedbackSessionSubmissionStatusMap(
-            List<CourseDetailsBundle> courses, String googleId) {
-        Map<FeedbackSessionAttributes, Boolean> returnValue = new HashMap<>();
-        
-        for (CourseDetailsBundle c : courses) {
-            for (FeedbackSessionDetailsBundle fsb : c.feedbackSessions) {
-                FeedbackSessionAttributes f = fsb.feedbackSession;
-                returnValue.put(f, getStudentStatusForSession(f, googleId));
-            }
-        }
-        return returnValue;
-    }
-
-    private boolean getStudentStatusForSession(FeedbackSessionAttributes fs, String googleId) {
-        StudentAttributes student = logic.getStudentForGoogleId(fs.courseId, googleId);
-        Assumption.assertNotNull(student);
-
-        String studentEmail = student.email;
-        
-        return logic.hasStudentSubmittedFeedback(fs, studentEmail);
-    }
-    
     private boolean isCourseIncluded(String recentlyJoinedCourseId, List<CourseDetailsBundle> courses) {
         boolean isCourseIncluded = false;
         
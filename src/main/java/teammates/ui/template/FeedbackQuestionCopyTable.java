@@ -11,11 +11,14 @@ public class FeedbackQuestionCopyTable {
     private String courseId;
     private String fsName;
     private List<FeedbackQuestionTableRow> questionRows;
+    private String nextPageToken;
 
-    public FeedbackQuestionCopyTable(String courseId, String fsName, List<FeedbackQuestionTableRow> questionRows) {
+    public FeedbackQuestionCopyTable(String courseId, String fsName, List<FeedbackQuestionTableRow> questionRows,
+                                     String nextPageToken) {
         this.courseId = courseId;
         this.fsName = fsName;
         this.questionRows = questionRows;
+        this.nextPageToken = nextPageToken;
     }
 
     public List<FeedbackQuestionTableRow> getQuestionRows() {
@@ -30,4 +33,11 @@ public class FeedbackQuestionCopyTable {
         return fsName;
     }
 
+    /**
+     * @return the token to fetch the rest of the questions with, or null if all of them are shown
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
 }
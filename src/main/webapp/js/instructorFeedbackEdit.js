@@ -45,6 +45,7 @@ function readyFeedbackEditPage() {
     // Copy Binding
     bindCopyButton();
     bindCopyEvents();
+    bindCopyLoadMoreButton();
 
     // Additional formatting & bindings.
     disableEditFS();
@@ -785,7 +786,8 @@ var numRowsSelected = 0;
 
 function bindCopyEvents() {
 
-    $('#copyTableModal >tbody>tr').on('click', function(e) {
+    // delegated, so that rows of questions loaded later are also handled
+    $('#copyTableModal').on('click', 'tbody > tr', function(e) {
         e.preventDefault();
         
         if ($(this).hasClass('row-selected')) {
@@ -806,6 +808,57 @@ function bindCopyEvents() {
     });
 }
 
+/**
+ * Appends the next page of questions to the copy question modal.
+ */
+function bindCopyLoadMoreButton() {
+    $('#button_copy_load_more').on('click', function(e) {
+        e.preventDefault();
+
+        var $button = $(this);
+        var $form = $('#copyModalForm');
+        $button.prop('disabled', true);
+
+        $.ajax({
+            type: 'POST',
+            url: '/page/instructorFeedbackCopiableQuestions',
+            data: {
+                courseid: $form.find('input[name="courseid"]').val(),
+                fsname: $form.find('input[name="fsname"]').val(),
+                user: $form.find('input[name="user"]').val(),
+                cqpagetoken: $button.attr('data-pagetoken')
+            },
+            success: function(data) {
+                var $tableBody = $('#copyTableModal > tbody');
+                for (var i = 0; i < data.questionRows.length; i++) {
+                    var row = data.questionRows[i];
+                    $tableBody.append('<tr style="cursor:pointer;">'
+                                      + '<td><input type="checkbox"></td>'
+                                      + '<td>' + row.courseId + '</td>'
+                                      + '<td>' + row.fsName + '</td>'
+                                      + '<td>' + row.qnType + '</td>'
+                                      + '<td>' + row.qnText + '</td>'
+                                      + '<input type="hidden" value="' + row.qnId + '">'
+                                      + '</tr>');
+                }
+
+                if (data.nextPageToken) {
+                    $button.attr('data-pagetoken', data.nextPageToken);
+                    $button.prop('disabled', false);
+                } else {
+                    $('#copyModalLoadMore').remove();
+                }
+            },
+            error: function() {
+                $button.prop('disabled', false);
+                setStatusMessage('Failed to load more questions. Please try again.', StatusType.DANGER);
+            }
+        });
+
+        return false;
+    });
+}
+
 function toggleVisibilityMessage(elem) {
     var $elementParent = $(elem).closest('form');
     var $options = $elementParent.find('.visibilityOptions');
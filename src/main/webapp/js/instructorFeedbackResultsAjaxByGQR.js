@@ -2,6 +2,9 @@ var numPanels = 0;
 var giverIndex = -1;
 
 $(document).ready(function() {
+    // a page of responses of a section is shown with its participant panels, after which the next page is numbered
+    giverIndex = $('.panel-primary').length - 1;
+
     var seeMoreRequest = function(e) {
         var panelHeading = $(this);
         if ($('#show-stats-checkbox').is(':checked')) {
@@ -72,6 +75,8 @@ $(document).ready(function() {
                 $(panelHeading).trigger('click');
                 showHideStats();
                 giverIndex += $(panelBody[0]).find('.panel-primary').length;
+                // the next page of responses of the section, if any, is loaded in the same way
+                $(panelBody[0]).find('.ajax_submit').click(seeMoreRequest);
             }
         });
     };
@@ -16,7 +16,7 @@
         </div>
     </c:if>
     
-    <feedbackResults:feedbackSessionDetailsPanel feedbackSession="${data.bundle.feedbackSession}"/>
+    <feedbackResults:feedbackSessionDetailsPanel feedbackSession="${data.feedbackSession}"/>
     <t:statusMessage statusMessagesToUser="${data.statusMessagesToUser}" />
     <br>
     
@@ -0,0 +1,82 @@
+package teammates.test.cases.automated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.ModifiedCoursesBundle;
+import teammates.common.util.Const;
+import teammates.logic.automated.EntityModifiedLogs;
+import teammates.test.cases.BaseTestCase;
+import teammates.test.driver.LocalLogService;
+
+public class EntityModifiedLogsTest extends BaseTestCase {
+
+    private static final long MINUTE = 60 * 1000;
+    private static final long START_TIME = 1000 * MINUTE;
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testGetModifiedCourses() {
+        LocalLogService logService = new LocalLogService();
+        EntityModifiedLogs entityModifiedLogs = new EntityModifiedLogs(logService);
+
+        ______TS("first read covers the past day, listing each course once");
+
+        logService.addRequest(START_TIME - 25 * 60 * MINUTE, getLogMessage("too.old"));
+        logService.addRequest(START_TIME - 10 * MINUTE, getLogMessage("course1"), "unrelated log line",
+                              getLogMessage("course2"));
+        logService.addRequest(START_TIME - 5 * MINUTE, getLogMessage("course2"), getLogMessage("course1"));
+
+        ModifiedCoursesBundle modifiedCourses = entityModifiedLogs.getModifiedCourses(null, START_TIME);
+
+        assertEquals(Arrays.asList("course1", "course2"), new ArrayList<String>(modifiedCourses.courseIds));
+        assertEquals(START_TIME - MINUTE, modifiedCourses.watermark);
+
+        ______TS("next read only lists courses modified since the watermark");
+
+        // completed too recently to be read by the first read
+        logService.addRequest(START_TIME - MINUTE / 2, getLogMessage("course3"));
+        logService.addRequest(START_TIME + 2 * MINUTE, getLogMessage("course2"));
+
+        modifiedCourses = entityModifiedLogs.getModifiedCourses(modifiedCourses.watermark, START_TIME + 5 * MINUTE);
+
+        assertEquals(Arrays.asList("course3", "course2"), new ArrayList<String>(modifiedCourses.courseIds));
+        assertEquals(START_TIME + 4 * MINUTE, modifiedCourses.watermark);
+
+        ______TS("request completing exactly at the watermark is read once");
+
+        logService.addRequest(START_TIME + 4 * MINUTE, getLogMessage("course4"));
+
+        modifiedCourses = entityModifiedLogs.getModifiedCourses(modifiedCourses.watermark, START_TIME + 6 * MINUTE);
+
+        assertEquals(Arrays.asList("course4"), new ArrayList<String>(modifiedCourses.courseIds));
+
+        ______TS("no logs are read if no time has passed since the watermark");
+
+        int numberOfFetches = logService.getNumberOfFetches();
+        long watermark = modifiedCourses.watermark;
+
+        modifiedCourses = entityModifiedLogs.getModifiedCourses(watermark, START_TIME + 6 * MINUTE);
+
+        assertTrue(modifiedCourses.courseIds.isEmpty());
+        assertEquals(watermark, modifiedCourses.watermark);
+        assertEquals(numberOfFetches, logService.getNumberOfFetches());
+    }
+
+    private static String getLogMessage(String courseId) {
+        return "teammates.storage.api.EntitiesDb logChanges: " + Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
@@ -0,0 +1,444 @@
+package teammates.test.cases.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackTextQuestionDetails;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.test.cases.BaseTestCase;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Checks the orders in which the views of {@link FeedbackSessionResultsBundle} sort the responses
+ * against the comparators which the bundle used before it sorted by precomputed keys.
+ */
+public class FeedbackSessionResultsBundleTest extends BaseTestCase {
+
+    private static final String COURSE_ID = "FSRBT.course";
+    private static final String SESSION_NAME = "FSRBT session";
+
+    // email, name, team and section of each participant
+    private static final String[][] PARTICIPANTS = {
+            {"alice.a@FSRBT.tmt", "Alice", "Team 2", "Section B"},
+            {"alice.b@FSRBT.tmt", "Alice", "Team 1", "Section A"},
+            {"bob@FSRBT.tmt", "bob", "Team 1", "Section A"},
+            {"carol@FSRBT.tmt", "Carol", "Team 2", "Section B"},
+            {"instructor@FSRBT.tmt", "Instructor", Const.USER_TEAM_FOR_INSTRUCTOR, Const.DEFAULT_SECTION},
+    };
+
+    private static final String TEAM_RECIPIENT = "Team 1";
+
+    private FeedbackSessionResultsBundle bundle;
+    private final Random random = new Random(1);
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testViewOrders() {
+
+        ______TS("responses by question, then giver and recipient");
+
+        bundle = createBundle();
+        shuffleResponses();
+        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesByQuestion =
+                bundle.getQuestionResponseMap();
+        verifyOrderedByQuestion(responsesByQuestion,
+                                new LegacyOrder(Key.GIVER_NAME, Key.RECIPIENT_NAME, Key.ANSWER));
+
+        ______TS("responses by question, then recipient and giver");
+
+        shuffleResponses();
+        responsesByQuestion = bundle.getQuestionResponseMapSortedByRecipient();
+        verifyOrderedByQuestion(responsesByQuestion,
+                                new LegacyOrder(Key.RECIPIENT_DISPLAY_NAME, Key.RECIPIENT_EMAIL,
+                                                Key.GIVER_DISPLAY_NAME, Key.GIVER_EMAIL));
+
+        ______TS("responses by giver, then recipient and question");
+
+        verifyOrder(new LegacyOrder(Key.GIVER_SECTION, Key.GIVER_NAME, Key.RECIPIENT_NAME, Key.QUESTION),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByGiver(false);
+                        }
+                    });
+        verifyOrder(new LegacyOrder(Key.GIVER_SECTION, Key.GIVER_TEAM, Key.GIVER_NAME, Key.RECIPIENT_NAME,
+                                    Key.QUESTION),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByGiver(true);
+                        }
+                    });
+        verifyOrder(new LegacyOrder(Key.GIVER_SECTION, Key.GIVER_TEAM, Key.GIVER_NAME, Key.RECIPIENT_NAME,
+                                    Key.QUESTION),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByGiverRecipientQuestion();
+                        }
+                    });
+
+        ______TS("responses by recipient, then giver and question");
+
+        verifyOrder(new LegacyOrder(Key.RECIPIENT_SECTION, Key.RECIPIENT_NAME, Key.GIVER_NAME, Key.QUESTION),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByRecipient(false);
+                        }
+                    });
+        verifyOrder(new LegacyOrder(Key.RECIPIENT_SECTION, Key.RECIPIENT_TEAM, Key.RECIPIENT_NAME,
+                                    Key.GIVER_NAME, Key.QUESTION),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByRecipient(true);
+                        }
+                    });
+        verifyOrder(new LegacyOrder(Key.RECIPIENT_SECTION, Key.RECIPIENT_TEAM, Key.RECIPIENT_NAME,
+                                    Key.GIVER_NAME, Key.QUESTION),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByRecipientGiverQuestion();
+                        }
+                    });
+
+        ______TS("responses by giver, then question and recipient");
+
+        verifyOrder(new LegacyOrder(Key.GIVER_SECTION, Key.GIVER_NAME, Key.QUESTION, Key.RECIPIENT_TEAM,
+                                    Key.RECIPIENT_NAME),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByGiverQuestionRecipient(false);
+                        }
+                    });
+        verifyOrder(new LegacyOrder(Key.GIVER_SECTION, Key.GIVER_TEAM, Key.GIVER_NAME, Key.QUESTION,
+                                    Key.RECIPIENT_TEAM, Key.RECIPIENT_NAME),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByGiverQuestionRecipient(true);
+                        }
+                    });
+
+        ______TS("responses by recipient, then question and giver");
+
+        verifyOrder(new LegacyOrder(Key.RECIPIENT_SECTION, Key.RECIPIENT_NAME, Key.QUESTION, Key.GIVER_TEAM,
+                                    Key.GIVER_NAME),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByRecipientQuestionGiver(false);
+                        }
+                    });
+        verifyOrder(new LegacyOrder(Key.RECIPIENT_SECTION, Key.RECIPIENT_TEAM, Key.RECIPIENT_NAME, Key.QUESTION,
+                                    Key.GIVER_TEAM, Key.GIVER_NAME),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getResponsesSortedByRecipientQuestionGiver(true);
+                        }
+                    });
+
+        ______TS("responses by team, then question");
+
+        verifyOrder(new LegacyOrder(Key.RECIPIENT_TEAM, Key.QUESTION, Key.RECIPIENT_NAME, Key.GIVER_TEAM,
+                                    Key.GIVER_NAME),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getQuestionResponseMapByRecipientTeam();
+                        }
+                    });
+        verifyOrder(new LegacyOrder(Key.GIVER_TEAM, Key.QUESTION, Key.GIVER_NAME, Key.RECIPIENT_TEAM,
+                                    Key.RECIPIENT_NAME),
+                    new View() {
+                        @Override
+                        public void sort() {
+                            bundle.getQuestionResponseMapByGiverTeam();
+                        }
+                    });
+    }
+
+    @Test
+    public void testCompareByGiverRecipientQuestion() {
+        bundle = createBundle();
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>(bundle.getResponses());
+
+        ______TS("same order as the old comparator");
+
+        Collections.shuffle(responses, random);
+        List<FeedbackResponseAttributes> expected = new ArrayList<FeedbackResponseAttributes>(responses);
+        Collections.sort(expected, new LegacyOrder(Key.GIVER_SECTION, Key.GIVER_NAME, Key.RECIPIENT_NAME,
+                                                   Key.QUESTION));
+        Collections.sort(responses, bundle.compareByGiverRecipientQuestion);
+        verifySameResponses(expected, responses);
+
+        ______TS("responses of the bundle sorted by their keys in the same order");
+
+        shuffleResponses();
+        expected = new ArrayList<FeedbackResponseAttributes>(bundle.responses);
+        Collections.sort(expected, new LegacyOrder(Key.GIVER_SECTION, Key.GIVER_NAME, Key.RECIPIENT_NAME,
+                                                   Key.QUESTION));
+        bundle.sortResponsesByGiverRecipientQuestion();
+        verifySameResponses(expected, bundle.responses);
+
+        ______TS("distinct questions with the same number are ordered by ID");
+
+        FeedbackResponseAttributes responseToFirstCopy = responses.get(0);
+        FeedbackResponseAttributes responseToSecondCopy = new FeedbackResponseAttributes(responseToFirstCopy);
+        responseToFirstCopy.feedbackQuestionId = "question 2 copy a";
+        responseToSecondCopy.feedbackQuestionId = "question 2 copy b";
+        assertEquals(bundle.questions.get("question 2 copy a"), bundle.questions.get("question 2 copy b"));
+        assertTrue(bundle.compareByGiverRecipientQuestion.compare(responseToFirstCopy, responseToSecondCopy) < 0);
+        assertTrue(bundle.compareByGiverRecipientQuestion.compare(responseToSecondCopy, responseToFirstCopy) > 0);
+
+        ______TS("response to a question missing from the bundle is ordered after the other questions");
+
+        FeedbackResponseAttributes responseToMissingQuestion = new FeedbackResponseAttributes(responseToFirstCopy);
+        responseToMissingQuestion.feedbackQuestionId = "missing question";
+        responseToFirstCopy.feedbackQuestionId = "question 1";
+        assertTrue(bundle.compareByGiverRecipientQuestion.compare(responseToFirstCopy,
+                                                                  responseToMissingQuestion) < 0);
+        assertTrue(bundle.compareByGiverRecipientQuestion.compare(responseToMissingQuestion,
+                                                                  responseToFirstCopy) > 0);
+        assertEquals(0, bundle.compareByGiverRecipientQuestion.compare(responseToMissingQuestion,
+                                                                       responseToMissingQuestion));
+    }
+
+    /**
+     * A view of the bundle which sorts the responses of the bundle.
+     */
+    private interface View {
+        void sort();
+    }
+
+    private void verifyOrder(LegacyOrder order, View view) {
+        shuffleResponses();
+        List<FeedbackResponseAttributes> expected = new ArrayList<FeedbackResponseAttributes>(bundle.getResponses());
+        Collections.sort(expected, order);
+        view.sort();
+        verifySameResponses(expected, bundle.getResponses());
+    }
+
+    private void verifyOrderedByQuestion(
+            Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesByQuestion,
+            LegacyOrder order) {
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : responsesByQuestion.entrySet()) {
+            // equal questions share an entry of the map
+            List<FeedbackResponseAttributes> expected = new ArrayList<FeedbackResponseAttributes>();
+            for (FeedbackResponseAttributes response : bundle.getResponses()) {
+                if (entry.getKey().equals(bundle.questions.get(response.feedbackQuestionId))) {
+                    expected.add(response);
+                }
+            }
+            Collections.sort(expected, order);
+            verifySameResponses(expected, entry.getValue());
+        }
+    }
+
+    private void verifySameResponses(List<FeedbackResponseAttributes> expected,
+                                     List<FeedbackResponseAttributes> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+        }
+    }
+
+    private void shuffleResponses() {
+        Collections.shuffle(bundle.getResponses(), random);
+    }
+
+    private FeedbackSessionResultsBundle createBundle() {
+        Map<String, String> emailNameTable = new HashMap<String, String>();
+        Map<String, String> emailLastNameTable = new HashMap<String, String>();
+        Map<String, String> emailTeamNameTable = new HashMap<String, String>();
+        Map<String, String> emailSectionTable = new HashMap<String, String>();
+        Map<String, Set<String>> sectionTeamNameTable = new HashMap<String, Set<String>>();
+        for (String[] participant : PARTICIPANTS) {
+            emailNameTable.put(participant[0], participant[1]);
+            emailLastNameTable.put(participant[0], participant[1]);
+            emailTeamNameTable.put(participant[0], participant[2]);
+            emailSectionTable.put(participant[0], participant[3]);
+            if (!sectionTeamNameTable.containsKey(participant[3])) {
+                sectionTeamNameTable.put(participant[3], new HashSet<String>());
+            }
+            sectionTeamNameTable.get(participant[3]).add(participant[2]);
+        }
+        emailNameTable.put(TEAM_RECIPIENT, Const.USER_IS_TEAM);
+        emailLastNameTable.put(TEAM_RECIPIENT, Const.USER_IS_TEAM);
+        emailTeamNameTable.put(TEAM_RECIPIENT, TEAM_RECIPIENT);
+        emailSectionTable.put(TEAM_RECIPIENT, "Section A");
+        emailNameTable.put(Const.GENERAL_QUESTION, Const.USER_IS_NOBODY);
+        emailLastNameTable.put(Const.GENERAL_QUESTION, Const.USER_IS_NOBODY);
+        emailSectionTable.put(Const.GENERAL_QUESTION, Const.DEFAULT_SECTION);
+
+        // the copies of question 2 are equal, as only their IDs differ
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        for (String questionId : new String[] {"question 2 copy b", "question 1", "question 2 copy a"}) {
+            questions.put(questionId, createQuestion(questionId, questionId.equals("question 1") ? 1 : 2));
+        }
+
+        String[] givers = {"carol@FSRBT.tmt", "alice.a@FSRBT.tmt", "instructor@FSRBT.tmt",
+                           "bob@FSRBT.tmt", "alice.b@FSRBT.tmt"};
+        String[] recipients = {"bob@FSRBT.tmt", Const.GENERAL_QUESTION, "alice.b@FSRBT.tmt",
+                               TEAM_RECIPIENT, "alice.a@FSRBT.tmt", "carol@FSRBT.tmt"};
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        Map<String, boolean[]> visibilityTable = new HashMap<String, boolean[]>();
+        for (String questionId : questions.keySet()) {
+            for (String giver : givers) {
+                for (String recipient : recipients) {
+                    FeedbackResponseAttributes response =
+                            new FeedbackResponseAttributes(SESSION_NAME, COURSE_ID, questionId,
+                                                           FeedbackQuestionType.TEXT,
+                                                           giver, emailSectionTable.get(giver),
+                                                           recipient, emailSectionTable.get(recipient),
+                                                           new Text("answer " + responses.size() % 3));
+                    response.setId("response " + responses.size());
+                    responses.add(response);
+                    visibilityTable.put(response.getId(), new boolean[] {true, true});
+                }
+            }
+        }
+
+        return new FeedbackSessionResultsBundle(
+                new FeedbackSessionAttributes(), responses, questions, emailNameTable, emailLastNameTable,
+                emailTeamNameTable, sectionTeamNameTable, visibilityTable, new FeedbackSessionResponseStatus(),
+                new CourseRoster(new ArrayList<StudentAttributes>(), new ArrayList<InstructorAttributes>()),
+                new HashMap<String, List<FeedbackResponseCommentAttributes>>());
+    }
+
+    private FeedbackQuestionAttributes createQuestion(String questionId, int questionNumber) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId(questionId);
+        question.courseId = COURSE_ID;
+        question.feedbackSessionName = SESSION_NAME;
+        question.creatorEmail = "instructor@FSRBT.tmt";
+        question.questionNumber = questionNumber;
+        question.questionType = FeedbackQuestionType.TEXT;
+        question.setQuestionDetails(new FeedbackTextQuestionDetails("Question text."));
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = FeedbackParticipantType.STUDENTS;
+        question.numberOfEntitiesToGiveFeedbackTo = Const.MAX_POSSIBLE_RECIPIENTS;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>();
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>();
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>();
+        return question;
+    }
+
+    /**
+     * The parts of the comparators the bundle used to sort responses by.
+     */
+    private enum Key {
+        GIVER_SECTION, RECIPIENT_SECTION, GIVER_NAME, RECIPIENT_NAME, GIVER_TEAM, RECIPIENT_TEAM,
+        QUESTION, ANSWER, GIVER_DISPLAY_NAME, RECIPIENT_DISPLAY_NAME, GIVER_EMAIL, RECIPIENT_EMAIL
+    }
+
+    /**
+     * Orders responses the way the comparators of the bundle did, comparing names, teams and
+     * questions looked up in the bundle.
+     */
+    private final class LegacyOrder implements Comparator<FeedbackResponseAttributes> {
+
+        private final Key[] keys;
+
+        LegacyOrder(Key... keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public int compare(FeedbackResponseAttributes r1, FeedbackResponseAttributes r2) {
+            for (Key key : keys) {
+                int order = compare(key, r1, r2);
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return 0;
+        }
+
+        private int compare(Key key, FeedbackResponseAttributes r1, FeedbackResponseAttributes r2) {
+            Map<String, String> emailNameTable = bundle.getEmailNameTable();
+            switch (key) {
+            case GIVER_SECTION:
+                return r1.giverSection.compareTo(r2.giverSection);
+            case RECIPIENT_SECTION:
+                return r1.recipientSection.compareTo(r2.recipientSection);
+            case GIVER_NAME:
+                return compareByNames(emailNameTable.get(r1.giverEmail), emailNameTable.get(r2.giverEmail));
+            case RECIPIENT_NAME:
+                return compareByNames(emailNameTable.get(r1.recipientEmail),
+                                      emailNameTable.get(r2.recipientEmail));
+            case GIVER_TEAM:
+                return getTeamOrName(r1.giverEmail).compareTo(getTeamOrName(r2.giverEmail));
+            case RECIPIENT_TEAM:
+                return getTeamOrName(r1.recipientEmail).compareTo(getTeamOrName(r2.recipientEmail));
+            case QUESTION:
+                FeedbackQuestionAttributes q1 = bundle.questions.get(r1.feedbackQuestionId);
+                FeedbackQuestionAttributes q2 = bundle.questions.get(r2.feedbackQuestionId);
+                return q1 == null || q2 == null ? 0 : q1.compareTo(q2);
+            case ANSWER:
+                return compareByNames(r1.getResponseDetails().getAnswerString(),
+                                      r2.getResponseDetails().getAnswerString());
+            case GIVER_DISPLAY_NAME:
+                return compareByNames(bundle.getNameForEmail(r1.giverEmail), bundle.getNameForEmail(r2.giverEmail));
+            case RECIPIENT_DISPLAY_NAME:
+                return compareByNames(bundle.getNameForEmail(r1.recipientEmail),
+                                      bundle.getNameForEmail(r2.recipientEmail));
+            case GIVER_EMAIL:
+                return compareByNames(r1.giverEmail, r2.giverEmail);
+            case RECIPIENT_EMAIL:
+                return compareByNames(r1.recipientEmail, r2.recipientEmail);
+            default:
+                throw new AssertionError("Unknown key " + key);
+            }
+        }
+
+        private String getTeamOrName(String email) {
+            String teamName = bundle.getTeamNameForEmail(email);
+            return teamName.isEmpty() ? bundle.getNameForEmail(email) : teamName;
+        }
+
+        // class feedback on top and team responses at the bottom
+        private int compareByNames(String n1, String n2) {
+            int order = Integer.compare(getPriority(n1), getPriority(n2));
+            return order == 0 ? n1.compareTo(n2) : order;
+        }
+
+        private int getPriority(String name) {
+            if (name.equals(Const.USER_IS_NOBODY)) {
+                return -1;
+            }
+            return name.equals(Const.USER_IS_TEAM) ? 1 : 0;
+        }
+    }
+}
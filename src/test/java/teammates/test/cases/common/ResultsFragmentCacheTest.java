@@ -0,0 +1,98 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.ResultsFragmentCache;
+import teammates.common.util.TimeHelper;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class ResultsFragmentCacheTest extends BaseComponentTestCase {
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testIsCacheable() {
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes();
+        session.timeZone = 0;
+        session.gracePeriod = 0;
+        session.startTime = TimeHelper.getDateOffsetToCurrentTime(-2);
+        session.endTime = TimeHelper.getDateOffsetToCurrentTime(-1);
+        session.sessionVisibleFromTime = Const.TIME_REPRESENTS_FOLLOW_OPENING;
+
+        ______TS("published and closed session");
+
+        session.resultsVisibleFromTime = Const.TIME_REPRESENTS_NOW;
+        assertTrue(ResultsFragmentCache.isCacheable(session));
+
+        ______TS("unpublished session");
+
+        session.resultsVisibleFromTime = Const.TIME_REPRESENTS_LATER;
+        assertFalse(ResultsFragmentCache.isCacheable(session));
+
+        ______TS("open session");
+
+        session.resultsVisibleFromTime = Const.TIME_REPRESENTS_NOW;
+        session.endTime = TimeHelper.getDateOffsetToCurrentTime(1);
+        assertFalse(ResultsFragmentCache.isCacheable(session));
+
+        assertFalse(ResultsFragmentCache.isCacheable(null));
+    }
+
+    @Test
+    public void testCache() {
+        String key = ResultsFragmentCache.getKey("RFCT.course1", "session", "student@email.com",
+                                                 null, "student", null);
+        String otherViewerKey = ResultsFragmentCache.getKey("RFCT.course1", "session", "other@email.com",
+                                                            null, "student", null);
+
+        ______TS("cached fragment is reused by the same viewer only");
+
+        long version = ResultsFragmentCache.getDataVersion("RFCT.course1");
+        assertNull(ResultsFragmentCache.get(key, String.class, version));
+        ResultsFragmentCache.put("RFCT.course1", key, "fragment", version);
+        assertEquals("fragment", ResultsFragmentCache.get(key, String.class, version));
+        assertNull(ResultsFragmentCache.get(otherViewerKey, String.class, version));
+
+        ______TS("fragment of another type is not returned");
+
+        assertNull(ResultsFragmentCache.get(key, Integer.class, version));
+
+        ______TS("writes to the course drop its fragments");
+
+        ResultsFragmentCache.invalidateCourse("RFCT.course1");
+        version = ResultsFragmentCache.getDataVersion("RFCT.course1");
+        assertNull(ResultsFragmentCache.get(key, String.class, version));
+
+        ______TS("fragment built from data read before a write is not served");
+
+        ResultsFragmentCache.invalidateCourse("RFCT.course1");
+        ResultsFragmentCache.put("RFCT.course1", key, "stale fragment", version);
+        version = ResultsFragmentCache.getDataVersion("RFCT.course1");
+        assertNull(ResultsFragmentCache.get(key, String.class, version));
+
+        ______TS("writes to other courses do not affect the fragments of the course");
+
+        String keyInCourse10 = ResultsFragmentCache.getKey("RFCT.course10", "session", "student@email.com",
+                                                           null, "student", null);
+        ResultsFragmentCache.put("RFCT.course10", keyInCourse10, "fragment",
+                                 ResultsFragmentCache.getDataVersion("RFCT.course10"));
+        ResultsFragmentCache.invalidateCourse("RFCT.course10");
+        ResultsFragmentCache.put("RFCT.course1", key, "fragment", version);
+        assertEquals("fragment", ResultsFragmentCache.get(key, String.class,
+                                                          ResultsFragmentCache.getDataVersion("RFCT.course1")));
+        assertNull(ResultsFragmentCache.get(keyInCourse10, String.class,
+                                            ResultsFragmentCache.getDataVersion("RFCT.course10")));
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
@@ -69,6 +69,16 @@ public class SanitizerTest extends BaseTestCase {
         sanitizeHtml_receivesNull_returnsNull();
         sanitizeHtml_receivesCodeInjection_returnsSanitized();
         sanitizeHtml_receivesSanitized_returnsUnchanged();
+        sanitizeHtml_receivesPartiallySanitized_returnsSanitized();
+    }
+    
+    @Test
+    public void testIsSanitizedForHtml() {
+        assertTrue(Sanitizer.isSanitizedForHtml(null));
+        assertTrue(Sanitizer.isSanitizedForHtml("plain text &amp; &lt;&gt;"));
+        assertFalse(Sanitizer.isSanitizedForHtml("a/b"));
+        assertFalse(Sanitizer.isSanitizedForHtml("&ampersand"));
+        assertFalse(Sanitizer.isSanitizedForHtml("text&"));
     }
     
     @Test
@@ -107,6 +117,13 @@ public class SanitizerTest extends BaseTestCase {
         String sanitized = "&lt; &gt; &quot; &#x2f; &#39; &amp;"
                          + "&lt;script&gt;alert(&#39;injected&#39;);&lt;&#x2f;script&gt;";
         assertEquals(sanitized, Sanitizer.sanitizeForHtml(sanitized));
+        assertTrue(sanitized == Sanitizer.sanitizeForHtml(sanitized));
+    }
+
+    private void sanitizeHtml_receivesPartiallySanitized_returnsSanitized() {
+        String unsanitized = "&lt; & &&lt; &#39' &amp &quot;< text&";
+        String expected = "&lt; &amp; &amp;&lt; &amp;#39&#39; &amp;amp &quot;&lt; text&amp;";
+        assertEquals(expected, Sanitizer.sanitizeForHtml(unsanitized));
     }
     
     @Test
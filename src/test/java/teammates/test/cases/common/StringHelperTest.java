@@ -184,6 +184,12 @@ public class StringHelperTest extends BaseTestCase {
        
         str = " a      b       c       d      ";
         assertEquals("a b c d", StringHelper.removeExtraSpace(str));
+        
+        str = "a\tb\nc  d";
+        assertEquals("a b c d", StringHelper.removeExtraSpace(str));
+        
+        str = "a b c d";
+        assertTrue(str == StringHelper.removeExtraSpace(str));
     }
     
     @Test
@@ -131,6 +131,7 @@ public class StudentAttributesFactoryTest extends BaseTestCase {
         assertEquals(studentCreated.name, "SAFT.name");
         assertEquals(studentCreated.email, "SAFT@email.com");
         assertEquals(studentCreated.comments, "some comment...");
+        assertTrue(studentCreated.isSanitizedForSaving());
 
         line = "team 2|SAFT.name2|SAFT2@email.com";
 
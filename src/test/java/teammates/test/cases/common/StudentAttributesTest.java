@@ -252,6 +252,29 @@ public class StudentAttributesTest extends BaseTestCase {
         assertTrue(sd.isRegistered());
     }
 
+    @Test
+    public void testSanitizeForSavingIfNeeded() {
+        StudentAttributes sd = new StudentAttributes("sect 1", "team 1", "name 1", "email@email.com",
+                                                     "comment 1", "course1");
+
+        ______TS("not marked as sanitized");
+        assertFalse(sd.isSanitizedForSaving());
+
+        ______TS("marked as sanitized");
+        sd.markAsSanitizedForSaving();
+        assertTrue(sd.isSanitizedForSaving());
+
+        ______TS("field set to an equal value after marking");
+        sd.team = new StringBuilder("team 1").toString();
+        assertTrue(sd.isSanitizedForSaving());
+
+        ______TS("field modified after marking");
+        sd.team = "  team 2  ";
+        assertFalse(sd.isSanitizedForSaving());
+        sd.sanitizeForSavingIfNeeded();
+        assertEquals("team 2", sd.team);
+    }
+
     @Test
     public void testToString() {
         StudentAttributes sd = new StudentAttributes("sect 1", "team 1", "name 1", "email@email.com",
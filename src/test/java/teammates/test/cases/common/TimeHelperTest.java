@@ -1,7 +1,9 @@
 package teammates.test.cases.common;
 
+import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Random;
 import java.util.TimeZone;
 
 import org.testng.annotations.Test;
@@ -170,4 +172,133 @@ public class TimeHelperTest extends BaseTestCase {
         assertEquals("30 Dec 12:00 NOON", TimeHelper.formatDateTimeForInstructorHomePage(date));
     }
     
+    @Test
+    public void testFormatsSameAsSimpleDateFormat() {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        try {
+            ______TS("dates formatted in UTC, as on the server");
+            
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            for (Date date : getDatesToFormat()) {
+                assertEquals(formatDateWithSimpleDateFormat(date), TimeHelper.formatDate(date));
+                assertEquals(formatTime12HWithSimpleDateFormat(date), TimeHelper.formatTime12H(date));
+                assertEquals(formatDateTimeForCommentsWithSimpleDateFormat(date),
+                             TimeHelper.formatDateTimeForComments(date));
+                assertEquals(formatDateTimeForInstructorHomePageWithSimpleDateFormat(date),
+                             TimeHelper.formatDateTimeForInstructorHomePage(date));
+                assertEquals(calendarToStringWithSimpleDateFormat(date),
+                             TimeHelper.calendarToString(TimeHelper.dateToCalendar(date)));
+            }
+            
+            ______TS("dates formatted or checked for noon in the default time zone follow changes to it");
+            
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Singapore"));
+            for (Date date : getDatesToFormat()) {
+                assertEquals(formatDateWithSimpleDateFormat(date), TimeHelper.formatDate(date));
+                assertEquals(formatTime12HWithSimpleDateFormat(date), TimeHelper.formatTime12H(date));
+                assertEquals(formatDateTimeForCommentsWithSimpleDateFormat(date),
+                             TimeHelper.formatDateTimeForComments(date));
+                assertEquals(formatDateTimeForInstructorHomePageWithSimpleDateFormat(date),
+                             TimeHelper.formatDateTimeForInstructorHomePage(date));
+                assertEquals(calendarToStringWithSimpleDateFormat(date),
+                             TimeHelper.calendarToString(TimeHelper.dateToCalendar(date)));
+            }
+            
+            ______TS("null date");
+            
+            assertEquals("", TimeHelper.formatDate(null));
+            assertEquals("", TimeHelper.formatTime12H(null));
+            assertEquals("", TimeHelper.formatDateTimeForComments(null));
+            assertEquals("", TimeHelper.formatDateTimeForInstructorHomePage(null));
+            assertEquals("", TimeHelper.calendarToString(null));
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+    
+    /**
+     * @return every half hour of 2015 and around noon and midnight in UTC and Singapore,
+     *         and random dates from 1900 to 2100
+     */
+    private static Date[] getDatesToFormat() {
+        Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(2015, 0, 1, 0, 0, 0);
+        Date[] dates = new Date[365 * 48 + 6 + 1000];
+        int i = 0;
+        for (; i < 365 * 48; i++) {
+            dates[i] = cal.getTime();
+            cal.add(Calendar.MINUTE, 30);
+        }
+        cal.set(2015, 11, 30, 12, 0, 59);
+        dates[i++] = cal.getTime();
+        cal.set(2015, 11, 30, 12, 1, 0);
+        dates[i++] = cal.getTime();
+        cal.set(2015, 11, 30, 11, 59, 59);
+        dates[i++] = cal.getTime();
+        cal.set(2015, 11, 30, 4, 0, 0);
+        dates[i++] = cal.getTime();
+        cal.set(1969, 11, 31, 12, 0, 30);
+        dates[i++] = cal.getTime();
+        cal.set(1969, 11, 31, 23, 59, 59);
+        dates[i++] = cal.getTime();
+        
+        Random random = new Random(1);
+        long start = -70L * 365 * 24 * 60 * 60 * 1000;
+        long range = 200L * 365 * 24 * 60 * 60 * 1000;
+        for (; i < dates.length; i++) {
+            dates[i] = new Date(start + (long) (random.nextDouble() * range));
+        }
+        return dates;
+    }
+    
+    // the formatting as it was done with SimpleDateFormat, which the formats used now must match
+    
+    private static String formatDateWithSimpleDateFormat(Date date) {
+        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return sdf.format(date);
+    }
+    
+    private static String formatTime12HWithSimpleDateFormat(Date date) {
+        Calendar c = Calendar.getInstance();
+        c.setTime(date);
+        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
+            return new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm").format(date) + " NOON";
+        }
+        return new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm a").format(date);
+    }
+    
+    private static String formatDateTimeForCommentsWithSimpleDateFormat(Date date) {
+        SimpleDateFormat sdf = null;
+        Calendar c = Calendar.getInstance();
+        c.setTime(date);
+        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
+            sdf = new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm");
+            sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+            return sdf.format(date) + " NOON UTC";
+        }
+        sdf = new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm a zzz");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return sdf.format(date);
+    }
+    
+    private static String formatDateTimeForInstructorHomePageWithSimpleDateFormat(Date date) {
+        SimpleDateFormat sdf = null;
+        Calendar c = Calendar.getInstance();
+        c.setTime(date);
+        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
+            sdf = new SimpleDateFormat("d MMM h:mm");
+            sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+            return sdf.format(date) + " NOON";
+        }
+        sdf = new SimpleDateFormat("d MMM h:mm a");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return sdf.format(date);
+    }
+    
+    private static String calendarToStringWithSimpleDateFormat(Date date) {
+        return new SimpleDateFormat("MM/dd/yyyy HH:mm:ss SSS").format(date);
+    }
+    
 }
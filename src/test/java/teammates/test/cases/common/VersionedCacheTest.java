@@ -0,0 +1,81 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.VersionedCache;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class VersionedCacheTest extends BaseComponentTestCase {
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testCache() {
+        VersionedCache<String> cache = new VersionedCache<String>("VersionedCacheTest", 2);
+
+        ______TS("cached value is served under the version it was built under only");
+
+        long version = cache.getVersion("scope1");
+        assertEquals(version, cache.getVersion("scope1"));
+        assertNull(cache.get("key1", version));
+        cache.put("scope1", "key1", "value1", version);
+        assertEquals("value1", cache.get("key1", version));
+        assertNull(cache.get("key1", version + 1));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        ______TS("value built before an invalidation is not served");
+
+        version = cache.getVersion("scope1");
+        cache.invalidate("scope1");
+        cache.put("scope1", "key1", "stale value", version);
+        assertNull(cache.get("key1", cache.getVersion("scope1")));
+
+        ______TS("invalidation on another instance is seen through the shared version");
+
+        VersionedCache<String> cacheOfOtherInstance = new VersionedCache<String>("VersionedCacheTest", 2);
+        version = cache.getVersion("scope1");
+        cache.put("scope1", "key1", "value1", version);
+        cacheOfOtherInstance.invalidate("scope1");
+        assertNull(cache.get("key1", cache.getVersion("scope1")));
+
+        ______TS("invalidation of another scope does not drop the values of the scope");
+
+        version = cache.getVersion("scope1");
+        cache.put("scope1", "key1", "value1", version);
+        cache.invalidate("scope2");
+        assertEquals("value1", cache.get("key1", cache.getVersion("scope1")));
+
+        ______TS("versions of caches with other names are separate");
+
+        VersionedCache<String> otherCache = new VersionedCache<String>("OtherVersionedCacheTest", 2);
+        otherCache.invalidate("scope1");
+        assertEquals("value1", cache.get("key1", cache.getVersion("scope1")));
+
+        ______TS("least recently used value is evicted once the cache is full");
+
+        long evictions = cache.getEvictionCount();
+        long versionOfScope2 = cache.getVersion("scope2");
+        cache.put("scope2", "key2", "value2", versionOfScope2);
+        cache.put("scope2", "key3", "value3", versionOfScope2);
+        assertEquals(2, cache.size());
+        assertEquals(evictions + 1, cache.getEvictionCount());
+        assertNull(cache.get("key1", cache.getVersion("scope1")));
+        assertEquals("value3", cache.get("key3", versionOfScope2));
+
+        ______TS("nothing is cached under an unknown version");
+
+        cache.put("scope1", "key4", "value4", VersionedCache.UNKNOWN_VERSION);
+        assertNull(cache.get("key4", VersionedCache.UNKNOWN_VERSION));
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
@@ -8,6 +8,7 @@ import org.testng.annotations.Test;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -22,8 +23,10 @@ import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.StudentsLogic;
 import teammates.storage.api.AccountsDb;
+import teammates.storage.entity.Instructor;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
+import teammates.test.driver.DatastoreCallCounter;
 import teammates.test.util.Priority;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -239,6 +242,69 @@ public class AccountsLogicTest extends BaseComponentTestCase {
 
     }
 
+    @Test
+    public void testGetCourseInstitute() throws Exception {
+
+        InstructorAttributes instructor = dataBundle.instructors.get("instructorOfArchivedCourse");
+        String courseId = instructor.courseId;
+        String instructorKind = Instructor.class.getSimpleName();
+
+        ______TS("institute is resolved from the instructors on the first lookup only");
+
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        try {
+            assertEquals("TEAMMATES Test Institute 5", accountsLogic.getCourseInstitute(courseId));
+        } finally {
+            datastoreCalls.stop();
+        }
+        assertEquals(1, datastoreCalls.getEntityQueryCount(instructorKind));
+
+        datastoreCalls = DatastoreCallCounter.start();
+        try {
+            assertEquals("TEAMMATES Test Institute 5", accountsLogic.getCourseInstitute(courseId));
+            assertEquals("TEAMMATES Test Institute 5", accountsLogic.getCourseInstitute(courseId));
+        } finally {
+            datastoreCalls.stop();
+        }
+        assertEquals(0, datastoreCalls.getCallCount("RunQuery"));
+        assertEquals(2, datastoreCalls.getCallCount("Get"));
+
+        ______TS("account update is written to the stored institute");
+
+        AccountAttributes account = accountsLogic.getAccount(instructor.googleId, true);
+        account.institute = "TEAMMATES Test Institute 6";
+        accountsLogic.updateAccount(account);
+
+        datastoreCalls = DatastoreCallCounter.start();
+        try {
+            assertEquals("TEAMMATES Test Institute 6", accountsLogic.getCourseInstitute(courseId));
+        } finally {
+            datastoreCalls.stop();
+        }
+        assertEquals(0, datastoreCalls.getCallCount("RunQuery"));
+
+        account.institute = "TEAMMATES Test Institute 5";
+        accountsLogic.updateAccount(account);
+
+        ______TS("instructor removal removes the stored institute");
+
+        InstructorAttributes newInstructor = new InstructorAttributes(
+                null, courseId, "New Instructor", "newInstructor@archiveCourse.tmt",
+                Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER,
+                InstructorAttributes.DEFAULT_DISPLAY_NAME,
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER));
+        instructorsLogic.createInstructor(newInstructor);
+        instructorsLogic.deleteInstructorCascade(courseId, newInstructor.email);
+
+        datastoreCalls = DatastoreCallCounter.start();
+        try {
+            assertEquals("TEAMMATES Test Institute 5", accountsLogic.getCourseInstitute(courseId));
+        } finally {
+            datastoreCalls.stop();
+        }
+        assertEquals(1, datastoreCalls.getEntityQueryCount(instructorKind));
+    }
+
     @Test
     public void testJoinCourseForStudent() throws Exception {
         
@@ -0,0 +1,173 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.UserType.Role;
+import teammates.common.util.Const;
+import teammates.logic.core.CommentVisibilityEvaluator;
+import teammates.test.cases.BaseTestCase;
+
+public class CommentVisibilityEvaluatorTest extends BaseTestCase {
+
+    private static final String INSTRUCTOR_EMAIL = "ins@email.com";
+
+    private StudentAttributes giver;
+    private StudentAttributes giverTeammate;
+    private StudentAttributes recipient;
+    private StudentAttributes otherStudent;
+    private CourseRoster roster;
+
+    @BeforeClass
+    public void setupClass() {
+        printTestClassHeader();
+        giver = new StudentAttributes("Section 1", "Team 1", "Giver", "giver@email.com", "", "course");
+        giverTeammate = new StudentAttributes("Section 1", "Team 1", "Teammate", "teammate@email.com", "", "course");
+        recipient = new StudentAttributes("Section 1", "Team 2", "Recipient", "recipient@email.com", "", "course");
+        otherStudent = new StudentAttributes("Section 2", "Team 3", "Other", "other@email.com", "", "course");
+        List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+        instructors.add(new InstructorAttributes("ins", "course", "Instructor", INSTRUCTOR_EMAIL,
+                Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER,
+                InstructorAttributes.DEFAULT_DISPLAY_NAME,
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER)));
+        roster = new CourseRoster(Arrays.asList(giver, giverTeammate, recipient, otherStudent), instructors);
+    }
+
+    @Test
+    public void testIsCommentVisible() {
+        FeedbackQuestionAttributes question = getQuestion(FeedbackParticipantType.RECEIVER,
+                                                          FeedbackParticipantType.INSTRUCTORS);
+        FeedbackResponseAttributes response = getResponse(giver.email, recipient.email);
+
+        ______TS("comment following the visibility of the question");
+
+        FeedbackResponseCommentAttributes comment = getComment(INSTRUCTOR_EMAIL, true);
+        assertTrue(getEvaluatorFor(INSTRUCTOR_EMAIL).isCommentVisible(comment, response, question));
+        assertTrue(getEvaluatorFor(giver).isCommentVisible(comment, response, question));
+        assertTrue(getEvaluatorFor(recipient).isCommentVisible(comment, response, question));
+        assertFalse(getEvaluatorFor(giverTeammate).isCommentVisible(comment, response, question));
+        assertFalse(getEvaluatorFor(otherStudent).isCommentVisible(comment, response, question));
+
+        ______TS("comment with its own visibility");
+
+        comment = getComment(INSTRUCTOR_EMAIL, false, FeedbackParticipantType.OWN_TEAM_MEMBERS);
+        assertTrue(getEvaluatorFor(giver).isCommentVisible(comment, response, question));
+        assertTrue(getEvaluatorFor(giverTeammate).isCommentVisible(comment, response, question));
+        assertFalse(getEvaluatorFor(recipient).isCommentVisible(comment, response, question));
+
+        comment = getComment(INSTRUCTOR_EMAIL, false, FeedbackParticipantType.STUDENTS);
+        assertTrue(getEvaluatorFor(otherStudent).isCommentVisible(comment, response, question));
+        assertFalse(getEvaluatorFor("outsider@email.com").isCommentVisible(comment, response, question));
+
+        ______TS("comment giver can always see the comment");
+
+        comment = getComment(otherStudent.email, false);
+        assertTrue(getEvaluatorFor(otherStudent).isCommentVisible(comment, response, question));
+        assertFalse(getEvaluatorFor(INSTRUCTOR_EMAIL).isCommentVisible(comment, response, question));
+
+        ______TS("comment on a response to a team");
+
+        FeedbackQuestionAttributes teamQuestion = getQuestion(FeedbackParticipantType.RECEIVER);
+        teamQuestion.setId("teamQuestion");
+        teamQuestion.recipientType = FeedbackParticipantType.TEAMS;
+        FeedbackResponseAttributes teamResponse = getResponse(giver.email, recipient.team);
+        comment = getComment(INSTRUCTOR_EMAIL, true);
+        assertTrue(getEvaluatorFor(recipient).isCommentVisible(comment, teamResponse, teamQuestion));
+        assertFalse(getEvaluatorFor(otherStudent).isCommentVisible(comment, teamResponse, teamQuestion));
+
+        ______TS("comment on a response or question not visible to the user");
+
+        assertFalse(getEvaluatorFor(INSTRUCTOR_EMAIL).isCommentVisible(comment, null, question));
+        assertFalse(getEvaluatorFor(INSTRUCTOR_EMAIL).isCommentVisible(comment, response, null));
+    }
+
+    @Test
+    public void testIsGiverNameVisible() {
+        FeedbackResponseAttributes response = getResponse(giver.email, recipient.email);
+
+        ______TS("name is visible if the comment follows the visibility of the question");
+
+        FeedbackResponseCommentAttributes comment = getComment(INSTRUCTOR_EMAIL, true);
+        comment.showGiverNameTo = new ArrayList<FeedbackParticipantType>();
+        assertTrue(getEvaluatorFor(otherStudent).isGiverNameVisible(comment, response));
+
+        ______TS("name is visible to the participant types given");
+
+        comment = getComment(INSTRUCTOR_EMAIL, false);
+        comment.showGiverNameTo = Arrays.asList(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS);
+        assertTrue(getEvaluatorFor(recipient).isGiverNameVisible(comment, response));
+        assertFalse(getEvaluatorFor(giver).isGiverNameVisible(comment, response));
+
+        comment.showGiverNameTo = Arrays.asList(FeedbackParticipantType.OWN_TEAM_MEMBERS);
+        assertTrue(getEvaluatorFor(giverTeammate).isGiverNameVisible(comment, response));
+        assertFalse(getEvaluatorFor(otherStudent).isGiverNameVisible(comment, response));
+        assertFalse(getEvaluatorFor("outsider@email.com").isGiverNameVisible(comment, response));
+
+        ______TS("name is visible to the comment giver only");
+
+        comment.showGiverNameTo = new ArrayList<FeedbackParticipantType>();
+        assertTrue(getEvaluatorFor(INSTRUCTOR_EMAIL).isGiverNameVisible(comment, response));
+        assertFalse(getEvaluatorFor(giver).isGiverNameVisible(comment, response));
+    }
+
+    private CommentVisibilityEvaluator getEvaluatorFor(StudentAttributes student) {
+        Set<String> studentsEmailInTeam = new HashSet<String>();
+        for (StudentAttributes s : roster.getStudents()) {
+            if (s.team.equals(student.team)) {
+                studentsEmailInTeam.add(s.email);
+            }
+        }
+        return new CommentVisibilityEvaluator(student.email, Role.STUDENT, student, studentsEmailInTeam, roster);
+    }
+
+    private CommentVisibilityEvaluator getEvaluatorFor(String instructorEmail) {
+        return new CommentVisibilityEvaluator(instructorEmail, Role.INSTRUCTOR, null, new HashSet<String>(), roster);
+    }
+
+    private static FeedbackQuestionAttributes getQuestion(FeedbackParticipantType... showResponsesTo) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId("question");
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = FeedbackParticipantType.STUDENTS;
+        question.showResponsesTo = Arrays.asList(showResponsesTo);
+        return question;
+    }
+
+    private static FeedbackResponseAttributes getResponse(String giverEmail, String recipientEmail) {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+        response.giverEmail = giverEmail;
+        response.recipientEmail = recipientEmail;
+        return response;
+    }
+
+    private static FeedbackResponseCommentAttributes getComment(String giverEmail,
+                                                                boolean isVisibilityFollowingFeedbackQuestion,
+                                                                FeedbackParticipantType... showCommentTo) {
+        FeedbackResponseCommentAttributes comment = new FeedbackResponseCommentAttributes();
+        comment.giverEmail = giverEmail;
+        comment.isVisibilityFollowingFeedbackQuestion = isVisibilityFollowingFeedbackQuestion;
+        comment.showCommentTo = Arrays.asList(showCommentTo);
+        comment.showGiverNameTo = null;
+        return comment;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
@@ -13,8 +13,10 @@ import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.CourseSummaryBundle;
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardBundle;
 import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -22,6 +24,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.StudentsLogic;
 import teammates.storage.api.AccountsDb;
@@ -64,6 +67,7 @@ public class CoursesLogicTest extends BaseComponentTestCase {
         testGetTotalUnregisteredInCourse();
         testGetCoursesForStudentAccount();
         testGetCourseDetailsListForStudent();
+        testGetStudentDashboard();
         testGetCourseSummariesForInstructor();
         testGetCourseDetailsListForInstructor();
         testGetCoursesSummaryWithoutStatsForInstructor();
@@ -771,6 +775,42 @@ public class CoursesLogicTest extends BaseComponentTestCase {
         }
     }
 
+    public void testGetStudentDashboard() throws Exception {
+
+        ______TS("student in multiple courses: same sessions and statuses as the per-session checks");
+
+        StudentAttributes studentInBothCourses = dataBundle.students.get("student2InCourse1");
+        StudentDashboardBundle dashboard = coursesLogic.getStudentDashboard(studentInBothCourses.googleId);
+
+        assertEquals(2, dashboard.courses.size());
+        int numberOfSessions = 0;
+        for (CourseDetailsBundle courseDetails : dashboard.courses) {
+            String courseId = courseDetails.course.getId();
+            StudentAttributes student = StudentsLogic.inst().getStudentForCourseIdAndGoogleId(
+                                                courseId, studentInBothCourses.googleId);
+            List<FeedbackSessionAttributes> expectedSessions =
+                    FeedbackSessionsLogic.inst().getFeedbackSessionsForUserInCourse(courseId, student.email);
+            assertEquals(expectedSessions.size(), courseDetails.feedbackSessions.size());
+
+            for (FeedbackSessionAttributes session : courseDetails.getFeedbackSessionsList()) {
+                boolean isSubmitted = FeedbackSessionsLogic.inst().isFeedbackSessionCompletedByStudent(
+                                                                                    session, student.email);
+                assertEquals(Boolean.valueOf(isSubmitted), dashboard.sessionSubmissionStatusMap.get(session));
+            }
+            numberOfSessions += courseDetails.feedbackSessions.size();
+        }
+        assertEquals(numberOfSessions, dashboard.sessionSubmissionStatusMap.size());
+
+        ______TS("non-existent student");
+
+        try {
+            coursesLogic.getStudentDashboard("non-existent-student");
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains("does not exist", e.getMessage());
+        }
+    }
+
     public void testGetCourseSummariesForInstructor() throws Exception {
 
         ______TS("Instructor with 2 courses");
@@ -1,6 +1,9 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -9,6 +12,8 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.CopiableQuestionSummary;
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
@@ -21,6 +26,7 @@ import teammates.common.util.FieldValidator;
 import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.logic.core.InstructorsLogic;
 import teammates.test.cases.BaseComponentTestCase;
 
 import com.google.appengine.api.datastore.Text;
@@ -42,9 +48,11 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
         testGetRecipientsForQuestion();
         testGetFeedbackQuestionsForInstructor();
         testGetFeedbackQuestionsForStudents();
+        testGetCopiableFeedbackQuestionsForInstructor();
         testIsQuestionHasResponses();
         testIsQuestionAnswered();
         testUpdateQuestionNumber();
+        testReorderQuestions();
         testAddQuestion();
         testCopyQuestion();
         testUpdateQuestion();
@@ -178,6 +186,62 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
         }
     }
     
+    public void testReorderQuestions() throws Exception {
+        FeedbackQuestionAttributes q1 = getQuestionFromDatastore("qn1InSession1InCourse1");
+        FeedbackQuestionAttributes q2 = getQuestionFromDatastore("qn2InSession1InCourse1");
+        FeedbackQuestionAttributes q3 = getQuestionFromDatastore("qn3InSession1InCourse1");
+        FeedbackQuestionAttributes q4 = getQuestionFromDatastore("qn4InSession1InCourse1");
+        String sessionName = q1.feedbackSessionName;
+        String courseId = q1.courseId;
+        
+        ______TS("reorder all questions of the session");
+        
+        fqLogic.reorderFeedbackQuestions(sessionName, courseId,
+                                         Arrays.asList(q4.getId(), q1.getId(), q3.getId(), q2.getId()));
+        
+        List<FeedbackQuestionAttributes> actualList = fqLogic.getFeedbackQuestionsForSession(sessionName, courseId);
+        assertEquals(4, actualList.size());
+        assertEquals(q4.getId(), actualList.get(0).getId());
+        assertEquals(q1.getId(), actualList.get(1).getId());
+        assertEquals(q3.getId(), actualList.get(2).getId());
+        assertEquals(q2.getId(), actualList.get(3).getId());
+        for (int i = 0; i < actualList.size(); i++) {
+            assertEquals(i + 1, actualList.get(i).questionNumber);
+        }
+        assertEquals(q4.getQuestionDetails().questionText,
+                     actualList.get(0).getQuestionDetails().questionText);
+        
+        ______TS("failure: not all questions of the session given");
+        
+        try {
+            fqLogic.reorderFeedbackQuestions(sessionName, courseId, Arrays.asList(q1.getId(), q2.getId()));
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            assertEquals(Const.StatusMessages.FEEDBACK_QUESTION_REORDER_INVALID, e.getMessage());
+        }
+        
+        ______TS("failure: question given twice");
+        
+        try {
+            fqLogic.reorderFeedbackQuestions(sessionName, courseId,
+                                             Arrays.asList(q1.getId(), q1.getId(), q3.getId(), q4.getId()));
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            assertEquals(Const.StatusMessages.FEEDBACK_QUESTION_REORDER_INVALID, e.getMessage());
+        }
+        
+        ______TS("restore the original order");
+        
+        fqLogic.reorderFeedbackQuestions(sessionName, courseId,
+                                         Arrays.asList(q1.getId(), q2.getId(), q3.getId(), q4.getId()));
+        
+        actualList = fqLogic.getFeedbackQuestionsForSession(sessionName, courseId);
+        assertEquals(q1, actualList.get(0));
+        assertEquals(q2, actualList.get(1));
+        assertEquals(q3, actualList.get(2));
+        assertEquals(q4, actualList.get(3));
+    }
+    
     public void testAddQuestion() throws Exception {
         
         ______TS("Add question for feedback session that does not exist");
@@ -304,6 +368,31 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
         assertEquals(question1.recipientType, copiedQuestion.recipientType);
         assertEquals(question1Details.questionText, copiedQuestionDetails.questionText);
         
+        ______TS("Typical case: copy several questions in a batch, skipping non-existent ones");
+        
+        FeedbackQuestionAttributes question2 = getQuestionFromDatastore("qn2InSession1InCourse1");
+        FeedbackQuestionAttributes questionInSession4 = getQuestionFromDatastore("qn1InSession4InCourse1");
+        int numberOfQuestions = fqLogic.getFeedbackQuestionsForSession(question1.feedbackSessionName,
+                                                                       question1.courseId).size();
+        
+        List<FeedbackQuestionAttributes> copiedQuestions = fqLogic.copyFeedbackQuestions(
+                Arrays.asList(questionInSession4.getId(), "non-existent-question-id", question2.getId()),
+                question1.feedbackSessionName, question1.courseId, instructor2OfCourse1.email);
+        
+        assertEquals(2, copiedQuestions.size());
+        List<FeedbackQuestionAttributes> questions =
+                fqLogic.getFeedbackQuestionsForSession(question1.feedbackSessionName, question1.courseId);
+        assertEquals(numberOfQuestions + 2, questions.size());
+        FeedbackQuestionAttributes copy1 = questions.get(numberOfQuestions);
+        FeedbackQuestionAttributes copy2 = questions.get(numberOfQuestions + 1);
+        assertEquals(numberOfQuestions + 1, copy1.questionNumber);
+        assertEquals(questionInSession4.getQuestionDetails().questionText, copy1.getQuestionDetails().questionText);
+        assertEquals(instructor2OfCourse1.email, copy1.creatorEmail);
+        assertEquals(numberOfQuestions + 2, copy2.questionNumber);
+        assertEquals(question2.getQuestionDetails().questionText, copy2.getQuestionDetails().questionText);
+        
+        fqLogic.deleteFeedbackQuestionCascade(copy1.getId());
+        fqLogic.deleteFeedbackQuestionCascade(copy2.getId());
     }
     
     public void testUpdateQuestion() throws Exception {
@@ -557,6 +646,87 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
         assertEquals(actualQuestions, expectedQuestions);
     }
     
+    public void testGetCopiableFeedbackQuestionsForInstructor() throws Exception {
+        String googleId = "idOfInstructor3";
+        
+        List<String> courseIds = new ArrayList<String>();
+        for (InstructorAttributes instructor : InstructorsLogic.inst().getInstructorsForGoogleId(googleId)) {
+            courseIds.add(instructor.courseId);
+        }
+        List<FeedbackQuestionAttributes> expectedQuestions = fqLogic.getFeedbackQuestionsForCourses(courseIds);
+        Collections.sort(expectedQuestions, new Comparator<FeedbackQuestionAttributes>() {
+            @Override
+            public int compare(FeedbackQuestionAttributes q1, FeedbackQuestionAttributes q2) {
+                int order = q1.courseId.compareTo(q2.courseId);
+                if (order == 0) {
+                    order = q1.feedbackSessionName.compareTo(q2.feedbackSessionName);
+                }
+                if (order == 0) {
+                    order = q1.getQuestionDetails().getQuestionTypeDisplayName()
+                              .compareTo(q2.getQuestionDetails().getQuestionTypeDisplayName());
+                }
+                if (order == 0) {
+                    order = q1.getQuestionDetails().questionText.compareTo(q2.getQuestionDetails().questionText);
+                }
+                return order;
+            }
+        });
+        assertTrue(expectedQuestions.size() > 3);
+        
+        ______TS("questions of all courses of the instructor, sorted, in pages");
+        
+        List<CopiableQuestionSummary> actualQuestions = new ArrayList<CopiableQuestionSummary>();
+        CopiableQuestionsPageBundle page = fqLogic.getCopiableFeedbackQuestionsForInstructor(googleId, 3, null);
+        actualQuestions.addAll(page.questions);
+        while (!page.isLastPage()) {
+            assertEquals(3, page.questions.size());
+            page = fqLogic.getCopiableFeedbackQuestionsForInstructor(googleId, 3, page.nextPageToken);
+            actualQuestions.addAll(page.questions);
+        }
+        
+        assertEquals(expectedQuestions.size(), actualQuestions.size());
+        for (int i = 0; i < expectedQuestions.size(); i++) {
+            FeedbackQuestionAttributes expected = expectedQuestions.get(i);
+            CopiableQuestionSummary actual = actualQuestions.get(i);
+            assertEquals(expected.getId(), actual.feedbackQuestionId);
+            assertEquals(expected.courseId, actual.courseId);
+            assertEquals(expected.feedbackSessionName, actual.feedbackSessionName);
+            assertEquals(expected.getQuestionDetails().getQuestionTypeDisplayName(),
+                         actual.questionTypeDisplayName);
+            assertEquals(expected.getQuestionDetails().questionText, actual.questionText);
+        }
+        
+        ______TS("catalogue follows question updates");
+        
+        FeedbackQuestionAttributes question = getQuestionFromDatastore("qn1InSession1InCourse1");
+        String originalText = question.getQuestionDetails().questionText;
+        FeedbackQuestionDetails details = question.getQuestionDetails();
+        details.questionText = "AAA first question in the catalogue";
+        question.setQuestionDetails(details);
+        fqLogic.updateFeedbackQuestion(question);
+        
+        page = fqLogic.getCopiableFeedbackQuestionsForInstructor(googleId, expectedQuestions.size(), null);
+        assertTrue(page.isLastPage());
+        boolean isFound = false;
+        for (CopiableQuestionSummary copiableQuestion : page.questions) {
+            if (copiableQuestion.feedbackQuestionId.equals(question.getId())) {
+                assertEquals("AAA first question in the catalogue", copiableQuestion.questionText);
+                isFound = true;
+            }
+        }
+        assertTrue(isFound);
+        
+        details.questionText = originalText;
+        question.setQuestionDetails(details);
+        fqLogic.updateFeedbackQuestion(question);
+        
+        ______TS("instructor without courses");
+        
+        page = fqLogic.getCopiableFeedbackQuestionsForInstructor("non-existent-instructor", 3, null);
+        assertTrue(page.questions.isEmpty());
+        assertTrue(page.isLastPage());
+    }
+    
     public void testIsQuestionHasResponses() {
         FeedbackQuestionAttributes questionWithResponse;
         FeedbackQuestionAttributes questionWithoutResponse;
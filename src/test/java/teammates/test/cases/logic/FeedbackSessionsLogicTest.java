@@ -47,8 +47,10 @@ import teammates.logic.core.Emails.EmailType;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.StudentsLogic;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
+import teammates.test.driver.DatastoreCallCounter;
 
 import com.google.appengine.api.datastore.Text;
 
@@ -56,6 +58,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
     private static FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
     private static FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static StudentsLogic studentsLogic = StudentsLogic.inst();
     private DataBundle dataBundle = loadDataBundle("/FeedbackSessionsLogicTest.json");
 
     @BeforeClass
@@ -339,6 +342,28 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         assertEquals(0, copiedSession.respondingInstructorList.size());
         assertEquals(0, copiedSession.respondingStudentList.size());
         
+        ______TS("Questions are stored in a single batch");
+        
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        FeedbackSessionAttributes secondCopiedSession;
+        try {
+            secondCopiedSession = fsLogic.copyFeedbackSession(
+                    "Second Copied Session", typicalCourse2.getId(),
+                    session1InCourse1.feedbackSessionName,
+                    session1InCourse1.courseId, instructor2OfCourse1.email);
+        } finally {
+            datastoreCalls.stop();
+        }
+        
+        assertEquals(questions1.size(), fqLogic.getFeedbackQuestionsForSession(
+                secondCopiedSession.feedbackSessionName, secondCopiedSession.courseId).size());
+        // one put each for the session, the questions, the change log records of both
+        // and the copiable question catalogue entries, however many questions there are
+        assertTrue(questions1.size() > 1);
+        assertEquals(5, datastoreCalls.getCallCount("Put"));
+        
+        fsLogic.deleteFeedbackSessionCascade(secondCopiedSession.feedbackSessionName, secondCopiedSession.courseId);
+        
         ______TS("Failure case: duplicate session");
         
         try {
@@ -667,6 +692,54 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         assertTrue(actual.questionResponseBundle.containsKey(expectedQuestion));
         assertTrue(actual.questionResponseBundle.get(expectedQuestion).isEmpty());
         
+        ______TS("team feedback test: response given by the team");
+        
+        // responses to team questions are given by the team, apart from older ones given by a member
+        FeedbackResponseAttributes teamResponse =
+                new FeedbackResponseAttributes(getResponseFromDatastore("response1ForQ1S2C1", dataBundle));
+        teamResponse.setId(null);
+        teamResponse.giverEmail = dataBundle.students.get("student3InCourse1").team;
+        teamResponse.responseMetaData = new Text("Response from team 1.1 to team 1.2.");
+        frLogic.createFeedbackResponse(teamResponse);
+        teamResponse = frLogic.getFeedbackResponse(teamResponse.feedbackQuestionId, teamResponse.giverEmail,
+                                                   teamResponse.recipientEmail);
+        
+        actual = fsLogic.getFeedbackSessionQuestionsForStudent(
+                        "Second feedback session", "idOfTypicalCourse1", "student3InCourse1@gmail.tmt");
+        
+        expectedQuestion = getQuestionFromDatastore("team.feedback");
+        actualResponses.clear();
+        for (FeedbackResponseAttributes responsesForQn : actual.questionResponseBundle.get(expectedQuestion)) {
+            actualResponses.add(responsesForQn.toString());
+        }
+        assertEquals(2, actualResponses.size());
+        assertTrue(actualResponses.contains(getResponseFromDatastore("response1ForQ1S2C1", dataBundle).toString()));
+        assertTrue(actualResponses.contains(teamResponse.toString()));
+        
+        frLogic.deleteFeedbackResponseAndCascade(teamResponse);
+        
+        ______TS("team members feedback test: team change is seen at once");
+        
+        // the questions of the session are cached by now, but the roster is read again for every student
+        StudentAttributes student3 = dataBundle.students.get("student3InCourse1");
+        StudentAttributes student5 = studentsLogic.getStudentForEmail("idOfTypicalCourse1",
+                                                                      "student5InCourse1@gmail.tmt");
+        String originalTeam = student5.team;
+        String originalSection = student5.section;
+        student5.team = student3.team;
+        student5.section = student3.section;
+        studentsLogic.updateStudentCascade(student5.email, student5);
+        
+        actual = fsLogic.getFeedbackSessionQuestionsForStudent(
+                        "Second feedback session", "idOfTypicalCourse1", "student3InCourse1@gmail.tmt");
+        
+        expectedQuestion = getQuestionFromDatastore("team.members.feedback");
+        assertTrue(actual.recipientList.get(expectedQuestion.getId()).containsKey(student5.email));
+        
+        student5.team = originalTeam;
+        student5.section = originalSection;
+        studentsLogic.updateStudentCascade(student5.email, student5);
+        
         ______TS("failure: invalid session");
         
         try {
@@ -0,0 +1,131 @@
+package teammates.test.cases.logic;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.logic.core.ResponseCommentRecipientResolver;
+import teammates.test.cases.BaseTestCase;
+
+public class ResponseCommentRecipientResolverTest extends BaseTestCase {
+
+    private StudentAttributes giver;
+    private StudentAttributes giverTeammate;
+    private StudentAttributes recipient;
+    private StudentAttributes recipientTeammate;
+    private StudentAttributes otherStudent;
+    private List<StudentAttributes> students;
+
+    @BeforeClass
+    public void setupClass() {
+        printTestClassHeader();
+        giver = new StudentAttributes("Section 1", "Team 1", "Giver", "giver@email.com", "", "course");
+        giverTeammate = new StudentAttributes("Section 1", "Team 1", "Teammate", "teammate@email.com", "", "course");
+        recipient = new StudentAttributes("Section 1", "Team 2", "Recipient", "recipient@email.com", "", "course");
+        recipientTeammate = new StudentAttributes("Section 1", "Team 2", "Recipient Teammate",
+                                                  "recipient.teammate@email.com", "", "course");
+        otherStudent = new StudentAttributes("Section 2", "Team 3", "Other", "other@email.com", "", "course");
+        students = Arrays.asList(giver, giverTeammate, recipient, recipientTeammate, otherStudent);
+    }
+
+    @Test
+    public void testAddRecipientsOf() {
+        FeedbackQuestionAttributes question = getQuestion(FeedbackParticipantType.STUDENTS);
+        FeedbackResponseAttributes response = getResponse(giver.email, recipient.email);
+
+        ______TS("comment visible to the giver and the receiver");
+
+        ResponseCommentRecipientResolver resolver = new ResponseCommentRecipientResolver(students);
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.GIVER, FeedbackParticipantType.RECEIVER),
+                                 question, response);
+        assertEquals(new HashSet<String>(Arrays.asList(giver.email, recipient.email)),
+                     resolver.getRecipientEmails());
+
+        ______TS("recipients of several comments are combined");
+
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS), question, response);
+        assertEquals(new HashSet<String>(Arrays.asList(giver.email, recipient.email, recipientTeammate.email)),
+                     resolver.getRecipientEmails());
+        assertFalse(resolver.isAllStudentsRecipients());
+
+        ______TS("comment visible to the team of the giver");
+
+        resolver = new ResponseCommentRecipientResolver(students);
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.OWN_TEAM_MEMBERS), question, response);
+        assertEquals(new HashSet<String>(Arrays.asList(giver.email, giverTeammate.email)),
+                     resolver.getRecipientEmails());
+
+        ______TS("response given by a team is seen by the team");
+
+        FeedbackQuestionAttributes teamQuestion = getQuestion(FeedbackParticipantType.TEAMS);
+        resolver = new ResponseCommentRecipientResolver(students);
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.INSTRUCTORS), teamQuestion, response);
+        assertEquals(new HashSet<String>(Arrays.asList(giver.email, giverTeammate.email)),
+                     resolver.getRecipientEmails());
+
+        ______TS("response to a team is seen by the members of the team");
+
+        FeedbackResponseAttributes teamResponse = getResponse(giver.email, recipient.team);
+        resolver = new ResponseCommentRecipientResolver(students);
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.RECEIVER), question, teamResponse);
+        assertEquals(new HashSet<String>(Arrays.asList(recipient.email, recipientTeammate.email)),
+                     resolver.getRecipientEmails());
+
+        ______TS("response given by an instructor is seen by the receiver only");
+
+        resolver = new ResponseCommentRecipientResolver(students);
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.GIVER, FeedbackParticipantType.RECEIVER),
+                                 question, getResponse("ins@email.com", recipient.email));
+        assertEquals(new HashSet<String>(Arrays.asList(recipient.email)), resolver.getRecipientEmails());
+
+        ______TS("comment visible to all students");
+
+        resolver = new ResponseCommentRecipientResolver(students);
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.STUDENTS), question, response);
+        assertTrue(resolver.isAllStudentsRecipients());
+        assertEquals(5, resolver.getRecipientEmails().size());
+
+        ______TS("comment on a deleted question or response");
+
+        resolver = new ResponseCommentRecipientResolver(students);
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.STUDENTS), null, response);
+        resolver.addRecipientsOf(getComment(FeedbackParticipantType.STUDENTS), question, null);
+        assertTrue(resolver.getRecipientEmails().isEmpty());
+    }
+
+    private static FeedbackQuestionAttributes getQuestion(FeedbackParticipantType giverType) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId("question");
+        question.giverType = giverType;
+        question.recipientType = FeedbackParticipantType.STUDENTS;
+        return question;
+    }
+
+    private static FeedbackResponseAttributes getResponse(String giverEmail, String recipientEmail) {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+        response.giverEmail = giverEmail;
+        response.recipientEmail = recipientEmail;
+        return response;
+    }
+
+    private static FeedbackResponseCommentAttributes getComment(FeedbackParticipantType... showCommentTo) {
+        FeedbackResponseCommentAttributes comment = new FeedbackResponseCommentAttributes();
+        comment.isVisibilityFollowingFeedbackQuestion = false;
+        comment.showCommentTo = Arrays.asList(showCommentTo);
+        return comment;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
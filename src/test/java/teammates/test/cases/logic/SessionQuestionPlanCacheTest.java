@@ -0,0 +1,98 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.logic.core.SessionQuestionPlanCache;
+import teammates.logic.core.SessionQuestionPlanCache.QuestionPlan;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class SessionQuestionPlanCacheTest extends BaseComponentTestCase {
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testPlan() {
+
+        ______TS("questions are handed out as copies");
+
+        QuestionPlan plan = new QuestionPlan("session", "course", getQuestions("session", "course"));
+        List<FeedbackQuestionAttributes> questions = plan.getQuestionsCopy();
+        assertEquals(1, questions.size());
+        questions.get(0).numberOfEntitiesToGiveFeedbackTo = 5;
+        assertEquals(1, plan.getQuestionsCopy().get(0).numberOfEntitiesToGiveFeedbackTo);
+    }
+
+    @Test
+    public void testCache() {
+
+        ______TS("cached plan is reused");
+
+        long version = SessionQuestionPlanCache.getVersion("SQPCT.course1");
+        QuestionPlan plan = new QuestionPlan("session", "SQPCT.course1", getQuestions("session", "SQPCT.course1"));
+        SessionQuestionPlanCache.put(plan, version);
+        assertTrue(plan == SessionQuestionPlanCache.get("session", "SQPCT.course1", version));
+
+        ______TS("invalidation of the session drops the plan");
+
+        SessionQuestionPlanCache.invalidate("session", "SQPCT.course1");
+        version = SessionQuestionPlanCache.getVersion("SQPCT.course1");
+        assertNull(SessionQuestionPlanCache.get("session", "SQPCT.course1", version));
+
+        ______TS("plan built before an invalidation is not served");
+
+        plan = new QuestionPlan("session", "SQPCT.course1", getQuestions("session", "SQPCT.course1"));
+        SessionQuestionPlanCache.invalidate("other session", "SQPCT.course1");
+        SessionQuestionPlanCache.put(plan, version);
+        version = SessionQuestionPlanCache.getVersion("SQPCT.course1");
+        assertNull(SessionQuestionPlanCache.get("session", "SQPCT.course1", version));
+
+        ______TS("invalidation of the course drops the plans of all its sessions only");
+
+        long versionOfOtherCourse = SessionQuestionPlanCache.getVersion("SQPCT.course10");
+        SessionQuestionPlanCache.put(new QuestionPlan("session 1", "SQPCT.course1",
+                                                      getQuestions("session 1", "SQPCT.course1")), version);
+        SessionQuestionPlanCache.put(new QuestionPlan("session 2", "SQPCT.course1",
+                                                      getQuestions("session 2", "SQPCT.course1")), version);
+        SessionQuestionPlanCache.put(new QuestionPlan("session", "SQPCT.course10",
+                                                      getQuestions("session", "SQPCT.course10")),
+                                     versionOfOtherCourse);
+
+        SessionQuestionPlanCache.invalidateCourse("SQPCT.course1");
+        version = SessionQuestionPlanCache.getVersion("SQPCT.course1");
+        assertNull(SessionQuestionPlanCache.get("session 1", "SQPCT.course1", version));
+        assertNull(SessionQuestionPlanCache.get("session 2", "SQPCT.course1", version));
+        assertNotNull(SessionQuestionPlanCache.get("session", "SQPCT.course10",
+                                                   SessionQuestionPlanCache.getVersion("SQPCT.course10")));
+    }
+
+    private List<FeedbackQuestionAttributes> getQuestions(String feedbackSessionName, String courseId) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.feedbackSessionName = feedbackSessionName;
+        question.courseId = courseId;
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = FeedbackParticipantType.STUDENTS;
+        question.numberOfEntitiesToGiveFeedbackTo = 1;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>();
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>();
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>();
+
+        List<FeedbackQuestionAttributes> questions = new ArrayList<FeedbackQuestionAttributes>();
+        questions.add(question);
+        return questions;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
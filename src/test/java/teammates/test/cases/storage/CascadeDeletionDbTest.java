@@ -0,0 +1,218 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.storage.api.CascadeDeletionDb;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.api.FeedbackSessionsDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.test.cases.BaseComponentTestCase;
+import teammates.test.driver.DatastoreCallCounter;
+
+public class CascadeDeletionDbTest extends BaseComponentTestCase {
+
+    private static final int NUMBER_OF_STUDENTS = 2000;
+    private static final int NUMBER_OF_SESSIONS = 10;
+    private static final int MAX_ENTITY_GROUPS_PER_RPC = 10;
+
+    private CascadeDeletionDb cascadeDeletionDb = new CascadeDeletionDb();
+    private CoursesDb coursesDb = new CoursesDb();
+    private InstructorsDb instructorsDb = new InstructorsDb();
+    private StudentsDb studentsDb = new StudentsDb();
+    private FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+    private FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testDeleteCourseCascade() throws Exception {
+
+        ______TS("large course is deleted in a bounded number of datastore calls");
+
+        String courseId = "CDDbT.largeCourse";
+        createCourse(courseId, NUMBER_OF_STUDENTS, NUMBER_OF_SESSIONS);
+        assertEquals(NUMBER_OF_STUDENTS, studentsDb.getStudentsForCourse(courseId).size());
+
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        String checkpoint;
+        try {
+            checkpoint = cascadeDeletionDb.deleteCourseCascade(courseId, null, Long.MAX_VALUE);
+        } finally {
+            datastoreCalls.stop();
+        }
+
+        assertNull(checkpoint);
+        verifyCourseDeleted(courseId);
+        // one query and one delete for each batch of each of the 7 kinds in a course besides the course itself,
+        // however many sessions there are, instead of a few calls for every student and every session
+        int maxBatches = 7 + NUMBER_OF_STUDENTS / CascadeDeletionDb.DELETION_BATCH_SIZE;
+        assertTrue(datastoreCalls.getCallCount("RunQuery") <= maxBatches);
+        assertTrue(datastoreCalls.getCallCount("Next") <= maxBatches);
+        // the datastore API sends each batch delete as parallel RPCs of at most 10 entity groups each,
+        // and every entity of a course is in an entity group of its own
+        int numberOfEntities = 3 + NUMBER_OF_STUDENTS + NUMBER_OF_SESSIONS * 5;
+        assertTrue(datastoreCalls.getCallCount("Delete")
+                   <= 1 + maxBatches + numberOfEntities / MAX_ENTITY_GROUPS_PER_RPC);
+
+        ______TS("deletion past its deadline is resumed from its checkpoint");
+
+        courseId = "CDDbT.resumedCourse";
+        createCourse(courseId, CascadeDeletionDb.DELETION_BATCH_SIZE + 1, 2);
+
+        int numberOfCalls = 0;
+        checkpoint = null;
+        do {
+            // every call deletes a single batch, as its deadline has passed
+            checkpoint = cascadeDeletionDb.deleteCourseCascade(courseId, checkpoint, 0);
+            numberOfCalls++;
+            assertNull(coursesDb.getCourse(courseId));
+        } while (checkpoint != null);
+
+        verifyCourseDeleted(courseId);
+        // the course, the instructors, two batches of students and the comments, sessions, questions,
+        // responses and response comments
+        assertEquals(9, numberOfCalls);
+
+        ______TS("non-existent course");
+
+        assertNull(cascadeDeletionDb.deleteCourseCascade(courseId, null, Long.MAX_VALUE));
+
+        ______TS("null parameter");
+
+        try {
+            cascadeDeletionDb.deleteCourseCascade(null, null, Long.MAX_VALUE);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals("Supplied parameter was null\n", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testDeleteFeedbackSessionCascade() throws Exception {
+        String courseId = "CDDbT.courseWithSessions";
+        createCourse(courseId, 2, 2);
+        FeedbackSessionAttributes sessionToDelete = fsDb.getFeedbackSessionsForCourse(courseId).get(0);
+        String otherSessionName = fsDb.getFeedbackSessionsForCourse(courseId).get(1).feedbackSessionName;
+
+        ______TS("session is deleted with its questions and responses");
+
+        assertNull(cascadeDeletionDb.deleteFeedbackSessionCascade(sessionToDelete.feedbackSessionName, courseId,
+                                                                  null, Long.MAX_VALUE));
+
+        assertNull(fsDb.getFeedbackSession(courseId, sessionToDelete.feedbackSessionName));
+        assertTrue(fqDb.getFeedbackQuestionsForSession(sessionToDelete.feedbackSessionName, courseId).isEmpty());
+        assertTrue(frDb.getFeedbackResponsesForSession(sessionToDelete.feedbackSessionName, courseId).isEmpty());
+
+        ______TS("other sessions and the course are left as they are");
+
+        assertNotNull(coursesDb.getCourse(courseId));
+        assertNotNull(fsDb.getFeedbackSession(courseId, otherSessionName));
+        assertEquals(1, fqDb.getFeedbackQuestionsForSession(otherSessionName, courseId).size());
+        assertEquals(2, frDb.getFeedbackResponsesForSession(otherSessionName, courseId).size());
+        assertEquals(2, studentsDb.getStudentsForCourse(courseId).size());
+
+        ______TS("null parameter");
+
+        try {
+            cascadeDeletionDb.deleteFeedbackSessionCascade(null, courseId, null, Long.MAX_VALUE);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals("Supplied parameter was null\n", e.getMessage());
+        }
+
+        cascadeDeletionDb.deleteCourseCascade(courseId, null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a course with two instructors, the given number of students and the given number
+     * of sessions, each with a question answered by two of the students.
+     */
+    private void createCourse(String courseId, int numberOfStudents, int numberOfSessions) throws Exception {
+        DataBundle dataBundle = getTypicalDataBundle();
+
+        coursesDb.createEntity(new CourseAttributes(courseId, "Course to delete"));
+        instructorsDb.createEntity(createCoOwner("CDDbT.instr1", courseId, "Instructor 1", "instr1@cddbt.tmt"));
+        instructorsDb.createEntity(createCoOwner("CDDbT.instr2", courseId, "Instructor 2", "instr2@cddbt.tmt"));
+
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (int i = 0; i < numberOfStudents; i++) {
+            students.add(new StudentAttributes("Section " + i % 10, "Team " + i % 100, "Student " + i,
+                                               "student" + i + "@cddbt.tmt", "", courseId));
+        }
+        studentsDb.createEntitiesWithoutExistenceCheck(students);
+
+        for (int i = 0; i < numberOfSessions; i++) {
+            FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+            session.feedbackSessionName = "Session " + i;
+            session.courseId = courseId;
+            fsDb.createEntity(session);
+
+            FeedbackQuestionAttributes question = dataBundle.feedbackQuestions.get("qn1InSession1InCourse1");
+            question.feedbackSessionName = session.feedbackSessionName;
+            question.courseId = courseId;
+            question.setId(null);
+            fqDb.createEntity(question);
+            String questionId = fqDb.getFeedbackQuestion(session.feedbackSessionName, courseId,
+                                                         question.questionNumber).getId();
+
+            List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+            for (int j = 0; j < 2; j++) {
+                FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                        dataBundle.feedbackResponses.get("response1ForQ1S1C1"));
+                response.feedbackSessionName = session.feedbackSessionName;
+                response.courseId = courseId;
+                response.feedbackQuestionId = questionId;
+                response.giverEmail = students.get(j).email;
+                response.recipientEmail = students.get(j).email;
+                response.setId(null);
+                responses.add(response);
+            }
+            frDb.createEntities(responses);
+        }
+    }
+
+    private InstructorAttributes createCoOwner(String googleId, String courseId, String name, String email) {
+        return new InstructorAttributes(
+                googleId, courseId, name, email,
+                Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER,
+                InstructorAttributes.DEFAULT_DISPLAY_NAME,
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER));
+    }
+
+    private void verifyCourseDeleted(String courseId) {
+        assertNull(coursesDb.getCourse(courseId));
+        assertTrue(instructorsDb.getInstructorsForCourse(courseId).isEmpty());
+        assertTrue(studentsDb.getStudentsForCourse(courseId).isEmpty());
+        assertTrue(fsDb.getFeedbackSessionsForCourse(courseId).isEmpty());
+        for (int i = 0; i < NUMBER_OF_SESSIONS; i++) {
+            assertTrue(fqDb.getFeedbackQuestionsForSession("Session " + i, courseId).isEmpty());
+            assertTrue(frDb.getFeedbackResponsesForSession("Session " + i, courseId).isEmpty());
+        }
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
@@ -14,14 +14,17 @@ import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CommentParticipantType;
+import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.CommentStatus;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.storage.api.CommentsDb;
+import teammates.storage.entity.Comment;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
+import teammates.test.driver.DatastoreCallCounter;
 
 import com.google.appengine.api.datastore.Text;
 
@@ -505,6 +508,60 @@ public class CommentsDbTest extends BaseComponentTestCase {
         }
     }
     
+    @Test
+    public void testGetCommentsCountForSendingState() throws Exception {
+        int numberOfCourses = 50;
+        List<String> pendingCourseIds = new ArrayList<String>();
+        for (int i = 0; i < numberOfCourses; i++) {
+            CommentAttributes c = createNewComment();
+            c.courseId = "CDT.pendingCourse" + i;
+            c.sendingState = CommentSendingState.PENDING;
+            commentsDb.createEntity(c);
+            pendingCourseIds.add(c.courseId);
+        }
+        
+        ______TS("fetching the comments of every course reads them");
+        
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        int pendingCommentsCount = 0;
+        try {
+            for (String pendingCourseId : pendingCourseIds) {
+                pendingCommentsCount +=
+                        commentsDb.getCommentsForSendingState(pendingCourseId, CommentSendingState.PENDING).size();
+            }
+        } finally {
+            datastoreCalls.stop();
+        }
+        assertEquals(numberOfCourses, pendingCommentsCount);
+        assertEquals(numberOfCourses, datastoreCalls.getEntityQueryCount(Comment.class.getSimpleName()));
+        
+        ______TS("counting the comments of every course reads only their keys");
+        
+        datastoreCalls = DatastoreCallCounter.start();
+        pendingCommentsCount = 0;
+        try {
+            for (String pendingCourseId : pendingCourseIds) {
+                pendingCommentsCount += commentsDb.getCommentsCountForSendingState(pendingCourseId,
+                                                                                   CommentSendingState.PENDING);
+                assertTrue(commentsDb.isCommentForSendingStatePresent(pendingCourseId,
+                                                                      CommentSendingState.PENDING));
+                assertFalse(commentsDb.isCommentForSendingStatePresent(pendingCourseId, CommentSendingState.SENT));
+            }
+        } finally {
+            datastoreCalls.stop();
+        }
+        assertEquals(numberOfCourses, pendingCommentsCount);
+        assertEquals(3 * numberOfCourses, datastoreCalls.getCallCount("RunQuery"));
+        assertEquals(0, datastoreCalls.getEntityQueryCount(Comment.class.getSimpleName()));
+        
+        ______TS("course without comments in the sending state");
+        
+        assertEquals(0, commentsDb.getCommentsCountForSendingState("CDT.pendingCourse0", CommentSendingState.SENDING));
+        assertEquals(0, commentsDb.getCommentsCountForSendingState("non-existent-course", CommentSendingState.PENDING));
+        
+        commentsDb.deleteCommentsForCourses(pendingCourseIds);
+    }
+    
     private CommentAttributes createNewComment() {
         CommentAttributes c = new CommentAttributes();
         c.courseId = courseId;
@@ -0,0 +1,139 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CopiableQuestionSummary;
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
+import teammates.common.datatransfer.FeedbackMcqQuestionDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackTextQuestionDetails;
+import teammates.storage.api.CopiableQuestionsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.appengine.api.datastore.KeyFactory;
+
+public class CopiableQuestionsDbTest extends BaseComponentTestCase {
+
+    private static final List<String> COURSE_IDS = Arrays.asList("CQDbT.course1", "CQDbT.course2");
+
+    private CopiableQuestionsDb copiableQuestionsDb = new CopiableQuestionsDb();
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testCatalogue() {
+        FeedbackMcqQuestionDetails mcqDetails = new FeedbackMcqQuestionDetails();
+        mcqDetails.questionText = "Question";
+        FeedbackQuestionAttributes mcqQuestion = getQuestion("q1", "CQDbT.course1", "Session", mcqDetails);
+        FeedbackQuestionAttributes textQuestion =
+                getQuestion("q2", "CQDbT.course1", "Session", new FeedbackTextQuestionDetails("B question"));
+        FeedbackQuestionAttributes otherTextQuestion =
+                getQuestion("q3", "CQDbT.course1", "Session", new FeedbackTextQuestionDetails("A question"));
+        FeedbackQuestionAttributes questionInOtherSession =
+                getQuestion("q4", "CQDbT.course1", "Another session", new FeedbackTextQuestionDetails("Z question"));
+        FeedbackQuestionAttributes questionInOtherCourse =
+                getQuestion("q5", "CQDbT.course2", "Session", new FeedbackTextQuestionDetails("Question"));
+        FeedbackQuestionAttributes questionInCourseOfOtherInstructor =
+                getQuestion("q6", "CQDbT.course3", "Session", new FeedbackTextQuestionDetails("Question"));
+        copiableQuestionsDb.putCopiableQuestions(Arrays.asList(mcqQuestion, textQuestion, otherTextQuestion,
+                                                               questionInOtherSession, questionInOtherCourse,
+                                                               questionInCourseOfOtherInstructor));
+
+        ______TS("questions of the courses are sorted by course, session, question type and question text");
+
+        List<String> expectedIds = Arrays.asList("q4", "q3", "q2", "q1", "q5");
+        assertEquals(expectedIds, getAllQuestionIds(2));
+        assertEquals(expectedIds, getAllQuestionIds(5));
+        assertEquals(expectedIds, getAllQuestionIds(10));
+
+        CopiableQuestionsPageBundle page = copiableQuestionsDb.getCopiableQuestionsForCoursesInPage(COURSE_IDS, 5, null);
+        CopiableQuestionSummary question = page.questions.get(3);
+        assertEquals("q1", question.feedbackQuestionId);
+        assertEquals("CQDbT.course1", question.courseId);
+        assertEquals("Session", question.feedbackSessionName);
+        assertEquals(mcqDetails.getQuestionTypeDisplayName(), question.questionTypeDisplayName);
+        assertEquals("Question", question.questionText);
+        assertTrue(page.isLastPage());
+
+        ______TS("updated question is moved to its new place");
+
+        textQuestion.setQuestionDetails(new FeedbackTextQuestionDetails("0 question"));
+        copiableQuestionsDb.putCopiableQuestions(Arrays.asList(textQuestion));
+        assertEquals(Arrays.asList("q4", "q2", "q3", "q1", "q5"), getAllQuestionIds(2));
+
+        ______TS("deleted questions are removed");
+
+        copiableQuestionsDb.deleteCopiableQuestions(Arrays.asList("q1", "non-existent"));
+        assertEquals(Arrays.asList("q4", "q2", "q3", "q5"), getAllQuestionIds(10));
+
+        copiableQuestionsDb.deleteCopiableQuestionsForCourses(Arrays.asList("CQDbT.course1", "CQDbT.course3"));
+        assertEquals(Arrays.asList("q5"), getAllQuestionIds(10));
+
+        copiableQuestionsDb.deleteCopiableQuestionsForCourses(COURSE_IDS);
+        page = copiableQuestionsDb.getCopiableQuestionsForCoursesInPage(COURSE_IDS, 10, null);
+        assertTrue(page.questions.isEmpty());
+        assertTrue(page.isLastPage());
+
+        ______TS("questions identified by the keys of stored questions");
+
+        String questionKey = KeyFactory.keyToString(KeyFactory.createKey("FeedbackQuestion", 1));
+        FeedbackQuestionAttributes storedQuestion =
+                getQuestion(questionKey, "CQDbT.course1", "Session", new FeedbackTextQuestionDetails("Question"));
+        copiableQuestionsDb.putCopiableQuestions(Arrays.asList(storedQuestion));
+        storedQuestion.setQuestionDetails(new FeedbackTextQuestionDetails("Edited question"));
+        copiableQuestionsDb.putCopiableQuestions(Arrays.asList(storedQuestion));
+
+        page = copiableQuestionsDb.getCopiableQuestionsForCoursesInPage(COURSE_IDS, 10, null);
+        assertEquals(1, page.questions.size());
+        assertEquals(questionKey, page.questions.get(0).feedbackQuestionId);
+        assertEquals("Edited question", page.questions.get(0).questionText);
+
+        copiableQuestionsDb.deleteCopiableQuestions(Arrays.asList(questionKey));
+        assertTrue(getAllQuestionIds(10).isEmpty());
+    }
+
+    private List<String> getAllQuestionIds(int pageSize) {
+        List<String> ids = new ArrayList<String>();
+        CopiableQuestionsPageBundle page = copiableQuestionsDb.getCopiableQuestionsForCoursesInPage(COURSE_IDS,
+                                                                                                   pageSize, null);
+        for (CopiableQuestionSummary question : page.questions) {
+            ids.add(question.feedbackQuestionId);
+        }
+        while (!page.isLastPage()) {
+            page = copiableQuestionsDb.getCopiableQuestionsForCoursesInPage(COURSE_IDS, pageSize, page.nextPageToken);
+            for (CopiableQuestionSummary question : page.questions) {
+                ids.add(question.feedbackQuestionId);
+            }
+        }
+        return ids;
+    }
+
+    private static FeedbackQuestionAttributes getQuestion(String id, String courseId, String feedbackSessionName,
+                                                          FeedbackQuestionDetails details) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId(id);
+        question.courseId = courseId;
+        question.feedbackSessionName = feedbackSessionName;
+        question.giverType = FeedbackParticipantType.INSTRUCTORS;
+        question.recipientType = FeedbackParticipantType.SELF;
+        question.questionType = details.questionType;
+        question.setQuestionDetails(details);
+        return question;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
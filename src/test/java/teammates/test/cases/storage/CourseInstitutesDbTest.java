@@ -0,0 +1,69 @@
+package teammates.test.cases.storage;
+
+import java.util.Arrays;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.storage.api.CourseInstitutesDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class CourseInstitutesDbTest extends BaseComponentTestCase {
+
+    private CourseInstitutesDb courseInstitutesDb = new CourseInstitutesDb();
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testInstitutes() {
+
+        ______TS("empty institutes are not stored");
+
+        courseInstitutesDb.putInstitute("CIDbT.course1", "", "CIDbT.ins1");
+        courseInstitutesDb.putInstituteIfAbsent("CIDbT.course1", "", "CIDbT.ins1");
+        assertNull(courseInstitutesDb.getInstitute("CIDbT.course1"));
+
+        ______TS("institute of a joining instructor does not replace the stored one");
+
+        courseInstitutesDb.putInstitute("CIDbT.course1", "Institute 1", "CIDbT.ins1");
+        courseInstitutesDb.putInstituteIfAbsent("CIDbT.course1", "Institute of joining instructor", "CIDbT.ins3");
+        assertEquals("Institute 1", courseInstitutesDb.getInstitute("CIDbT.course1"));
+        courseInstitutesDb.putInstituteIfAbsent("CIDbT.course2", "Institute of joining instructor", "CIDbT.ins3");
+        assertEquals("Institute of joining instructor", courseInstitutesDb.getInstitute("CIDbT.course2"));
+
+        ______TS("account update is written to the institutes taken from the account");
+
+        courseInstitutesDb.putInstitute("CIDbT.course3", "Institute 1", "CIDbT.ins1");
+        courseInstitutesDb.updateInstituteOfAccount("CIDbT.ins1", "New Institute 1");
+        assertEquals("New Institute 1", courseInstitutesDb.getInstitute("CIDbT.course1"));
+        assertEquals("New Institute 1", courseInstitutesDb.getInstitute("CIDbT.course3"));
+        assertEquals("Institute of joining instructor", courseInstitutesDb.getInstitute("CIDbT.course2"));
+
+        ______TS("account update to an empty institute removes the institutes taken from the account");
+
+        courseInstitutesDb.updateInstituteOfAccount("CIDbT.ins1", "");
+        assertNull(courseInstitutesDb.getInstitute("CIDbT.course1"));
+        assertNull(courseInstitutesDb.getInstitute("CIDbT.course3"));
+
+        ______TS("account deletion removes the institutes taken from the account");
+
+        courseInstitutesDb.putInstitute("CIDbT.course1", "Institute 1", "CIDbT.ins1");
+        courseInstitutesDb.deleteInstitutesOfAccounts(Arrays.asList("CIDbT.ins1"));
+        assertNull(courseInstitutesDb.getInstitute("CIDbT.course1"));
+        assertEquals("Institute of joining instructor", courseInstitutesDb.getInstitute("CIDbT.course2"));
+
+        ______TS("institutes of courses are removed");
+
+        courseInstitutesDb.deleteInstitutesOfCourses(Arrays.asList("CIDbT.course2", "CIDbT.course4"));
+        assertNull(courseInstitutesDb.getInstitute("CIDbT.course2"));
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
@@ -0,0 +1,151 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.EntityChangeAttributes;
+import teammates.common.datatransfer.EntityChangesBundle;
+import teammates.common.exception.EntityAlreadyExistsException;
+import teammates.common.exception.InvalidParametersException;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.EntityChangesDb;
+import teammates.test.cases.BaseComponentTestCase;
+import teammates.test.driver.DatastoreCallCounter;
+
+public class EntityChangesDbTest extends BaseComponentTestCase {
+
+    private static final String COURSE_ID = "ECDbT.course";
+
+    private CoursesDb coursesDb = new CoursesDb();
+    private EntityChangesDb entityChangesDb = new EntityChangesDb();
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testChangeLog() throws InvalidParametersException, EntityAlreadyExistsException {
+
+        long startSequenceNumber = entityChangesDb.getSettledSequenceNumber();
+
+        ______TS("creation and deletion of an entity are recorded in sequence");
+
+        coursesDb.createEntity(new CourseAttributes(COURSE_ID, "Change Log Course"));
+        coursesDb.deleteCourse(COURSE_ID);
+
+        List<EntityChangeAttributes> changes = getChangesOfCourse(startSequenceNumber);
+        assertEquals(2, changes.size());
+
+        EntityChangeAttributes creation = changes.get(0);
+        assertEquals("Course", creation.kind);
+        assertEquals(COURSE_ID, creation.entityKey);
+        assertFalse(creation.isDeletion);
+        assertNotNull(creation.timestamp);
+
+        EntityChangeAttributes deletion = changes.get(1);
+        assertEquals("Course", deletion.kind);
+        assertTrue(deletion.isDeletion);
+        assertTrue(creation.sequenceNumber <= deletion.sequenceNumber);
+
+        ______TS("range is read in pages");
+
+        EntityChangesBundle page = entityChangesDb.getEntityChanges(
+                startSequenceNumber, EntityChangesDb.AFTER_ALL_IDS, Long.MAX_VALUE, 1);
+        assertEquals(1, page.changes.size());
+        assertEquals(page.changes.get(0).sequenceNumber, page.watermark);
+        assertEquals(page.changes.get(0).id.longValue(), page.watermarkId);
+
+        ______TS("range with no more changes has the end of the range as watermark");
+
+        page = entityChangesDb.getEntityChanges(
+                deletion.sequenceNumber, EntityChangesDb.AFTER_ALL_IDS, deletion.sequenceNumber + 1, 10);
+        assertEquals(deletion.sequenceNumber + 1, page.watermark);
+        assertEquals(EntityChangesDb.AFTER_ALL_IDS, page.watermarkId);
+
+        ______TS("records sharing a sequence number are read once each across pages");
+
+        List<EntityChangeAttributes> changesAtOnce = new ArrayList<EntityChangeAttributes>();
+        for (int i = 0; i < 5; i++) {
+            changesAtOnce.add(new EntityChangeAttributes(COURSE_ID, "Student", "student" + i, false));
+        }
+        entityChangesDb.createEntityChanges(changesAtOnce);
+        long sequenceNumber = changesAtOnce.get(0).sequenceNumber;
+        assertEquals(sequenceNumber, changesAtOnce.get(4).sequenceNumber);
+
+        Set<String> keysRead = new HashSet<String>();
+        long watermark = sequenceNumber - 1;
+        long watermarkId = EntityChangesDb.AFTER_ALL_IDS;
+        do {
+            page = entityChangesDb.getEntityChanges(watermark, watermarkId, sequenceNumber, 2);
+            for (EntityChangeAttributes change : page.changes) {
+                if (change.courseId.equals(COURSE_ID) && change.kind.equals("Student")) {
+                    assertTrue(keysRead.add(change.entityKey));
+                }
+            }
+            watermark = page.watermark;
+            watermarkId = page.watermarkId;
+        } while (watermarkId != EntityChangesDb.AFTER_ALL_IDS);
+        assertEquals(5, keysRead.size());
+
+        ______TS("changes up to a sequence number are deleted");
+
+        entityChangesDb.deleteEntityChangesUpTo(creation.sequenceNumber);
+        for (EntityChangeAttributes change : getChangesOfCourse(startSequenceNumber)) {
+            assertTrue(change.sequenceNumber > creation.sequenceNumber);
+        }
+
+        entityChangesDb.deleteEntityChangesUpTo(sequenceNumber);
+        assertTrue(getChangesOfCourse(startSequenceNumber).isEmpty());
+
+        ______TS("many changes are deleted in batches of keys");
+
+        long lastSequenceNumber = 0;
+        for (int batch = 0; batch < 3; batch++) {
+            List<EntityChangeAttributes> manyChanges = new ArrayList<EntityChangeAttributes>();
+            for (int i = 0; i < 400; i++) {
+                manyChanges.add(new EntityChangeAttributes(COURSE_ID, "Student", "student" + batch + "-" + i, false));
+            }
+            entityChangesDb.createEntityChanges(manyChanges);
+            lastSequenceNumber = manyChanges.get(0).sequenceNumber;
+        }
+
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        int numberOfDeletedChanges;
+        try {
+            numberOfDeletedChanges = entityChangesDb.deleteEntityChangesUpTo(lastSequenceNumber);
+        } finally {
+            datastoreCalls.stop();
+        }
+
+        assertTrue(numberOfDeletedChanges >= 1200);
+        assertTrue(getChangesOfCourse(startSequenceNumber).isEmpty());
+        // no record is loaded, and the keys are read a batch of 500 at a time
+        assertEquals(0, datastoreCalls.getEntityQueryCount("EntityChange"));
+        int numberOfBatches = numberOfDeletedChanges / 500 + 1;
+        assertTrue(datastoreCalls.getCallCount("RunQuery") + datastoreCalls.getCallCount("Next")
+                   <= 2 * numberOfBatches);
+        assertTrue(datastoreCalls.getCallCount("RunQuery") >= numberOfBatches - 1);
+    }
+
+    /**
+     * Changes made by other tests may be in the same range, so only those of the course are kept.
+     */
+    private List<EntityChangeAttributes> getChangesOfCourse(long afterSequenceNumber) {
+        List<EntityChangeAttributes> changes = new ArrayList<EntityChangeAttributes>();
+        for (EntityChangeAttributes change
+                : entityChangesDb.getEntityChanges(afterSequenceNumber, EntityChangesDb.AFTER_ALL_IDS,
+                                                   Long.MAX_VALUE, 1000).changes) {
+            if (change.courseId.equals(COURSE_ID)) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+}
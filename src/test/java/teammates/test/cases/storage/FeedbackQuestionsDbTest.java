@@ -1,8 +1,11 @@
 package teammates.test.cases.storage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -20,6 +23,7 @@ import teammates.common.util.Const;
 import teammates.storage.api.FeedbackQuestionsDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
+import teammates.test.driver.DatastoreCallCounter;
 
 public class FeedbackQuestionsDbTest extends BaseComponentTestCase {
     private static final FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
@@ -197,6 +201,15 @@ public class FeedbackQuestionsDbTest extends BaseComponentTestCase {
         actual = fqDb.getFeedbackQuestion("non-existent id");
 
         assertNull(actual);
+
+        ______TS("get by ids in a batch");
+
+        actual = fqDb.getFeedbackQuestion(expected.feedbackSessionName, expected.courseId, expected.questionNumber);
+        List<FeedbackQuestionAttributes> questions = fqDb.getFeedbackQuestions(Arrays.asList(actual.getId()));
+
+        assertEquals(1, questions.size());
+        assertEquals(actual.toString(), questions.get(0).toString());
+        assertTrue(fqDb.getFeedbackQuestions(new ArrayList<String>()).isEmpty());
     }
 
     @Test
@@ -373,6 +386,66 @@ public class FeedbackQuestionsDbTest extends BaseComponentTestCase {
         fqDb.deleteEntity(modifiedQuestion);
     }
 
+    @Test
+    public void testUpdateFeedbackQuestionNumbers() throws Exception {
+
+        ______TS("null params");
+
+        try {
+            fqDb.updateFeedbackQuestionNumbers(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+
+        ______TS("question does not exist");
+
+        Map<String, Integer> newQuestionNumbers = new HashMap<String, Integer>();
+        newQuestionNumbers.put("non-existent fq id", 1);
+
+        try {
+            fqDb.updateFeedbackQuestionNumbers(newQuestionNumbers);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains(FeedbackQuestionsDb.ERROR_UPDATE_NON_EXISTENT, e.getLocalizedMessage());
+        }
+
+        ______TS("all questions renumbered in one batched read and write");
+
+        // questions are in entity groups of their own, and the datastore API splits a batch write
+        // into one call for every 10 entity groups
+        int numToCreate = 10;
+        FeedbackQuestionAttributes fqa = createFeedbackQuestions(numToCreate).get(0);
+        List<FeedbackQuestionAttributes> questions =
+                fqDb.getFeedbackQuestionsForSession(fqa.feedbackSessionName, fqa.courseId);
+
+        newQuestionNumbers = new HashMap<String, Integer>();
+        for (FeedbackQuestionAttributes question : questions) {
+            newQuestionNumbers.put(question.getId(), numToCreate + 1 - question.questionNumber);
+        }
+
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        try {
+            fqDb.updateFeedbackQuestionNumbers(newQuestionNumbers);
+        } finally {
+            datastoreCalls.stop();
+        }
+
+        assertEquals(1, datastoreCalls.getCallCount("Get"));
+        // one write for the questions and one for the record of the change in the change log
+        assertEquals(2, datastoreCalls.getCallCount("Put"));
+        assertEquals(0, datastoreCalls.getCallCount("RunQuery"));
+
+        List<FeedbackQuestionAttributes> renumberedQuestions =
+                fqDb.getFeedbackQuestionsForSession(fqa.feedbackSessionName, fqa.courseId);
+        assertEquals(numToCreate, renumberedQuestions.size());
+        for (FeedbackQuestionAttributes question : renumberedQuestions) {
+            assertEquals(newQuestionNumbers.get(question.getId()).intValue(), question.questionNumber);
+        }
+
+        deleteFeedbackQuestions(numToCreate);
+    }
+
     private FeedbackQuestionAttributes getNewFeedbackQuestionAttributes() {
         FeedbackQuestionAttributes fqa = new FeedbackQuestionAttributes();
 
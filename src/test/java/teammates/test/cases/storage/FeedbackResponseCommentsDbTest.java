@@ -8,6 +8,7 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
@@ -68,6 +69,8 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         
         testGetFeedbackResponseCommentsForSession();
         
+        testGetFeedbackResponseCommentsCountForSendingState();
+        
         testUpdateFeedbackResponseCommentsGiverEmail();
         
         testDeleteFeedbackResponseCommentsForResponse();
@@ -93,6 +96,18 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
 
         frcDb.deleteEntity(frcaTemp);
         verifyAbsentInDatastore(frcaTemp);
+        
+        ______TS("Entity deletion by ID only");
+        
+        frcDb.createEntity(frcaTemp);
+        FeedbackResponseCommentAttributes createdComment = frcDb.getFeedbackResponseComment(
+                frcaTemp.feedbackResponseId, frcaTemp.giverEmail, frcaTemp.createdAt);
+        FeedbackResponseCommentAttributes commentWithIdOnly = new FeedbackResponseCommentAttributes();
+        commentWithIdOnly.setId(createdComment.getId());
+        commentWithIdOnly.courseId = createdComment.courseId;
+        
+        frcDb.deleteEntity(commentWithIdOnly);
+        assertNull(frcDb.getFeedbackResponseComment(createdComment.getId()));
     }
     
     public void testGetFeedbackResponseCommentFromId() {
@@ -315,6 +330,32 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         verifyListsContainSameResponseCommentAttributes(expectedFrcas, actualFrcas);
     }
     
+    public void testGetFeedbackResponseCommentsCountForSendingState() {
+        
+        ______TS("null parameter");
+
+        try {
+            frcDb.getFeedbackResponseCommentsCountForSendingState(frcaData.courseId, null, CommentSendingState.SENT);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+
+        ______TS("typical success case");
+        
+        assertEquals(2, frcDb.getFeedbackResponseCommentsCountForSendingState(
+                                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.SENT));
+        assertTrue(frcDb.isFeedbackResponseCommentForSendingStatePresent(
+                                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.SENT));
+        
+        ______TS("no comments in the sending state");
+        
+        assertEquals(0, frcDb.getFeedbackResponseCommentsCountForSendingState(
+                                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.PENDING));
+        assertFalse(frcDb.isFeedbackResponseCommentForSendingStatePresent(
+                                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.PENDING));
+    }
+    
     public void testUpdateFeedbackResponseCommentsGiverEmail() 
             throws InvalidParametersException, EntityAlreadyExistsException {
         FeedbackResponseCommentAttributes frcaDataOfNewGiver =
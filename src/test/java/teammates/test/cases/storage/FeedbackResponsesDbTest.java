@@ -1,7 +1,10 @@
 package teammates.test.cases.storage;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -13,6 +16,7 @@ import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.datatransfer.FeedbackTextResponseDetails;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -224,6 +228,29 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         actual = frDb.getFeedbackResponse("non-existent id");
         
         assertNull(actual);
+        
+        ______TS("get by ids in a batch");
+        
+        FeedbackResponseAttributes first =
+                frDb.getFeedbackResponse(expected.feedbackQuestionId, expected.giverEmail, expected.recipientEmail);
+        FeedbackResponseAttributes other = getResponseAttributes("response2ForQ1S1C1");
+        other = frDb.getFeedbackResponse(other.feedbackQuestionId, other.giverEmail, other.recipientEmail);
+        List<String> ids = new ArrayList<String>();
+        ids.add(first.getId());
+        ids.add("non-existent id");
+        ids.add(other.getId());
+        
+        List<FeedbackResponseAttributes> responses = frDb.getFeedbackResponses(ids);
+        
+        assertEquals(2, responses.size());
+        Set<String> actualIds = new HashSet<String>();
+        for (FeedbackResponseAttributes response : responses) {
+            actualIds.add(response.getId());
+        }
+        assertTrue(actualIds.contains(first.getId()));
+        assertTrue(actualIds.contains(other.getId()));
+        
+        assertTrue(frDb.getFeedbackResponses(new ArrayList<String>()).isEmpty());
     }
     
     @Test
@@ -324,6 +351,99 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
     }
     
+    @Test
+    public void testGetFeedbackResponsesForSessionInPage() {
+        
+        ______TS("standard success case: pages cover all responses in order of their IDs without overlap");
+        
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        
+        List<String> responseIds = new ArrayList<String>();
+        FeedbackResponsesPageBundle page =
+                frDb.getFeedbackResponsesForSessionInPage(feedbackSessionName, courseId, 4, null);
+        assertEquals(4, page.responses.size());
+        assertFalse(page.isLastPage());
+        addIdsInOrder(responseIds, page);
+        
+        page = frDb.getFeedbackResponsesForSessionInPage(feedbackSessionName, courseId, 4, page.nextPageToken);
+        assertEquals(2, page.responses.size());
+        assertTrue(page.isLastPage());
+        addIdsInOrder(responseIds, page);
+        assertEquals(getIdsInOrder(frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId)),
+                     responseIds);
+        
+        ______TS("page ending at the last response is the last page");
+        
+        page = frDb.getFeedbackResponsesForSessionInPage(feedbackSessionName, courseId, 6, null);
+        assertEquals(6, page.responses.size());
+        assertTrue(page.isLastPage());
+        
+        page = frDb.getFeedbackResponsesForSessionInPage(feedbackSessionName, courseId, 3, null);
+        page = frDb.getFeedbackResponsesForSessionInPage(feedbackSessionName, courseId, 3, page.nextPageToken);
+        assertEquals(3, page.responses.size());
+        assertTrue(page.isLastPage());
+        
+        ______TS("pages of responses from and to a section");
+        
+        responseIds = new ArrayList<String>();
+        page = null;
+        do {
+            page = frDb.getFeedbackResponsesForSessionFromSectionInPage(
+                    feedbackSessionName, courseId, "Section 1", 2, page == null ? null : page.nextPageToken);
+            assertTrue(page.responses.size() <= 2);
+            addIdsInOrder(responseIds, page);
+        } while (!page.isLastPage());
+        assertEquals(getIdsInOrder(frDb.getFeedbackResponsesForSessionFromSection(feedbackSessionName, courseId,
+                                                                                  "Section 1")),
+                     responseIds);
+        
+        responseIds = new ArrayList<String>();
+        page = null;
+        do {
+            page = frDb.getFeedbackResponsesForSessionToSectionInPage(
+                    feedbackSessionName, courseId, "Section 1", 2, page == null ? null : page.nextPageToken);
+            assertTrue(page.responses.size() <= 2);
+            addIdsInOrder(responseIds, page);
+        } while (!page.isLastPage());
+        assertEquals(getIdsInOrder(frDb.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId,
+                                                                                "Section 1")),
+                     responseIds);
+        assertTrue(responseIds.size() > 2);
+        
+        ______TS("null params");
+        
+        try {
+            frDb.getFeedbackResponsesForSessionInPage(null, courseId, 4, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
+        ______TS("non-existent feedback session");
+        
+        page = frDb.getFeedbackResponsesForSessionInPage("non-existent feedback session", courseId, 4, null);
+        assertTrue(page.responses.isEmpty());
+        assertTrue(page.isLastPage());
+    }
+    
+    private void addIdsInOrder(List<String> responseIds, FeedbackResponsesPageBundle page) {
+        for (FeedbackResponseAttributes response : page.responses) {
+            assertTrue(responseIds.isEmpty()
+                       || responseIds.get(responseIds.size() - 1).compareTo(response.getId()) < 0);
+            responseIds.add(response.getId());
+        }
+    }
+    
+    private List<String> getIdsInOrder(List<FeedbackResponseAttributes> responses) {
+        List<String> responseIds = new ArrayList<String>();
+        for (FeedbackResponseAttributes response : responses) {
+            responseIds.add(response.getId());
+        }
+        Collections.sort(responseIds);
+        return responseIds;
+    }
+    
     @Test
     public void testGetFeedbackResponsesForReceiverForQuestion() {
         
@@ -590,6 +710,48 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         assertTrue(frDb.getFeedbackResponsesFromGiverForCourse(courseId, "non-existentStudentInCourse1@gmail.tmt").isEmpty());        
     }
 
+    @Test
+    public void testGetFeedbackResponsesFromGiversForSession() {
+        
+        ______TS("standard success case");
+        
+        FeedbackResponseAttributes response = fras.get("response1ForQ1S1C1");
+        List<String> giverEmails = new ArrayList<String>();
+        giverEmails.add("student1InCourse1@gmail.tmt");
+        giverEmails.add("student2InCourse1@gmail.tmt");
+        
+        int expectedNumberOfResponses = 0;
+        for (FeedbackResponseAttributes fra : fras.values()) {
+            if (fra.courseId.equals(response.courseId)
+                    && fra.feedbackSessionName.equals(response.feedbackSessionName)
+                    && giverEmails.contains(fra.giverEmail)) {
+                expectedNumberOfResponses++;
+            }
+        }
+        
+        List<FeedbackResponseAttributes> responses = frDb.getFeedbackResponsesFromGiversForSession(
+                response.feedbackSessionName, response.courseId, giverEmails);
+        
+        assertEquals(expectedNumberOfResponses, responses.size());
+        for (FeedbackResponseAttributes fra : responses) {
+            assertTrue(giverEmails.contains(fra.giverEmail));
+        }
+        
+        ______TS("no givers");
+        
+        assertTrue(frDb.getFeedbackResponsesFromGiversForSession(response.feedbackSessionName, response.courseId,
+                                                                 new ArrayList<String>()).isEmpty());
+        
+        ______TS("null params");
+        
+        try {
+            frDb.getFeedbackResponsesFromGiversForSession(response.feedbackSessionName, response.courseId, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+
     @Test
     public void testGetFeedbackResponsesForSessionWithinRange() {
 
@@ -641,6 +803,13 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
         assertEquals(5, responses.size());
         
+        ______TS("responses given from and to the section are returned once");
+        
+        Set<String> responseIds = new HashSet<String>();
+        for (FeedbackResponseAttributes response : responses) {
+            assertTrue(responseIds.add(response.getId()));
+        }
+        
         ______TS("null params");
         
         try {
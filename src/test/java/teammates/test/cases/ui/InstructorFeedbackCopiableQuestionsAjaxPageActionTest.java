@@ -0,0 +1,82 @@
+package teammates.test.cases.ui;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.util.Const;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.ui.controller.AjaxResult;
+import teammates.ui.controller.InstructorFeedbackCopiableQuestionsAjaxPageAction;
+import teammates.ui.controller.InstructorFeedbackCopiableQuestionsAjaxPageData;
+
+public class InstructorFeedbackCopiableQuestionsAjaxPageActionTest extends BaseActionTest {
+
+    private final DataBundle dataBundle = getTypicalDataBundle();
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+        uri = Const.ActionURIs.INSTRUCTOR_FEEDBACK_COPIABLE_QUESTIONS;
+    }
+
+    @Test
+    public void testAccessControl() throws Exception {
+        String[] params = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, "First feedback session",
+                Const.ParamsNames.COURSE_ID, "idOfTypicalCourse1",
+                Const.ParamsNames.COPIABLE_QUESTIONS_PAGE_TOKEN, "idOfTypicalCourse1"
+        };
+
+        verifyOnlyInstructorsOfTheSameCourseCanAccess(params);
+        verifyUnaccessibleWithoutModifyCoursePrivilege(params);
+    }
+
+    @Test
+    public void testExecuteAndPostProcess() throws Exception {
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+
+        ______TS("Unsuccessful case: not enough parameters");
+
+        verifyAssumptionFailure();
+        verifyAssumptionFailure(Const.ParamsNames.COURSE_ID, session.courseId,
+                                Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName);
+
+        ______TS("typical successful case: the questions after the first one");
+
+        CopiableQuestionsPageBundle firstPage =
+                FeedbackQuestionsLogic.inst().getCopiableFeedbackQuestionsForInstructor(instructor.googleId, 1, null);
+        CopiableQuestionsPageBundle expectedPage =
+                FeedbackQuestionsLogic.inst().getCopiableFeedbackQuestionsForInstructor(
+                        instructor.googleId, Const.SystemParams.COPIABLE_QUESTIONS_PAGE_SIZE, firstPage.nextPageToken);
+
+        String[] params = new String[]{
+                Const.ParamsNames.COURSE_ID, session.courseId,
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName,
+                Const.ParamsNames.COPIABLE_QUESTIONS_PAGE_TOKEN, firstPage.nextPageToken
+        };
+
+        InstructorFeedbackCopiableQuestionsAjaxPageAction action = getAction(params);
+        AjaxResult result = (AjaxResult) action.executeAndPostProcess();
+        InstructorFeedbackCopiableQuestionsAjaxPageData data =
+                (InstructorFeedbackCopiableQuestionsAjaxPageData) result.data;
+
+        assertEquals(expectedPage.questions.size(), data.getQuestionRows().size());
+        for (int i = 0; i < expectedPage.questions.size(); i++) {
+            assertEquals(expectedPage.questions.get(i).feedbackQuestionId, data.getQuestionRows().get(i).getQnId());
+        }
+        assertFalse(firstPage.questions.get(0).feedbackQuestionId.equals(data.getQuestionRows().get(0).getQnId()));
+        assertEquals(expectedPage.nextPageToken, data.getNextPageToken());
+    }
+
+    private InstructorFeedbackCopiableQuestionsAjaxPageAction getAction(String... params) {
+        return (InstructorFeedbackCopiableQuestionsAjaxPageAction) gaeSimulation.getActionObject(uri, params);
+    }
+}
@@ -0,0 +1,119 @@
+package teammates.test.cases.ui;
+
+import java.util.List;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.util.Const;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.test.driver.AssertHelper;
+import teammates.ui.controller.InstructorFeedbackQuestionReorderAction;
+import teammates.ui.controller.RedirectResult;
+
+public class InstructorFeedbackQuestionReorderActionTest extends BaseActionTest {
+    private DataBundle dataBundle;
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+        uri = Const.ActionURIs.INSTRUCTOR_FEEDBACK_QUESTION_REORDER;
+    }
+
+    @BeforeMethod
+    public void caseSetUp() throws Exception {
+        dataBundle = getTypicalDataBundle();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @Test
+    public void testAccessControl() throws Exception {
+        String[] params = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, "First feedback session",
+                Const.ParamsNames.COURSE_ID, "idOfTypicalCourse1"
+        };
+
+        verifyOnlyInstructorsOfTheSameCourseCanAccess(params);
+        verifyUnaccessibleWithoutModifyCoursePrivilege(params);
+    }
+
+    @Test
+    public void testExecuteAndPostProcess() throws Exception {
+        InstructorAttributes instructor1ofCourse1 = dataBundle.instructors.get("instructor1OfCourse1");
+        FeedbackSessionAttributes session1 = dataBundle.feedbackSessions.get("session1InCourse1");
+
+        ______TS("Not enough parameters");
+
+        gaeSimulation.loginAsInstructor(instructor1ofCourse1.googleId);
+        verifyAssumptionFailure();
+        verifyAssumptionFailure(Const.ParamsNames.COURSE_ID, session1.courseId);
+
+        ______TS("Typical case: questions reordered in one request");
+
+        List<FeedbackQuestionAttributes> questions = FeedbackQuestionsLogic
+                                                         .inst()
+                                                         .getFeedbackQuestionsForSession(session1.feedbackSessionName,
+                                                                                         session1.courseId);
+        assertEquals(4, questions.size());
+
+        String[] params = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, session1.feedbackSessionName,
+                Const.ParamsNames.COURSE_ID, session1.courseId,
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-0", questions.get(3).getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-1", questions.get(2).getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-2", questions.get(1).getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-3", questions.get(0).getId()
+        };
+
+        InstructorFeedbackQuestionReorderAction a = getAction(params);
+        RedirectResult rr = (RedirectResult) a.executeAndPostProcess();
+
+        assertEquals(Const.ActionURIs.INSTRUCTOR_FEEDBACK_EDIT_PAGE + "?courseid=" + session1.courseId
+                     + "&fsname=First+feedback+session" + "&user=" + instructor1ofCourse1.googleId + "&error=false",
+                     rr.getDestinationWithParams());
+        assertEquals(Const.StatusMessages.FEEDBACK_QUESTION_REORDERED, rr.getStatusMessage());
+
+        List<FeedbackQuestionAttributes> reordered = FeedbackQuestionsLogic
+                                                         .inst()
+                                                         .getFeedbackQuestionsForSession(session1.feedbackSessionName,
+                                                                                         session1.courseId);
+        for (int i = 0; i < reordered.size(); i++) {
+            assertEquals(questions.get(3 - i).getId(), reordered.get(i).getId());
+            assertEquals(i + 1, reordered.get(i).questionNumber);
+        }
+
+        String expectedLogMessage = "TEAMMATESLOG|||instructorFeedbackQuestionReorder|||"
+                                    + "instructorFeedbackQuestionReorder|||true|||"
+                                    + "Instructor|||Instructor 1 of Course 1|||"
+                                    + "idOfInstructor1OfCourse1|||instr1@course1.tmt|||"
+                                    + "Feedback Questions for session:<span class=\"bold\">(First feedback session)"
+                                    + "</span> for Course <span class=\"bold\">[idOfTypicalCourse1]</span> reordered."
+                                    + "|||/page/instructorFeedbackQuestionReorder";
+        AssertHelper.assertLogMessageEquals(expectedLogMessage, a.getLogMessage());
+
+        ______TS("Error: not all questions of the session given");
+
+        params = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, session1.feedbackSessionName,
+                Const.ParamsNames.COURSE_ID, session1.courseId,
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-0", questions.get(0).getId()
+        };
+
+        a = getAction(params);
+        rr = (RedirectResult) a.executeAndPostProcess();
+
+        assertEquals(Const.ActionURIs.INSTRUCTOR_FEEDBACK_EDIT_PAGE + "?courseid=" + session1.courseId
+                     + "&fsname=First+feedback+session" + "&user=" + instructor1ofCourse1.googleId + "&error=true",
+                     rr.getDestinationWithParams());
+        assertEquals(Const.StatusMessages.FEEDBACK_QUESTION_REORDER_INVALID, rr.getStatusMessage());
+    }
+
+    private InstructorFeedbackQuestionReorderAction getAction(String... params) {
+        return (InstructorFeedbackQuestionReorderAction) gaeSimulation.getActionObject(uri, params);
+    }
+}
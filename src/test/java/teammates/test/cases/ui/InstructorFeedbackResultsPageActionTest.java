@@ -1,15 +1,24 @@
 package teammates.test.cases.ui;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.util.Const;
+import teammates.storage.api.FeedbackResponsesDb;
 import teammates.ui.controller.ActionResult;
 import teammates.ui.controller.InstructorFeedbackResultsPageAction;
 import teammates.ui.controller.InstructorFeedbackResultsPageData;
 import teammates.ui.controller.ShowPageResult;
+import teammates.ui.template.InstructorFeedbackResultsParticipantPanel;
+import teammates.ui.template.InstructorFeedbackResultsSectionPanel;
 
 public class InstructorFeedbackResultsPageActionTest extends BaseActionTest {
 
@@ -214,6 +223,113 @@ public class InstructorFeedbackResultsPageActionTest extends BaseActionTest {
         assertEquals("", result.getStatusMessage());
         assertFalse(result.isError);
         
+        ______TS("Typical case: responses of all sections which do not fit in a page are loaded by section");
+        FeedbackSessionAttributes sessionWithMoreResponses = dataBundle.feedbackSessions.get("session1InCourse1");
+        String[] paramsAllSectionsFirstPage = {
+                Const.ParamsNames.COURSE_ID, sessionWithMoreResponses.courseId,
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, sessionWithMoreResponses.feedbackSessionName,
+                Const.ParamsNames.FEEDBACK_RESULTS_SORTTYPE, "giver-recipient-question",
+                Const.ParamsNames.FEEDBACK_RESULTS_NEED_AJAX, "true"
+        };
+        action = getAction(paramsAllSectionsFirstPage);
+        ShowPageResult pageResult = (ShowPageResult) action.executeAndPostProcess();
+        InstructorFeedbackResultsPageData pageData = (InstructorFeedbackResultsPageData) pageResult.data;
+        
+        assertEquals(Const.ViewURIs.INSTRUCTOR_FEEDBACK_RESULTS_BY_GIVER_RECIPIENT_QUESTION
+                     + "?error=true&user=idOfInstructor1OfCourse1",
+                     pageResult.getDestinationWithParams());
+        assertEquals(Const.StatusMessages.FEEDBACK_RESULTS_SECTIONVIEWWARNING, pageResult.getStatusMessage());
+        assertTrue(pageResult.isError);
+        assertTrue(pageData.getBundle().isOnePageOfMany());
+        assertNull(pageData.getNextPageToken());
+        assertFalse(pageData.getSectionPanels().isEmpty());
+        for (InstructorFeedbackResultsSectionPanel sectionPanel : pageData.getSectionPanels().values()) {
+            assertTrue(sectionPanel.isLoadSectionResponsesByAjax());
+        }
+        
+        ______TS("Typical case: responses of a section split into pages continue from the page token");
+        // add self responses of two more students so that the responses of the section need two pages
+        FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+        FeedbackResponseAttributes selfResponse = null;
+        for (FeedbackResponseAttributes response : frDb.getFeedbackResponsesForSessionFromSection(
+                sessionWithMoreResponses.feedbackSessionName, sessionWithMoreResponses.courseId, "Section 1")) {
+            if (response.giverEmail.equals(response.recipientEmail)) {
+                selfResponse = response;
+            }
+        }
+        List<FeedbackResponseAttributes> extraResponses = new ArrayList<FeedbackResponseAttributes>();
+        for (String studentKey : new String[] {"student3InCourse1", "student4InCourse1"}) {
+            FeedbackResponseAttributes extraResponse = new FeedbackResponseAttributes(selfResponse);
+            extraResponse.setId(null);
+            extraResponse.giverEmail = dataBundle.students.get(studentKey).email;
+            extraResponse.recipientEmail = extraResponse.giverEmail;
+            frDb.createEntity(extraResponse);
+            extraResponses.add(frDb.getFeedbackResponse(extraResponse.feedbackQuestionId,
+                                                        extraResponse.giverEmail, extraResponse.recipientEmail));
+        }
+        
+        String[] paramsSectionPage = {
+                Const.ParamsNames.COURSE_ID, sessionWithMoreResponses.courseId,
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, sessionWithMoreResponses.feedbackSessionName,
+                Const.ParamsNames.FEEDBACK_RESULTS_SORTTYPE, "giver-recipient-question",
+                Const.ParamsNames.FEEDBACK_RESULTS_GROUPBYSECTION, "Section 1",
+                Const.ParamsNames.FEEDBACK_RESULTS_NEED_AJAX, "true"
+        };
+        action = getAction(paramsSectionPage);
+        pageResult = (ShowPageResult) action.executeAndPostProcess();
+        pageData = (InstructorFeedbackResultsPageData) pageResult.data;
+        
+        assertEquals(Const.StatusMessages.FEEDBACK_RESULTS_SECTIONPAGESINFO, pageResult.getStatusMessage());
+        assertFalse(pageResult.isError);
+        assertEquals(5, pageData.getBundle().responses.size());
+        assertTrue(pageData.getBundle().isOnePageOfMany());
+        assertNotNull(pageData.getNextPageToken());
+        
+        Set<String> responseIds = new HashSet<String>();
+        int numOfPages = 1;
+        while (true) {
+            for (FeedbackResponseAttributes response : pageData.getBundle().responses) {
+                assertTrue(responseIds.add(response.getId()));
+            }
+            // participants without responses in a page may have responses in the other pages
+            for (InstructorFeedbackResultsSectionPanel sectionPanel : pageData.getSectionPanels().values()) {
+                for (InstructorFeedbackResultsParticipantPanel participantPanel
+                        : sectionPanel.getParticipantPanelsInSortedOrder()) {
+                    assertTrue(participantPanel.isHasResponses());
+                }
+            }
+            if (pageData.getNextPageToken() == null) {
+                break;
+            }
+            
+            String[] paramsNextSectionPage = {
+                    Const.ParamsNames.COURSE_ID, sessionWithMoreResponses.courseId,
+                    Const.ParamsNames.FEEDBACK_SESSION_NAME, sessionWithMoreResponses.feedbackSessionName,
+                    Const.ParamsNames.FEEDBACK_RESULTS_SORTTYPE, "giver-recipient-question",
+                    Const.ParamsNames.FEEDBACK_RESULTS_GROUPBYSECTION, "Section 1",
+                    Const.ParamsNames.FEEDBACK_RESULTS_NEED_AJAX, "true",
+                    Const.ParamsNames.FEEDBACK_RESULTS_PAGE_TOKEN, pageData.getNextPageToken()
+            };
+            action = getAction(paramsNextSectionPage);
+            pageResult = (ShowPageResult) action.executeAndPostProcess();
+            pageData = (InstructorFeedbackResultsPageData) pageResult.data;
+            numOfPages++;
+            
+            assertEquals("", pageResult.getStatusMessage());
+            assertFalse(pageResult.isError);
+            assertTrue(pageData.getBundle().isOnePageOfMany());
+        }
+        
+        assertTrue(numOfPages > 1);
+        assertEquals(frDb.getFeedbackResponsesForSessionFromSection(
+                             sessionWithMoreResponses.feedbackSessionName, sessionWithMoreResponses.courseId,
+                             "Section 1").size(),
+                     responseIds.size());
+        
+        for (FeedbackResponseAttributes extraResponse : extraResponses) {
+            frDb.deleteEntity(extraResponse);
+        }
+        
         ______TS("Typical case: specific question number");
         action = getAction(paramsQuestionNumberOne);
         result = action.executeAndPostProcess();
@@ -276,8 +392,8 @@ public class InstructorFeedbackResultsPageActionTest extends BaseActionTest {
         gaeSimulation.loginAsInstructor(dataBundle.accounts.get("helperOfCourse1").googleId);
         action = getAction(paramsWithSortTypeQuestion);
         result = action.executeAndPostProcess();
-        ShowPageResult pageResult = (ShowPageResult) result;
-        InstructorFeedbackResultsPageData pageData = (InstructorFeedbackResultsPageData) pageResult.data;
+        pageResult = (ShowPageResult) result;
+        pageData = (InstructorFeedbackResultsPageData) pageResult.data;
         assertTrue(pageData.getBundle().responses.isEmpty());
         
     }
@@ -2,6 +2,7 @@ package teammates.test.cases.ui.pagedata;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -10,6 +11,8 @@ import java.util.Set;
 
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.CopiableQuestionSummary;
+import teammates.common.datatransfer.CopiableQuestionsPageBundle;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
@@ -25,6 +28,7 @@ import teammates.ui.controller.InstructorFeedbackEditPageData;
 import teammates.ui.template.FeedbackQuestionCopyTable;
 import teammates.ui.template.FeedbackQuestionEditForm;
 import teammates.ui.template.FeedbackQuestionFeedbackPathSettings;
+import teammates.ui.template.FeedbackQuestionTableRow;
 import teammates.ui.template.FeedbackQuestionVisibilitySettings;
 import teammates.ui.template.FeedbackSessionPreviewForm;
 import teammates.ui.template.FeedbackSessionsAdditionalSettingsFormSegment;
@@ -51,8 +55,8 @@ public class InstructorFeedbackEditPageDataTest extends BaseTestCase {
         questions.add(dataBundle.feedbackQuestions.get("qn2InSession1InCourse1"));
         questions.add(dataBundle.feedbackQuestions.get("qn3InSession1InCourse1"));
         
-        List<FeedbackQuestionAttributes> copiableQuestions = new ArrayList<FeedbackQuestionAttributes>();
-        copiableQuestions.addAll(dataBundle.feedbackQuestions.values());
+        CopiableQuestionsPageBundle copiableQuestions =
+                getCopiableQuestions(dataBundle.feedbackQuestions.values(), "nextPage");
         
         Map<String, Boolean> questionHasResponses = new HashMap<String, Boolean>();
         questionHasResponses.put(dataBundle.feedbackQuestions.get("qn1InSession1InCourse1").getId(), true);
@@ -200,6 +204,15 @@ public class InstructorFeedbackEditPageDataTest extends BaseTestCase {
         // copy question form
         FeedbackQuestionCopyTable copyForm = data.getCopyQnForm();
         assertEquals(dataBundle.feedbackQuestions.size(), copyForm.getQuestionRows().size());
+        assertEquals("nextPage", copyForm.getNextPageToken());
+        FeedbackQuestionAttributes copiableQuestion = dataBundle.feedbackQuestions.values().iterator().next();
+        FeedbackQuestionTableRow copyQuestionRow = copyForm.getQuestionRows().get(0);
+        assertEquals(copiableQuestion.courseId, copyQuestionRow.getCourseId());
+        assertEquals(copiableQuestion.feedbackSessionName, copyQuestionRow.getFsName());
+        assertEquals(copiableQuestion.getQuestionDetails().getQuestionTypeDisplayName(),
+                     copyQuestionRow.getQnType());
+        assertEquals(copiableQuestion.getQuestionDetails().questionText, copyQuestionRow.getQnText());
+        assertEquals(copiableQuestion.getId(), copyQuestionRow.getQnId());
         
         
         ______TS("empty feedback session");
@@ -211,7 +224,7 @@ public class InstructorFeedbackEditPageDataTest extends BaseTestCase {
         fs.isClosingEmailEnabled = false;
         
         questions = new ArrayList<FeedbackQuestionAttributes>();
-        copiableQuestions = new ArrayList<FeedbackQuestionAttributes>();
+        copiableQuestions = getCopiableQuestions(new ArrayList<FeedbackQuestionAttributes>(), null);
         questionHasResponses = new HashMap<String, Boolean>();
         studentList = new ArrayList<StudentAttributes>();
         instructorList = new ArrayList<InstructorAttributes>();
@@ -269,7 +282,8 @@ public class InstructorFeedbackEditPageDataTest extends BaseTestCase {
                      newQuestionForm.getDoneEditingLink());
         
         copyForm = data.getCopyQnForm();
-        assertEquals(copiableQuestions.size(), copyForm.getQuestionRows().size());
+        assertEquals(copiableQuestions.questions.size(), copyForm.getQuestionRows().size());
+        assertNull(copyForm.getNextPageToken());
         
         
         ______TS("instructor with insufficient permissions");
@@ -283,8 +297,7 @@ public class InstructorFeedbackEditPageDataTest extends BaseTestCase {
         questions.add(dataBundle.feedbackQuestions.get("qn1InSession1InCourse1"));
         questions.add(dataBundle.feedbackQuestions.get("qn2InSession1InCourse1"));
         
-        copiableQuestions = new ArrayList<FeedbackQuestionAttributes>();
-        copiableQuestions.addAll(dataBundle.feedbackQuestions.values());
+        copiableQuestions = getCopiableQuestions(dataBundle.feedbackQuestions.values(), "nextPage");
         
         questionHasResponses = new HashMap<String, Boolean>();
         questionHasResponses.put(dataBundle.feedbackQuestions.get("qn1InSession1InCourse1").getId(), true);
@@ -299,6 +312,19 @@ public class InstructorFeedbackEditPageDataTest extends BaseTestCase {
         
         data.init(fs, questions, copiableQuestions, questionHasResponses, studentList, instructorList, instructor);
         assertEquals(0, data.getCopyQnForm().getQuestionRows().size());
+        assertNull(data.getCopyQnForm().getNextPageToken());
+    }
+    
+    private CopiableQuestionsPageBundle getCopiableQuestions(Collection<FeedbackQuestionAttributes> questions,
+                                                             String nextPageToken) {
+        List<CopiableQuestionSummary> summaries = new ArrayList<CopiableQuestionSummary>();
+        for (FeedbackQuestionAttributes question : questions) {
+            summaries.add(new CopiableQuestionSummary(question.getId(), question.courseId,
+                                                      question.feedbackSessionName,
+                                                      question.getQuestionDetails().getQuestionTypeDisplayName(),
+                                                      question.getQuestionDetails().questionText));
+        }
+        return new CopiableQuestionsPageBundle(summaries, nextPageToken);
     }
     
     public InstructorAttributes getInstructorFromBundle(String instructor) {
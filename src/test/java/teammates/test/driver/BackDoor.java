@@ -67,6 +67,31 @@ public final class BackDoor {
         return makePOSTRequest(params);
     }
     
+    /**
+     * Persists a part of a large data bundle through back door. Unlike
+     * {@link #persistNewDataBundle(String)}, the respondants of the feedback sessions
+     * are not updated; use {@link #updateRespondantsInBackDoor(String)} once all
+     * the responses are persisted.
+     * @param dataBundleJson
+     * @return
+     */
+    public static String persistNewDataBundleInBulk(String dataBundleJson) {
+        HashMap<String, Object> params = createParamMap(BackDoorServlet.OPERATION_PERSIST_DATABUNDLE_IN_BULK);
+        params.put(BackDoorServlet.PARAMETER_DATABUNDLE_JSON, dataBundleJson);
+        return makePOSTRequest(params);
+    }
+    
+    /**
+     * This updates the respondants of the feedback sessions in the data bundle through back door
+     * @param dataBundleJson
+     * @return
+     */
+    public static String updateRespondantsInBackDoor(String dataBundleJson) {
+        HashMap<String, Object> params = createParamMap(BackDoorServlet.OPERATION_UPDATE_RESPONDANTS);
+        params.put(BackDoorServlet.PARAMETER_DATABUNDLE_JSON, dataBundleJson);
+        return makePOSTRequest(params);
+    }
+    
     /**
      * This create documents for entities through back door
      * @param dataBundleJson
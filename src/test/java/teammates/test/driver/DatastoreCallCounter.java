@@ -0,0 +1,120 @@
+package teammates.test.driver;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import com.google.apphosting.api.ApiProxy;
+import com.google.apphosting.api.ApiProxy.ApiConfig;
+import com.google.apphosting.api.ApiProxy.ApiProxyException;
+import com.google.apphosting.api.ApiProxy.Delegate;
+import com.google.apphosting.api.ApiProxy.Environment;
+import com.google.apphosting.api.ApiProxy.LogRecord;
+
+/**
+ * Counts the calls made to the local datastore by method, e.g. "Put" or "RunQuery",
+ * between {@link #start()} and {@link #stop()}, passing them on to the local datastore.
+ * This shows whether entities are read or written in batches or one by one, and whether
+ * queries read whole entities or only their keys.
+ */
+public final class DatastoreCallCounter implements Delegate<Environment> {
+
+    private static final String DATASTORE_PACKAGE = "datastore_v3";
+    private static final String RUN_QUERY = "RunQuery";
+
+    /**
+     * The protocol buffer of a datastore query. It is an auxiliary class of another source file
+     * in the SDK, so it is loaded by name rather than imported.
+     */
+    private static final String QUERY_CLASS_NAME = "com.google.apphosting.api.DatastorePb$Query";
+
+    private final Delegate<Environment> delegate;
+    private final Map<String, Integer> callCounts = new HashMap<String, Integer>();
+    private final Map<String, Integer> entityQueryCounts = new HashMap<String, Integer>();
+
+    private DatastoreCallCounter(Delegate<Environment> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Starts counting the calls made to the datastore from now on.
+     */
+    @SuppressWarnings("unchecked")
+    public static DatastoreCallCounter start() {
+        DatastoreCallCounter counter = new DatastoreCallCounter(ApiProxy.getDelegate());
+        ApiProxy.setDelegate(counter);
+        return counter;
+    }
+
+    /**
+     * Stops counting, passing further calls to the datastore directly.
+     */
+    public void stop() {
+        ApiProxy.setDelegate(delegate);
+    }
+
+    public synchronized int getCallCount(String methodName) {
+        Integer count = callCounts.get(methodName);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return the number of queries of the kind which read whole entities, i.e. which are not keys-only
+     */
+    public synchronized int getEntityQueryCount(String kind) {
+        Integer count = entityQueryCounts.get(kind);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public byte[] makeSyncCall(Environment environment, String packageName, String methodName, byte[] request)
+            throws ApiProxyException {
+        count(packageName, methodName, request);
+        return delegate.makeSyncCall(environment, packageName, methodName, request);
+    }
+
+    @Override
+    public Future<byte[]> makeAsyncCall(Environment environment, String packageName, String methodName,
+                                        byte[] request, ApiConfig apiConfig) {
+        count(packageName, methodName, request);
+        return delegate.makeAsyncCall(environment, packageName, methodName, request, apiConfig);
+    }
+
+    @Override
+    public void log(Environment environment, LogRecord record) {
+        delegate.log(environment, record);
+    }
+
+    @Override
+    public void flushLogs(Environment environment) {
+        delegate.flushLogs(environment);
+    }
+
+    @Override
+    public List<Thread> getRequestThreads(Environment environment) {
+        return delegate.getRequestThreads(environment);
+    }
+
+    private synchronized void count(String packageName, String methodName, byte[] request) {
+        if (!DATASTORE_PACKAGE.equals(packageName)) {
+            return;
+        }
+        callCounts.put(methodName, getCallCount(methodName) + 1);
+        if (RUN_QUERY.equals(methodName)) {
+            try {
+                Class<?> queryClass = Class.forName(QUERY_CLASS_NAME);
+                Object query = queryClass.getConstructor().newInstance();
+                queryClass.getMethod("parseFrom", byte[].class).invoke(query, request);
+                Method isKeysOnly = queryClass.getMethod("isKeysOnly");
+                if (!(Boolean) isKeysOnly.invoke(query)) {
+                    String kind = (String) queryClass.getMethod("getKind").invoke(query);
+                    entityQueryCounts.put(kind, getEntityQueryCount(kind) + 1);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Cannot read the datastore query", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package teammates.test.driver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.appengine.api.log.AppLogLine;
+import com.google.appengine.api.log.LogQuery;
+import com.google.appengine.api.log.LogService;
+import com.google.appengine.api.log.RequestLogs;
+
+/**
+ * Stands in for the {@link LogService} of the server, serving the logs of the requests
+ * added to it. Like the log service, it returns the requests which completed within
+ * the time range of the query, the start time being inclusive and the end time exclusive.
+ */
+public class LocalLogService implements LogService {
+
+    private final List<RequestLogs> requests = new ArrayList<RequestLogs>();
+
+    private int numberOfFetches;
+
+    /**
+     * Adds a request which completed at the given time and logged the given messages.
+     */
+    public void addRequest(long endTimeMillis, String... logMessages) {
+        List<AppLogLine> logLines = new ArrayList<AppLogLine>();
+        for (String logMessage : Arrays.asList(logMessages)) {
+            AppLogLine logLine = new AppLogLine();
+            logLine.setLogLevel(LogLevel.INFO);
+            logLine.setLogMessage(logMessage);
+            logLine.setTimeUsec(endTimeMillis * 1000);
+            logLines.add(logLine);
+        }
+        RequestLogs request = new RequestLogs();
+        request.setEndTimeUsec(endTimeMillis * 1000);
+        request.setAppLogLines(logLines);
+        requests.add(request);
+    }
+
+    @Override
+    public Iterable<RequestLogs> fetch(LogQuery query) {
+        numberOfFetches++;
+        long startTimeUsec = getStartTimeUsec(query);
+        long endTimeUsec = getEndTimeUsec(query);
+
+        List<RequestLogs> fetched = new ArrayList<RequestLogs>();
+        for (RequestLogs request : requests) {
+            if (request.getEndTimeUsec() >= startTimeUsec && request.getEndTimeUsec() < endTimeUsec) {
+                fetched.add(request);
+            }
+        }
+        return fetched;
+    }
+
+    public int getNumberOfFetches() {
+        return numberOfFetches;
+    }
+
+    private static long getStartTimeUsec(LogQuery query) {
+        if (query.getStartTimeUsec() != null) {
+            return query.getStartTimeUsec();
+        }
+        return query.getStartTimeMillis() == null ? Long.MIN_VALUE : query.getStartTimeMillis() * 1000;
+    }
+
+    private static long getEndTimeUsec(LogQuery query) {
+        if (query.getEndTimeUsec() != null) {
+            return query.getEndTimeUsec();
+        }
+        return query.getEndTimeMillis() == null ? Long.MAX_VALUE : query.getEndTimeMillis() * 1000;
+    }
+}